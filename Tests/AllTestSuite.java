@@ -7,17 +7,29 @@
 
 //import game_play.model.GamePlayModelTest;
 
+import game_play.controller.FastForwardTest;
+import game_play.model.BotTurnRunnerTest;
 import game_play.model.GamePlayModelTest;
+import game_play.model.MapTableModelTest;
 import game_play.model.TournamentModelTest;
 import map_editor.model.MapEditorModelTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
+import shared_resources.game_entities.BattleOutcomesTest;
+import shared_resources.game_entities.BoardDiffTest;
+import shared_resources.game_entities.BoardStateTest;
 import shared_resources.game_entities.ContinentTest;
 import shared_resources.game_entities.DiceTest;
 import shared_resources.game_entities.PlayerTest;
 import shared_resources.game_entities.TerritoryTest;
+import shared_resources.helper.GameMapCacheTest;
 import shared_resources.helper.GameMapHelperTest;
+import shared_resources.strategy.MCTSBotTest;
+import shared_resources.utilities.AsyncLogWriterTest;
+import shared_resources.utilities.GameEventBusTest;
+import shared_resources.utilities.GameJournalTest;
+import shared_resources.utilities.NotificationDispatcherTest;
 import shared_resources.utilities.SavedStateTest;
 
 /**
@@ -37,6 +49,18 @@ import shared_resources.utilities.SavedStateTest;
         GameMapHelperTest.class,
         SavedStateTest.class,
         TournamentModelTest.class,
+        AsyncLogWriterTest.class,
+        BoardStateTest.class,
+        BattleOutcomesTest.class,
+        GameJournalTest.class,
+        GameMapCacheTest.class,
+        MapTableModelTest.class,
+        NotificationDispatcherTest.class,
+        GameEventBusTest.class,
+        BotTurnRunnerTest.class,
+        BoardDiffTest.class,
+        MCTSBotTest.class,
+        FastForwardTest.class,
 })
 
 public class AllTestSuite {
@@ -0,0 +1,130 @@
+/*
+ * Risk Game Team 2
+ * FastForwardTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.controller;
+
+import game_play.model.BotTurnRunner;
+import game_play.model.GamePlayModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import shared_resources.game_entities.BoardState;
+import shared_resources.strategy.AggressiveBot;
+import shared_resources.utilities.GameLog;
+
+import java.util.Vector;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TURN;
+import static tests_resources.SeededGamePlayModel.getStartedSeededBotGame;
+
+/**
+ * Testing the fast-forward of the bots switched by the game play controller while the bots play
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class FastForwardTest {
+    private static final int MAX_TURNS = 20;
+    private static final int TIMEOUT_SECONDS = 30;
+    private GamePlayModel game;
+    private GameLog log;
+    private Vector<Runnable> eventDispatchThread;
+    private Semaphore stops;
+    private BotTurnRunner runner;
+    private FastForward fastForward;
+    
+    /**
+     * Make a started game of 2 aggressive bots on World.map, a runner recording its stops,
+     * and a fast-forward whose tasks for the Event Dispatch Thread are run by the test
+     *
+     * @throws Exception invalid map exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        game = getStartedSeededBotGame(7, MAX_TURNS, new AggressiveBot(), new AggressiveBot());
+        
+        log = text -> {
+        };
+        eventDispatchThread = new Vector<>();
+        stops = new Semaphore(0);
+        runner = new BotTurnRunner(game, snapshot -> {
+        }, stops::release, 0);
+        fastForward = new FastForward(game, runner, log, eventDispatchThread::add);
+    }
+    
+    /**
+     * Stop the game thread
+     */
+    @After
+    public void tearDown() {
+        runner.shutdown();
+    }
+    
+    /**
+     * Start the bots paused before their first turn, then switch the fast-forward on while they play
+     * Test if the board is kept as it was before the next turn, and the log of the game only logs the turns
+     *
+     * @throws Exception the test was interrupted
+     */
+    @Test
+    public void switchedOnWhileTheBotsPlay() throws Exception {
+        BoardState boardAtStart = game.getGameMap().getBoardState().copy();
+        runner.pause();
+        fastForward.apply();
+        runner.play(null);
+        fastForward.setEnabled(true);
+        assertFalse(runner.isSnapshotsEnabled());
+        assertFalse(fastForward.hasBoardBefore());
+        
+        runner.resume();
+        assertTrue(stops.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (Runnable task : eventDispatchThread) {
+            task.run();
+        }
+        System.out.println("We switch the fast-forward on while the bots play " + game.getTurnCounter() +
+                " turns, and expect the board kept before their next turn: " + fastForward.hasBoardBefore());
+        assertTrue(game.getTurnCounter() > 0);
+        assertTrue(fastForward.hasBoardBefore());
+        BoardState boardBefore = fastForward.takeBoardBefore();
+        for (int id = 0; id < boardAtStart.size(); id++) {
+            assertEquals(boardAtStart.getOwnerID(id), boardBefore.getOwnerID(id));
+            assertEquals(boardAtStart.getArmies(id), boardBefore.getArmies(id));
+        }
+        assertTrue(game.getLog().isEnabled(TURN));
+        assertFalse(game.getLog().isEnabled(BATTLE));
+    }
+    
+    /**
+     * Start the bots fast-forwarding and paused, then switch the fast-forward off while they play
+     * Test if the board kept is dropped and the log of the game logs everything again
+     *
+     * @throws Exception the test was interrupted
+     */
+    @Test
+    public void switchedOffWhileTheBotsPlay() throws Exception {
+        fastForward.setEnabled(true);
+        runner.pause();
+        fastForward.apply();
+        runner.play(null);
+        assertTrue(fastForward.hasBoardBefore());
+        fastForward.setEnabled(false);
+        assertTrue(runner.isSnapshotsEnabled());
+        
+        runner.resume();
+        assertTrue(stops.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        for (Runnable task : eventDispatchThread) {
+            task.run();
+        }
+        System.out.println("We switch the fast-forward off while the bots play, and expect no board kept: " +
+                fastForward.hasBoardBefore());
+        assertFalse(fastForward.hasBoardBefore());
+        assertSame(log, game.getLog());
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Risk Game Team 2
+ * BotTurnRunnerTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.model;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import shared_resources.strategy.AggressiveBot;
+import shared_resources.strategy.BenevolentBot;
+import shared_resources.strategy.RandomBot;
+
+import java.util.Vector;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+import static shared_resources.utilities.Config.GAME_STATES.VICTORY;
+import static tests_resources.SeededGamePlayModel.getStartedSeededBotGame;
+
+/**
+ * Testing the bots playing on the game thread
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class BotTurnRunnerTest {
+    private static final int MAX_TURNS = 60;
+    private static final int TIMEOUT_SECONDS = 30;
+    private GamePlayModel game;
+    private Vector<GamePlayModel> snapshots;
+    private Semaphore stops;
+    private BotTurnRunner runner;
+    
+    /**
+     * Make a started game of 4 bots on World.map, and a runner recording its snapshots and stops
+     *
+     * @throws Exception invalid map exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        game = getStartedSeededBotGame(7, MAX_TURNS, new AggressiveBot(), new RandomBot(), new BenevolentBot(),
+                new AggressiveBot());
+        
+        snapshots = new Vector<>();
+        stops = new Semaphore(0);
+        runner = new BotTurnRunner(game, snapshots::add, stops::release, 0);
+    }
+    
+    /**
+     * Stop the game thread
+     */
+    @After
+    public void tearDown() {
+        runner.shutdown();
+    }
+    
+    /**
+     * Let the bots play
+     * Test if they stop once the game waits for a user, giving snapshots of the game where a bot is to play
+     *
+     * @throws Exception the test was interrupted
+     */
+    @Test
+    public void botsPlayUntilTheGameWaitsForAUser() throws Exception {
+        assertTrue(runner.play(null));
+        assertTrue(stops.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        
+        System.out.println("We let the bots play, and expect a victory or " + MAX_TURNS + " turns: " +
+                game.getGameState() + " after " + game.getTurnCounter() + " turns, " + snapshots.size() + " snapshots");
+        assertFalse(runner.isRunning());
+        assertTrue(game.isWaitingForUser());
+        assertTrue(game.getGameState() == VICTORY || game.getTurnCounter() >= MAX_TURNS);
+        assertFalse(snapshots.isEmpty());
+        for (GamePlayModel snapshot : snapshots) {
+            assertNotSame(game, snapshot);
+            assertFalse(snapshot.isWaitingForUser());
+        }
+    }
+    
+    /**
+     * Pause the bots before they play, then cancel them, then resume them
+     * Test if no turn is played while paused, the cancelled bots cannot play, and the resumed bots play until the end
+     *
+     * @throws Exception the test was interrupted
+     */
+    @Test
+    public void pauseCancelAndResume() throws Exception {
+        int firstTurn = game.getTurnCounter();
+        runner.pause();
+        assertTrue(runner.play(null));
+        Thread.sleep(100);
+        System.out.println("We pause the bots, and expect no turn played: " + game.getTurnCounter() + " turns");
+        assertEquals(firstTurn, game.getTurnCounter());
+        assertTrue(runner.isRunning());
+        
+        runner.cancel();
+        assertTrue(stops.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        assertFalse(runner.isRunning());
+        assertFalse(runner.play(null));
+        assertEquals(firstTurn, game.getTurnCounter());
+        
+        runner.resume();
+        assertTrue(stops.tryAcquire(TIMEOUT_SECONDS, TimeUnit.SECONDS));
+        System.out.println("We resume the cancelled bots, and expect the game to go on: " + game.getTurnCounter() + " turns");
+        assertTrue(game.getGameState() == VICTORY || game.getTurnCounter() >= MAX_TURNS);
+    }
+}
@@ -9,6 +9,7 @@ package game_play.model;
 import org.junit.Test;
 import shared_resources.game_entities.Battle;
 import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Dice;
 import shared_resources.game_entities.Player;
 import shared_resources.game_entities.Territory;
 import tests_resources.FixedGamePlayModel;
@@ -16,6 +17,8 @@ import tests_resources.FixedGamePlayModel;
 import java.util.Map;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static shared_resources.utilities.Config.INITIAL_ARMY_RATIO;
 
 /**
@@ -340,4 +343,109 @@ public class GamePlayModelTest {
         
         System.out.println();
     }
+    
+    /**
+     * Test case for the independence of a fork of the game: playing on the fork does not change the game,
+     * and playing on the game does not change the fork.
+     */
+    @Test
+    public void forkTestCase() {
+        GamePlayModel tempGamePlayModel = FixedGamePlayModel.getFixedGamePlayModel();
+        Player player1 = tempGamePlayModel.getPlayers().get(0);
+        Territory territory = tempGamePlayModel.getGameMap().getATerritory("1t");
+        int armies = territory.getArmies();
+        int unallocatedArmies = player1.getUnallocatedArmies();
+        
+        GamePlayModel fork = tempGamePlayModel.fork();
+        Player forkPlayer1 = fork.getPlayers().get(0);
+        Territory forkTerritory = fork.getGameMap().getATerritory("1t");
+        forkTerritory.setOwner(forkPlayer1);
+        forkTerritory.addArmies(4);
+        forkPlayer1.addUnallocatedArmies(2);
+        
+        System.out.println("Testing a fork of the game:");
+        System.out.println("\tIn the fork, Player 1 conquers " + forkTerritory.getName() + " and owns " +
+                forkPlayer1.getTerritoriesCount() + " territories. In the game, Player 1 owns " +
+                player1.getTerritoriesCount() + " territories.");
+        assertEquals(8, forkPlayer1.getTerritoriesCount());
+        assertEquals(7, player1.getTerritoriesCount());
+        assertEquals(armies + 4, forkTerritory.getArmies());
+        assertEquals(armies, territory.getArmies());
+        assertEquals(unallocatedArmies + 2, forkPlayer1.getUnallocatedArmies());
+        assertEquals(unallocatedArmies, player1.getUnallocatedArmies());
+        assertSame(fork.getPlayers().get(1), fork.getGameMap().getATerritory("2t").getOwner());
+        
+        territory.addArmies(7);
+        System.out.println("\tIn the game, " + territory.getName() + " goes up to " + territory.getArmies() +
+                " armies. In the fork, it has " + forkTerritory.getArmies() + " armies.");
+        assertEquals(armies + 4, forkTerritory.getArmies());
+        assertEquals(armies + 7, territory.getArmies());
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test case for the battles declared one after the other by the current player.
+     * The battle is reused with its dice, and the defender of the new battle has not chosen its dice yet.
+     */
+    @Test
+    public void declareBattleTestCase() {
+        GamePlayModel tempGamePlayModel = FixedGamePlayModel.getFixedGamePlayModel();
+        Player player1 = tempGamePlayModel.getPlayers().get(0);
+        tempGamePlayModel.setCurrentPlayer(player1);
+        Territory attackingTerritory = tempGamePlayModel.getGameMap().getATerritory("1c");
+        
+        System.out.println("Testing the battles declared by Player 1 from Territory 1c:");
+        Battle firstBattle = tempGamePlayModel.declareBattle(attackingTerritory, 3,
+                tempGamePlayModel.getGameMap().getATerritory("1t"));
+        firstBattle.setDefendingDice(2);
+        firstBattle.increaseAttackerLossCount();
+        Dice defenderDice = firstBattle.getDefenderDice();
+        
+        Battle secondBattle = tempGamePlayModel.declareBattle(attackingTerritory, 2,
+                tempGamePlayModel.getGameMap().getATerritory("2t"));
+        System.out.println("\tThe second battle attacks " + secondBattle.getDefendingTerritory().getName() + " of Player " +
+                secondBattle.getDefender().getPlayerID() + " with " + secondBattle.getAttackerDice().getRollsCount() + " dice");
+        assertSame(firstBattle, secondBattle);
+        assertSame(secondBattle, tempGamePlayModel.getCurrentBattle());
+        assertEquals(2, secondBattle.getAttackerDice().getRollsCount());
+        assertEquals(0, secondBattle.getAttackerLossCount());
+        assertSame(tempGamePlayModel.getPlayers().get(1), secondBattle.getDefender());
+        assertNull(secondBattle.getDefenderDice());
+        
+        secondBattle.setDefendingDice(1);
+        assertSame(defenderDice, secondBattle.getDefenderDice());
+        assertEquals(1, secondBattle.getDefenderDice().getRollsCount());
+        
+        System.out.println();
+    }
+    
+    /**
+     * Test case for the fork of a game in the middle of a battle.
+     * The fork has the battle with its dice, their last rolls and the losses.
+     */
+    @Test
+    public void forkBattleTestCase() {
+        GamePlayModel tempGamePlayModel = FixedGamePlayModel.getFixedGamePlayModel();
+        tempGamePlayModel.setCurrentPlayer(tempGamePlayModel.getPlayers().get(0));
+        Battle battle = tempGamePlayModel.declareBattle(tempGamePlayModel.getGameMap().getATerritory("1c"), 3,
+                tempGamePlayModel.getGameMap().getATerritory("1t"));
+        battle.setDefendingDice(2);
+        battle.attackerRollDice(tempGamePlayModel.getRandom());
+        battle.defenderRollDice(tempGamePlayModel.getRandom());
+        battle.addLosses(1, 2);
+        
+        Battle forkBattle = tempGamePlayModel.fork().getCurrentBattle();
+        System.out.println("Testing the fork of a game in a battle of " + battle.getAttackerLossCount() + " and " +
+                battle.getDefenderLossCount() + " losses, the fork has " + forkBattle.getAttackerLossCount() + " and " +
+                forkBattle.getDefenderLossCount() + " losses");
+        assertEquals("1t", forkBattle.getDefendingTerritory().getName());
+        assertEquals(1, forkBattle.getAttackerLossCount());
+        assertEquals(2, forkBattle.getDefenderLossCount());
+        assertEquals(battle.getAttackerDice().getRollsResult(), forkBattle.getAttackerDice().getRollsResult());
+        assertEquals(battle.getDefenderDice().getRollsResult(), forkBattle.getDefenderDice().getRollsResult());
+        assertEquals(2, forkBattle.getDefenderDice().getRollsCount());
+        
+        System.out.println();
+    }
 }
\ No newline at end of file
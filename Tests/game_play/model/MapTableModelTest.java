@@ -0,0 +1,116 @@
+/*
+ * Risk Game Team 2
+ * MapTableModelTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.model;
+
+import org.junit.Before;
+import org.junit.Test;
+import shared_resources.game_entities.GameMap;
+import tests_resources.FixedGamePlayModel;
+
+import javax.swing.event.TableModelEvent;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+import static shared_resources.utilities.Config.GAME_STATES.MAP_EDITOR;
+import static shared_resources.utilities.Config.GAME_STATES.PLAY;
+
+/**
+ * Testing the table of the continents and territories of a map
+ * The fixed game is used: player 1 owns the 7 "c" territories of the Cube continent, player 2 the 6 "t" territories
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class MapTableModelTest {
+    private GamePlayModel game;
+    private GameMap gameMap;
+    private MapTableModel mapTableModel;
+    private Vector<TableModelEvent> events;
+    
+    /**
+     * Show the map of the fixed game in a table, and record the events of the table
+     */
+    @Before
+    public void setUp() {
+        game = FixedGamePlayModel.getFixedGamePlayModel();
+        gameMap = game.getGameMap();
+        mapTableModel = new MapTableModel();
+        mapTableModel.updateMapTableModel(gameMap, PLAY);
+        events = new Vector<>();
+        mapTableModel.addTableModelListener(events::add);
+    }
+    
+    /**
+     * Test if each continent row is followed by the rows of its territories, with the owners and armies
+     */
+    @Test
+    public void rowsOfContinentsAndTerritories() {
+        System.out.println("We expect 2 continents and 13 territories with their owners and armies, we obtained " +
+                mapTableModel.getRowCount() + " rows and " + mapTableModel.getColumnCount() + " columns");
+        assertEquals(15, mapTableModel.getRowCount());
+        assertEquals(5, mapTableModel.getColumnCount());
+        assertEquals("cube", mapTableModel.getValueAt(0, 0));
+        assertEquals("Player 1", mapTableModel.getValueAt(0, 3));
+        assertEquals("  ", mapTableModel.getValueAt(1, 0));
+        assertEquals("1c", mapTableModel.getValueAt(1, 1));
+        assertEquals("2c, 3c, 5c, 6c, 1t", mapTableModel.getValueAt(1, 2));
+        assertEquals("Player 1", mapTableModel.getValueAt(1, 3));
+        assertEquals(Integer.toString(gameMap.getATerritory("1c").getArmies()), mapTableModel.getValueAt(1, 4));
+        assertEquals("triangle", mapTableModel.getValueAt(8, 0));
+        assertEquals("Player 2", mapTableModel.getValueAt(8, 3));
+    }
+    
+    /**
+     * Add armies to the 3c territory and update the table twice
+     * Test if only the rows of 3c and of its continent are notified, and nothing the second time
+     */
+    @Test
+    public void onlyChangedRowsAreNotified() {
+        gameMap.getATerritory("3c").addArmies(4);
+        mapTableModel.updateMapTableModel(gameMap, PLAY);
+        mapTableModel.updateMapTableModel(gameMap, PLAY);
+        System.out.println("We add 4 armies to 3c and expect 2 row updates for the cube continent and 3c, we obtained " +
+                events.size());
+        assertEquals(2, events.size());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(0, events.get(0).getLastRow());
+        assertEquals(3, events.get(1).getFirstRow());
+        assertEquals(3, events.get(1).getLastRow());
+        assertEquals(Integer.toString(gameMap.getATerritory("3c").getArmies()), mapTableModel.getValueAt(3, 4));
+    }
+    
+    /**
+     * Add armies to the 3c territory of a fork of the game, then show the map of the fork
+     * Test if the rows are kept, only the rows of 3c and of its continent are notified, and the fork armies are shown
+     */
+    @Test
+    public void forkIsShownWithTheSameRows() {
+        GamePlayModel fork = game.fork();
+        fork.getGameMap().getATerritory("3c").addArmies(4);
+        mapTableModel.updateMapTableModel(fork.getGameMap(), PLAY);
+        System.out.println("We show a fork with 4 more armies on 3c and expect 2 row updates, we obtained " +
+                events.size());
+        assertEquals(2, events.size());
+        assertEquals(0, events.get(0).getFirstRow());
+        assertEquals(3, events.get(1).getFirstRow());
+        assertEquals(Integer.toString(fork.getGameMap().getATerritory("3c").getArmies()), mapTableModel.getValueAt(3, 4));
+        assertEquals(gameMap.getATerritory("3c").getArmies() + 4, fork.getGameMap().getATerritory("3c").getArmies());
+    }
+    
+    /**
+     * Show the map in the map editor
+     * Test if the owner and armies columns are removed
+     */
+    @Test
+    public void mapEditorHasNoBoardColumns() {
+        mapTableModel.updateMapTableModel(gameMap, MAP_EDITOR);
+        System.out.println("We expect 3 columns in the map editor, we obtained " + mapTableModel.getColumnCount());
+        assertEquals(3, mapTableModel.getColumnCount());
+        assertEquals(1, events.size());
+        assertEquals(TableModelEvent.HEADER_ROW, events.get(0).getFirstRow());
+    }
+}
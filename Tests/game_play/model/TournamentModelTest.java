@@ -9,14 +9,26 @@ package game_play.model;
 import org.junit.BeforeClass;
 import org.junit.Test;
 import shared_resources.game_entities.Player;
+import shared_resources.strategy.AggressiveBot;
 import shared_resources.strategy.BenevolentBot;
+import shared_resources.strategy.MCTSBot;
+import shared_resources.strategy.PlayerType;
+import shared_resources.strategy.RandomBot;
+import shared_resources.utilities.GameReplay;
 import tests_resources.FixedGamePlayModel;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Vector;
 
 import static junit.framework.TestCase.assertEquals;
+import static shared_resources.utilities.Config.JOURNAL_FILE_EXTENSION;
+import static shared_resources.utilities.Config.LOG_LEVEL.DICE;
 
 /**
  * Testing the tournament mode
@@ -124,4 +136,86 @@ public class TournamentModelTest {
         assertEquals(-1, tournamentModel.validateEntry(listInput, minBound, maxBound));
     }
     
+    /**
+     * Testing that a tournament played again with the same seed plays the same games, whatever the parallelism
+     */
+    @Test
+    public void testSameSeedSameGames() {
+        Vector<PlayerType> playerTypes = new Vector<>(Arrays.asList(new RandomBot(), new AggressiveBot(), new RandomBot()));
+        Vector<String> firstLog = playSeededTournament(2017, 1, playerTypes, null);
+        Vector<String> secondLog = playSeededTournament(2017, 3, playerTypes, null);
+        System.out.println("We expect the same log lines for both tournaments with the seed 2017. We obtained " +
+                firstLog.size() + " and " + secondLog.size() + " lines.");
+        assertEquals(true, firstLog.size() > 0);
+        assertEquals(firstLog, secondLog);
+    }
+    
+    /**
+     * Testing that the MCTS bot makes the same choices with the same seed, whatever the number of threads
+     * playing its rollouts, and that the games are played by the bot with its own settings
+     *
+     * @throws Exception if the journal of a game cannot be read
+     */
+    @Test
+    public void testMCTSBotSameSeedSameGames() throws Exception {
+        Vector<PlayerType> playerTypes = new Vector<>(Arrays.asList(
+                new MCTSBot(16, 0, 1, MCTSBot.ROLLOUT_POLICY.AGGRESSIVE), new AggressiveBot()));
+        int threadsCount = MCTSBot.getThreadsCount();
+        Path journalFolder = Files.createTempDirectory("journals");
+        try {
+            MCTSBot.setThreadsCount(1);
+            Vector<String> firstLog = playSeededTournament(2017, 1, playerTypes, null);
+            MCTSBot.setThreadsCount(3);
+            Vector<String> secondLog = playSeededTournament(2017, 2, playerTypes, journalFolder);
+            System.out.println("We expect the same log lines for both tournaments of the MCTS bot with the seed 2017. " +
+                    "We obtained " + firstLog.size() + " and " + secondLog.size() + " lines.");
+            assertEquals(true, firstLog.size() > 0);
+            assertEquals(firstLog, secondLog);
+            
+            PlayerType playedType = GameReplay.open(journalFolder.resolve("game-1-1" + JOURNAL_FILE_EXTENSION))
+                    .getGame().getPlayers().get(0).getPlayerType();
+            assertEquals(true, playedType instanceof MCTSBot);
+            System.out.println("We expect the game to be played by the MCTS bot of 16 rollouts of 1 round. We obtained " +
+                    ((MCTSBot) playedType).getRollouts() + " rollouts of " + ((MCTSBot) playedType).getRolloutRounds() +
+                    " rounds.");
+            assertEquals(16, ((MCTSBot) playedType).getRollouts());
+            assertEquals(1, ((MCTSBot) playedType).getRolloutRounds());
+        } finally {
+            MCTSBot.setThreadsCount(threadsCount);
+            for (File journal : journalFolder.toFile().listFiles()) {
+                journal.delete();
+            }
+            journalFolder.toFile().delete();
+        }
+    }
+    
+    /**
+     * Play a tournament with a given seed
+     *
+     * @param seed          the master seed
+     * @param parallelism   the number of games played at the same time
+     * @param playerTypes   the strategies of the players
+     * @param journalFolder the folder of the journals of the games, or null for none
+     *
+     * @return the sorted lines of the log of the tournament
+     */
+    private Vector<String> playSeededTournament(long seed, int parallelism, Vector<PlayerType> playerTypes,
+                                                Path journalFolder) {
+        Vector<String> logLines = new Vector<>();
+        TournamentModel seededTournament = new TournamentModel();
+        seededTournament.setupTournament(Collections.singletonList(mapSet.firstElement()), 3, maxTurns, playerTypes);
+        seededTournament.setSeed(seed);
+        seededTournament.setParallelism(parallelism);
+        seededTournament.setLog(logLines::add);
+        seededTournament.setLogLevel(DICE);
+        seededTournament.setJournalFolder(journalFolder);
+        try {
+            seededTournament.startTournament();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+        Collections.sort(logLines);
+        return logLines;
+    }
+    
 }
\ No newline at end of file
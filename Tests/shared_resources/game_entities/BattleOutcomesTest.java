@@ -0,0 +1,197 @@
+/*
+ * Risk Game Team 2
+ * BattleOutcomesTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import org.junit.Test;
+import shared_resources.utilities.GameRandom;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static shared_resources.utilities.Config.BATTLE_ODDS_MAX_EXACT_ARMIES;
+
+/**
+ * Testing the outcomes of the blitz battles against the dice rounds played one by one
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class BattleOutcomesTest {
+    private static final int TRIALS = 200000;
+    private static final double TOLERANCE = 0.005;
+    
+    /**
+     * Testing the well known probabilities of a round of 3 attacking dice against 2 defending dice
+     */
+    @Test
+    public void testRoundOfThreeAgainstTwo() {
+        double[] roundLosses = BattleOutcomes.getRoundLosses(3, 2);
+        System.out.println("We expect the attacker to lose 0, 1 and 2 armies with the probabilities " +
+                2890 / 7776.0 + ", " + 2611 / 7776.0 + " and " + 2275 / 7776.0 + ". We obtained " +
+                roundLosses[0] + ", " + roundLosses[1] + " and " + roundLosses[2]);
+        assertEquals(2890 / 7776.0, roundLosses[0], 1e-12);
+        assertEquals(2611 / 7776.0, roundLosses[1], 1e-12);
+        assertEquals(2275 / 7776.0, roundLosses[2], 1e-12);
+    }
+    
+    /**
+     * Testing a blitz of one round: 2 armies against 1 army, one die each
+     */
+    @Test
+    public void testBlitzOfOneRound() {
+        BattleOutcomes outcomes = BattleOutcomes.of(2, 1, 3, 2);
+        System.out.println("We expect the attacker to win 2 armies against 1 with the probability " + 15 / 36.0 +
+                ". We obtained " + outcomes.getWinProbability());
+        assertEquals(15 / 36.0, outcomes.getWinProbability(), 1e-12);
+        assertEquals(3, outcomes.getOutcomesCount());
+        assertEquals(0.0, outcomes.getProbability(0), 0.0);
+    }
+    
+    /**
+     * Testing that the blitz outcomes have the distribution of the dice rounds played one by one with the Dice,
+     * and that the outcomes drawn by the blitz follow it too
+     */
+    @Test
+    public void testSameDistributionAsDiceRounds() {
+        int attackerArmies = 7;
+        int defenderArmies = 5;
+        BattleOutcomes outcomes = BattleOutcomes.of(attackerArmies, defenderArmies, 3, 2);
+        int[] playedCounts = new int[outcomes.getOutcomesCount()];
+        int[] sampledCounts = new int[outcomes.getOutcomesCount()];
+        GameRandom random = new GameRandom(2017);
+        for (int i = 0; i < TRIALS; i++) {
+            playedCounts[playDiceRounds(outcomes, random)]++;
+            sampledCounts[outcomes.sample(random)]++;
+        }
+        
+        double total = 0.0;
+        for (int outcome = 0; outcome < outcomes.getOutcomesCount(); outcome++) {
+            total += outcomes.getProbability(outcome);
+            System.out.println("Attacker " + outcomes.getAttackerArmiesLeft(outcome) + ", defender " +
+                    outcomes.getDefenderArmiesLeft(outcome) + ": we expect " + outcomes.getProbability(outcome) +
+                    ". Dice rounds gave " + (double) playedCounts[outcome] / TRIALS + ", the blitz gave " +
+                    (double) sampledCounts[outcome] / TRIALS);
+            assertEquals(outcomes.getProbability(outcome), (double) playedCounts[outcome] / TRIALS, TOLERANCE);
+            assertEquals(outcomes.getProbability(outcome), (double) sampledCounts[outcome] / TRIALS, TOLERANCE);
+        }
+        assertEquals(1.0, total, 1e-12);
+    }
+    
+    /**
+     * Testing that the battle odds are computed once, in the table for small armies and in the cache for large ones
+     */
+    @Test
+    public void testOddsAreMemoized() {
+        BattleOutcomes small = BattleOdds.getOutcomes(12, 7, 3, 2);
+        BattleOutcomes large = BattleOdds.getOutcomes(120, 70, 3, 2);
+        System.out.println("Odds attacking 12 vs 7: " + small.getWinProbability() + ", attacking 120 vs 70: " +
+                large.getWinProbability());
+        assertSame(small, BattleOdds.getOutcomes(12, 7, 3, 2));
+        assertSame(large, BattleOdds.getOutcomes(120, 70, 3, 2));
+        assertEquals(BattleOutcomes.of(12, 7, 3, 2).getWinProbability(), BattleOdds.getWinProbability(12, 7, 3, 2), 0.0);
+        assertEquals(true, BattleOdds.getWinProbability(12, 7, 1, 2) < small.getWinProbability());
+    }
+    
+    /**
+     * Testing the odds of armies too large for the outcomes to be computed: they are approximated at once,
+     * close to the exact odds of the largest battles computed
+     */
+    @Test
+    public void testOddsOfLargeArmies() {
+        int armies = BATTLE_ODDS_MAX_EXACT_ARMIES;
+        double exact = BattleOdds.getWinProbability(armies, armies - 10, 3, 2);
+        double approximate = BattleOdds.getWinProbability(armies + 1, armies - 10, 3, 2);
+        System.out.println("Odds attacking " + (armies - 10) + " with " + armies + ": " + exact + ", with " +
+                (armies + 1) + ": " + approximate);
+        assertEquals(exact, approximate, 0.02);
+        assertTrue(BattleOdds.getWinProbability(armies + 100, armies + 100, 3, 2) > 0.5);
+        assertTrue(BattleOdds.getWinProbability(armies + 100, armies + 100, 1, 2) < 0.5);
+        
+        double hugeDefender = BattleOdds.getWinProbability(20, Integer.MAX_VALUE, 3, 2);
+        double hugeArmies = BattleOdds.getWinProbability(Integer.MAX_VALUE, Integer.MAX_VALUE, 3, 2);
+        System.out.println("Odds attacking " + Integer.MAX_VALUE + " with 20: " + hugeDefender + ", with " +
+                Integer.MAX_VALUE + ": " + hugeArmies);
+        assertEquals(0.0, hugeDefender, 1e-9);
+        assertTrue(hugeArmies >= 0.0 && hugeArmies <= 1.0);
+    }
+    
+    /**
+     * Testing the blitz of armies too large for the outcomes to be computed: it is played round by round, so it ends
+     * without running out of memory, and it still follows the distribution of the dice rounds played one by one
+     */
+    @Test
+    public void testBlitzOfLargeArmies() {
+        GameRandom random = new GameRandom(2017);
+        int hugeDefenderLeft = -BattleOdds.sampleBlitz(20, Integer.MAX_VALUE, 3, 2, random);
+        int largeArmiesLeft = BattleOdds.sampleBlitz(1_000_000, 300_000, 3, 2, random);
+        System.out.println("Blitz of 20 armies against " + Integer.MAX_VALUE + ": " + hugeDefenderLeft +
+                " defending armies left. Blitz of 1000000 armies against 300000: " + largeArmiesLeft + " armies left");
+        assertTrue(hugeDefenderLeft > Integer.MAX_VALUE - 20);
+        assertTrue(largeArmiesLeft > 0 && largeArmiesLeft <= 1_000_000);
+        
+        int trials = TRIALS / 40;
+        int attackerArmies = BATTLE_ODDS_MAX_EXACT_ARMIES + 20;
+        int defenderArmies = BATTLE_ODDS_MAX_EXACT_ARMIES;
+        int playedWins = 0;
+        int sampledWins = 0;
+        for (int i = 0; i < trials; i++) {
+            if (playDiceRounds(attackerArmies, defenderArmies, random) > 0) {
+                playedWins++;
+            }
+            if (BattleOdds.sampleBlitz(attackerArmies, defenderArmies, 3, 2, random) > 0) {
+                sampledWins++;
+            }
+        }
+        System.out.println("Attacking " + defenderArmies + " armies with " + attackerArmies + ": dice rounds won " +
+                (double) playedWins / trials + ", the blitz won " + (double) sampledWins / trials);
+        assertEquals((double) playedWins / trials, (double) sampledWins / trials, 0.03);
+    }
+    
+    /**
+     * Play the dice rounds of a battle one by one, with the rules of the game play model
+     *
+     * @param outcomes the outcomes of the battle, giving the starting armies
+     * @param random   the random generator
+     *
+     * @return the outcome of the battle
+     */
+    private int playDiceRounds(BattleOutcomes outcomes, GameRandom random) {
+        int armiesLeft = playDiceRounds(outcomes.getAttackerArmies(), outcomes.getDefenderArmies(), random);
+        return (armiesLeft > 0) ? armiesLeft - 1 : outcomes.getAttackerArmies() - armiesLeft - 1;
+    }
+    
+    /**
+     * Play the dice rounds of a battle one by one, with the rules of the game play model
+     *
+     * @param attacker the attacking armies
+     * @param defender the defending armies
+     * @param random   the random generator
+     *
+     * @return the attacking armies left if the attacker wins, otherwise minus the defending armies left
+     */
+    private int playDiceRounds(int attacker, int defender, GameRandom random) {
+        while (attacker > 1 && defender > 0) {
+            Dice attackerDice = new Dice(Math.min(3, attacker - 1));
+            Dice defenderDice = new Dice(Math.min(2, defender));
+            attackerDice.roll(random);
+            defenderDice.roll(random);
+            if (attackerDice.getTheBestResult() > defenderDice.getTheBestResult()) {
+                defender--;
+            } else {
+                attacker--;
+            }
+            if (attackerDice.getRollsCount() >= 2 && defenderDice.getRollsCount() >= 2) {
+                if (attackerDice.getSecondBestResult() > defenderDice.getSecondBestResult()) {
+                    defender--;
+                } else {
+                    attacker--;
+                }
+            }
+        }
+        return (defender == 0) ? attacker : -defender;
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Risk Game Team 2
+ * BoardDiffTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import game_play.model.GamePlayModel;
+import org.junit.Before;
+import org.junit.Test;
+import tests_resources.FixedGamePlayModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testing the changes of the board between two states of a game
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class BoardDiffTest {
+    private GameMap gameMap;
+    private Player player1;
+    private Player player2;
+    private BoardState before;
+    
+    /**
+     * Use the fixed game: player 1 owns the 7 "c" territories, player 2 the 6 "t" territories.
+     * Keep a copy of its board.
+     */
+    @Before
+    public void setUp() {
+        GamePlayModel fixedGamePlayModel = FixedGamePlayModel.getFixedGamePlayModel();
+        gameMap = fixedGamePlayModel.getGameMap();
+        player1 = fixedGamePlayModel.getPlayers().get(0);
+        player2 = fixedGamePlayModel.getPlayers().get(1);
+        before = gameMap.getBoardState().copy();
+    }
+    
+    /**
+     * Player 1 conquers 1t with 3 armies, and adds 2 armies to 1c
+     * Test if the changes are the territory gained by player 1 and lost by player 2, and the armies of both
+     */
+    @Test
+    public void conquestIsSeenByBothPlayers() {
+        Territory conquered = gameMap.getATerritory("1t");
+        long armiesOfPlayer2 = player2.getTotalArmiesCount();
+        long armiesOfPlayer1 = player1.getTotalArmiesCount();
+        conquered.setOwner(player1);
+        conquered.setArmies(3);
+        gameMap.getATerritory("1c").addArmies(2);
+        
+        BoardDiff diffOfPlayer1 = new BoardDiff(before, gameMap.getBoardState(), player1);
+        BoardDiff diffOfPlayer2 = new BoardDiff(before, gameMap.getBoardState(), player2);
+        System.out.println("Player 1 conquers 1t, we expect 1 territory gained by player 1 and lost by player 2: " +
+                diffOfPlayer1.getGainedTerritories().size() + " gained, " +
+                diffOfPlayer2.getLostTerritories().size() + " lost");
+        assertEquals(1, diffOfPlayer1.getGainedTerritories().size());
+        assertSame(conquered, diffOfPlayer1.getGainedTerritories().firstElement());
+        assertTrue(diffOfPlayer1.getLostTerritories().isEmpty());
+        assertEquals(armiesOfPlayer1, diffOfPlayer1.getArmiesBefore());
+        assertEquals(armiesOfPlayer1 + 5, diffOfPlayer1.getArmiesAfter());
+        assertEquals(1, diffOfPlayer1.getTerritoriesCountChange(player1));
+        assertEquals(-1, diffOfPlayer1.getTerritoriesCountChange(player2));
+        
+        assertEquals(1, diffOfPlayer2.getLostTerritories().size());
+        assertSame(player1, diffOfPlayer2.getConquerors().firstElement());
+        assertEquals(armiesOfPlayer2, diffOfPlayer2.getArmiesBefore());
+        assertFalse(diffOfPlayer2.isEmpty());
+    }
+    
+    /**
+     * Compare the board with its copy without any change
+     * Test if the diff is empty
+     */
+    @Test
+    public void unchangedBoardHasEmptyDiff() {
+        BoardDiff diff = new BoardDiff(before, gameMap.getBoardState(), player1);
+        System.out.println("We expect no change of an unchanged board: " + diff.isEmpty());
+        assertTrue(diff.isEmpty());
+    }
+}
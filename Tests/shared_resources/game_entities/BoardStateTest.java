@@ -0,0 +1,144 @@
+/*
+ * Risk Game Team 2
+ * BoardStateTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import game_play.model.GamePlayModel;
+import org.junit.Before;
+import org.junit.Test;
+import tests_resources.FixedGamePlayModel;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+/**
+ * Testing the board state and the territory and player views of it
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class BoardStateTest {
+    private GamePlayModel fixedGamePlayModel;
+    private GameMap gameMap;
+    private Player player1;
+    private Player player2;
+    
+    /**
+     * Use the fixed game: player 1 owns the 7 "c" territories, player 2 the 6 "t" territories
+     */
+    @Before
+    public void setUp() {
+        fixedGamePlayModel = FixedGamePlayModel.getFixedGamePlayModel();
+        gameMap = fixedGamePlayModel.getGameMap();
+        player1 = fixedGamePlayModel.getPlayers().get(0);
+        player2 = fixedGamePlayModel.getPlayers().get(1);
+    }
+    
+    /**
+     * Changing the owner of a territory moves it from the territories of one player to the other one
+     */
+    @Test
+    public void ownershipTransfer() {
+        Territory territory = gameMap.getATerritory("1t");
+        BoardState boardState = gameMap.getBoardState();
+        System.out.println("Player 1 owns " + player1.getTerritoriesCount() + " territories, Player 2 owns " +
+                player2.getTerritoriesCount() + " territories. Player 1 conquers " + territory.getName());
+        
+        territory.setOwner(player1);
+        System.out.println("\tNow Player 1 owns " + player1.getTerritoriesCount() + " territories, Player 2 owns " +
+                player2.getTerritoriesCount() + " territories.");
+        assertEquals(8, player1.getTerritoriesCount());
+        assertEquals(5, player2.getTerritoriesCount());
+        assertEquals(player1.getPlayerID(), boardState.getOwnerID(territory.getId()));
+        assertSame(player1, territory.getOwner());
+        assertEquals(true, player1.getTerritories().contains(territory));
+        assertEquals(false, player2.getTerritories().contains(territory));
+    }
+    
+    /**
+     * A copy of the state is not changed by the game, and does not change the territories
+     */
+    @Test
+    public void copyIsIndependent() {
+        Territory territory = gameMap.getATerritory("1c");
+        BoardState copy = gameMap.getBoardState().copy();
+        int armies = territory.getArmies();
+        
+        territory.addArmies(5);
+        copy.setOwner(territory.getId(), player2);
+        System.out.println("After changing the game and its copy, the territory " + territory.getName() + " has " +
+                territory.getArmies() + " armies and is owned by " + territory.getOwner().getPlayerName() +
+                ". In the copy it has " + copy.getArmies(territory.getId()) + " armies and is owned by " +
+                copy.getOwner(territory.getId()).getPlayerName());
+        assertEquals(armies + 5, territory.getArmies());
+        assertEquals(armies, copy.getArmies(territory.getId()));
+        assertSame(player1, territory.getOwner());
+        assertSame(player2, copy.getOwner(territory.getId()));
+        assertEquals(7, player1.getTerritoriesCount());
+        assertEquals(6, copy.getTerritoriesCount(player1.getPlayerID()));
+    }
+    
+    /**
+     * The owner and the armies of a continent follow the changes of its territories
+     */
+    @Test
+    public void continentTracking() {
+        BoardState boardState = gameMap.getBoardState();
+        Continent continent = gameMap.getContinents().values().iterator().next();
+        for (String territoryName : continent.getTerritories()) {
+            gameMap.getATerritory(territoryName).setOwner(player2);
+        }
+        System.out.println("Player 2 conquers every territory of " + continent.getName() + ". The continent owner is: " +
+                continent.getContinentOwner(gameMap));
+        assertSame(player2, boardState.getContinentOwner(continent.getId()));
+        assertEquals(true, player2.getContinents(gameMap).contains(continent));
+        
+        Territory territory = gameMap.getATerritory(continent.getArbitraryTerritory());
+        territory.setOwner(player1);
+        territory.addArmies(3);
+        long armies = 0;
+        for (String territoryName : continent.getTerritories()) {
+            armies += gameMap.getATerritory(territoryName).getArmies();
+        }
+        System.out.println("Player 1 takes back " + territory.getName() + ". The continent owner is: \"" +
+                continent.getContinentOwner(gameMap) + "\", the continent has " + continent.getContinentArmies(gameMap) +
+                " armies. We expect " + armies + " armies.");
+        assertNull(boardState.getContinentOwner(continent.getId()));
+        assertEquals("", continent.getContinentOwner(gameMap));
+        assertEquals(armies, continent.getContinentArmies(gameMap));
+    }
+    
+    /**
+     * A fork of the state shares the arrays until one of the states changes, and the forks of a fork are independent
+     */
+    @Test
+    public void forkIsCopyOnWrite() {
+        GamePlayModel fork = fixedGamePlayModel.fork();
+        GamePlayModel forkOfFork = fork.fork();
+        Territory territory = gameMap.getATerritory("1c");
+        Territory forkTerritory = fork.getGameMap().getATerritory("1c");
+        Territory forkOfForkTerritory = forkOfFork.getGameMap().getATerritory("1c");
+        int armies = territory.getArmies();
+        
+        forkTerritory.addArmies(2);
+        forkOfForkTerritory.setOwner(forkOfFork.getPlayers().get(1));
+        System.out.println("The territory " + territory.getName() + " has " + territory.getArmies() +
+                " armies in the game, " + forkTerritory.getArmies() + " in the fork and " +
+                forkOfForkTerritory.getArmies() + " in the fork of the fork, where it is owned by " +
+                forkOfForkTerritory.getOwner().getPlayerName());
+        assertEquals(armies, territory.getArmies());
+        assertEquals(armies + 2, forkTerritory.getArmies());
+        assertEquals(armies, forkOfForkTerritory.getArmies());
+        assertSame(player1, territory.getOwner());
+        assertSame(fork.getPlayers().get(0), forkTerritory.getOwner());
+        assertSame(forkOfFork.getPlayers().get(1), forkOfForkTerritory.getOwner());
+        assertEquals(7, forkOfFork.getPlayers().get(1).getTerritoriesCount());
+        assertEquals(7, player1.getTerritoriesCount());
+        assertSame(gameMap.getGraph().getTerritory(territory.getId()), territory);
+        assertSame(fork.getGameMap().getGraph().getTerritory(territory.getId()), forkTerritory);
+    }
+}
@@ -8,6 +8,7 @@ package shared_resources.game_entities;
 
 import org.junit.Before;
 import org.junit.Test;
+import shared_resources.utilities.GameRandom;
 
 import java.util.Vector;
 
@@ -195,4 +196,24 @@ public class DiceTest {
         assertEquals(6, dice.getTheBestResult());
         assertEquals(4, dice.getSecondBestResult());
     }
+    
+    /**
+     * Testing that dice rolled with generators of the same seed give the same results
+     */
+    @Test
+    public void testRollIsReproducible() {
+        GameRandom random1 = new GameRandom(2017);
+        GameRandom random2 = new GameRandom(2017);
+        Dice dice1 = new Dice(3);
+        Dice dice2 = new Dice(3);
+        for (int i = 0; i < 100; i++) {
+            dice1.roll(random1);
+            dice2.roll(random2);
+            assertEquals(dice1.getRollsResult(), dice2.getRollsResult());
+            for (int result : dice1.getRollsResult()) {
+                assertEquals(true, result >= 1 && result <= 6);
+            }
+        }
+        System.out.println("Last rolls with the seed 2017: " + dice1.getRollsResult() + " and " + dice2.getRollsResult());
+    }
 }
\ No newline at end of file
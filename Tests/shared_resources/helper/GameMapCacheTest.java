@@ -0,0 +1,140 @@
+/*
+ * Risk Game Team 2
+ * GameMapCacheTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.helper;
+
+import org.junit.After;
+import org.junit.Test;
+import shared_resources.game_entities.GameMap;
+import shared_resources.game_entities.Territory;
+import shared_resources.utilities.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+/**
+ * Testing the cache of the maps read from the maps folder
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class GameMapCacheTest {
+    private static final String TEST_MAP = "TEST_CACHE.map";
+    
+    /**
+     * Remove the map file written by the tests and restore the budget of the cache
+     *
+     * @throws IOException Signals that an I/O exception has occurred.
+     */
+    @After
+    public void tearDown() throws IOException {
+        GameMapCache.setBudget(Config.MAPS_CACHE_BUDGET);
+        Files.deleteIfExists(Paths.get(Config.MAPS_FOLDER + TEST_MAP));
+        GameMapCache.invalidate(Config.MAPS_FOLDER + TEST_MAP);
+    }
+    
+    /**
+     * Instantiate two games on World.map and place armies on one of them
+     * Test if the maps share the neighbors of the cached map but not the armies
+     *
+     * @throws Exception invalid map exception
+     */
+    @Test
+    public void instantiatedMapsHaveTheirOwnBoard() throws Exception {
+        GameMap firstGameMap = GameMapHelper.instantiateGameMap("World.map");
+        GameMap secondGameMap = GameMapHelper.instantiateGameMap("World.map");
+        assertTrue(GameMapCache.contains("World.map"));
+        assertNotSame(firstGameMap, secondGameMap);
+        
+        firstGameMap.getATerritory("alaska").setArmies(5);
+        System.out.println("We place 5 armies on alaska in the first game, and expect 0 in the second game: " +
+                secondGameMap.getATerritory("alaska").getArmies());
+        assertEquals(5, firstGameMap.getATerritory("alaska").getArmies());
+        assertEquals(0, secondGameMap.getATerritory("alaska").getArmies());
+        assertSame(firstGameMap.getATerritory("alaska").getNeighbors(), secondGameMap.getATerritory("alaska").getNeighbors());
+    }
+    
+    /**
+     * Edit a loaded copy of World.map, then load World.map again
+     * Test if the edits are not in the new copy
+     *
+     * @throws Exception invalid map exception
+     */
+    @Test
+    public void editedCopyDoesNotChangeCachedMap() throws Exception {
+        GameMap editedMap = GameMapHelper.loadGameMap("World.map");
+        Territory alaska = editedMap.getATerritory("alaska");
+        int neighborsCount = alaska.getNeighborsCount();
+        alaska.removeNeighbor("kamchatka");
+        editedMap.removeContinent("australia");
+        
+        GameMap gameMap = GameMapHelper.loadGameMap("World.map");
+        System.out.println("We remove a neighbor of alaska and a continent from a copy, and expect " + neighborsCount +
+                " neighbors for alaska in a new copy: " + gameMap.getATerritory("alaska").getNeighborsCount());
+        assertEquals(neighborsCount, gameMap.getATerritory("alaska").getNeighborsCount());
+        assertNotNull(gameMap.getAContinent("australia"));
+        assertEquals(GameMapHelper.instantiateGameMap("World.map").getTerritoriesCount(), gameMap.getTerritoriesCount());
+    }
+    
+    /**
+     * Write World.map to a map file and load it, then write 3D.map to the same file and load it again
+     * Test if the map written by the editor is read again instead of taken from the cache
+     *
+     * @throws Exception invalid map exception
+     */
+    @Test
+    public void writtenMapIsReadAgain() throws Exception {
+        GameMap worldMap = GameMapHelper.loadGameMap("World.map");
+        GameMapHelper.writeToFile(worldMap, Config.MAPS_FOLDER + TEST_MAP);
+        assertEquals(worldMap.getTerritoriesCount(), GameMapHelper.loadGameMap(TEST_MAP).getTerritoriesCount());
+        assertTrue(GameMapCache.contains(TEST_MAP));
+        
+        GameMap cubeMap = GameMapHelper.loadGameMap("3D.map");
+        GameMapHelper.writeToFile(cubeMap, Config.MAPS_FOLDER + TEST_MAP);
+        assertFalse(GameMapCache.contains(TEST_MAP));
+        System.out.println("We overwrite the map file with 3D.map, and expect " + cubeMap.getTerritoriesCount() +
+                " territories: " + GameMapHelper.loadGameMap(TEST_MAP).getTerritoriesCount());
+        assertEquals(cubeMap.getTerritoriesCount(), GameMapHelper.loadGameMap(TEST_MAP).getTerritoriesCount());
+    }
+    
+    /**
+     * Make the budget of the cache fit only one map, then load two maps
+     * Test if the least recently used map is dropped
+     *
+     * @throws Exception invalid map exception
+     */
+    @Test
+    public void leastRecentlyUsedMapIsDropped() throws Exception {
+        GameMapCache.setBudget(1);
+        GameMapHelper.instantiateGameMap("World.map");
+        GameMapHelper.instantiateGameMap("3D.map");
+        System.out.println("We load World.map then 3D.map with a budget of 1 byte, and expect only 3D.map in the cache");
+        assertFalse(GameMapCache.contains("World.map"));
+        assertTrue(GameMapCache.contains("3D.map"));
+    }
+    
+    /**
+     * Load an invalid map twice
+     * Test if the error of the map is kept with the map
+     */
+    @Test
+    public void invalidMapKeepsItsError() {
+        String message = null;
+        for (int i = 0; i < 2; i++) {
+            try {
+                GameMapHelper.instantiateGameMap("Twin Volcano.map");
+            } catch (Exception e) {
+                message = e.getMessage();
+            }
+        }
+        System.out.println("We load Twin Volcano.map twice, and expect the same error: " + message);
+        assertEquals(String.format(Config.MSG_MAPFILE_DISCONNECTED_CONTINENT, "barren rocks"), message);
+        assertTrue(GameMapCache.contains("Twin Volcano.map"));
+    }
+}
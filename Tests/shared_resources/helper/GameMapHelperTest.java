@@ -13,6 +13,11 @@ import shared_resources.game_entities.GameMap;
 import shared_resources.game_entities.Territory;
 import shared_resources.utilities.Config;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
 import static org.junit.Assert.*;
 
 /**
@@ -530,4 +535,57 @@ public class GameMapHelperTest {
         assertEquals(Config.MSG_MAPFILE_DISCONNECTED_GRAPH, message);
         assertNotNull(gameMap);
     }
+    
+    /**
+     * This test reads World.map rewritten with old Mac line endings, upper case names and tabs around the fields
+     * Test if the map has the same continents, territories and neighbors as World.map
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void line_endings_and_case() throws Exception {
+        Path worldPath = Paths.get(Config.MAPS_FOLDER + "World.map");
+        Path testPath = Paths.get(Config.MAPS_FOLDER + "TEST_PARSER.map");
+        String content = new String(Files.readAllBytes(worldPath), StandardCharsets.US_ASCII);
+        content = content.replace("\r\n", "\n").replace('\n', '\r').replace(",", "\t,\t").toUpperCase();
+        content = content.replace("[MAP]", "[Map]").replace("[CONTINENTS]", "[Continents]").replace("[TERRITORIES]", "[Territories]");
+        try {
+            Files.write(testPath, content.getBytes(StandardCharsets.US_ASCII));
+            gameMap = GameMapHelper.loadGameMap("TEST_PARSER.map");
+        } finally {
+            Files.deleteIfExists(testPath);
+        }
+        
+        GameMap worldMap = GameMapHelper.loadGameMap("World.map");
+        System.out.println("We read World.map with CR line endings, in upper case and with tabs, and expect " +
+                worldMap.getTerritoriesCount() + " territories, we obtained " + gameMap.getTerritoriesCount());
+        assertEquals(worldMap.getContinents().keySet(), gameMap.getContinents().keySet());
+        assertEquals(worldMap.getTerritories().keySet(), gameMap.getTerritories().keySet());
+        for (Territory territory : worldMap.getTerritories().values()) {
+            Territory readTerritory = gameMap.getATerritory(territory.getName());
+            assertEquals(territory.getContinent(), readTerritory.getContinent());
+            assertEquals(territory.getNeighbors(), readTerritory.getNeighbors());
+        }
+    }
+    
+    /**
+     * This test checks a line of the map section with a delimiter only
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    public void map_line_without_key() throws Exception {
+        Path testPath = Paths.get(Config.MAPS_FOLDER + "TEST_PARSER.map");
+        try {
+            Files.write(testPath, "[Map]\nauthor=Team 2\n=\n".getBytes(StandardCharsets.US_ASCII));
+            gameMap = GameMapHelper.loadGameMap("TEST_PARSER.map");
+        } catch (Exception e) {
+            message = e.getMessage();
+        } finally {
+            Files.deleteIfExists(testPath);
+        }
+        
+        assertEquals(String.format(Config.MSG_MAPFILE_INVALID_FORMAT, 3), message);
+        assertNull(gameMap);
+    }
 }
\ No newline at end of file
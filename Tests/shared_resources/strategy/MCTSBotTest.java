@@ -0,0 +1,83 @@
+/*
+ * Risk Game Team 2
+ * MCTSBotTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.strategy;
+
+import game_play.model.GamePlayModel;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static tests_resources.SeededGamePlayModel.getStartedSeededBotGame;
+
+/**
+ * Testing the MCTS bot playing while the number of threads of its rollouts changes
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class MCTSBotTest {
+    private static final int MAX_TURNS = 2;
+    private int threadsCount;
+    private GamePlayModel game;
+    
+    /**
+     * Make a started game of a MCTS bot against an aggressive bot on World.map
+     *
+     * @throws Exception invalid map exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        threadsCount = MCTSBot.getThreadsCount();
+        game = getStartedSeededBotGame(11, MAX_TURNS, new MCTSBot(32, 0, 1, MCTSBot.ROLLOUT_POLICY.AGGRESSIVE),
+                new AggressiveBot());
+    }
+    
+    /**
+     * Give back the number of threads of the rollouts
+     */
+    @After
+    public void tearDown() {
+        MCTSBot.setThreadsCount(threadsCount);
+    }
+    
+    /**
+     * Let the bots play on another thread while the number of threads of the rollouts changes again and again
+     * Test if the decisions being made keep their threads and the game ends without error
+     *
+     * @throws Exception the test was interrupted
+     */
+    @Test
+    public void threadsCountChangesWhileDeciding() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread gameThread = new Thread(() -> {
+            try {
+                while (!game.isWaitingForUser()) {
+                    game.letBotsPlay();
+                }
+            } catch (Throwable e) {
+                failure.set(e);
+            }
+        });
+        gameThread.start();
+        
+        int changes = 0;
+        while (gameThread.isAlive()) {
+            MCTSBot.setThreadsCount(1 + changes % 3);
+            changes++;
+            Thread.sleep(5);
+        }
+        gameThread.join();
+        System.out.println("We changed the number of threads " + changes + " times while the bots played " +
+                game.getTurnCounter() + " turns, and expect no error: " + failure.get());
+        assertNull(failure.get());
+        assertTrue(game.isWaitingForUser());
+    }
+}
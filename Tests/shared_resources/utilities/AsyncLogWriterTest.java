@@ -0,0 +1,111 @@
+/*
+ * Risk Game Team 2
+ * AsyncLogWriterTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Testing the asynchronous log writer
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class AsyncLogWriterTest {
+    private static final int THREADS_COUNT = 4;
+    private static final int LINES_PER_THREAD = 5000;
+    private Path logPath;
+    
+    /**
+     * Use a temporary log file
+     *
+     * @throws IOException the temporary file cannot be created
+     */
+    @Before
+    public void setUp() throws IOException {
+        logPath = Files.createTempFile("testLog", ".txt");
+    }
+    
+    /**
+     * Clean-up by removing the log file
+     *
+     * @throws IOException the temporary file cannot be deleted
+     */
+    @After
+    public void cleanUp() throws IOException {
+        Files.deleteIfExists(logPath);
+    }
+    
+    /**
+     * Several threads append lines through a small ring buffer so they have to wait for the writer.
+     * We expect every line in the file once the writer is closed, in the order each thread appended them.
+     *
+     * @throws Exception the log file cannot be read
+     */
+    @Test
+    public void concurrentAppends() throws Exception {
+        AsyncLogWriter writer = new AsyncLogWriter(logPath, 16, 256, 5);
+        Thread[] threads = new Thread[THREADS_COUNT];
+        for (int t = 0; t < THREADS_COUNT; t++) {
+            final int threadID = t;
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < LINES_PER_THREAD; i++) {
+                    writer.append(threadID + " " + i);
+                }
+            });
+            threads[t].start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        writer.close();
+        
+        List<String> lines = Files.readAllLines(logPath, StandardCharsets.UTF_8);
+        System.out.println(THREADS_COUNT + " threads appended " + LINES_PER_THREAD + " lines each. We found " + lines.size() + " lines in the file.");
+        assertEquals(THREADS_COUNT * LINES_PER_THREAD, lines.size());
+        
+        int[] nextLine = new int[THREADS_COUNT];
+        for (String line : lines) {
+            String[] parts = line.split(" ");
+            int threadID = Integer.parseInt(parts[0]);
+            assertEquals(nextLine[threadID], Integer.parseInt(parts[1]));
+            nextLine[threadID]++;
+        }
+    }
+    
+    /**
+     * We expect the appended lines to be in the file after a flush, while the writer is still open
+     *
+     * @throws Exception the log file cannot be read
+     */
+    @Test
+    public void flushWritesPendingLines() throws Exception {
+        AsyncLogWriter writer = new AsyncLogWriter(logPath, 1024, 64 * 1024, 60 * 1000);
+        writer.append("first line");
+        writer.append("second line");
+        writer.flush();
+        
+        List<String> lines = Files.readAllLines(logPath, StandardCharsets.UTF_8);
+        System.out.println("We expect 2 lines in the file after a flush. We found " + lines.size() + " lines.");
+        assertEquals(2, lines.size());
+        assertTrue(lines.contains("second line"));
+        
+        writer.close();
+        writer.append("dropped line");
+        assertEquals(2, Files.readAllLines(logPath, StandardCharsets.UTF_8).size());
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Risk Game Team 2
+ * GameEventBusTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import game_play.model.GamePlayModel;
+import org.junit.Before;
+import org.junit.Test;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
+import shared_resources.strategy.AggressiveBot;
+import shared_resources.strategy.BenevolentBot;
+import shared_resources.strategy.RandomBot;
+import shared_resources.utilities.GameEvent.ArmiesChanged;
+import shared_resources.utilities.GameEvent.PlayerEliminated;
+import shared_resources.utilities.GameEvent.TerritoryOwnerChanged;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Vector;
+
+import static org.junit.Assert.*;
+import static shared_resources.utilities.Config.GAME_STATES.VICTORY;
+import static tests_resources.SeededGamePlayModel.getSeededBotGame;
+
+/**
+ * Testing the typed events of a game
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class GameEventBusTest {
+    private static final int MAX_TURNS = 100;
+    private GamePlayModel game;
+    
+    /**
+     * Make a game of 4 bots on World.map, with its territories not yet given to the players
+     *
+     * @throws Exception invalid map exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        game = getSeededBotGame(11, new AggressiveBot(), new RandomBot(), new BenevolentBot(), new AggressiveBot());
+    }
+    
+    /**
+     * Follow a whole game with listeners counting the territories and armies of every player from the events only
+     * Test if the counts are the ones of the board at the end of the game
+     */
+    @Test
+    public void eventsFollowTheBoard() {
+        Map<Integer, Integer> territoriesCounts = new HashMap<>();
+        Map<String, Integer> armies = new HashMap<>();
+        Vector<String> eliminated = new Vector<>();
+        GameEventBus events = game.getEvents();
+        events.subscribe(TerritoryOwnerChanged.class, event -> {
+            if (event.getPreviousOwner() != null) {
+                territoriesCounts.merge(event.getPreviousOwner().getPlayerID(), -1, Integer::sum);
+            }
+            territoriesCounts.merge(event.getOwner().getPlayerID(), 1, Integer::sum);
+        });
+        events.subscribe(ArmiesChanged.class, event -> {
+            assertEquals(armies.getOrDefault(event.getTerritory().getName(), 0).intValue(), event.getPreviousArmies());
+            armies.put(event.getTerritory().getName(), event.getArmies());
+        });
+        events.subscribe(PlayerEliminated.class, event -> eliminated.add(event.getPlayer().getPlayerName()));
+        playGame();
+        
+        System.out.println("We count the territories of the players from the events, and expect the counts of the board: " +
+                territoriesCounts + ", eliminated " + eliminated);
+        for (Player player : game.getPlayers()) {
+            assertEquals(player.getTerritoriesCount(), territoriesCounts.getOrDefault(player.getPlayerID(), 0).intValue());
+            assertEquals(player.getPlayerStatus() == GamePlayModel.PLAYER_STATUS.ELIMINATED,
+                    eliminated.contains(player.getPlayerName()));
+        }
+        for (Territory territory : game.getGameMap().getTerritories().values()) {
+            assertEquals(territory.getArmies(), armies.getOrDefault(territory.getName(), 0).intValue());
+        }
+    }
+    
+    /**
+     * Publish an event from a listener of the same type, then unsubscribe the listener
+     * Test if the inner event is another object, and the listener is not called anymore
+     */
+    @Test
+    public void nestedEventAndUnsubscribe() {
+        GameEventBus events = new GameEventBus();
+        Territory alaska = game.getGameMap().getATerritory("alaska");
+        Vector<Integer> received = new Vector<>();
+        GameEventBus.Listener<ArmiesChanged> listener = event -> {
+            received.add(event.getArmies());
+            if (event.getArmies() == 1) {
+                events.armiesChanged(alaska, 1, 2);
+                assertEquals(1, event.getArmies());
+            }
+        };
+        events.subscribe(ArmiesChanged.class, listener);
+        events.armiesChanged(alaska, 0, 1);
+        events.unsubscribe(ArmiesChanged.class, listener);
+        events.armiesChanged(alaska, 2, 3);
+        
+        System.out.println("We publish 1 event whose listener publishes another, then unsubscribe, and expect [1, 2]: " +
+                received);
+        assertEquals(2, received.size());
+        assertEquals(1, received.get(0).intValue());
+        assertEquals(2, received.get(1).intValue());
+        assertFalse(events.hasListeners(ArmiesChanged.class));
+    }
+    
+    /**
+     * Play a fork of the game
+     * Test if the listeners of the game are not told of the changes of the fork
+     */
+    @Test
+    public void forkDoesNotPublishToTheGame() {
+        game.initializeNewGameForTournament();
+        Vector<ArmiesChanged> received = new Vector<>();
+        game.getEvents().subscribe(ArmiesChanged.class, received::add);
+        GamePlayModel fork = game.fork();
+        fork.startTheGame();
+        fork.letBotsPlay();
+        System.out.println("We play a turn of a fork, and expect no event in the game: " + received.size());
+        assertEquals(0, received.size());
+    }
+    
+    /**
+     * Play the game until a player wins or the maximum turns are reached
+     */
+    private void playGame() {
+        game.initializeNewGameForTournament();
+        game.setMaxTurns(MAX_TURNS);
+        game.startTheGame();
+        while (game.getTurnCounter() < MAX_TURNS && game.getGameState() != VICTORY) {
+            game.letBotsPlay();
+        }
+    }
+}
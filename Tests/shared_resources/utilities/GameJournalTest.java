@@ -0,0 +1,174 @@
+/*
+ * Risk Game Team 2
+ * GameJournalTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import game_play.model.GamePlayModel;
+import org.junit.Before;
+import org.junit.Test;
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.BoardState;
+import shared_resources.game_entities.Player;
+import shared_resources.strategy.AggressiveBot;
+import shared_resources.strategy.BenevolentBot;
+import shared_resources.strategy.RandomBot;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static shared_resources.utilities.Config.GAME_STATES.VICTORY;
+import static tests_resources.SeededGamePlayModel.getStartedSeededBotGame;
+
+/**
+ * Testing the journal of a game and its replay
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class GameJournalTest {
+    private static final int MAX_TURNS = 30;
+    private static final int MIDDLE_TURN = 10;
+    private GamePlayModel game;
+    private GameJournal journal;
+    private GamePlayModel middleGame;
+    private int middleActions;
+    
+    /**
+     * Play a seeded game of three bots with a journal in memory
+     * Keep a fork of the game and the number of recorded actions at the beginning of the turn 10
+     *
+     * @throws Exception invalid map exception
+     */
+    @Before
+    public void setUp() throws Exception {
+        journal = GameJournal.inMemory();
+        game = getStartedSeededBotGame(2017, MAX_TURNS, journal, new AggressiveBot(), new RandomBot(), new BenevolentBot());
+        while (game.getTurnCounter() < MAX_TURNS && game.getGameState() != VICTORY) {
+            if (middleGame == null && game.getTurnCounter() >= MIDDLE_TURN) {
+                middleGame = game.fork();
+                middleActions = journal.getActionsCount();
+            }
+            game.letBotsPlay();
+        }
+        System.out.println("A game of 3 bots was played with a journal of " + journal.getActionsCount() +
+                " actions in " + journal.toByteArray().length + " bytes");
+    }
+    
+    /**
+     * Replay the whole journal
+     * Test if the replayed game has the same board, players, deck and counters as the played game
+     * Test if the replayed game rolls the same dice as the played game
+     *
+     * @throws IOException if the journal cannot be read
+     */
+    @Test
+    public void replayWholeGame() throws IOException {
+        GameReplay replay = new GameReplay(journal.toByteArray());
+        System.out.println("We replay the " + replay.getActionsCount() + " actions and expect the final position of the game");
+        assertEquals(journal.getActionsCount(), replay.getActionsCount());
+        assertEquals(GameJournal.ACTION.START, replay.getAction(0));
+        assertSameGame(game, replay.seek(replay.getActionsCount()));
+    }
+    
+    /**
+     * Replay to the end of the journal, then go back to the beginning of the turn 10
+     * Test if the replayed game is the game as it was at that turn
+     *
+     * @throws IOException if the journal cannot be read
+     */
+    @Test
+    public void seekBackToMiddleOfGame() throws IOException {
+        GameReplay replay = new GameReplay(journal.toByteArray());
+        replay.seek(replay.getActionsCount());
+        System.out.println("We go back from the end of the replay to the action " + middleActions +
+                " and expect the position of the turn " + MIDDLE_TURN);
+        assertSameGame(middleGame, replay.seek(middleActions));
+        assertEquals(middleActions, replay.getPosition());
+    }
+    
+    /**
+     * Jump to the beginning of the turn 10 and to the first battle
+     * Test if the turn 10 begins where the game was forked at the turn 10
+     * Test if the found positions are right after a turn and a battle
+     *
+     * @throws IOException if the journal cannot be read
+     */
+    @Test
+    public void jumpToTurnAndBattle() throws IOException {
+        GameReplay replay = new GameReplay(journal.toByteArray());
+        int turnPosition = replay.getTurnPosition(MIDDLE_TURN);
+        int battlePosition = replay.findNext(GameJournal.ACTION.BATTLE, 0);
+        System.out.println("We expect the turn " + MIDDLE_TURN + " at the action " + middleActions + ", we obtained " +
+                turnPosition + ". The first battle ends at the action " + battlePosition);
+        assertEquals(middleActions, turnPosition);
+        assertEquals(GameJournal.ACTION.TURN, replay.getAction(turnPosition - 1));
+        assertEquals(MIDDLE_TURN, replay.getTurn(turnPosition));
+        assertEquals(MIDDLE_TURN, replay.seek(turnPosition).getTurnCounter());
+        assertEquals(GameJournal.ACTION.BATTLE, replay.getAction(battlePosition - 1));
+        assertEquals(battlePosition, replay.findPrevious(GameJournal.ACTION.BATTLE, replay.findNext(GameJournal.ACTION.BATTLE, battlePosition)));
+        assertEquals(game.getTurnCounter(), replay.getLastTurn());
+    }
+    
+    /**
+     * Cut the last record of the journal, as a crash while it is written would
+     * Test if the replay ignores the cut record and stops after the previous action
+     *
+     * @throws IOException if the journal cannot be read
+     */
+    @Test
+    public void ignoreCutRecord() throws IOException {
+        byte[] bytes = journal.toByteArray();
+        GameReplay replay = new GameReplay(Arrays.copyOf(bytes, bytes.length - 3));
+        System.out.println("We cut the last 3 bytes of the journal and expect " + (journal.getActionsCount() - 1) + " actions");
+        assertEquals(journal.getActionsCount() - 1, replay.getActionsCount());
+        replay.seek(replay.getActionsCount());
+        assertEquals(replay.getActionsCount(), replay.getPosition());
+    }
+    
+    /**
+     * Check that two games are in the same position
+     *
+     * @param expected the expected game
+     * @param actual   the replayed game
+     */
+    private void assertSameGame(GamePlayModel expected, GamePlayModel actual) {
+        BoardState expectedBoard = expected.getGameMap().getBoardState();
+        BoardState actualBoard = actual.getGameMap().getBoardState();
+        for (int id = 0; id < expectedBoard.size(); id++) {
+            assertEquals(expectedBoard.getOwnerID(id), actualBoard.getOwnerID(id));
+            assertEquals(expectedBoard.getArmies(id), actualBoard.getArmies(id));
+        }
+        for (int i = 0; i < expected.getPlayers().size(); i++) {
+            Player expectedPlayer = expected.getPlayers().get(i);
+            Player actualPlayer = actual.getPlayers().get(i);
+            assertEquals(expectedPlayer.getUnallocatedArmies(), actualPlayer.getUnallocatedArmies());
+            assertEquals(expectedPlayer.getPlayersHand().size(), actualPlayer.getPlayersHand().size());
+            assertEquals(expectedPlayer.getGameState(), actualPlayer.getGameState());
+            assertEquals(expectedPlayer.getPlayerStatus(), actualPlayer.getPlayerStatus());
+            assertEquals(expectedPlayer.getPlayerType().getClass(), actualPlayer.getPlayerType().getClass());
+        }
+        assertEquals(expected.getCurrentPlayer().getPlayerID(), actual.getCurrentPlayer().getPlayerID());
+        assertEquals(expected.getGameState(), actual.getGameState());
+        assertEquals(expected.getTurnCounter(), actual.getTurnCounter());
+        assertEquals(expected.getAttackCounter(), actual.getAttackCounter());
+        assertEquals(expected.getDeck().size(), actual.getDeck().size());
+        assertEquals(expected.getWinner(), actual.getWinner());
+        assertEquals(expected.getRandom().copy().nextLong(), actual.getRandom().copy().nextLong());
+        
+        Battle expectedBattle = expected.getCurrentBattle();
+        Battle actualBattle = actual.getCurrentBattle();
+        assertEquals(expectedBattle == null, actualBattle == null);
+        if (expectedBattle != null) {
+            assertEquals(expectedBattle.getAttacker().getPlayerID(), actualBattle.getAttacker().getPlayerID());
+            assertEquals(expectedBattle.getAttackingTerritory().getId(), actualBattle.getAttackingTerritory().getId());
+            assertEquals(expectedBattle.getDefendingTerritory().getId(), actualBattle.getDefendingTerritory().getId());
+            assertEquals(expectedBattle.getAttackerDice().getRollsCount(), actualBattle.getAttackerDice().getRollsCount());
+            assertEquals(expectedBattle.getAttackerLossCount(), actualBattle.getAttackerLossCount());
+            assertEquals(expectedBattle.getDefenderLossCount(), actualBattle.getDefenderLossCount());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Risk Game Team 2
+ * NotificationDispatcherTest.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.*;
+import java.util.Observable;
+import java.util.Vector;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Testing the coalesced notifications of the views
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class NotificationDispatcherTest {
+    private static final int REFRESH_INTERVAL_MS = 20;
+    private Observable model;
+    private boolean urgent;
+    private NotificationDispatcher dispatcher;
+    private Vector<Object> refreshes;
+    
+    /**
+     * Make a dispatcher refreshing a view which records the arguments of its refreshes
+     */
+    @Before
+    public void setUp() {
+        model = new Observable();
+        urgent = false;
+        dispatcher = new NotificationDispatcher(o -> urgent, REFRESH_INTERVAL_MS);
+        refreshes = new Vector<>();
+        dispatcher.addObserver((o, arg) -> refreshes.add(arg));
+    }
+    
+    /**
+     * Notify the dispatcher 100 times on the event dispatch thread
+     * Test if the view is refreshed once, after the burst, with the last notification
+     *
+     * @throws Exception the event dispatch thread was interrupted
+     */
+    @Test
+    public void burstIsRefreshedOnce() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            for (int i = 0; i < 100; i++) {
+                dispatcher.update(model, i);
+            }
+            assertEquals(0, refreshes.size());
+        });
+        Thread.sleep(REFRESH_INTERVAL_MS * 5);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        
+        System.out.println("We notify 100 times, and expect 1 refresh with the last notification: " + refreshes);
+        assertEquals(1, refreshes.size());
+        assertEquals(99, refreshes.firstElement());
+    }
+    
+    /**
+     * Notify the dispatcher twice, then notify it while the model is urgent
+     * Test if the view is refreshed at once with the urgent notification
+     *
+     * @throws Exception the event dispatch thread was interrupted
+     */
+    @Test
+    public void urgentNotificationIsRefreshedAtOnce() throws Exception {
+        SwingUtilities.invokeAndWait(() -> {
+            dispatcher.update(model, 1);
+            dispatcher.update(model, 2);
+            urgent = true;
+            dispatcher.update(model, 3);
+            System.out.println("We notify while the model is urgent, and expect 1 refresh at once: " + refreshes);
+            assertEquals(1, refreshes.size());
+            assertEquals(3, refreshes.firstElement());
+        });
+        Thread.sleep(REFRESH_INTERVAL_MS * 5);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        assertEquals(1, refreshes.size());
+    }
+    
+    /**
+     * Notify the dispatcher from this thread, which is not the event dispatch thread, while the model is urgent
+     * Test if the view is not refreshed
+     *
+     * @throws Exception the event dispatch thread was interrupted
+     */
+    @Test
+    public void notificationFromAnotherThreadIsIgnored() throws Exception {
+        urgent = true;
+        dispatcher.update(model, 1);
+        Thread.sleep(REFRESH_INTERVAL_MS * 5);
+        SwingUtilities.invokeAndWait(() -> {
+        });
+        System.out.println("We notify from another thread, and expect no refresh: " + refreshes);
+        assertEquals(0, refreshes.size());
+    }
+}
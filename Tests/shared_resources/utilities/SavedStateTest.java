@@ -10,11 +10,21 @@ import game_play.model.GamePlayModel;
 import org.junit.AfterClass;
 import org.junit.Before;
 import org.junit.Test;
+import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Continent;
+import shared_resources.game_entities.GameMap;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
 import tests_resources.FixedGamePlayModel;
 
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 /**
  * Testing the saving and loading of a game model
@@ -24,6 +34,7 @@ import static org.junit.Assert.assertEquals;
  */
 public class SavedStateTest {
     private static String fileName = "testObject.game";
+    private static String otherFileName = "testOther.game";
     
     /**
      * Clean-up by removing the saved file
@@ -31,6 +42,7 @@ public class SavedStateTest {
     @AfterClass
     public static void cleanUp() {
         new File(fileName).delete();
+        new File(otherFileName).delete();
     }
     
     /**
@@ -60,4 +72,102 @@ public class SavedStateTest {
         assertEquals(loadedObject.getCurrentPlayer().getPlayerName(), "Player 2");
         assertEquals(loadedObject.getArmyValue(), 999);
     }
+    
+    /**
+     * Save a game being played without compression and load it
+     * Test if the owners and armies of the territories, the hands, the deck and the counters are the same
+     * Test if the loaded game rolls the same dice as the saved one
+     */
+    @Test
+    public void loadUncompressedGame() {
+        GamePlayModel game = FixedGamePlayModel.getFixedGamePlayModel();
+        Player player2 = game.getPlayers().get(1);
+        game.getGameMap().getATerritory("1c").setOwner(player2);
+        game.getGameMap().getATerritory("2t").addArmies(6);
+        player2.addCardToPlayersHand(game.drawCard());
+        game.setTurnCounter(7);
+        SavedState.saveGame(game, otherFileName, false);
+        
+        GamePlayModel loadedGame = SavedState.loadGame(otherFileName);
+        System.out.println("We load an uncompressed game of " + new File(otherFileName).length() + " bytes and " +
+                "validate its territories, players, deck, counters and random generator");
+        for (Territory territory : game.getGameMap().getTerritories().values()) {
+            Territory loadedTerritory = loadedGame.getGameMap().getATerritory(territory.getName());
+            assertEquals(territory.getId(), loadedTerritory.getId());
+            assertEquals(territory.getArmies(), loadedTerritory.getArmies());
+            assertEquals(territory.getOwner().getPlayerID(), loadedTerritory.getOwner().getPlayerID());
+            assertEquals(territory.getNeighbors(), loadedTerritory.getNeighbors());
+        }
+        Player loadedPlayer2 = loadedGame.getPlayers().get(1);
+        assertEquals(player2.getTerritoriesCount(), loadedPlayer2.getTerritoriesCount());
+        assertEquals(player2.getUnallocatedArmies(), loadedPlayer2.getUnallocatedArmies());
+        assertEquals(player2.getPlayersHand().size(), loadedPlayer2.getPlayersHand().size());
+        assertEquals(player2.getPlayersHand().firstElement().getCardType(), loadedPlayer2.getPlayersHand().firstElement().getCardType());
+        assertEquals(game.getDeck().size(), loadedGame.getDeck().size());
+        assertEquals(7, loadedGame.getTurnCounter());
+        assertEquals(game.getGameState(), loadedGame.getGameState());
+        assertEquals(game.getRandom().nextLong(), loadedGame.getRandom().nextLong());
+    }
+    
+    /**
+     * A file that is not a saved game, such as a serialized game model, is not loaded
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    public void rejectOtherFiles() throws IOException {
+        try (ObjectOutputStream output = new ObjectOutputStream(new FileOutputStream(otherFileName))) {
+            output.writeObject(new Card(Card.CARD_TYPE.INFANTRY));
+        }
+        System.out.println("We load a serialized object and validate that no game is loaded");
+        assertNull(SavedState.loadGame(otherFileName));
+    }
+    
+    /**
+     * A saved game whose map length is negative or larger than any map is rejected as corrupted, without
+     * allocating the map
+     *
+     * @throws IOException if the file cannot be written
+     */
+    @Test
+    public void rejectCorruptedMapLength() throws IOException {
+        for (int mapLength : new int[]{-1, Integer.MAX_VALUE}) {
+            try (DataOutputStream output = new DataOutputStream(new FileOutputStream(otherFileName))) {
+                output.writeInt(0x5249534B);
+                output.writeShort(1);
+                output.writeByte(0);
+                output.writeLong(0);
+                output.writeInt(mapLength);
+            }
+            System.out.println("We load a saved game whose map length is " + mapLength + " and validate that no game is loaded");
+            assertNull(SavedState.loadGame(otherFileName));
+        }
+    }
+    
+    /**
+     * A game on a map with territories of 11 neighbors, beyond the limit of the map files, is not saved
+     * Test if the game saved before in the same file is still loaded
+     */
+    @Test
+    public void rejectMapBeyondLimits() {
+        GameMap gameMap = new GameMap("Dense");
+        gameMap.addContinent(new Continent("Continent", 1));
+        for (int i = 0; i < 12; i++) {
+            Territory territory = new Territory("Territory " + i, "Continent");
+            for (int j = 0; j < 12; j++) {
+                if (j != i) {
+                    territory.addNeighbor("Territory " + j);
+                }
+            }
+            gameMap.addTerritory(territory, true);
+        }
+        GamePlayModel game = new GamePlayModel();
+        game.setGameMap(gameMap);
+        SavedState.saveGame(game, fileName);
+        
+        System.out.println("We save a game whose map has too many neighbors over the saved game, " +
+                "and validate that the saved game is still loaded");
+        GamePlayModel loadedObject = SavedState.loadGame(fileName);
+        assertEquals(999, loadedObject.getArmyValue());
+    }
 }
\ No newline at end of file
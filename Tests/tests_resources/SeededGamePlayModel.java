@@ -0,0 +1,91 @@
+/*
+ * Risk Game Team 2
+ * tests_resources.SeededGamePlayModel.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package tests_resources;
+
+import game_play.model.GamePlayModel;
+import shared_resources.helper.GameMapHelper;
+import shared_resources.strategy.PlayerType;
+import shared_resources.utilities.GameJournal;
+import shared_resources.utilities.GameRandom;
+
+import static shared_resources.utilities.Config.GAME_STATES.STARTUP;
+
+/**
+ * This class is responsible for providing the games of bots on World.map played with a seeded random generator,
+ * so the tests replaying, forking or following them play the same games every time.
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class SeededGamePlayModel {
+    // region Attributes
+    /** The map file path. */
+    final static String mapFilePath = "World.map";
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Make a game of bots whose territories are not yet given to the players
+     *
+     * @param seed        the seed of the random generator of the game
+     * @param playerTypes the strategies of the players, one player for each
+     *
+     * @return the game in the startup phase
+     *
+     * @throws Exception invalid map exception
+     */
+    public static GamePlayModel getSeededBotGame(long seed, PlayerType... playerTypes) throws Exception {
+        GamePlayModel game = new GamePlayModel();
+        game.setRandom(new GameRandom(seed));
+        game.setGameMap(GameMapHelper.instantiateGameMap(mapFilePath));
+        game.setGameState(STARTUP);
+        game.initPlayers(playerTypes.length);
+        for (int i = 0; i < playerTypes.length; i++) {
+            game.getPlayers().get(i).setPlayerType(playerTypes[i]);
+        }
+        return game;
+    }
+    
+    /**
+     * Make a started game of bots, the next turn being the turn of the first bot
+     *
+     * @param seed        the seed of the random generator of the game
+     * @param maxTurns    the maximum number of turns of the game
+     * @param playerTypes the strategies of the players, one player for each
+     *
+     * @return the started game
+     *
+     * @throws Exception invalid map exception
+     */
+    public static GamePlayModel getStartedSeededBotGame(long seed, int maxTurns, PlayerType... playerTypes) throws Exception {
+        return getStartedSeededBotGame(seed, maxTurns, null, playerTypes);
+    }
+    
+    /**
+     * Make a started game of bots recorded in a journal, the next turn being the turn of the first bot
+     *
+     * @param seed        the seed of the random generator of the game
+     * @param maxTurns    the maximum number of turns of the game
+     * @param journal     the journal recording the game from its start, or null for none
+     * @param playerTypes the strategies of the players, one player for each
+     *
+     * @return the started game
+     *
+     * @throws Exception invalid map exception
+     */
+    public static GamePlayModel getStartedSeededBotGame(long seed, int maxTurns, GameJournal journal,
+                                                        PlayerType... playerTypes) throws Exception {
+        GamePlayModel game = getSeededBotGame(seed, playerTypes);
+        game.initializeNewGameForTournament();
+        game.setMaxTurns(maxTurns);
+        game.setJournal(journal);
+        game.startTheGame();
+        return game;
+    }
+    // endregion
+}
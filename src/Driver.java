@@ -6,6 +6,7 @@
  */
 
 import game_play.controller.MainMenuController;
+import game_play.controller.TournamentCommandLine;
 
 /**
  * Main driver class is responsible for starting the Application.
@@ -16,13 +17,18 @@ import game_play.controller.MainMenuController;
 public class Driver {
     
     /**
-     * Start the application by making a Main Game Controller
+     * Start the application by making a Main Game Controller.
+     * When options are given, play a tournament from the command line instead, without any user interface.
      *
      * @param args CLI arguments
      *
      * @throws Exception the exception
      */
     public static void main(String[] args) throws Exception {
+        if (args.length > 0) {
+            System.setProperty("java.awt.headless", "true");
+            System.exit(TournamentCommandLine.run(args, System.out));
+        }
         new MainMenuController();
     }
 }
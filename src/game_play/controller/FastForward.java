@@ -0,0 +1,130 @@
+/*
+ * Risk Game Team 2
+ * FastForward.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.controller;
+
+import game_play.model.BotTurnRunner;
+import game_play.model.GamePlayModel;
+import shared_resources.game_entities.BoardState;
+import shared_resources.utilities.GameLog;
+
+import java.util.concurrent.Executor;
+
+import static shared_resources.utilities.Config.FAST_FORWARD_LOG_LEVEL;
+
+/**
+ * FastForward sets up the bots of a game to fast-forward to the turn of a human, or to play turn by turn.
+ * <ul>
+ * <li> When they fast-forward, the bots give no snapshot to the views and only log their turns
+ * <li> The board is kept when they start fast-forwarding, to sum up its changes once a human's turn comes
+ * <li> Switched while the bots play, the snapshots change at once, and the log and the board are changed or copied
+ * on the game thread before the next bot turn, since the game must not be read from the Event Dispatch Thread
+ * </ul>
+ * Except for the tasks given to the game thread, it is only used on the Event Dispatch Thread.
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+class FastForward {
+    // region Attributes declaration
+    private final GamePlayModel game;
+    private final BotTurnRunner botTurnRunner;
+    private final GameLog log;
+    private final Executor eventDispatchThread;
+    private boolean enabled;
+    private BoardState boardBefore;     // the board when the bots started fast-forwarding, until a human's turn
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates the fast-forward of the bots of a game, disabled
+     *
+     * @param game                the game
+     * @param botTurnRunner       the runner playing the bots of the game
+     * @param log                 the log of the game when the bots do not fast-forward
+     * @param eventDispatchThread runs the tasks given back by the game thread, e.g. SwingUtilities::invokeLater
+     */
+    FastForward(GamePlayModel game, BotTurnRunner botTurnRunner, GameLog log, Executor eventDispatchThread) {
+        this.game = game;
+        this.botTurnRunner = botTurnRunner;
+        this.log = log;
+        this.eventDispatchThread = eventDispatchThread;
+    }
+    // endregion
+    
+    // region Package methods
+    
+    /**
+     * Called when the fast-forward option is selected or unselected.
+     * The views stop or start being refreshed at once. If the bots are playing, the log is changed and the board
+     * is kept on the game thread before their next turn, otherwise when they start, see apply().
+     *
+     * @param enabled true to fast-forward the bots to the turn of a human
+     */
+    void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+        botTurnRunner.setSnapshotsEnabled(!enabled);
+        if (!enabled) {
+            boardBefore = null;
+        }
+        botTurnRunner.runBetweenTurns(() -> applyBetweenTurns(enabled));
+    }
+    
+    /**
+     * Set up the game for the bots about to play, whether they fast-forward to the turn of a human or not.
+     * Must be called while the bots do not play.
+     */
+    void apply() {
+        botTurnRunner.setSnapshotsEnabled(!enabled);
+        game.setLog(enabled ? GameLog.upTo(FAST_FORWARD_LOG_LEVEL, log) : log);
+        if (enabled && boardBefore == null) {
+            boardBefore = game.getGameMap().getBoardState().copy();
+        }
+    }
+    
+    /**
+     * Check whether the board was kept since the bots started fast-forwarding
+     *
+     * @return true if there is a board to sum up the changes from
+     */
+    boolean hasBoardBefore() {
+        return boardBefore != null;
+    }
+    
+    /**
+     * Take the board kept when the bots started fast-forwarding; the next fast-forward keeps the board again
+     *
+     * @return the board, or null if none was kept
+     */
+    BoardState takeBoardBefore() {
+        BoardState board = boardBefore;
+        boardBefore = null;
+        return board;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Change the log of the game and keep its board for the fast-forward switched while the bots play.
+     * Runs on the game thread between two turns; the board is given back to the Event Dispatch Thread.
+     *
+     * @param enabled true if the fast-forward was enabled
+     */
+    private void applyBetweenTurns(boolean enabled) {
+        game.setLog(enabled ? GameLog.upTo(FAST_FORWARD_LOG_LEVEL, log) : log);
+        if (enabled) {
+            BoardState board = game.getGameMap().getBoardState().copy();
+            eventDispatchThread.execute(() -> {
+                if (this.enabled && boardBefore == null) {
+                    boardBefore = board;
+                }
+            });
+        }
+    }
+    // endregion
+}
@@ -6,16 +6,21 @@
  */
 package game_play.controller;
 
+import game_play.model.BotTurnRunner;
 import game_play.model.DropDownModel;
 import game_play.model.GamePlayModel;
 import game_play.view.screens.*;
+import game_play.view.ui_components.AttackPreparePanel;
 import game_play.view.ui_components.FortificationPanel;
 import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.BattleOdds;
+import shared_resources.game_entities.BoardDiff;
 import shared_resources.game_entities.GameMap;
 import shared_resources.game_entities.Player;
 import shared_resources.game_entities.Territory;
 import shared_resources.helper.UIHelper;
 import shared_resources.utilities.MapFilter;
+import shared_resources.utilities.NotificationDispatcher;
 import shared_resources.utilities.SaveOpenDialog;
 
 import javax.swing.*;
@@ -28,7 +33,8 @@ import java.util.Vector;
 
 import static shared_resources.utilities.Config.GAME_EXTENSION;
 import static shared_resources.utilities.Config.GAME_STATES.*;
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.MAX_NUM_DEF_DICE;
 import static shared_resources.utilities.SavedState.loadGame;
 import static shared_resources.utilities.SavedState.saveGame;
 
@@ -48,6 +54,9 @@ public class GamePlayController {
     private GamePlayFrame gamePlayFrame;
     private GamePlayModel gamePlayModel;
     private StrategyDialog strategyDialog;
+    private NotificationDispatcher viewsDispatcher;
+    private BotTurnRunner botTurnRunner;
+    private FastForward fastForward;
     // endregion
     
     // region Constructors
@@ -62,6 +71,7 @@ public class GamePlayController {
     public GamePlayController(MainMenuController callerController, GameMap gameMap) {
         this.callerController = callerController;
         gamePlayModel = new GamePlayModel();
+        gamePlayModel.setLog(LoggingFrame.getInstance());
         gamePlayFrame = new GamePlayFrame(callerController);
         strategyDialog = new StrategyDialog(gamePlayFrame);
         gamePlayFrame.setModalExclusionType(Dialog.ModalExclusionType.APPLICATION_EXCLUDE);
@@ -80,6 +90,7 @@ public class GamePlayController {
     public GamePlayController(MainMenuController callerController) {
         this.callerController = callerController;
         gamePlayModel = new GamePlayModel();
+        gamePlayModel.setLog(LoggingFrame.getInstance());
         gamePlayFrame = new GamePlayFrame(callerController);
         strategyDialog = new StrategyDialog(gamePlayFrame);
         gamePlayFrame.setModalExclusionType(Dialog.ModalExclusionType.APPLICATION_EXCLUDE);
@@ -89,20 +100,44 @@ public class GamePlayController {
     
     /**
      * Register the views to be observers of the GamePlayModel.
+     * The frame is notified of every change, since it starts the bot turns and opens the dialogs.
+     * The panels are refreshed through a dispatcher, at most once per frame while the bots play,
+     * and at once when the game waits for a human; they are refreshed before the frame is notified.
+     * The world domination and phase views also subscribe to the game events, to refresh only what changed.
+     * While the bots play on the game thread, the panels are refreshed with snapshots of the game,
+     * and the frame is notified once the bots stop.
      */
     private void registerObserversToObservable() {
+        viewsDispatcher = new NotificationDispatcher(o -> ((GamePlayModel) o).isWaitingForUser());
+        viewsDispatcher.addObserver(gamePlayFrame.getWorldDominationPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getGameMapTable());
+        viewsDispatcher.addObserver(gamePlayFrame.getGameSetupPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getStartupPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getReinforcementPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getReinforcementPanel().getTradeCardsPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getAttackingPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getAttackingPanel().getAttackPreparePanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getAttackingPanel().getBattleResultPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getFortificationPanel());
+        viewsDispatcher.addObserver(gamePlayFrame.getPhaseViewPanel());
+        
+        gamePlayFrame.getWorldDominationPanel().subscribe(gamePlayModel.getEvents());
+        gamePlayFrame.getPhaseViewPanel().subscribe(gamePlayModel.getEvents());
+        
         gamePlayModel.addObserver(gamePlayFrame);
-        gamePlayModel.addObserver(gamePlayFrame.getWorldDominationPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getGameMapTable());
-        gamePlayModel.addObserver(gamePlayFrame.getGameSetupPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getStartupPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getReinforcementPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getReinforcementPanel().getTradeCardsPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getAttackingPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getAttackingPanel().getAttackPreparePanel());
-        gamePlayModel.addObserver(gamePlayFrame.getAttackingPanel().getBattleResultPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getFortificationPanel());
-        gamePlayModel.addObserver(gamePlayFrame.getPhaseViewPanel());
+        gamePlayModel.addObserver(viewsDispatcher);
+        
+        botTurnRunner = new BotTurnRunner(gamePlayModel,
+                snapshot -> SwingUtilities.invokeLater(() -> viewsDispatcher.update(snapshot, snapshot)),
+                () -> SwingUtilities.invokeLater(this::botsStopped));
+        fastForward = new FastForward(gamePlayModel, botTurnRunner, LoggingFrame.getInstance(),
+                SwingUtilities::invokeLater);
+        gamePlayFrame.addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent windowEvent) {
+                botTurnRunner.shutdown();
+            }
+        });
     }
     // endregion
     
@@ -123,6 +158,10 @@ public class GamePlayController {
         gamePlayFrame.addTurnCounterReachedMaxButtonListener(e -> askUserToContinue());
         gamePlayFrame.addAttackCounterReachedMaxButtonListener(e -> askUserInteraction());
         gamePlayFrame.addStartBotTurnButtonListener(e -> startBotTurn());
+        gamePlayFrame.addPauseBotsMenuListener(e -> pauseBots());
+        gamePlayFrame.addResumeBotsMenuListener(e -> resumeBots());
+        gamePlayFrame.addCancelBotsMenuListener(e -> cancelBots());
+        gamePlayFrame.addFastForwardMenuListener(e -> switchFastForward());
         
         /* Play button to start the game */
         gamePlayFrame.getGameSetupPanel().addPlayButtonListener(e -> gameStartupPhase());
@@ -144,6 +183,7 @@ public class GamePlayController {
         gamePlayFrame.getAttackingPanel().getAttackPreparePanel().addAttackingTerritoryDropdownListener(e -> updateDefendingTerritoriesAndAttackingDice(
                 String.valueOf(gamePlayFrame.getAttackingPanel().getAttackPreparePanel().getAttackingTerritoriesDropdown().getSelectedItem())
         ));
+        gamePlayFrame.getAttackingPanel().getAttackPreparePanel().addAttackSelectionListener(e -> updateAttackOdds());
         gamePlayFrame.getAttackingPanel().getBattleResultPanel().addDoneButtonListener(e -> goToFortificationPhase());
         gamePlayFrame.getAttackingPanel().getBattleResultPanel().addAnotherAttackButtonListener(e -> prepareAnotherAttack());
         
@@ -229,7 +269,124 @@ public class GamePlayController {
      * Start new a new turn of bot player
      */
     private void startBotTurn() {
-        gamePlayModel.letBotsPlay();
+        playBots(null);
+    }
+    
+    /**
+     * Let the bots play on the game thread, unless they were cancelled.
+     * The views are refreshed first with the pending notification, if any,
+     * since they do not read the game anymore while the bots play.
+     *
+     * @param firstStep the step continuing the current bot turn, or null to start the turn of the current bot
+     */
+    private void playBots(Runnable firstStep) {
+        viewsDispatcher.flush();
+        if (!botTurnRunner.isRunning()) {
+            fastForward.apply();
+        }
+        botTurnRunner.play(firstStep);
+        showBotsState();
+    }
+    
+    /**
+     * Called when the fast-forward option is selected or unselected.
+     * The views stop or start being refreshed at once; the logging changes and the board is kept before the next
+     * bot turn, see FastForward.
+     */
+    private void switchFastForward() {
+        fastForward.setEnabled(gamePlayFrame.isFastForward());
+        showBotsState();
+    }
+    
+    /**
+     * Pause the bots at the end of the turn being played
+     */
+    private void pauseBots() {
+        botTurnRunner.pause();
+        showBotsState();
+    }
+    
+    /**
+     * Resume the paused or cancelled bots
+     */
+    private void resumeBots() {
+        viewsDispatcher.flush();
+        if (!botTurnRunner.isRunning()) {
+            fastForward.apply();
+        }
+        botTurnRunner.resume();
+        showBotsState();
+    }
+    
+    /**
+     * Stop the bots at the end of the turn being played, until they are resumed
+     */
+    private void cancelBots() {
+        botTurnRunner.cancel();
+        showBotsState();
+    }
+    
+    /**
+     * Called on the Event Dispatch Thread once the bots stopped playing on the game thread:
+     * the views are refreshed with the game, and the frame goes on with it.
+     * If the bots fast-forwarded to the turn of a human, the changes of the board are summed up.
+     */
+    private void botsStopped() {
+        if (botTurnRunner.isRunning()) {    // resumed in the meantime, the views are refreshed when they stop again
+            return;
+        }
+        showBotsState();
+        gamePlayModel.setLog(LoggingFrame.getInstance());
+        gamePlayModel.refreshViews();
+        
+        Player currentPlayer = gamePlayModel.getCurrentPlayer();
+        if (fastForward.hasBoardBefore() && !botTurnRunner.isRunning() && gamePlayModel.getGameState() == PLAY &&
+                currentPlayer.isHuman() && currentPlayer.getGameState() == REINFORCEMENT) {
+            BoardDiff boardDiff = new BoardDiff(fastForward.takeBoardBefore(), gamePlayModel.getGameMap().getBoardState(),
+                    currentPlayer);
+            UIHelper.displayMessage(gamePlayFrame, describeBoardChanges(boardDiff));
+        }
+    }
+    
+    /**
+     * Sum up the changes of the board for the player of a human turn: the territories gained and lost,
+     * the armies, and the number of territories won or lost by the other players
+     *
+     * @param boardDiff the changes of the board since the bots started fast-forwarding
+     *
+     * @return the message summing up the changes
+     */
+    private String describeBoardChanges(BoardDiff boardDiff) {
+        StringBuilder message = new StringBuilder("Since your last turn, " + boardDiff.getPlayer().getPlayerName());
+        if (boardDiff.isEmpty()) {
+            return message.append(" kept all territories and armies").toString();
+        }
+        
+        message.append(":\n  gained ").append(boardDiff.getGainedTerritories().size()).append(" territories");
+        for (int i = 0; i < boardDiff.getGainedTerritories().size(); i++) {
+            message.append(i == 0 ? ": " : ", ").append(boardDiff.getGainedTerritories().get(i).getName());
+        }
+        message.append("\n  lost ").append(boardDiff.getLostTerritories().size()).append(" territories");
+        for (int i = 0; i < boardDiff.getLostTerritories().size(); i++) {
+            message.append(i == 0 ? ": " : ", ").append(boardDiff.getLostTerritories().get(i).getName())
+                    .append(" to ").append(boardDiff.getConquerors().get(i).getPlayerName());
+        }
+        message.append("\n  armies on the board: ").append(boardDiff.getArmiesBefore()).append(" -> ")
+                .append(boardDiff.getArmiesAfter());
+        for (Player player : gamePlayModel.getPlayers()) {
+            int change = boardDiff.getTerritoriesCountChange(player);
+            if (player != boardDiff.getPlayer() && change != 0) {
+                message.append(String.format("\n%s: %+d territories", player.getPlayerName(), change));
+            }
+        }
+        return message.toString();
+    }
+    
+    /**
+     * Show the state of the bots in the frame
+     */
+    private void showBotsState() {
+        gamePlayFrame.showBotsState(botTurnRunner.isRunning(), botTurnRunner.isPaused(), botTurnRunner.isCancelled());
     }
     //endregion
     
@@ -349,9 +506,9 @@ public class GamePlayController {
         gamePlayModel.setMaxTurns(gamePlayModel.getOriginalMaxTurn() + gamePlayModel.getTurnCounter());
         gamePlayModel.setMaxAttackTurn(gamePlayModel.getOriginalMaxAttackTurn() + gamePlayModel.getAttackCounter());
         if (!isMaxAttacking) {
-            gamePlayModel.letBotsPlay();
+            playBots(gamePlayModel::letBotsPlay);
         } else {
-            gamePlayModel.botsAttack();
+            playBots(gamePlayModel::botsAttack);
         }
     }
     
@@ -412,7 +569,7 @@ public class GamePlayController {
             openDefendingDialog();
         } else {
             int maxDefendingDice = gamePlayModel.getCurrentBattle().getMaxDefendingRoll();
-            int defendingDice = defender.botChooseDefendingDice(maxDefendingDice);
+            int defendingDice = defender.botChooseDefendingDice(maxDefendingDice, gamePlayModel.getRandom());
             startTheBattle(defendingDice);
         }
     }
@@ -472,7 +629,7 @@ public class GamePlayController {
         gamePlayModel.changePhaseOfCurrentPlayer(FORTIFICATION);
         Player currentPlayer = gamePlayModel.getCurrentPlayer();
         if (!currentPlayer.ableToFortify(gamePlayModel.getGameMap())) {
-            log.append("        " + currentPlayer.getPlayerName() + " cannot fortify");
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + currentPlayer.getPlayerName() + " cannot fortify");
             gamePlayModel.nextPlayerTurn();
         }
     }
@@ -506,6 +663,31 @@ public class GamePlayController {
             );
             gamePlayFrame.getAttackingPanel().getAttackPreparePanel().getAttackerNoOfDice().setSelectedIndex(
                     gamePlayFrame.getAttackingPanel().getAttackPreparePanel().getAttackerNoOfDice().getItemCount() - 1);
+            updateAttackOdds();
+        }
+    }
+    
+    /**
+     * Shows the odds of the selected attack, read from the memoized battle odds
+     */
+    private void updateAttackOdds() {
+        AttackPreparePanel attackPreparePanel = gamePlayFrame.getAttackingPanel().getAttackPreparePanel();
+        Object attackingTerritoryName = attackPreparePanel.getAttackingTerritoriesDropdown().getSelectedItem();
+        Object defendingTerritoryName = attackPreparePanel.getDefendingTerritoriesDropdown().getSelectedItem();
+        Integer attackingDice = (Integer) attackPreparePanel.getAttackerNoOfDice().getSelectedItem();
+        if (attackingTerritoryName == null || defendingTerritoryName == null || attackingDice == null) {
+            attackPreparePanel.setOdds(-1);
+            return;
+        }
+        
+        Territory attackingTerritory = gamePlayModel.getGameMap().getATerritory(String.valueOf(attackingTerritoryName));
+        Territory defendingTerritory = gamePlayModel.getGameMap().getATerritory(String.valueOf(defendingTerritoryName));
+        if (attackingTerritory == null || defendingTerritory == null || attackingTerritory.getArmies() < 2 ||
+                defendingTerritory.getArmies() < 1) {
+            attackPreparePanel.setOdds(-1);
+        } else {
+            attackPreparePanel.setOdds(BattleOdds.getWinProbability(attackingTerritory.getArmies(),
+                    defendingTerritory.getArmies(), attackingDice, MAX_NUM_DEF_DICE));
         }
     }
     
@@ -606,7 +788,7 @@ public class GamePlayController {
             }
         } else {  // if bot attacker
             gamePlayModel.getCurrentBattle().setDefendingDice(defendingDice);
-            gamePlayModel.botsFortification(true);
+            playBots(() -> gamePlayModel.botsFortification(true));
         }
     }
     
@@ -45,6 +45,7 @@ public class MainMenuController extends JFrame {
         mainMenuFrame.addPlayGameButtonListener(e -> openPlayGameScreen());
         mainMenuFrame.addLoadGameButtonListener(e -> new GamePlayController(this).loadSavedGame());
         mainMenuFrame.addTournamentButtonListener(e -> openTournamentScreen());
+        mainMenuFrame.addReplayButtonListener(e -> openReplayScreen());
         mainMenuFrame.addQuitButtonListener(e -> exitGame());
     }
     // endregion
@@ -68,6 +69,14 @@ public class MainMenuController extends JFrame {
     
     
     
+    /**
+     * Disable MainMenuFrame, show ReplayFrame.
+     */
+    private void openReplayScreen() {
+        UIHelper.disableFrame(mainMenuFrame);
+        new ReplayController(this);
+    }
+    
     /**
      * Disable MainMenuFrame, show MapSelectorFrame
      */
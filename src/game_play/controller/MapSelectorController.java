@@ -15,7 +15,7 @@ import shared_resources.utilities.Config;
 import java.util.Vector;
 
 import static shared_resources.helper.GameMapHelper.getMapsInFolder;
-import static shared_resources.helper.GameMapHelper.loadGameMap;
+import static shared_resources.helper.GameMapHelper.instantiateGameMap;
 
 /**
  * MapSelectorController helps functioning the MapSelectorFrame, allowing users to choose a map to play the game on.
@@ -58,7 +58,7 @@ public class MapSelectorController {
     private void loadMapIntoGame() {
         /* load the selected map and make a new game*/
         try {
-            GameMap gameMap = loadGameMap(String.valueOf(mapSelectorFrame.getMapDropdown().getSelectedItem()));
+            GameMap gameMap = instantiateGameMap(String.valueOf(mapSelectorFrame.getMapDropdown().getSelectedItem()));
             mapSelectorFrame.setVisible(false);
             mapSelectorFrame.setEnabled(false);
             new GamePlayController(callerController, gameMap);
@@ -0,0 +1,225 @@
+/*
+ * Risk Game Team 2
+ * ReplayController.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.controller;
+
+import game_play.model.GamePlayModel;
+import game_play.model.MapTableModel;
+import game_play.view.screens.ReplayFrame;
+import shared_resources.game_entities.TerritoryGraph;
+import shared_resources.helper.UIHelper;
+import shared_resources.utilities.GameReplay;
+import shared_resources.utilities.MapFilter;
+import shared_resources.utilities.SaveOpenDialog;
+
+import javax.swing.*;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutionException;
+
+import static shared_resources.utilities.Config.GAME_STATES;
+import static shared_resources.utilities.Config.JOURNAL_FILE_EXTENSION;
+import static shared_resources.utilities.GameJournal.ACTION;
+
+/**
+ * The controller for the replay of a game journal
+ * <ul>
+ * <li> Read the journal chosen by the user and index its keyframes on a background thread, so the replay
+ * reaches any position by applying at most JOURNAL_CHECKPOINT_INTERVAL actions
+ * <li> Show the territories at the position of the timeline, and jump to the previous or next turn and battle
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameReplay
+ */
+public class ReplayController {
+    // region Attributes declaration
+    private MainMenuController callerController;
+    private ReplayFrame replayFrame;
+    private MapTableModel mapTableModel;
+    private GameReplay replay;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new replay controller, asking the user for the journal to replay.
+     *
+     * @param callerController the caller controller
+     */
+    public ReplayController(MainMenuController callerController) {
+        this.callerController = callerController;
+        SaveOpenDialog fileChooser = new SaveOpenDialog(new MapFilter(JOURNAL_FILE_EXTENSION), "Replay game");
+        if (fileChooser.showDialog() != JFileChooser.APPROVE_OPTION) {
+            UIHelper.invokeFrame(callerController.getMainMenuFrame());
+            return;
+        }
+        
+        mapTableModel = new MapTableModel();
+        replayFrame = new ReplayFrame();
+        replayFrame.getGameMapTable().setModel(mapTableModel.getModel());
+        registerToBeListener();
+        loadJournal(fileChooser.getSelectedFile().toPath());
+    }
+    // endregion
+    
+    // region Methods to handle events from UI
+    
+    /**
+     * Register this controller to be the listener of all UI components.
+     */
+    private void registerToBeListener() {
+        replayFrame.addTimelineListener(e -> showPosition(replayFrame.getTimeline().getValue()));
+        replayFrame.addPreviousTurnButtonListener(e -> moveToPreviousTurn());
+        replayFrame.addNextTurnButtonListener(e -> moveTo(replay == null ? -1 : replay.findNext(ACTION.TURN, getPosition())));
+        replayFrame.addPreviousBattleButtonListener(e -> moveTo(replay == null ? -1 : replay.findPrevious(ACTION.BATTLE, getPosition())));
+        replayFrame.addNextBattleButtonListener(e -> moveTo(replay == null ? -1 : replay.findNext(ACTION.BATTLE, getPosition())));
+        replayFrame.addBackButtonListener(e -> backToMainMenu());
+    }
+    
+    /**
+     * Read the journal on a background thread, going once through the whole game to keep its keyframes
+     *
+     * @param path the path of the journal
+     */
+    private void loadJournal(Path path) {
+        new SwingWorker<GameReplay, Void>() {
+            @Override
+            protected GameReplay doInBackground() throws Exception {
+                GameReplay loadedReplay = GameReplay.open(path);
+                loadedReplay.seek(loadedReplay.getActionsCount());
+                loadedReplay.seek(0);
+                return loadedReplay;
+            }
+            
+            @Override
+            protected void done() {
+                try {
+                    replay = get();
+                } catch (InterruptedException | ExecutionException e) {
+                    Throwable cause = (e.getCause() == null) ? e : e.getCause();
+                    UIHelper.displayMessage(replayFrame, "The journal cannot be replayed: " + cause.getMessage());
+                    backToMainMenu();
+                    return;
+                }
+                JSlider timeline = replayFrame.getTimeline();
+                timeline.setMaximum(replay.getActionsCount());
+                timeline.setValue(0);
+                timeline.setEnabled(true);
+                showPosition(0);
+            }
+        }.execute();
+    }
+    
+    /**
+     * Show the game after a number of actions
+     *
+     * @param position the number of actions replayed
+     */
+    private void showPosition(int position) {
+        if (replay == null) {
+            return;
+        }
+        GamePlayModel game = replay.seek(position);
+        mapTableModel.updateMapTableModel(game.getGameMap(), game.getGameState());
+        String currentPlayer = (game.getCurrentPlayer() == null) ? "" : " - " + game.getCurrentPlayer().getPlayerName() +
+                " [" + game.getCurrentPlayer().getPlayerType().getClass().getSimpleName() + "]";
+        replayFrame.setPositionText("Turn " + game.getTurnCounter() + " of " + replay.getLastTurn() + currentPlayer +
+                " - action " + position + " of " + replay.getActionsCount() +
+                (game.getGameState() == GAME_STATES.VICTORY ? " - " + game.getWinner() + " wins" : ""));
+        replayFrame.setActionText((position == 0) ? "Start of the journal" : describeAction(game, position - 1));
+    }
+    
+    /**
+     * Move the timeline to the beginning of the current turn, or of the previous turn when it is already there
+     */
+    private void moveToPreviousTurn() {
+        if (replay == null) {
+            return;
+        }
+        int position = getPosition();
+        int turn = replay.getTurn(position);
+        int turnPosition = replay.getTurnPosition(turn);
+        moveTo((turnPosition < position) ? turnPosition : replay.getTurnPosition(turn - 1));
+    }
+    
+    /**
+     * Move the timeline to a position
+     *
+     * @param position the number of actions replayed, or -1 to stay at the current position
+     */
+    private void moveTo(int position) {
+        if (position >= 0) {
+            replayFrame.getTimeline().setValue(position);
+        }
+    }
+    
+    /**
+     * Close ReplayFrame, invoke MainMenuFrame.
+     */
+    private void backToMainMenu() {
+        replay = null;
+        replayFrame.dispose();
+        UIHelper.invokeFrame(callerController.getMainMenuFrame());
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Gets the position of the timeline
+     *
+     * @return the number of actions replayed
+     */
+    private int getPosition() {
+        return replayFrame.getTimeline().getValue();
+    }
+    
+    /**
+     * Describe an action of the journal
+     *
+     * @param game  the game after the action
+     * @param index the index of the action
+     *
+     * @return the description of the action
+     */
+    private String describeAction(GamePlayModel game, int index) {
+        ACTION action = replay.getAction(index);
+        int[] arguments = replay.getArguments(index);
+        TerritoryGraph graph = game.getGameMap().getGraph();
+        switch (action) {
+            case STARTUP_PLACE:
+                return "1 army placed on " + graph.getTerritory(arguments[0]).getName();
+            case TRADE:
+                return "Cards traded for " + arguments[0] + " armies";
+            case ATTACK:
+                if (arguments.length == 0) {
+                    return "The attacks are over";
+                }
+                return "Attack from " + graph.getTerritory(arguments[0]).getName() + " to " +
+                        graph.getTerritory(arguments[1]).getName() + " with " + arguments[2] + " dice";
+            case BATTLE:
+                return "Battle between " + graph.getTerritory(arguments[0]).getName() + " and " +
+                        graph.getTerritory(arguments[1]).getName() + ": the attacker loses " + arguments[2] +
+                        ", the defender loses " + arguments[3];
+            case CONQUER:
+                return arguments[0] + " armies moved to the conquered territory";
+            case FORTIFY:
+                if (arguments.length == 0) {
+                    return "Fortification";
+                }
+                return arguments[2] + " armies moved from " + graph.getTerritory(arguments[0]).getName() + " to " +
+                        graph.getTerritory(arguments[1]).getName();
+            case PHASE:
+                return "Phase " + GAME_STATES.values()[arguments[0]];
+            case TURN:
+                return "Turn " + arguments[1] + " begins";
+            default:
+                return action.name();
+        }
+    }
+    // endregion
+}
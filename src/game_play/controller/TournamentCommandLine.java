@@ -0,0 +1,313 @@
+/*
+ * Risk Game Team 2
+ * TournamentCommandLine.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.controller;
+
+import game_play.model.TournamentModel;
+import shared_resources.strategy.Bot;
+import shared_resources.strategy.MCTSBot;
+import shared_resources.strategy.PlayerType;
+import shared_resources.utilities.GameLog;
+
+import java.io.PrintStream;
+import java.lang.reflect.Modifier;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Vector;
+
+import static shared_resources.utilities.Config.LOG_FILE_NAME;
+import static shared_resources.utilities.Config.LOG_LEVEL;
+import static shared_resources.utilities.Config.STRATEGY_PATH;
+
+/**
+ * The controller for the tournament mode run from the command line, without any user interface.
+ * It never initializes AWT or Swing, so it can be used on machines without a display.
+ * <ul>
+ * <li> Parse the options of the command line
+ * <li> Drive the tournament model with the entered maps, strategies, number of games, turns and threads
+ * <li> Print the results table and the time taken by the tournament
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class TournamentCommandLine {
+    // region Attributes declaration
+    private static final String USAGE = String.join(System.lineSeparator(),
+            "Usage: Driver -maps <map>[,<map>...] -strategies <strategy>[,<strategy>...] [options]",
+            "    -maps        the map files of the Maps folder, separated by commas",
+            "    -strategies  the strategy of each player, separated by commas (e.g. Aggressive,RandomBot,Cheater,MCTS)",
+            "    -games       the number of games played on each map (default 1)",
+            "    -turns       the maximum number of turns of a game (default 50)",
+            "    -threads     the number of games played at the same time (default: number of processors)",
+            "    -mcts        the number of threads playing the rollouts of the MCTS bots (default: number of processors)",
+            "    -battles     round: one dice round per attack (default), blitz: attack until conquered or exhausted",
+            "    -seed        the master seed of the games, to play a tournament again (default: a new seed, printed)",
+            "    -log         write the games to " + LOG_FILE_NAME + " up to a level: " + Arrays.toString(LOG_LEVEL.values()),
+            "    -journal     the folder the journals of the games are written to, to replay them");
+    private PrintStream out;
+    private Vector<String> mapNames;
+    private Vector<PlayerType> playerTypes;
+    private int gamesCount;
+    private int maxTurns;
+    private int threadsCount;
+    private LOG_LEVEL logLevel;
+    private Long seed;
+    private boolean blitzBattles;
+    private Path journalFolder;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new tournament command line with the default options
+     *
+     * @param out the stream the results are printed to
+     */
+    private TournamentCommandLine(PrintStream out) {
+        this.out = out;
+        mapNames = new Vector<>();
+        playerTypes = new Vector<>();
+        gamesCount = 1;
+        maxTurns = 50;
+        threadsCount = Runtime.getRuntime().availableProcessors();
+        logLevel = null;
+        seed = null;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Run a tournament from the command line options
+     *
+     * @param args the command line options
+     * @param out  the stream the results are printed to
+     *
+     * @return the exit status: 0 if the tournament was played, 1 otherwise
+     */
+    public static int run(String[] args, PrintStream out) {
+        TournamentCommandLine commandLine = new TournamentCommandLine(out);
+        try {
+            commandLine.parseOptions(args);
+        } catch (IllegalArgumentException e) {
+            out.println(e.getMessage());
+            out.println(USAGE);
+            return 1;
+        }
+        return commandLine.playTournament();
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Parse the command line options
+     *
+     * @param args the command line options
+     */
+    private void parseOptions(String[] args) {
+        for (int i = 0; i < args.length; i++) {
+            String option = args[i];
+            if (i + 1 >= args.length) {
+                throw new IllegalArgumentException("Missing value for option " + option);
+            }
+            String value = args[++i];
+            switch (option) {
+                case "-maps":
+                    for (String mapName : value.split(",")) {
+                        if (!mapName.trim().isEmpty()) {
+                            mapNames.add(mapName.trim());
+                        }
+                    }
+                    break;
+                case "-strategies":
+                    for (String strategyName : value.split(",")) {
+                        if (!strategyName.trim().isEmpty()) {
+                            playerTypes.add(makePlayerType(strategyName.trim()));
+                        }
+                    }
+                    break;
+                case "-games":
+                    gamesCount = parseInteger(option, value);
+                    break;
+                case "-turns":
+                    maxTurns = parseInteger(option, value);
+                    break;
+                case "-threads":
+                    threadsCount = parseInteger(option, value);
+                    break;
+                case "-mcts":
+                    MCTSBot.setThreadsCount(parseInteger(option, value));
+                    break;
+                case "-battles":
+                    if (!value.equalsIgnoreCase("round") && !value.equalsIgnoreCase("blitz")) {
+                        throw new IllegalArgumentException("The value of " + option + " must be round or blitz: " + value);
+                    }
+                    blitzBattles = value.equalsIgnoreCase("blitz");
+                    break;
+                case "-seed":
+                    try {
+                        seed = Long.parseLong(value);
+                    } catch (NumberFormatException e) {
+                        throw new IllegalArgumentException("The value of " + option + " must be an integer: " + value);
+                    }
+                    break;
+                case "-log":
+                    try {
+                        logLevel = LOG_LEVEL.valueOf(value.toUpperCase(Locale.ROOT));
+                    } catch (IllegalArgumentException e) {
+                        throw new IllegalArgumentException("Unknown log level: " + value);
+                    }
+                    break;
+                case "-journal":
+                    journalFolder = Paths.get(value);
+                    if (!Files.isDirectory(journalFolder)) {
+                        throw new IllegalArgumentException("The journal folder does not exist: " + value);
+                    }
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown option: " + option);
+            }
+        }
+        if (mapNames.isEmpty() || playerTypes.isEmpty()) {
+            throw new IllegalArgumentException("The maps and the strategies must be entered");
+        }
+    }
+    
+    /**
+     * Parse a positive integer option
+     *
+     * @param option the name of the option
+     * @param value  the value of the option
+     *
+     * @return the integer value
+     */
+    private int parseInteger(String option, String value) {
+        try {
+            int integer = Integer.parseInt(value);
+            if (integer >= 1) {
+                return integer;
+            }
+        } catch (NumberFormatException e) {
+            // reported below
+        }
+        throw new IllegalArgumentException("The value of " + option + " must be a positive integer: " + value);
+    }
+    
+    /**
+     * Make a bot strategy from its class name, with or without the "Bot" suffix
+     *
+     * @param strategyName the name of the strategy
+     *
+     * @return the strategy
+     */
+    private PlayerType makePlayerType(String strategyName) {
+        for (String className : new String[] { strategyName, strategyName + "Bot" }) {
+            try {
+                Class<?> strategyClass = Class.forName(STRATEGY_PATH + "." + className);
+                if (Bot.class.isAssignableFrom(strategyClass) && !Modifier.isAbstract(strategyClass.getModifiers())) {
+                    return (PlayerType) strategyClass.getDeclaredConstructor().newInstance();
+                }
+            } catch (ReflectiveOperationException e) {
+                // try the next class name
+            }
+        }
+        throw new IllegalArgumentException("Unknown bot strategy: " + strategyName);
+    }
+    
+    /**
+     * Play the tournament and print the results
+     *
+     * @return the exit status: 0 if the tournament was played, 1 otherwise
+     */
+    private int playTournament() {
+        TournamentModel tournamentModel = new TournamentModel();
+        String message = tournamentModel.setupTournament(mapNames, gamesCount, maxTurns, playerTypes);
+        if (!message.contains("successfully")) {
+            out.println(message);
+            return 1;
+        }
+        tournamentModel.setParallelism(threadsCount);
+        if (seed != null) {
+            tournamentModel.setSeed(seed);
+        }
+        tournamentModel.setBlitzBattles(blitzBattles);
+        tournamentModel.setJournalFolder(journalFolder);
+        if (logLevel != null) {
+            tournamentModel.setLog(GameLog.toFile(Paths.get(LOG_FILE_NAME)));
+            tournamentModel.setLogLevel(logLevel);
+        }
+        
+        long startTime = System.nanoTime();
+        try {
+            tournamentModel.startTournament();
+        } catch (Exception e) {
+            out.println("The tournament could not be played: " + e.getMessage());
+            return 1;
+        }
+        double seconds = (System.nanoTime() - startTime) / 1e9;
+        
+        printResults(tournamentModel.getResultLines());
+        out.println("Seed: " + tournamentModel.getSeed());
+        int playedGames = mapNames.size() * gamesCount;
+        out.println(String.format(Locale.ROOT, "%d games played in %.3f s (%.1f games/s) on %d threads",
+                playedGames, seconds, playedGames / seconds, Math.min(threadsCount, playedGames)));
+        return 0;
+    }
+    
+    /**
+     * Print the results as a table: one line per map, one column per game
+     *
+     * @param resultLines the result lines of the tournament
+     */
+    private void printResults(String[][] resultLines) {
+        String[] header = new String[gamesCount + 1];
+        header[0] = "Map/Game";
+        for (int i = 1; i <= gamesCount; i++) {
+            header[i] = "Game " + i;
+        }
+        
+        int[] widths = new int[header.length];
+        for (int column = 0; column < header.length; column++) {
+            widths[column] = header[column].length();
+            for (String[] line : resultLines) {
+                widths[column] = Math.max(widths[column], line[column].length());
+            }
+        }
+        
+        printLine(header, widths);
+        String[] separator = new String[header.length];
+        for (int column = 0; column < header.length; column++) {
+            separator[column] = new String(new char[widths[column]]).replace('\0', '-');
+        }
+        printLine(separator, widths);
+        for (String[] line : resultLines) {
+            printLine(line, widths);
+        }
+    }
+    
+    /**
+     * Print one line of the results table
+     *
+     * @param cells  the cells of the line
+     * @param widths the width of each column
+     */
+    private void printLine(String[] cells, int[] widths) {
+        StringBuilder line = new StringBuilder();
+        for (int column = 0; column < cells.length; column++) {
+            line.append(String.format("%-" + widths[column] + "s", cells[column]));
+            if (column < cells.length - 1) {
+                line.append(" | ");
+            }
+        }
+        out.println(line.toString().trim());
+    }
+    // endregion
+}
@@ -42,7 +42,7 @@ import static shared_resources.helper.GameMapHelper.getMapsInFolder;
 public class TournamentController {
     // region Attribute declaration
     private TournamentModel tournamentModel;
-    private static LoggingFrame log = LoggingFrame.getInstance();
+    private LoggingFrame log;
     private TournamentFrame tournamentFrame;
     private MainMenuController callerController;
     private StrategyDialog strategyDialog;
@@ -58,7 +58,9 @@ public class TournamentController {
      */
     public TournamentController(MainMenuController callerController) {
         this.callerController = callerController;
+        log = LoggingFrame.getInstance();
         tournamentModel = new TournamentModel();
+        tournamentModel.setLog(log);
         tournamentFrame = new TournamentFrame();
         
         tournamentFrame.addPlayTournamentButtonListener(e -> startTournament());
@@ -100,7 +102,7 @@ public class TournamentController {
      * Close MapSelectorFrame, invoke MainMenuFrame.
      */
     private void backToMainMenu() {
-        LoggingFrame.getInstance().getLogArea().setText("");
+        log.clear();
         tournamentFrame.dispose();
         if (resultsFrame != null) {
             resultsFrame.dispose();
@@ -122,7 +124,7 @@ public class TournamentController {
         /* Check to see if the maps are invalid and remove them from the list */
         for (String mapFile : mapsInFolder) {
             try {
-                GameMapHelper.validateMap(GameMapHelper.loadGameMap(mapFile));
+                GameMapHelper.instantiateGameMap(mapFile);
                 validMaps.add(mapFile);
             } catch (Exception e) {
                 log.append("Map discarded: " + mapFile + " [" + e.getMessage() + "]");
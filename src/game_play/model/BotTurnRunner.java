@@ -0,0 +1,297 @@
+/*
+ * Risk Game Team 2
+ * BotTurnRunner.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.model;
+
+import java.util.Vector;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+import static shared_resources.utilities.Config.VIEWS_REFRESH_INTERVAL_MS;
+
+/**
+ * BotTurnRunner plays the turns of the bots of a game on a dedicated game thread, so the Event Dispatch Thread
+ * stays free to paint and to answer the user while the bots play.
+ * <ul>
+ * <li> The bots play one turn after the other until the game waits for a user: a human's turn, a human defending,
+ * a victory, or the maximum turns or attacks reached
+ * <li> The views never read the game while the bots play: they are given snapshots of the game, forks made
+ * between two turns, at most once per snapshot interval
+ * <li> The bots can be paused, resumed and cancelled; pausing and cancelling take effect at the end of the turn
+ * being played, so the game is never left in the middle of a turn
+ * <li> Once cancelled, the bots do not play anymore until they are resumed
+ * <li> The snapshots can be disabled to fast-forward the bot turns: the views are then only refreshed
+ * once the bots stop, or pause
+ * <li> Tasks can be given to the game thread while the bots play, to be run between two turns, e.g. to copy the
+ * board or to change the log of the game
+ * </ul>
+ * The game must only be changed by the game thread while the bots play, see isRunning().
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class BotTurnRunner {
+    // region Attributes declaration
+    private final GamePlayModel game;
+    private final Consumer<GamePlayModel> snapshots;
+    private final Runnable whenStopped;
+    private final long snapshotIntervalNanos;
+    private final ExecutorService gameThread;
+    private final Vector<Runnable> tasksBetweenTurns = new Vector<>();
+    private long lastSnapshotNanos;
+    private boolean running;
+    private boolean paused;
+    private boolean cancelled;
+    private boolean snapshotsEnabled;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new runner giving a snapshot of the game at most once every VIEWS_REFRESH_INTERVAL_MS
+     *
+     * @param game        the game
+     * @param snapshots   given the snapshots of the game, on the game thread
+     * @param whenStopped called on the game thread when the bots stop playing
+     */
+    public BotTurnRunner(GamePlayModel game, Consumer<GamePlayModel> snapshots, Runnable whenStopped) {
+        this(game, snapshots, whenStopped, VIEWS_REFRESH_INTERVAL_MS);
+    }
+    
+    /**
+     * Instantiates a new runner
+     *
+     * @param game               the game
+     * @param snapshots          given the snapshots of the game, on the game thread
+     * @param whenStopped        called on the game thread when the bots stop playing
+     * @param snapshotIntervalMs the shortest time in milliseconds between two snapshots
+     */
+    public BotTurnRunner(GamePlayModel game, Consumer<GamePlayModel> snapshots, Runnable whenStopped,
+                         int snapshotIntervalMs) {
+        if (snapshotIntervalMs < 0) {
+            throw new IllegalArgumentException("The snapshot interval must not be negative");
+        }
+        this.game = game;
+        this.snapshots = snapshots;
+        this.whenStopped = whenStopped;
+        this.snapshotIntervalNanos = snapshotIntervalMs * 1_000_000L;
+        this.snapshotsEnabled = true;
+        this.gameThread = Executors.newSingleThreadExecutor(task -> {
+            Thread thread = new Thread(task, "Game thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Let the bots play on the game thread: first a step of the current bot turn, if any,
+     * then the bot turns until the game waits for a user.
+     * Nothing is played if the bots are already playing, or if they were cancelled.
+     *
+     * @param firstStep the step continuing the current bot turn, such as GamePlayModel#botsAttack(), or null
+     *                  to start the turn of the current bot
+     *
+     * @return true if the bots started playing
+     */
+    public synchronized boolean play(Runnable firstStep) {
+        if (running || cancelled) {
+            return false;
+        }
+        running = true;
+        lastSnapshotNanos = System.nanoTime();
+        gameThread.execute(() -> playBots(firstStep));
+        return true;
+    }
+    
+    /**
+     * Pause the bots at the end of the turn being played
+     */
+    public synchronized void pause() {
+        paused = true;
+    }
+    
+    /**
+     * Resume the bots after they were paused or cancelled.
+     * The cancelled bots play again from the turn of the current bot, unless the game waits for a user.
+     */
+    public synchronized void resume() {
+        paused = false;
+        if (cancelled) {
+            cancelled = false;
+            if (!running) {
+                play(null);
+            }
+        }
+        notifyAll();
+    }
+    
+    /**
+     * Stop the bots at the end of the turn being played; they do not play anymore until they are resumed
+     */
+    public synchronized void cancel() {
+        cancelled = true;
+        notifyAll();
+    }
+    
+    /**
+     * Stop the game thread, once the game is left. The runner cannot be used afterwards.
+     */
+    public void shutdown() {
+        cancel();
+        gameThread.shutdownNow();
+    }
+    
+    /**
+     * Run a task on the game thread before the next bot turn, while the bots play.
+     * If the bots stop before playing another turn, the task is run once they stopped, before whenStopped.
+     * Nothing is run if the bots are not playing: the game can then be changed at once.
+     *
+     * @param task the task, which may change the game
+     *
+     * @return true if the task will be run on the game thread, false if the bots are not playing
+     */
+    public synchronized boolean runBetweenTurns(Runnable task) {
+        if (!running) {
+            return false;
+        }
+        tasksBetweenTurns.add(task);
+        return true;
+    }
+    
+    /**
+     * Enable or disable the snapshots given while the bots play, e.g. to fast-forward the bot turns.
+     * The bots still give a snapshot when they pause.
+     *
+     * @param snapshotsEnabled true to give a snapshot at most once per snapshot interval, false for none
+     */
+    public synchronized void setSnapshotsEnabled(boolean snapshotsEnabled) {
+        this.snapshotsEnabled = snapshotsEnabled;
+    }
+    
+    /**
+     * Check whether the snapshots are given while the bots play
+     *
+     * @return true if the snapshots are enabled
+     */
+    public synchronized boolean isSnapshotsEnabled() {
+        return snapshotsEnabled;
+    }
+    
+    /**
+     * Check whether the bots are playing on the game thread, paused or not
+     *
+     * @return true while the game thread plays the game
+     */
+    public synchronized boolean isRunning() {
+        return running;
+    }
+    
+    /**
+     * Check whether the bots are paused
+     *
+     * @return true if the bots are paused
+     */
+    public synchronized boolean isPaused() {
+        return paused;
+    }
+    
+    /**
+     * Check whether the bots were cancelled and not resumed since
+     *
+     * @return true if the bots were cancelled
+     */
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Play the first step, then the bot turns until the game waits for a user or the bots are cancelled.
+     * Runs on the game thread.
+     *
+     * @param firstStep the step continuing the current bot turn, or null
+     */
+    private void playBots(Runnable firstStep) {
+        try {
+            if (firstStep != null) {
+                firstStep.run();
+            }
+            while (awaitNextTurn()) {
+                runTasks(takeTasksBetweenTurns());
+                game.letBotsPlay();
+                if (isSnapshotsEnabled() && System.nanoTime() - lastSnapshotNanos >= snapshotIntervalNanos &&
+                        !game.isWaitingForUser()) {
+                    publishSnapshot();
+                }
+            }
+        } finally {
+            Runnable[] tasks;
+            synchronized (this) {
+                running = false;
+                tasks = takeTasksBetweenTurns();
+            }
+            runTasks(tasks);
+            whenStopped.run();
+        }
+    }
+    
+    /**
+     * Wait while the bots are paused, showing the game where it was paused
+     *
+     * @return true if the next bot turn can be played, false if the bots were cancelled or the game waits for a user
+     */
+    private synchronized boolean awaitNextTurn() {
+        if (paused && !cancelled && !game.isWaitingForUser()) {
+            publishSnapshot();
+        }
+        while (paused && !cancelled) {
+            try {
+                wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                cancelled = true;
+            }
+        }
+        return !cancelled && !game.isWaitingForUser();
+    }
+    
+    /**
+     * Take the tasks given to be run between two turns
+     *
+     * @return the tasks, in the order they were given
+     */
+    private synchronized Runnable[] takeTasksBetweenTurns() {
+        Runnable[] tasks = tasksBetweenTurns.toArray(new Runnable[0]);
+        tasksBetweenTurns.clear();
+        return tasks;
+    }
+    
+    /**
+     * Run tasks on the game thread, outside of the lock of the runner so the Event Dispatch Thread is not blocked
+     *
+     * @param tasks the tasks
+     */
+    private void runTasks(Runnable[] tasks) {
+        for (Runnable task : tasks) {
+            task.run();
+        }
+    }
+    
+    /**
+     * Give a snapshot of the game to be shown. Runs on the game thread, between two turns.
+     */
+    private void publishSnapshot() {
+        lastSnapshotNanos = System.nanoTime();
+        snapshots.accept(game.fork());
+    }
+    // endregion
+}
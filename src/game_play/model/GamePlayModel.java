@@ -10,12 +10,21 @@ import game_play.view.screens.StrategyDialog;
 import shared_resources.game_entities.*;
 import shared_resources.strategy.Bot;
 import shared_resources.strategy.PlayerType;
+import shared_resources.utilities.GameEventBus;
+import shared_resources.utilities.GameJournal;
+import shared_resources.utilities.GameLog;
+import shared_resources.utilities.GameRandom;
 
+import javax.swing.*;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.*;
 
 import static shared_resources.utilities.Config.*;
 import static shared_resources.utilities.Config.GAME_STATES.*;
+import static shared_resources.utilities.Config.LOG_LEVEL.*;
+import static shared_resources.utilities.GameJournal.ACTION;
 
 
 /**
@@ -63,13 +72,18 @@ public class GamePlayModel extends Observable implements Serializable {
     private int armyValue;
     private Vector<Card> deck;
     private Vector<Player> players;
-    private Random rand;
+    private GameRandom rand;
     private Battle currentBattle;
+    private transient Battle reusedBattle;  // the battle declared again for every attack of the bots
     private boolean needDefenderReaction;
+    private boolean blitzBattles;
     private int maxTurns;
     private int turnCounter;
     private Player winner;
     private int attackCounter;
+    private transient GameLog log;
+    private transient GameJournal journal;
+    private transient GameEventBus events;
     
     // endregion
     
@@ -88,9 +102,77 @@ public class GamePlayModel extends Observable implements Serializable {
         deck = new Vector<>();
         players = new Vector<>();
         gameState = ENTRY_MENU;
-        rand = new Random();
+        rand = new GameRandom();
         playerTerritoriesModel = new PlayerTerritoriesModel();
         needDefenderReaction = false;
+        log = GameLog.NONE;
+        events = new GameEventBus();
+    }
+    
+    /**
+     * Instantiates a fork of a game, which has no user interface models and no log
+     *
+     * @param other the forked game
+     *
+     * @see #fork()
+     */
+    private GamePlayModel(GamePlayModel other) {
+        Map<Player, Player> forkPlayers = new IdentityHashMap<>();
+        players = new Vector<>(other.players.size());
+        for (Player player : other.players) {
+            Player forkPlayer = player.fork();
+            forkPlayers.put(player, forkPlayer);
+            players.add(forkPlayer);
+        }
+        events = new GameEventBus();
+        gameMap = other.gameMap.fork(forkPlayers);
+        gameMap.getBoardState().setEvents(events);
+        currentPlayer = forkPlayers.get(other.currentPlayer);
+        winner = forkPlayers.get(other.winner);
+        if (other.currentBattle != null) {
+            Battle battle = other.currentBattle;
+            currentBattle = new Battle(forkPlayers.get(battle.getAttacker()),
+                    gameMap.getATerritory(battle.getAttackingTerritory().getName()), battle.getAttackerDice().getRollsCount(),
+                    forkPlayers.get(battle.getDefender()), gameMap.getATerritory(battle.getDefendingTerritory().getName()));
+            currentBattle.getAttackerDice().setRollsResult(battle.getAttackerDice());
+            if (battle.getDefenderDice() != null) {
+                currentBattle.setDefendingDice(battle.getDefenderDice().getRollsCount());
+                currentBattle.getDefenderDice().setRollsResult(battle.getDefenderDice());
+            }
+            currentBattle.addLosses(battle.getAttackerLossCount(), battle.getDefenderLossCount());
+        }
+        
+        maxTurns = other.maxTurns;
+        turnCounter = other.turnCounter;
+        maxAttackTurn = other.maxAttackTurn;
+        attackCounter = other.attackCounter;
+        armyValue = other.armyValue;
+        gameState = other.gameState;
+        deck = new Vector<>(other.deck);
+        rand = other.rand.copy();
+        needDefenderReaction = other.needDefenderReaction;
+        blitzBattles = other.blitzBattles;
+        log = GameLog.NONE;
+    }
+    
+    /**
+     * Fork the game, e.g. to explore moves or play simulations without changing this game.
+     * <ul>
+     * <li> The fork copies only what changes while playing: the owners and armies of the territories (copy-on-write,
+     * so the fork and this game share them until one of them changes), the players, the deck, the counters and the
+     * current battle with its dice and losses
+     * <li> The map topology, the continents and the strategies of the players are shared
+     * <li> The random generator is copied, so the fork rolls the same dice as this game unless it is given another
+     * generator with setRandom(GameRandom)
+     * <li> The fork has no observers, no user interface models and no log
+     * </ul>
+     * A fork is not thread-safe, but different forks of one game can be played on different threads,
+     * as long as the forked game does not change while they are being made.
+     *
+     * @return the fork of the game
+     */
+    public GamePlayModel fork() {
+        return new GamePlayModel(this);
     }
     
     /**
@@ -99,6 +181,7 @@ public class GamePlayModel extends Observable implements Serializable {
      * @param gamePlayModel the restored object
      */
     public void setGamePlayModel(GamePlayModel gamePlayModel) {
+        attachEvents(gamePlayModel.getGameMap());
         this.gameMap = gamePlayModel.getGameMap();
         this.gameState = gamePlayModel.getGameState();
         this.mapTableModel.updateMapTableModel(gameMap, gameState);
@@ -113,12 +196,107 @@ public class GamePlayModel extends Observable implements Serializable {
         this.turnCounter = gamePlayModel.turnCounter;
         this.maxAttackTurn = gamePlayModel.maxAttackTurn;
         this.attackCounter = gamePlayModel.attackCounter;
+        this.blitzBattles = gamePlayModel.blitzBattles;
+        this.needDefenderReaction = gamePlayModel.needDefenderReaction;
+        this.winner = gamePlayModel.winner;
         this.broadcastGamePlayChanges();
     }
     // endregion
     
     // region Getters and Setters
     
+    /**
+     * Gets the log this game writes its progression to
+     *
+     * @return the game log
+     */
+    public GameLog getLog() {
+        return log;
+    }
+    
+    /**
+     * Gets the typed events of this game: the listeners subscribed to it are told of every change of the board,
+     * of the phases, of the players and of the battles
+     *
+     * @return the event bus of the game
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+    
+    /**
+     * Sets the log this game writes its progression to
+     *
+     * @param log the game log, or null to discard the messages
+     */
+    public void setLog(GameLog log) {
+        this.log = (log == null) ? GameLog.NONE : log;
+    }
+    
+    /**
+     * Gets the journal recording the actions of this game
+     *
+     * @return the game journal, null if the actions are not recorded
+     */
+    public GameJournal getJournal() {
+        return journal;
+    }
+    
+    /**
+     * Sets the journal recording the actions of this game from now on.
+     * The journal starts with a snapshot of the game. Forks of the game are not recorded.
+     *
+     * @param journal the game journal, or null to stop recording
+     */
+    public void setJournal(GameJournal journal) {
+        this.journal = journal;
+        if (journal != null) {
+            journal.start(this);
+        }
+    }
+    
+    /**
+     * Gets the random generator that every random decision of this game draws from
+     *
+     * @return the random generator of the game
+     */
+    public GameRandom getRandom() {
+        return rand;
+    }
+    
+    /**
+     * Sets the random generator of this game, e.g. to replay a game from its seed
+     *
+     * @param random the random generator of the game
+     */
+    public void setRandom(GameRandom random) {
+        if (random == null) {
+            throw new IllegalArgumentException("The random generator of a game cannot be null");
+        }
+        this.rand = random;
+    }
+    
+    /**
+     * Tells whether the battles of the bots are blitz battles
+     *
+     * @return true if a battle of a bot goes on until the territory is conquered or the attacker cannot attack anymore,
+     * false if it is one dice round
+     */
+    public boolean isBlitzBattles() {
+        return blitzBattles;
+    }
+    
+    /**
+     * Sets whether the battles of the bots are blitz battles.
+     * A blitz battle draws its final result at once, with the same distribution as dice rounds played one by one
+     * with the same number of dice until the territory is conquered or the attacker cannot attack anymore.
+     *
+     * @param blitzBattles true for blitz battles, false for one dice round per battle (by default)
+     */
+    public void setBlitzBattles(boolean blitzBattles) {
+        this.blitzBattles = blitzBattles;
+    }
+    
     /**
      * Gets original max turn
      *
@@ -145,6 +323,34 @@ public class GamePlayModel extends Observable implements Serializable {
         notifyObservers(this);
     }
     
+    /**
+     * Update the table models of the views and notify the observers.
+     * To be called on the Event Dispatch Thread once the game stopped being played on another thread,
+     * since the table models are only updated on the Event Dispatch Thread.
+     */
+    public void refreshViews() {
+        updateGameMapTableModel();
+        updatePlayerTerritoriesModel();
+        broadcastGamePlayChanges();
+    }
+    
+    /**
+     * Restores the transient log after the game has been read back from a saved state
+     *
+     * @param in the object input stream
+     *
+     * @throws IOException            the stream cannot be read
+     * @throws ClassNotFoundException a class of the saved state cannot be found
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        log = GameLog.NONE;
+        events = new GameEventBus();
+        if (gameMap != null) {
+            gameMap.getBoardState().setEvents(events);
+        }
+    }
+    
     /**
      * Gets the maximum number of attack turns
      *
@@ -163,6 +369,15 @@ public class GamePlayModel extends Observable implements Serializable {
         return attackCounter;
     }
     
+    /**
+     * Sets the attack counter, when restoring a saved game
+     *
+     * @param attackCounter the number of attacks of the current turn
+     */
+    public void setAttackCounter(int attackCounter) {
+        this.attackCounter = attackCounter;
+    }
+    
     /**
      * Sets the max attack turn
      *
@@ -190,6 +405,29 @@ public class GamePlayModel extends Observable implements Serializable {
         this.currentBattle = newBattle;
     }
     
+    /**
+     * Declare an attack of the current player as the current battle, the defender choosing its dice later.
+     * The battle of the previous attack is reused with its dice, so the attacks of the bots allocate nothing:
+     * the battle must not be kept once it is fought.
+     *
+     * @param attackingTerritory the territory originating the attack
+     * @param attackingDice      the dice for the attacking player
+     * @param defendingTerritory the territory being attacked
+     *
+     * @return the current battle
+     */
+    public Battle declareBattle(Territory attackingTerritory, int attackingDice, Territory defendingTerritory) {
+        if (reusedBattle == null) {
+            reusedBattle = new Battle(currentPlayer, attackingTerritory, attackingDice,
+                    defendingTerritory.getOwner(), defendingTerritory);
+        } else {
+            reusedBattle.reset(currentPlayer, attackingTerritory, attackingDice,
+                    defendingTerritory.getOwner(), defendingTerritory);
+        }
+        currentBattle = reusedBattle;
+        return currentBattle;
+    }
+    
     /**
      * Gets the maximum turns a game can be played
      *
@@ -217,6 +455,15 @@ public class GamePlayModel extends Observable implements Serializable {
         return turnCounter;
     }
     
+    /**
+     * Sets the turn counter, when restoring a saved game
+     *
+     * @param turnCounter the number of the current turn
+     */
+    public void setTurnCounter(int turnCounter) {
+        this.turnCounter = turnCounter;
+    }
+    
     /**
      * Gets the map table game_entities.
      *
@@ -310,6 +557,24 @@ public class GamePlayModel extends Observable implements Serializable {
         }
     }
     
+    /**
+     * Gets the player who won the game
+     *
+     * @return the winner, null if nobody has won yet
+     */
+    public Player getWinningPlayer() {
+        return winner;
+    }
+    
+    /**
+     * Sets the player who won the game, when restoring a saved game
+     *
+     * @param winner the winner, null if nobody has won yet
+     */
+    public void setWinningPlayer(Player winner) {
+        this.winner = winner;
+    }
+    
     /**
      * Check whether the game need defender's reaction
      *
@@ -328,6 +593,21 @@ public class GamePlayModel extends Observable implements Serializable {
         this.needDefenderReaction = needDefenderReaction;
     }
     
+    /**
+     * Check whether the game waits for a human: a human plays or sets up the game, a human defends against a bot,
+     * the game is won, or the maximum turns or attacks are reached.
+     * The views of the game are refreshed at once in these states, and at most once per frame while the bots play.
+     *
+     * @return true if the game waits for a human, false while the bots play
+     */
+    public boolean isWaitingForUser() {
+        if (gameState != PLAY || currentPlayer == null || currentPlayer.isHuman() || needDefenderReaction) {
+            return true;
+        }
+        return (attackCounter >= maxAttackTurn && currentPlayer.getGameState() == ATTACK_PREPARE) ||
+                (turnCounter >= maxTurns && currentPlayer.getGameState() == REINFORCEMENT);
+    }
+    
     /**
      * Gets the game state.
      *
@@ -379,13 +659,12 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     public void initializeNewGame(int numOfPlayers) {
         gameState = STARTUP;
-        log.append("\n##############################################");
-        log.append("=== STARTING NEW GAME ON MAP " + gameMap.getMapName() + " ===");
-        log.append("##############################################");
-        log.append("    Number of continents: " + gameMap.getContinentsCount());
-        log.append("    Number of territories: " + gameMap.getTerritoriesCount());
+        log.append(TURN, "\n##############################################");
+        log.append(TURN, "=== STARTING NEW GAME ON MAP " + gameMap.getMapName() + " ===");
+        log.append(TURN, "##############################################");
+        log.append(TURN, "    Number of continents: " + gameMap.getContinentsCount());
+        log.append(TURN, "    Number of territories: " + gameMap.getTerritoriesCount());
          /* Initialization of game attributes */
-        Player.resetStaticNextID();
         initPlayers(numOfPlayers);
         initDeck();
         distributeTerritories();
@@ -401,7 +680,7 @@ public class GamePlayModel extends Observable implements Serializable {
         assignOneArmyPerTerritory();
         updateGameMapTableModel();
         broadcastGamePlayChanges();
-        log.append("    Deck size: " + deck.size());
+        log.append(TURN, "    Deck size: " + deck.size());
     }
     
     /**
@@ -411,15 +690,15 @@ public class GamePlayModel extends Observable implements Serializable {
      * @param numOfPlayers the num of players
      */
     public void initPlayers(int numOfPlayers) {
-        log.append("Initializing " + numOfPlayers + " players...");
+        log.append(TRACE, () -> "Initializing " + numOfPlayers + " players...");
         
         for (int i = 0; i < numOfPlayers; i++) {
-            Player player = new Player();
+            Player player = new Player(players.size() + 1);
             players.add(player);
-            log.append("    Add " + player.getPlayerName() + " to the game");
+            log.append(TRACE, () -> "    Add " + player.getPlayerName() + " to the game");
         }
         
-        log.append("    Finish initializing players");
+        log.append(TRACE, "    Finish initializing players");
     }
     
     /**
@@ -433,17 +712,17 @@ public class GamePlayModel extends Observable implements Serializable {
         if (gameMap.getTerritoriesCount() % Card.getTypesCount() != 0) {
             numOfCards += Card.getTypesCount() - (gameMap.getTerritoriesCount() % Card.getTypesCount());
         }
-        log.append("Initializing deck of " + numOfCards + " cards");
+        log.append(TRACE, "Initializing deck of " + numOfCards + " cards");
         for (int i = 0; i < numOfCards; i++) {
             if (typeNumber >= Card.getTypesCount()) {
                 typeNumber = 0;
             }
             Card card = new Card(Card.CARD_TYPE.values()[typeNumber]);
             deck.add(card);
-            log.append("    Add " + card.getCardType() + " to the deck");
+            log.append(TRACE, () -> "    Add " + card.getCardType() + " to the deck");
             typeNumber++;
         }
-        log.append("    Finish initializing deck");
+        log.append(TRACE, "    Finish initializing deck");
     }
     
     /**
@@ -452,7 +731,7 @@ public class GamePlayModel extends Observable implements Serializable {
      * evenly distributed as possible between all of the players.
      */
     private void distributeTerritories() {
-        log.append("Distributing territories to players");
+        log.append(TRACE, "Distributing territories to players");
         
         /* Prepare the territories list */
         ArrayList<String> territoryArrList = new ArrayList<>();
@@ -470,12 +749,11 @@ public class GamePlayModel extends Observable implements Serializable {
             Territory territory = gameMap.getATerritory(territoryArrList.get(territoryIndex));
             Player player = players.elementAt(playerIndex);
             territory.setOwner(player);
-            player.addTerritory(territory);
-            log.append("    Assign " + territory.getName() + " to " + player.getPlayerName());
+            log.append(TRACE, () -> "    Assign " + territory.getName() + " to " + player.getPlayerName());
             playerIndex++;
             territoryArrList.remove(territoryIndex);
         }
-        log.append("    Finish assigning territories to players");
+        log.append(TRACE, "    Finish assigning territories to players");
     }
     
     /**
@@ -486,9 +764,9 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     private void giveInitialArmies() {
         int armiesToGive = (int) (gameMap.getTerritoriesCount() * INITIAL_ARMY_RATIO / players.size());
-        log.append("Give initial armies = (total# of territories) * (2.75) / (total# of players) = [ " + gameMap.getTerritoriesCount() + " * " + INITIAL_ARMY_RATIO + " / " + players.size() + " ]");
+        log.append(TRACE, () -> "Give initial armies = (total# of territories) * (2.75) / (total# of players) = [ " + gameMap.getTerritoriesCount() + " * " + INITIAL_ARMY_RATIO + " / " + players.size() + " ]");
         for (Player player : players) {
-            log.append("    " + player.getPlayerName() + " receives " + armiesToGive + " armies");
+            log.append(TRACE, () -> "    " + player.getPlayerName() + " receives " + armiesToGive + " armies");
             player.setUnallocatedArmies(armiesToGive);
         }
     }
@@ -507,7 +785,7 @@ public class GamePlayModel extends Observable implements Serializable {
             entry.getValue().addArmies(1);
         }
         for (Player player : players) {
-            player.reduceUnallocatedArmies(gameMap.getTerritoriesOfPlayer(player).size());
+            player.reduceUnallocatedArmies(player.getTerritoriesCount());
         }
     }
     // endregion
@@ -516,9 +794,12 @@ public class GamePlayModel extends Observable implements Serializable {
     
     /**
      * Update the GameMapTableModel according to the newly updated GameMap object.
+     * Like every Swing model, it is only updated on the Event Dispatch Thread.
      */
     private void updateGameMapTableModel() {
-        mapTableModel.updateMapTableModel(gameMap, gameState);
+        if (mapTableModel != null && SwingUtilities.isEventDispatchThread()) {
+            mapTableModel.updateMapTableModel(gameMap, gameState);
+        }
     }
     
     /**
@@ -528,11 +809,11 @@ public class GamePlayModel extends Observable implements Serializable {
      * @see GamePlayModel#initializeNewGame(int)
      */
     public void initializeNewGameForTournament() {
-        log.append("\n##############################################");
-        log.append("=== STARTING NEW GAME ON MAP " + gameMap.getMapName() + " ===");
-        log.append("##############################################");
-        log.append("    Number of continents: " + gameMap.getContinentsCount());
-        log.append("    Number of territories: " + gameMap.getTerritoriesCount());
+        log.append(TURN, "\n##############################################");
+        log.append(TURN, "=== STARTING NEW GAME ON MAP " + gameMap.getMapName() + " ===");
+        log.append(TURN, "##############################################");
+        log.append(TURN, "    Number of continents: " + gameMap.getContinentsCount());
+        log.append(TURN, "    Number of territories: " + gameMap.getTerritoriesCount());
         initDeck();
         distributeTerritories();
         giveInitialArmies();
@@ -541,13 +822,13 @@ public class GamePlayModel extends Observable implements Serializable {
         // Distribute one by one armies in Round-Robin fashion for bots
         for (Player player : players) {
             if (Bot.class.isAssignableFrom(player.getPlayerType().getClass())) {
-                String randomTerritory = player.getTerritories().elementAt((int) (Math.random() * (player.getTerritories().size() - 1))).getName();
+                String randomTerritory = player.getRandomTerritory(rand).getName();
                 placeArmyStartup(randomTerritory);
             }
         }
         updateGameMapTableModel();
         broadcastGamePlayChanges();
-        log.append("    Deck size: " + deck.size());
+        log.append(TURN, "    Deck size: " + deck.size());
     }
     
     /**
@@ -559,7 +840,7 @@ public class GamePlayModel extends Observable implements Serializable {
     public void placeArmyStartup(String territory) {
         currentPlayer.reduceUnallocatedArmies(1);
         gameMap.getATerritory(territory).addArmies(1);
-        log.append("    " + currentPlayer.getPlayerName() + " placed 1 army on " + territory);
+        log.append(TRACE, () -> "    " + currentPlayer.getPlayerName() + " placed 1 army on " + territory);
         currentPlayer = getNextPlayer();
         
         /*
@@ -568,16 +849,17 @@ public class GamePlayModel extends Observable implements Serializable {
          */
         int count = 1;
         while (currentPlayer.getUnallocatedArmies() == 0 && count < players.size()) {
-            log.append("    " + currentPlayer.getPlayerName() + " has no unallocated armies to place");
+            log.append(TRACE, () -> "    " + currentPlayer.getPlayerName() + " has no unallocated armies to place");
             currentPlayer = getNextPlayer();
             count++;
         }
         
         /* If all player run out of unallocated army, move to the next phase */
         if (count == players.size()) {
-            log.append("    All players placed all their unallocated armies");
+            log.append(TRACE, "    All players placed all their unallocated armies");
         }
         
+        record(ACTION.STARTUP_PLACE, gameMap.getATerritory(territory).getId());
         updateGameMapTableModel();
         broadcastGamePlayChanges();
     }
@@ -611,7 +893,6 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     public void fixedInitializeNewGame(int numOfPlayers) {
          /* Initialization of game attributes */
-        Player.resetStaticNextID();
         initPlayers(numOfPlayers);
         initDeck();
         fixedDistributeTerritories();  // rigged and fixed distribution of the territories
@@ -642,7 +923,6 @@ public class GamePlayModel extends Observable implements Serializable {
             Territory territory = gameMap.getATerritory(territoryArrList.get(0));
             Player player = players.elementAt(playerIndex);
             territory.setOwner(player);
-            player.addTerritory(territory);
             
             playerIndex++;
             territoryArrList.remove(0);
@@ -655,14 +935,15 @@ public class GamePlayModel extends Observable implements Serializable {
     public void startTheGame() {
         setGameState(PLAY);
         
-        log.append("==============================================");
-        log.append("The game starts");
+        log.append(TURN, "==============================================");
+        log.append(TURN, "The game starts");
         currentPlayer = players.firstElement();
-        log.append("==============================================");
-        log.append(currentPlayer.getPlayerName() + "[turn #" + turnCounter + "]. Player type: " + currentPlayer.getPlayerType().getClass().getSimpleName());
-        log.append("    " + currentPlayer.getPlayerName() + " is " + currentPlayer.getPlayerType().getClass().getSimpleName());
-        currentPlayer.nextPhase();
+        log.append(TURN, "==============================================");
+        log.append(TURN, currentPlayer.getPlayerName() + "[turn #" + turnCounter + "]. Player type: " + currentPlayer.getPlayerType().getClass().getSimpleName());
+        log.append(TURN, "    " + currentPlayer.getPlayerName() + " is " + currentPlayer.getPlayerType().getClass().getSimpleName());
+        currentPlayer.nextPhase(this);
         addReinforcementForCurrPlayer();
+        record(ACTION.START);
         updatePlayerTerritoriesModel();
         broadcastGamePlayChanges();
     }
@@ -675,34 +956,31 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     public void addReinforcementForCurrPlayer() {
         // Assign players number of armies to allocate (minimum 3) depending on the players' territories.
-        int armiesToGive = Math.max(3, gameMap.getTerritoriesOfPlayer(currentPlayer).size() / 3);
+        int armiesToGive = Math.max(3, currentPlayer.getTerritoriesCount() / 3);
         
         // Assign players additional number armies to allocate if that player owns a continent.
-        for (Map.Entry<String, Continent> entry : gameMap.getContinents().entrySet()) {
-            if (currentPlayer.getPlayerName().compareTo(entry.getValue().getContinentOwner(gameMap)) == 0) {
-                armiesToGive += entry.getValue().getControlValue();
-            }
+        Vector<Continent> ownedContinents = currentPlayer.getContinents(gameMap);
+        for (Continent continent : ownedContinents) {
+            armiesToGive += continent.getControlValue();
         }
         
         // For logging display player's continent content
-        log.append("    " + currentPlayer.getPlayerName() + " owns " + currentPlayer.getTerritories().size() + " territories: ");
-        for (Territory territory : currentPlayer.getTerritories()) {
-            String format = "%-50s%-4s";
-            String firstColumn = "     " + territory.getName();
-            String secondColumn = "\twith " + territory.getArmies() + " armies";
-            log.append(String.format(format, firstColumn, secondColumn));
-        }
-        int continentCounter = 0;
-        StringBuilder continentStr = new StringBuilder();
-        for (Map.Entry<String, Continent> entry : gameMap.getContinents().entrySet()) {
-            if (currentPlayer.getPlayerName().compareTo(entry.getValue().getContinentOwner(gameMap)) == 0) {
-                continentCounter++;
-                continentStr.append(entry.getValue().getName()).append(", control value ").append(entry.getValue().getControlValue()).append("\n");
+        if (log.isEnabled(TRACE)) {
+            log.append("    " + currentPlayer.getPlayerName() + " owns " + currentPlayer.getTerritoriesCount() + " territories: ");
+            for (Territory territory : currentPlayer.getTerritories()) {
+                String format = "%-50s%-4s";
+                String firstColumn = "     " + territory.getName();
+                String secondColumn = "\twith " + territory.getArmies() + " armies";
+                log.append(String.format(format, firstColumn, secondColumn));
+            }
+            StringBuilder continentStr = new StringBuilder();
+            for (Continent continent : ownedContinents) {
+                continentStr.append(continent.getName()).append(", control value ").append(continent.getControlValue()).append("\n");
+            }
+            log.append("    " + currentPlayer.getPlayerName() + " owns " + ownedContinents.size() + " continents: ");
+            if (!ownedContinents.isEmpty()) {
+                log.append("        " + continentStr.toString());
             }
-        }
-        log.append("    " + currentPlayer.getPlayerName() + " owns " + continentCounter + " continents: ");
-        if (continentCounter != 0) {
-            log.append("        " + continentStr.toString());
         }
         
         currentPlayer.addUnallocatedArmies(armiesToGive);
@@ -710,9 +988,12 @@ public class GamePlayModel extends Observable implements Serializable {
     
     /**
      * Update player territories game_entities.
+     * Like every Swing model, it is only updated on the Event Dispatch Thread.
      */
     private void updatePlayerTerritoriesModel() {
-        playerTerritoriesModel.updateMapTableModel(currentPlayer, this);
+        if (playerTerritoriesModel != null && SwingUtilities.isEventDispatchThread()) {
+            playerTerritoriesModel.updateMapTableModel(currentPlayer, this);
+        }
     }
     
     /**
@@ -731,6 +1012,7 @@ public class GamePlayModel extends Observable implements Serializable {
                 e.printStackTrace();
             }
         }
+        record(ACTION.STRATEGY);
         broadcastGamePlayChanges();
     }
     
@@ -743,8 +1025,10 @@ public class GamePlayModel extends Observable implements Serializable {
      * @return String for the error message to validate the result of the trade in
      */
     public String tradeInCards(Vector<String> selectedCards) {
-        log.append("    " + currentPlayer.getPlayerName() + " starts trading cards");
+        log.append(BATTLE, () -> "    " + currentPlayer.getPlayerName() + " starts trading cards");
+        int unallocatedArmies = currentPlayer.getUnallocatedArmies();
         String message = currentPlayer.reinforcement(this, selectedCards, null);
+        record(ACTION.TRADE, currentPlayer.getUnallocatedArmies() - unallocatedArmies);
         broadcastGamePlayChanges();
         return message;
     }
@@ -762,8 +1046,17 @@ public class GamePlayModel extends Observable implements Serializable {
     public void placeArmiesReinforcement(Map<Territory, Integer> armiesToPlace) {
         currentPlayer.reinforcement(this, null, armiesToPlace);
         if (currentPlayer.isHuman() && currentPlayer.getUnallocatedArmies() == 0 && !currentPlayer.ableToTradeCards()) {
-            log.append("    " + currentPlayer.getPlayerName() + " has no unallocated army left and no valid cards set to trade");
-            currentPlayer.nextPhase();
+            log.append(BATTLE, () -> "    " + currentPlayer.getPlayerName() + " has no unallocated army left and no valid cards set to trade");
+            currentPlayer.nextPhase(this);
+        }
+        if (journal != null) {
+            int[] placements = new int[armiesToPlace.size() * 2];
+            int i = 0;
+            for (Map.Entry<Territory, Integer> entry : armiesToPlace.entrySet()) {
+                placements[i++] = entry.getKey().getId();
+                placements[i++] = entry.getValue();
+            }
+            record(ACTION.REINFORCE, placements);
         }
         updateGameMapTableModel();
         broadcastGamePlayChanges();
@@ -776,6 +1069,7 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     public void moveArmiesToConqueredTerritory(int armiesToMove) {
         currentPlayer.conquer(this, armiesToMove);
+        record(ACTION.CONQUER, armiesToMove);
         moveToFortificationIfPossible();
         updateGameMapTableModel();
         broadcastGamePlayChanges();
@@ -786,11 +1080,13 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     private void moveToFortificationIfPossible() {
         if (!currentPlayer.ableToAttack(gameMap)) {
-            log.append("        " + currentPlayer.getPlayerName() + " cannot attack anymore");
-            currentPlayer.nextPhase();
+            log.append(BATTLE, () -> "        " + currentPlayer.getPlayerName() + " cannot attack anymore");
+            currentPlayer.nextPhase(this);
             if (!currentPlayer.ableToFortify(gameMap)) {
-                log.append("        " + currentPlayer.getPlayerName() + " cannot fortify");
+                log.append(BATTLE, () -> "        " + currentPlayer.getPlayerName() + " cannot fortify");
                 nextPlayerTurn();
+            } else {
+                record(ACTION.PHASE, currentPlayer.getGameState().ordinal());
             }
         }
     }
@@ -807,11 +1103,12 @@ public class GamePlayModel extends Observable implements Serializable {
         if (gameState == PLAY) {
             turnCounter++;
         }
-        log.append("==============================================");
-        log.append(currentPlayer.getPlayerName() + "'s turn begins [turn #" + turnCounter + "]. Player type: " + currentPlayer.getPlayerType().getClass().getSimpleName());
-        log.append("    " + currentPlayer.getPlayerName() + " is " + currentPlayer.getPlayerType().getClass().getSimpleName());
-        currentPlayer.nextPhase();
+        log.append(TURN, "==============================================");
+        log.append(TURN, currentPlayer.getPlayerName() + "'s turn begins [turn #" + turnCounter + "]. Player type: " + currentPlayer.getPlayerType().getClass().getSimpleName());
+        log.append(TURN, "    " + currentPlayer.getPlayerName() + " is " + currentPlayer.getPlayerType().getClass().getSimpleName());
+        currentPlayer.nextPhase(this);
         addReinforcementForCurrPlayer();
+        record(ACTION.TURN, currentPlayer.getPlayerID(), turnCounter);
         updateGameMapTableModel();
         updatePlayerTerritoriesModel();
         broadcastGamePlayChanges();
@@ -824,7 +1121,8 @@ public class GamePlayModel extends Observable implements Serializable {
      * Change the player's state to ATTACK_PREPARE
      */
     public void prepareNewAttack() {
-        currentPlayer.setGameState(ATTACK_PREPARE);
+        changePhase(currentPlayer, ATTACK_PREPARE);
+        record(ACTION.PHASE, ATTACK_PREPARE.ordinal());
         updateGameMapTableModel();
         broadcastGamePlayChanges();
     }
@@ -848,12 +1146,12 @@ public class GamePlayModel extends Observable implements Serializable {
         
         // Create the battle
         currentBattle = new Battle(attacker, attackingTerritory, numOfAtkDice, defender, defendingTerritory, numOfDefDice);
-        currentPlayer.setGameState(ATTACK_BATTLE);
+        changePhase(currentPlayer, ATTACK_BATTLE);
         
-        log.append("    " + currentBattle.getAttacker().getPlayerName() + " attacks from " + attackingTerritory.getName() +
+        log.append(BATTLE, () -> "    " + currentBattle.getAttacker().getPlayerName() + " attacks from " + attackingTerritory.getName() +
                 " to " + defendingTerritory.getName() + " of " + defender.getPlayerName());
-        log.append("        " + currentBattle.getAttacker().getPlayerName() + " chooses " + numOfAtkDice + " dice");
-        log.append("        " + currentBattle.getDefender().getPlayerName() + " chooses " + numOfDefDice + " dice");
+        log.append(BATTLE, () -> "        " + currentBattle.getAttacker().getPlayerName() + " chooses " + numOfAtkDice + " dice");
+        log.append(BATTLE, () -> "        " + currentBattle.getDefender().getPlayerName() + " chooses " + numOfDefDice + " dice");
         
         /* Let current human player does his part */
         currentPlayer.attack(this);
@@ -863,17 +1161,17 @@ public class GamePlayModel extends Observable implements Serializable {
         
         // If the defending territory has been conquered
         if (currentBattle.getDefendingTerritory().getArmies() == 0) {
-            log.append("        " + defendingTerritoryName + " has been conquered by " + attacker.getPlayerName());
+            log.append(BATTLE, () -> "        " + defendingTerritoryName + " has been conquered by " + attacker.getPlayerName());
             attacker.setHasConqueredTerritories(true);
             
             // Change the owner of this territory to the attacker
-            defender.removeTerritory(defendingTerritory.getName());
             defendingTerritory.setOwner(attacker);
-            attacker.addTerritory(defendingTerritory);
             
             // Check if the defender has been eliminated
             eliminatePlayerIfPossible();
         }
+        recordBattle(currentBattle);
+        events.battleResolved(currentBattle);
         if (gameState != VICTORY) {
             moveToFortificationIfPossible();
             updateGameMapTableModel();
@@ -912,22 +1210,23 @@ public class GamePlayModel extends Observable implements Serializable {
     public void eliminatePlayerIfPossible() {
         Player attacker = currentBattle.getAttacker();
         Player defender = currentBattle.getDefender();
-        if (defender.getTerritories().size() == 0) {
+        if (defender.getTerritoriesCount() == 0) {
             // Remove him from the game
             defender.setPlayerStatus(PLAYER_STATUS.ELIMINATED);
-            log.append("    " + currentPlayer.getPlayerName() + " just eliminated " + defender.getPlayerName());
-            log.append("        " + defender.getPlayerName() + " has been eliminated");
+            log.append(TURN, "    " + currentPlayer.getPlayerName() + " just eliminated " + defender.getPlayerName());
+            log.append(TURN, "        " + defender.getPlayerName() + " has been eliminated");
             
             // Give all of defender's cards to the attacker
-            log.append("        Start giving all " + defender.getPlayerName() + "'s cards to " + attacker.getPlayerName());
+            log.append(BATTLE, () -> "        Start giving all " + defender.getPlayerName() + "'s cards to " + attacker.getPlayerName());
             if (defender.getPlayersHand().size() == 0) {
-                log.append("            " + defender.getPlayerName() + " has no card");
+                log.append(BATTLE, () -> "            " + defender.getPlayerName() + " has no card");
             } else {
                 for (Card card : defender.getPlayersHand()) {
                     attacker.addCardToPlayersHand(card);
-                    log.append("            Give " + card.getCardType() + " to " + attacker.getPlayerName());
+                    log.append(BATTLE, () -> "            Give " + card.getCardType() + " to " + attacker.getPlayerName());
                 }
             }
+            events.playerEliminated(defender, attacker);
         }
         
         // Declare winner if there is only 1 player left
@@ -935,8 +1234,8 @@ public class GamePlayModel extends Observable implements Serializable {
             winner = attacker;
             setGameState(VICTORY);
             String message = attacker.getPlayerName() + " wins the game!";
-            log.append("\n");
-            log.append("!!!!!!!!!!!!!!!!!! " + message + "!!!!!!!!!!!!!!!!!!");
+            log.append(TURN, "\n");
+            log.append(TURN, "!!!!!!!!!!!!!!!!!! " + message + "!!!!!!!!!!!!!!!!!!");
         }
         
         updateGameMapTableModel();
@@ -954,22 +1253,31 @@ public class GamePlayModel extends Observable implements Serializable {
     public void decideResult(int bestOfAttacker, int bestOfDefender) {
         Territory attackingTerritory = currentBattle.getAttackingTerritory();
         Territory defendingTerritory = currentBattle.getDefendingTerritory();
+        boolean logDice = log.isEnabled(DICE);
         if (bestOfAttacker > bestOfDefender) { // the attacker wins
-            log.append("            Attacker " + currentBattle.getAttacker().getPlayerName() + " has " + bestOfAttacker +
-                    ", defender " + currentBattle.getDefender().getPlayerName() + " has " + bestOfDefender +
-                    ", attacker wins");
+            if (logDice) {
+                log.append("            Attacker " + currentBattle.getAttacker().getPlayerName() + " has " + bestOfAttacker +
+                        ", defender " + currentBattle.getDefender().getPlayerName() + " has " + bestOfDefender +
+                        ", attacker wins");
+            }
             defendingTerritory.reduceArmies(1);
-            log.append("            " + currentBattle.getDefender().getPlayerName() + "'s " +
-                    defendingTerritory.getName() + " loses 1 army");
+            if (logDice) {
+                log.append("            " + currentBattle.getDefender().getPlayerName() + "'s " +
+                        defendingTerritory.getName() + " loses 1 army");
+            }
             currentBattle.increaseDefenderLossCount();
             
         } else { // the defender wins
-            log.append("            Attacker " + currentBattle.getAttacker().getPlayerName() + " has " + bestOfAttacker +
-                    ", defender " + currentBattle.getDefender().getPlayerName() + " has " + bestOfDefender +
-                    ", defender wins");
+            if (logDice) {
+                log.append("            Attacker " + currentBattle.getAttacker().getPlayerName() + " has " + bestOfAttacker +
+                        ", defender " + currentBattle.getDefender().getPlayerName() + " has " + bestOfDefender +
+                        ", defender wins");
+            }
             attackingTerritory.reduceArmies(1);
-            log.append("            " + currentBattle.getAttacker().getPlayerName() + "'s " +
-                    attackingTerritory.getName() + " loses 1 army");
+            if (logDice) {
+                log.append("            " + currentBattle.getAttacker().getPlayerName() + "'s " +
+                        attackingTerritory.getName() + " loses 1 army");
+            }
             currentBattle.increaseAttackerLossCount();
             
         }
@@ -991,8 +1299,9 @@ public class GamePlayModel extends Observable implements Serializable {
             }
         }
         if (isVictory) {
-            attackingPlayer.setGameState(VICTORY);
+            changePhase(attackingPlayer, VICTORY);
             setGameState(VICTORY);
+            log.flush();
         }
         return isVictory;
     }
@@ -1006,9 +1315,10 @@ public class GamePlayModel extends Observable implements Serializable {
         if (deck.size() != 0) {
             Card card = drawCard();
             attacker.addCardToPlayersHand(card);
-            log.append("        " + attacker.getPlayerName() + " received the " + card.getCardType().name() + " card");
+            events.cardDrawn(attacker, card);
+            log.append(BATTLE, () -> "        " + attacker.getPlayerName() + " received the " + card.getCardType().name() + " card");
         } else {
-            log.append("        " + attacker.getPlayerName() + " doesn't receive any card since the deck has run out of card");
+            log.append(BATTLE, () -> "        " + attacker.getPlayerName() + " doesn't receive any card since the deck has run out of card");
         }
     }
     
@@ -1021,7 +1331,7 @@ public class GamePlayModel extends Observable implements Serializable {
         int index = rand.nextInt(deck.size());
         Card card = deck.elementAt(index);
         deck.remove(deck.elementAt(index));
-        log.append("    " + card.getCardType() + " is removed from the deck");
+        log.append(TRACE, () -> "    " + card.getCardType() + " is removed from the deck");
         deck.trimToSize();
         return card;
     }
@@ -1062,9 +1372,12 @@ public class GamePlayModel extends Observable implements Serializable {
     public String[] getValidDefendingTerritories(Player player, Territory territory) {
         Vector<String> territoriesList = new Vector<>();
         if (territory.getOwner() == player) {
-            for (String neighbor : territory.getNeighbors()) {
-                if (gameMap.getATerritory(neighbor).getOwner() != player) {
-                    territoriesList.add(neighbor);
+            TerritoryGraph graph = gameMap.getGraph();
+            int id = territory.getId();
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                Territory neighbor = graph.getTerritory(graph.neighborAt(edge));
+                if (neighbor.getOwner() != player) {
+                    territoriesList.add(neighbor.getName());
                 }
             }
         }
@@ -1080,11 +1393,13 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     public String[] getNeighborsNotOwnedBySamePlayer(String territoryName) {
         Territory territory = gameMap.getATerritory(territoryName);
+        TerritoryGraph graph = gameMap.getGraph();
+        int id = territory.getId();
         Vector<String> neighborsList = new Vector<>();
-        for (String neighborName : territory.getNeighbors()) {
-            Territory neighbor = gameMap.getATerritory(neighborName);
-            if (!neighbor.isOwnedBy(territory.getOwner().getPlayerID())) {
-                neighborsList.add(neighborName);
+        for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+            Territory neighbor = graph.getTerritory(graph.neighborAt(edge));
+            if (neighbor.getOwner() != territory.getOwner()) {
+                neighborsList.add(neighbor.getName());
             }
         }
         return neighborsList.toArray(new String[neighborsList.size()]);
@@ -1117,6 +1432,7 @@ public class GamePlayModel extends Observable implements Serializable {
      * @param gameMap New value of gameMap.
      */
     public void setGameMap(GameMap gameMap) {
+        attachEvents(gameMap);      // from now on the territories and the players are views of the board state
         this.gameMap = gameMap;
         updateGameMapTableModel();
         broadcastGamePlayChanges();
@@ -1127,18 +1443,56 @@ public class GamePlayModel extends Observable implements Serializable {
      */
     public void performBattleIfPossible() {
         if (currentBattle != null) {
-            log.append("        Battle between " + currentBattle.getAttacker().getPlayerName() +
-                    "'s " + currentBattle.getAttackingTerritory().getName() +
-                    " and " + currentBattle.getDefender().getPlayerName() +
-                    "'s " + currentBattle.getDefendingTerritory().getName());
-        
             /* Both players roll dice */
-            currentBattle.attackerRollDice();
-            log.append("            " + currentBattle.getAttacker().getPlayerName() + " roll dice: " +
-                    currentBattle.getAttackerDice().getRollsResult());
-            currentBattle.defenderRollDice();
-            log.append("            " + currentBattle.getDefender().getPlayerName() + " roll dice: " +
-                    currentBattle.getDefenderDice().getRollsResult());
+            currentBattle.attackerRollDice(rand);
+            currentBattle.defenderRollDice(rand);
+            
+            if (log.isEnabled(DICE)) {
+                log.append("        Battle between " + currentBattle.getAttacker().getPlayerName() +
+                        "'s " + currentBattle.getAttackingTerritory().getName() +
+                        " and " + currentBattle.getDefender().getPlayerName() +
+                        "'s " + currentBattle.getDefendingTerritory().getName());
+                log.append("            " + currentBattle.getAttacker().getPlayerName() + " roll dice: " +
+                        currentBattle.getAttackerDice().getRollsResult());
+                log.append("            " + currentBattle.getDefender().getPlayerName() + " roll dice: " +
+                        currentBattle.getDefenderDice().getRollsResult());
+            }
+        }
+    }
+    
+    /**
+     * Do a blitz battle if possible: the final result of the dice rounds played until the territory is conquered
+     * or the attacking territory has one army left is drawn at once
+     *
+     * @see BattleOdds
+     */
+    private void performBlitzBattleIfPossible() {
+        if (currentBattle != null) {
+            Territory attackingTerritory = currentBattle.getAttackingTerritory();
+            Territory defendingTerritory = currentBattle.getDefendingTerritory();
+            int attackerArmies = attackingTerritory.getArmies();
+            int defenderArmies = defendingTerritory.getArmies();
+            int armiesLeft = BattleOdds.sampleBlitz(attackerArmies, defenderArmies,
+                    Math.min(currentBattle.getAttackerDice().getRollsCount(), MAX_NUM_ATK_DICE),
+                    Math.min(currentBattle.getDefenderDice().getRollsCount(), MAX_NUM_DEF_DICE), rand);
+            int attackerLosses = attackerArmies - Math.max(armiesLeft, 1);
+            int defenderLosses = defenderArmies - Math.max(-armiesLeft, 0);
+            
+            if (attackerLosses > 0) {
+                attackingTerritory.reduceArmies(attackerLosses);
+            }
+            if (defenderLosses > 0) {
+                defendingTerritory.reduceArmies(defenderLosses);
+            }
+            currentBattle.addLosses(attackerLosses, defenderLosses);
+            if (defendingTerritory.getArmies() == 0) {
+                // the bots move at least as many armies as dice, which must leave one army behind
+                currentBattle.getAttackerDice().setRollsCount(Math.min(currentBattle.getAttackerDice().getRollsCount(),
+                        attackingTerritory.getArmies() - 1));
+            }
+            log.append(BATTLE, () -> "        Blitz between " + currentBattle.getAttacker().getPlayerName() + "'s " +
+                    attackingTerritory.getName() + " and " + currentBattle.getDefender().getPlayerName() + "'s " +
+                    defendingTerritory.getName() + ": attacker loses " + attackerLosses + ", defender loses " + defenderLosses);
         }
     }
     
@@ -1154,6 +1508,8 @@ public class GamePlayModel extends Observable implements Serializable {
     public String moveArmiesFortification(String sourceTerritory, String targetTerritory, int noOfArmies) {
         String message = currentPlayer.fortification(this, sourceTerritory, targetTerritory, noOfArmies);
         if (message.contains("Successfully moved")) {
+            record(ACTION.FORTIFY, gameMap.getATerritory(sourceTerritory).getId(),
+                    gameMap.getATerritory(targetTerritory).getId(), noOfArmies);
             if (gameState != VICTORY) {
                 nextPlayerTurn();
             }
@@ -1173,8 +1529,9 @@ public class GamePlayModel extends Observable implements Serializable {
      * @param newGameStates the game phase
      */
     public void changePhaseOfCurrentPlayer(GAME_STATES newGameStates) {
-        currentPlayer.setGameState(newGameStates);
-        log.append("    " + currentPlayer.getPlayerName() + " move to " + currentPlayer.getGameState() + " phase");
+        changePhase(currentPlayer, newGameStates);
+        log.append(TRACE, () -> "    " + currentPlayer.getPlayerName() + " move to " + currentPlayer.getGameState() + " phase");
+        record(ACTION.PHASE, newGameStates.ordinal());
         broadcastGamePlayChanges();
     }
     // endregion
@@ -1190,8 +1547,7 @@ public class GamePlayModel extends Observable implements Serializable {
         if (turnCounter <= maxTurns && gameState != VICTORY) {
             // Bots reinforce and declare attack if it wants
             attackCounter = 0;
-            botsReinforcement();
-            botsAttack();
+            playBotTurn(BOT_STEP.REINFORCE);
         }
     }
     
@@ -1201,7 +1557,78 @@ public class GamePlayModel extends Observable implements Serializable {
      * Bots attacking, then fortifying
      */
     public void botsAttack() {
-        currentPlayer.setGameState(ATTACK_PREPARE);
+        playBotTurn(BOT_STEP.ATTACK);
+    }
+    
+    /**
+     * Conquer territory by moving armies to it if possible
+     */
+    private void conquerTerritoryIfPossible() {
+        currentPlayer.moveArmiesToConqueredTerritory(this);
+    }
+    
+    /**
+     * Fortification used by bots
+     *
+     * @param continueAttack flag to determine if attack should continue after fortification
+     */
+    public void botsFortification(boolean continueAttack) {
+        playBotTurn(continueAttack ? BOT_STEP.BATTLE : BOT_STEP.LAST_BATTLE);
+    }
+    
+    /**
+     * Play the turn of the current bot from a given step, one step after the other, until the turn ends,
+     * the game is won, or a human player has to choose the defending dice.
+     * The steps are run in a loop, so the depth of the call stack does not depend on the number of attacks.
+     * <ul>
+     * <li> REINFORCE: the bot reinforces, then attacks
+     * <li> ATTACK: the bot declares an attack or gives up attacking
+     * <li> BATTLE: the declared battle is fought, then the bot attacks again
+     * <li> LAST_BATTLE: the declared battle, if any, is fought, then the bot fortifies
+     * <li> FORTIFY: the bot fortifies and the next player's turn begins
+     * </ul>
+     *
+     * @param firstStep the step to start from
+     */
+    private void playBotTurn(BOT_STEP firstStep) {
+        BOT_STEP step = firstStep;
+        while (step != BOT_STEP.DONE) {
+            switch (step) {
+                case REINFORCE:
+                    currentPlayer.reinforcement(this, null, null);
+                    currentPlayer.nextPhase(this);
+                    record(ACTION.REINFORCE);
+                    step = BOT_STEP.ATTACK;
+                    break;
+                case ATTACK:
+                    step = botAttackStep();
+                    recordAttack();
+                    break;
+                case BATTLE:
+                case LAST_BATTLE:
+                    step = botBattleStep(step == BOT_STEP.BATTLE);
+                    break;
+                case FORTIFY:
+                    currentPlayer.nextPhase(this);
+                    currentPlayer.fortification(this, null, null, -1);
+                    record(ACTION.FORTIFY);
+                    nextPlayerTurn();
+                    step = BOT_STEP.DONE;
+                    break;
+                default:
+                    step = BOT_STEP.DONE;
+                    break;
+            }
+        }
+    }
+    
+    /**
+     * The bot declares a new attack if it wants and can, and the defender chooses its dice
+     *
+     * @return the next step of the bot turn
+     */
+    private BOT_STEP botAttackStep() {
+        changePhase(currentPlayer, ATTACK_PREPARE);
         
         if (attackCounter < maxAttackTurn) {  // from 0 - 49
             attackCounter++;
@@ -1209,78 +1636,145 @@ public class GamePlayModel extends Observable implements Serializable {
         } else {
             currentBattle = null; // all bots give up attacking after 50 attacks
         }
-    
+        
         // If the game has a victor
         if (gameState == VICTORY) {
-            return;
+            return BOT_STEP.DONE;
         }
         // If bots declare new attack, let defender choose number of defending dice
         else if (currentBattle != null && !currentPlayer.isCheaterBot() && attackCounter <= maxAttackTurn) {  // from 1 - 50
-            log.append("Battle #" + attackCounter + ":");
+            log.append(BATTLE, () -> "Battle #" + attackCounter + ":");
             Player defender = currentBattle.getDefender();
             if (defender.isHuman()) {
                 needDefenderReaction = true;
                 broadcastGamePlayChanges();
-            } else {
-                int defendingDice = defender.botChooseDefendingDice(currentBattle.getMaxDefendingRoll());
-                currentBattle.setDefendingDice(defendingDice);
-                botsFortification(true);
+                return BOT_STEP.DONE;   // the turn goes on with botsFortification(true) once the defender chose
             }
+            int defendingDice = defender.botChooseDefendingDice(currentBattle.getMaxDefendingRoll(), rand);
+            currentBattle.setDefendingDice(defendingDice);
+            return BOT_STEP.BATTLE;
         }
         // If bots quits attacking or cannot attack anymore
-        else {
-            if (currentPlayer.hasConqueredTerritories()) {
-                drawCardForWinner(currentPlayer);
-                currentPlayer.setHasConqueredTerritories(false);
-            }
-            botsFortification(false);
+        if (currentPlayer.hasConqueredTerritories()) {
+            drawCardForWinner(currentPlayer);
+            currentPlayer.setHasConqueredTerritories(false);
         }
-    
-    }
-    
-    /**
-     * Conquer territory by moving armies to it if possible
-     */
-    private void conquerTerritoryIfPossible() {
-        currentPlayer.moveArmiesToConqueredTerritory(this);
+        return BOT_STEP.LAST_BATTLE;
     }
     
     /**
-     * Fortification used by bots
+     * The declared battle of the bot is fought and the conquered territory is occupied
      *
-     * @param continueAttack flag to determine if attack should continue after fortification
+     * @param continueAttack flag to determine if attack should continue after the battle
+     *
+     * @return the next step of the bot turn
      */
-    public void botsFortification(boolean continueAttack) {
+    private BOT_STEP botBattleStep(boolean continueAttack) {
         // Prevent normal rules from applying to Cheater Bot
         if (!currentPlayer.isCheaterBot()) {
-            currentPlayer.setGameState(ATTACK_BATTLE);
-            performBattleIfPossible();
-            decideBattleResultIfPossible();
+            changePhase(currentPlayer, ATTACK_BATTLE);
+            if (blitzBattles) {
+                performBlitzBattleIfPossible();
+            } else {
+                performBattleIfPossible();
+                decideBattleResultIfPossible();
+            }
             conquerTerritoryIfPossible();
         } else if (gameState == VICTORY) {
             broadcastGamePlayChanges();
-            return;
+            return BOT_STEP.DONE;
         }
         
+        Battle battle = currentBattle;
         currentBattle = null;
-        
-        if (!continueAttack) {
-            // Fortification phase
-            currentPlayer.nextPhase();
-            currentPlayer.fortification(this, null, null, -1);
-            nextPlayerTurn();
+        if (battle != null && !currentPlayer.isCheaterBot()) {
+            recordBattle(battle);
+            events.battleResolved(battle);
+        }
+        return continueAttack ? BOT_STEP.ATTACK : BOT_STEP.FORTIFY;
+    }
+    
+    /**
+     * Move a player to another phase and publish the change
+     *
+     * @param player the player
+     * @param phase  the new phase
+     */
+    private void changePhase(Player player, GAME_STATES phase) {
+        GAME_STATES previousPhase = player.getGameState();
+        player.setGameState(phase);
+        events.phaseChanged(player, previousPhase, phase);
+    }
+    
+    /**
+     * Publish the changes of the board of a map to the events of this game, instead of the board of the previous map
+     *
+     * @param newGameMap the map played from now on
+     */
+    private void attachEvents(GameMap newGameMap) {
+        if (gameMap != null && gameMap != newGameMap && gameMap.getBoardState().getEvents() == events) {
+            gameMap.getBoardState().setEvents(null);
+        }
+        newGameMap.getBoardState().setEvents(events);
+    }
+    
+    /**
+     * Record an action in the journal of the game, if any
+     *
+     * @param action    the action
+     * @param arguments the arguments of the action
+     *
+     * @see GameJournal.ACTION
+     */
+    private void record(ACTION action, int... arguments) {
+        if (journal != null) {
+            journal.record(this, action, arguments);
+        }
+    }
+    
+    /**
+     * Record the attack declared by a bot, or that the bot stops attacking
+     */
+    private void recordAttack() {
+        if (journal == null) {
+            return;
+        }
+        if (currentBattle == null || currentPlayer.isCheaterBot()) {
+            record(ACTION.ATTACK);
         } else {
-            botsAttack();
+            record(ACTION.ATTACK, currentBattle.getAttackingTerritory().getId(), currentBattle.getDefendingTerritory().getId(),
+                    currentBattle.getAttackerDice().getRollsCount(),
+                    (currentBattle.getDefenderDice() == null) ? 0 : currentBattle.getDefenderDice().getRollsCount());
         }
     }
     
     /**
-     * This function lets the game advance when the current player is a bot until a human player's turn
+     * Record a fought battle with its losses and dice
+     *
+     * @param battle the battle
      */
-    private void botsReinforcement() {
-        // Reinforcement phase
-        currentPlayer.reinforcement(this, null, null);
-        currentPlayer.nextPhase();
+    private void recordBattle(Battle battle) {
+        if (journal == null) {
+            return;
+        }
+        Dice attackerDice = battle.getAttackerDice();
+        Dice defenderDice = battle.getDefenderDice();
+        int attackerRolls = attackerDice.getResultsCount();
+        int defenderRolls = (defenderDice == null) ? 0 : defenderDice.getResultsCount();
+        int[] arguments = new int[6 + attackerRolls + defenderRolls];
+        arguments[0] = battle.getAttackingTerritory().getId();
+        arguments[1] = battle.getDefendingTerritory().getId();
+        arguments[2] = battle.getAttackerLossCount();
+        arguments[3] = battle.getDefenderLossCount();
+        arguments[4] = attackerRolls;
+        for (int i = 0; i < attackerRolls; i++) {
+            arguments[5 + i] = attackerDice.getResult(i);
+        }
+        arguments[5 + attackerRolls] = defenderRolls;
+        for (int i = 0; i < defenderRolls; i++) {
+            arguments[6 + attackerRolls + i] = defenderDice.getResult(i);
+        }
+        record(ACTION.BATTLE, arguments);
     }
     
     /**
@@ -1289,5 +1783,12 @@ public class GamePlayModel extends Observable implements Serializable {
     public enum PLAYER_STATUS {
         IN_GAME, ELIMINATED
     }
+    
+    /**
+     * The steps of the turn of a bot
+     */
+    private enum BOT_STEP {
+        REINFORCE, ATTACK, BATTLE, LAST_BATTLE, FORTIFY, DONE
+    }
     // endregion
-}
\ No newline at end of file
+}
\ No newline at end of file
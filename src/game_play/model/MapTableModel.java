@@ -6,27 +6,51 @@
  */
 package game_play.model;
 
+import shared_resources.game_entities.BoardState;
 import shared_resources.game_entities.Continent;
 import shared_resources.game_entities.GameMap;
+import shared_resources.game_entities.Player;
 import shared_resources.game_entities.Territory;
-import shared_resources.utilities.BidirectionalArrayComparator;
+import shared_resources.game_entities.TerritoryGraph;
 import shared_resources.utilities.Config;
 
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.TableModel;
 import java.util.Arrays;
+import java.util.Comparator;
 import java.util.Vector;
 
 /**
  * MapTableModel is responsible for providing data for JTable.
+ * <ul>
+ * <li> Each continent has a row followed by the rows of its territories, sorted by name
+ * <li> The continent, territory and neighbors columns are made once per map, or at each update in the map editor
+ * <li> During a game, the owner and armies columns are read from the board state of the shown map, and an update only
+ * notifies the rows whose owner or armies changed since the previous update
+ * <li> The rows are kept when the shown map is replaced by a fork of it, such as a snapshot of a game played
+ * on another thread, since a fork has the same territories and IDs
+ * </ul>
  *
  * @author Team 2
  * @version 1.0
  */
-public class MapTableModel {
+public class MapTableModel extends AbstractTableModel {
     // region Attributes declaration
-    private DefaultTableModel model;
-    private String[][] rows;
-    private Vector<String> columns;
+    private static final String[] COLUMNS = {"Continent", "Territory", "Neighbors", "Owner", "Armies"};
+    private static final int STATIC_COLUMNS_COUNT = 3;
+    private static final int OWNER_COLUMN = 3;
+    private static final String GROUPED_CONTINENT = "  ";
+    private static final String NO_OWNER = "nobody";
+    private GameMap gameMap;
+    private TerritoryGraph graph;
+    private boolean showsBoard;
+    private String[] continentColumn;
+    private String[] territoryColumn;
+    private String[] neighborsColumn;
+    private Continent[] rowContinents;      // the continent of each continent row, null for the territory rows
+    private Territory[] rowTerritories;     // the territory of each territory row, null for the continent rows
+    private int[] shownOwners;
+    private long[] shownArmies;
     // endregion
     
     // region Constructors
@@ -35,79 +59,102 @@ public class MapTableModel {
      */
     /* Constructors */
     public MapTableModel() {
-        model = new DefaultTableModel();
-        columns = new Vector<>();
+        continentColumn = new String[0];
     }
     // endregion
     
     // region Public methods
-    /**
-     * If rows have same continent as previous row, clear the continent name.
-     */
-    private void groupRows() {
-        String prevGroup = "";
-        for (String[] row : rows) {
-            if (row[0].equals(prevGroup)) {
-                row[0] = "  ";
-            } else {
-                // add a row and shift down the rest
-                prevGroup = row[0];
-            }
-            this.model.addRow(row);
-        }
-    }
     
     /**
      * Updating the table game_entities and notifying the subscribers
-     * This method is also used by the constructor.
+     * The rows are made again for a new map, in the map editor, or when the owner and armies columns appear;
+     * otherwise, even for a fork of the shown map, only the rows whose owner or armies changed are notified.
      *
      * @param gameMap the gameMap object that provides the data
      * @param gameStates the game states
      */
     public void updateMapTableModel(GameMap gameMap, Config.GAME_STATES gameStates) {
-        /* clears the game_entities data and reinitialize it with new values */
-        model.setRowCount(0);
-        columns.clear();
-        columns.add("Continent");
-        columns.add("Territory");
-        columns.add("Neighbors");
-        if (gameStates.getValue() >= 3) {
-            columns.add("Owner");
-            columns.add("Armies");
-        }
-        
-        rows = new String[gameMap.getTerritoriesCount() + gameMap.getContinentsCount()][columns.size()];
-        int i = 0;
-        /* add continents */
-        for (Continent continent : gameMap.getContinents().values()) {
-            rows[i][0] = continent.getName();
-            if (gameStates.getValue() >= 3) {
-                if (continent.getContinentOwner(gameMap).compareTo("") == 0) {
-                    rows[i][3] = "nobody";
-                } else {
-                    rows[i][3] = continent.getContinentOwner(gameMap);
-                }
-                rows[i][4] = Long.toString(continent.getContinentArmies(gameMap));
+        boolean showsBoard = gameStates.getValue() >= Config.GAME_STATES.STARTUP.getValue();
+        TerritoryGraph graph = showsBoard ? gameMap.getGraph() : null;
+        if (!showsBoard || showsBoard != this.showsBoard || !graph.hasSameTopology(this.graph)) {
+            boolean columnsChanged = (showsBoard != this.showsBoard) || this.gameMap == null;
+            this.gameMap = gameMap;
+            this.graph = graph;
+            this.showsBoard = showsBoard;
+            makeRows();
+            if (columnsChanged) {
+                fireTableStructureChanged();
+            } else {
+                fireTableDataChanged();
             }
-            i++;
+            return;
         }
+        this.gameMap = gameMap;
+        this.graph = graph;
         
-        for (Territory territory : gameMap.getTerritories().values()) {
-            rows[i][0] = territory.getContinent();
-            rows[i][1] = territory.getName();
-            rows[i][2] = territory.getNeighbors().toString().replace("[", "").replace("]", "");
-            
-            /* add countries and their information */
-            if (gameStates.getValue() >= 3) {
-                rows[i][3] = territory.getOwner().getPlayerName();
-                rows[i][4] = Integer.toString(territory.getArmies());
+        /* Notify the runs of consecutive rows whose owner or armies changed */
+        BoardState boardState = gameMap.getBoardState();
+        int firstChangedRow = -1;
+        for (int row = 0; row <= continentColumn.length; row++) {
+            boolean changed = (row < continentColumn.length) && updateBoardColumns(boardState, row);
+            if (changed && firstChangedRow < 0) {
+                firstChangedRow = row;
+            } else if (!changed && firstChangedRow >= 0) {
+                fireTableRowsUpdated(firstChangedRow, row - 1);
+                firstChangedRow = -1;
             }
-            
-            i++;
         }
-        this.model.setColumnIdentifiers(columns);
-        Arrays.sort(rows, new BidirectionalArrayComparator(0));        // perform sort on Continents column
-        groupRows();
+    }
+    
+    /**
+     * @see javax.swing.table.TableModel#getRowCount()
+     */
+    @Override
+    public int getRowCount() {
+        return continentColumn.length;
+    }
+    
+    /**
+     * @see javax.swing.table.TableModel#getColumnCount()
+     */
+    @Override
+    public int getColumnCount() {
+        return showsBoard ? COLUMNS.length : STATIC_COLUMNS_COUNT;
+    }
+    
+    /**
+     * @see javax.swing.table.AbstractTableModel#getColumnName(int)
+     */
+    @Override
+    public String getColumnName(int column) {
+        return COLUMNS[column];
+    }
+    
+    /**
+     * @see javax.swing.table.TableModel#getValueAt(int, int)
+     */
+    @Override
+    public Object getValueAt(int row, int column) {
+        switch (column) {
+            case 0:
+                return continentColumn[row];
+            case 1:
+                return territoryColumn[row];
+            case 2:
+                return neighborsColumn[row];
+            case OWNER_COLUMN:
+                if (rowContinents[row] != null) {
+                    Player continentOwner = gameMap.getBoardState().getContinentOwner(rowContinents[row].getId());
+                    return (continentOwner == null) ? NO_OWNER : continentOwner.getPlayerName();
+                }
+                Player owner = gameMap.getBoardState().getOwner(rowTerritories[row].getId());
+                return (owner == null) ? "" : owner.getPlayerName();
+            default:
+                if (rowContinents[row] != null) {
+                    return Long.toString(gameMap.getBoardState().getContinentArmies(rowContinents[row].getId()));
+                }
+                return Integer.toString(gameMap.getBoardState().getArmies(rowTerritories[row].getId()));
+        }
     }
     // endregion
     
@@ -118,8 +165,90 @@ public class MapTableModel {
      *
      * @return the game_entities
      */
-    public DefaultTableModel getModel() {
-        return model;
+    public TableModel getModel() {
+        return this;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Make the rows of the continents and territories, with their continent, territory and neighbors columns.
+     * The continent rows come first in their group, and the continent name is only shown on them.
+     */
+    private void makeRows() {
+        Vector<Continent> continents = new Vector<>(gameMap.getContinents().values());
+        Vector<Territory> territories = new Vector<>(gameMap.getTerritories().values());
+        int rowsCount = continents.size() + territories.size();
+        String[] rowGroups = new String[rowsCount];
+        for (int i = 0; i < continents.size(); i++) {
+            rowGroups[i] = continents.get(i).getName();
+        }
+        for (int i = 0; i < territories.size(); i++) {
+            rowGroups[continents.size() + i] = territories.get(i).getContinent();
+        }
+        
+        /* A stable sort on the continent names keeps each continent row before the rows of its territories */
+        Integer[] order = new Integer[rowsCount];
+        for (int i = 0; i < rowsCount; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, Comparator.comparing(i -> rowGroups[i]));
+        
+        continentColumn = new String[rowsCount];
+        territoryColumn = new String[rowsCount];
+        neighborsColumn = new String[rowsCount];
+        rowContinents = new Continent[rowsCount];
+        rowTerritories = new Territory[rowsCount];
+        String previousGroup = "";
+        for (int row = 0; row < rowsCount; row++) {
+            int index = order[row];
+            continentColumn[row] = rowGroups[index].equals(previousGroup) ? GROUPED_CONTINENT : rowGroups[index];
+            previousGroup = rowGroups[index];
+            if (index < continents.size()) {
+                rowContinents[row] = continents.get(index);
+            } else {
+                Territory territory = territories.get(index - continents.size());
+                rowTerritories[row] = territory;
+                territoryColumn[row] = territory.getName();
+                neighborsColumn[row] = String.join(", ", territory.getNeighbors());
+            }
+        }
+        
+        if (showsBoard) {
+            BoardState boardState = gameMap.getBoardState();
+            shownOwners = new int[rowsCount];
+            shownArmies = new long[rowsCount];
+            for (int row = 0; row < rowsCount; row++) {
+                updateBoardColumns(boardState, row);
+            }
+        }
+    }
+    
+    /**
+     * Keep the owner and armies of a row as they are now on the board
+     *
+     * @param boardState the board state of the map
+     * @param row        the row
+     *
+     * @return true if the owner or armies of the row changed since they were kept
+     */
+    private boolean updateBoardColumns(BoardState boardState, int row) {
+        int owner;
+        long armies;
+        if (rowContinents[row] != null) {
+            owner = boardState.getContinentOwnerID(rowContinents[row].getId());
+            armies = boardState.getContinentArmies(rowContinents[row].getId());
+        } else {
+            owner = boardState.getOwnerID(rowTerritories[row].getId());
+            armies = boardState.getArmies(rowTerritories[row].getId());
+        }
+        if (owner == shownOwners[row] && armies == shownArmies[row]) {
+            return false;
+        }
+        shownOwners[row] = owner;
+        shownArmies[row] = armies;
+        return true;
     }
     // endregion
-}
\ No newline at end of file
+}
@@ -7,18 +7,33 @@
 package game_play.model;
 
 import shared_resources.game_entities.GameMap;
-import shared_resources.game_entities.Player;
+import shared_resources.strategy.PlayerType;
+import shared_resources.utilities.GameJournal;
+import shared_resources.utilities.GameLog;
+import shared_resources.utilities.GameRandom;
 
 import javax.swing.*;
 import java.awt.*;
+import java.nio.file.Path;
+import java.util.List;
 import java.util.Vector;
+import java.util.concurrent.*;
 
-import static shared_resources.helper.GameMapHelper.loadGameMap;
+import static shared_resources.helper.GameMapHelper.instantiateGameMap;
+import static shared_resources.utilities.Config.JOURNAL_FILE_EXTENSION;
+import static shared_resources.utilities.Config.LOG_LEVEL;
+import static shared_resources.utilities.Config.TOURNAMENT_LOG_LEVEL;
 import static shared_resources.utilities.Config.GAME_STATES.STARTUP;
 import static shared_resources.utilities.Config.GAME_STATES.VICTORY;
 
 /**
- * Tournament model class is responsible for handling the logic for tournament mode
+ * Tournament model class is responsible for handling the logic for tournament mode.
+ * Every game of the tournament is played on its own worker thread; the number of workers
+ * is set by the parallelism (by default, one worker per available processor).
+ * <p>
+ * Every game draws its random decisions from its own generator, split from the master seed of the tournament
+ * in the order of the maps and games. A tournament played again with the same seed, maps, strategies and
+ * number of games gives the same games, whatever the parallelism.
  *
  * @author Team 2
  * @version 3.0
@@ -31,6 +46,13 @@ public class TournamentModel {
     private int enteredGames;
     private int enteredPlayers;
     private int enteredMaxTurns;
+    private int parallelism;
+    private GameLog log;
+    private String[][] resultLines;
+    private LOG_LEVEL logLevel;
+    private long seed;
+    private boolean blitzBattles;
+    private Path journalFolder;
     
     /**
      * Instantiate new tournament model
@@ -39,6 +61,10 @@ public class TournamentModel {
         tempGamePlayModel = new GamePlayModel();
         strMapSet = new Vector<>();
         tournamentSet = new Vector<>();
+        parallelism = Runtime.getRuntime().availableProcessors();
+        log = GameLog.NONE;
+        logLevel = TOURNAMENT_LOG_LEVEL;
+        seed = new GameRandom().nextLong();
     }
     
     /**
@@ -59,6 +85,16 @@ public class TournamentModel {
         return tournamentResultsModel;
     }
     
+    /**
+     * Gets the results of the last tournament: one line per map, starting with the map name
+     * and followed by the result of each game
+     *
+     * @return the result lines
+     */
+    public String[][] getResultLines() {
+        return resultLines;
+    }
+    
     /**
      * Setup and Validate input for tournament
      *
@@ -89,25 +125,11 @@ public class TournamentModel {
         }
         
         /* Load the maps first (we will determine the allowed number of players based on maps) */
-        for (String selectedMap : mapsList.getSelectedValuesList()) {
-            try {
-                strMapSet.add(selectedMap);                         // add the string game map to the strMapSet
-                GameMap gameMap = loadGameMap(selectedMap);         // load the selected map
-                GamePlayModel gamePlayModel = new GamePlayModel();  // make a new game model that copies the temp game model
-                gamePlayModel.setGameMap(gameMap);                  // set the game map
-                tournamentSet.add(gamePlayModel);                   // add the game model to the tournament set
-            } catch (Exception e) {
-                strMapSet.clear();
-                tournamentSet.clear();
-                return e.getMessage();
-            }
-        }
-
-        /* determine max players across all games' maps */
-        maxPlayers = tournamentSet.firstElement().getGameMap().getMaxPlayers();
-        for (GamePlayModel gamePlayModel : tournamentSet) {
-            maxPlayers = Math.min(maxPlayers, gamePlayModel.getGameMap().getMaxPlayers());
+        String loadingError = loadMaps(mapsList.getSelectedValuesList());
+        if (loadingError != null) {
+            return loadingError;
         }
+        maxPlayers = getMaxPlayersOfMaps();
         
         /* Now validate the number of players against the maxPlayers across the games' maps*/
         enteredPlayers = validateEntry(playersCountField, 2, maxPlayers);
@@ -120,7 +142,7 @@ public class TournamentModel {
         /* initialize each game */
         // use a tempTournamentSet to set up the game to determine the player strategies
         try {
-            tempGamePlayModel.setGameMap(loadGameMap(strMapSet.firstElement()));
+            tempGamePlayModel.setGameMap(instantiateGameMap(strMapSet.firstElement()));
         } catch (Exception e) {
             strMapSet.clear();
             tournamentSet.clear();
@@ -128,12 +150,95 @@ public class TournamentModel {
         }
         
         tempGamePlayModel.setGameState(STARTUP);
-        Player.resetStaticNextID();
         tempGamePlayModel.initPlayers(enteredPlayers);
         
         return "Tournament started successfully";
     }
     
+    /**
+     * Setup and Validate input for tournament without any user interface
+     *
+     * @param mapNames    the names of the map files
+     * @param gamesCount  the number of games played on each map
+     * @param maxTurns    the maximum number of turns of a game
+     * @param playerTypes the strategy of each player (the number of players is the number of strategies)
+     *
+     * @return the message
+     */
+    public String setupTournament(List<String> mapNames, int gamesCount, int maxTurns, List<PlayerType> playerTypes) {
+        if (mapNames.isEmpty()) {
+            return "At least one map must be entered";
+        }
+        if (gamesCount < 1) {
+            return "The number of games must be at least 1";
+        }
+        if (maxTurns < 1) {
+            return "The maximum number of turns must be at least 1";
+        }
+        
+        String loadingError = loadMaps(mapNames);
+        if (loadingError != null) {
+            return loadingError;
+        }
+        int maxPlayers = getMaxPlayersOfMaps();
+        if (playerTypes.size() < 2 || playerTypes.size() > maxPlayers) {
+            strMapSet.clear();
+            tournamentSet.clear();
+            return "The number of players must between 2 and " + maxPlayers;
+        }
+        
+        enteredGames = gamesCount;
+        enteredMaxTurns = maxTurns;
+        enteredPlayers = playerTypes.size();
+        
+        /* the temporary game holds the player strategies */
+        tempGamePlayModel.setGameMap(tournamentSet.firstElement().getGameMap());
+        tempGamePlayModel.setGameState(STARTUP);
+        tempGamePlayModel.initPlayers(enteredPlayers);
+        for (int i = 0; i < enteredPlayers; i++) {
+            tempGamePlayModel.getPlayers().get(i).setPlayerType(playerTypes.get(i));
+        }
+        
+        return "Tournament started successfully";
+    }
+    
+    /**
+     * Load the maps of the tournament and make a game model for each of them
+     *
+     * @param mapNames the names of the map files
+     *
+     * @return the error message, or null if all the maps are loaded
+     */
+    private String loadMaps(List<String> mapNames) {
+        for (String selectedMap : mapNames) {
+            try {
+                strMapSet.add(selectedMap);                             // add the string game map to the strMapSet
+                GameMap gameMap = instantiateGameMap(selectedMap);      // load the selected map
+                GamePlayModel gamePlayModel = new GamePlayModel();      // make a new game model that copies the temp game model
+                gamePlayModel.setGameMap(gameMap);                      // set the game map
+                tournamentSet.add(gamePlayModel);                       // add the game model to the tournament set
+            } catch (Exception e) {
+                strMapSet.clear();
+                tournamentSet.clear();
+                return e.getMessage();
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Determine max players across all games' maps
+     *
+     * @return the maximum number of players supported by every map
+     */
+    private int getMaxPlayersOfMaps() {
+        int maxPlayers = tournamentSet.firstElement().getGameMap().getMaxPlayers();
+        for (GamePlayModel gamePlayModel : tournamentSet) {
+            maxPlayers = Math.min(maxPlayers, gamePlayModel.getGameMap().getMaxPlayers());
+        }
+        return maxPlayers;
+    }
+    
     /**
      * Validate UI entries against a min and max values
      * Method will throw messages to user if exceptions
@@ -171,45 +276,110 @@ public class TournamentModel {
     }
     
     /**
-     * Start the tournament
+     * Start the tournament.
+     * Each game is submitted to a pool of worker threads, and the result table is filled as the games finish.
+     * The log of a game is buffered while it is played, then written to the tournament log at once.
      *
      * @throws Exception invalid map exception
      */
     public void startTournament() throws Exception {
-        /* For each game model in the set, start the game */
-        GamePlayModel gameToPlay;
         String[][] resultLines = new String[tournamentSet.size()][enteredGames + 1];
-        int r = 0;  // the result line number
         for (int n = 0; n < tournamentSet.size(); n++) {
             // collect the map name
-            resultLines[r][0] = tournamentSet.get(n).getGameMap().getMapName();
-            for (int i = 0; i < enteredGames; i++) {
-                /* Play a copy of the game so we can replay from start if needed */
-                gameToPlay = new GamePlayModel();
-                gameToPlay.setGameMap(loadGameMap(strMapSet.get(n)));
-                gameToPlay.setGameState(STARTUP);
-                Player.resetStaticNextID();
-                gameToPlay.initPlayers(enteredPlayers);
-                for (int j = 0; j < enteredPlayers; j++) {  // set the player strategies
-                    gameToPlay.getPlayers().get(j).setPlayerType(tempGamePlayModel.getPlayers().get(j).getPlayerType());
+            resultLines[n][0] = tournamentSet.get(n).getGameMap().getMapName();
+        }
+        
+        int gamesCount = tournamentSet.size() * enteredGames;
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(parallelism, gamesCount)));
+        CompletionService<GameResult> completionService = new ExecutorCompletionService<>(executor);
+        GameRandom masterRandom = new GameRandom(seed);
+        try {
+            /* For each game model in the set, submit as many games as entered */
+            for (int n = 0; n < tournamentSet.size(); n++) {
+                for (int i = 0; i < enteredGames; i++) {
+                    final int mapIndex = n;
+                    final int gameIndex = i;
+                    final GameRandom gameRandom = masterRandom.split();
+                    completionService.submit(() -> playGame(mapIndex, gameIndex, gameRandom));
+                }
+            }
+            
+            /* Collect the results in the order the games finish */
+            for (int k = 0; k < gamesCount; k++) {
+                GameResult gameResult;
+                try {
+                    gameResult = completionService.take().get();
+                } catch (ExecutionException e) {
+                    if (e.getCause() instanceof Exception) {
+                        throw (Exception) e.getCause();
+                    }
+                    throw e;
                 }
-                gameToPlay.initializeNewGameForTournament();
-                gameToPlay.setMaxTurns(enteredMaxTurns);
-                gameToPlay.startTheGame();
-                while (gameToPlay.getTurnCounter() < enteredMaxTurns && gameToPlay.getGameState() != VICTORY) {
-                    gameToPlay.letBotsPlay();
+                resultLines[gameResult.mapIndex][gameResult.gameIndex + 1] = gameResult.result;
+                for (String line : gameResult.logLines) {
+                    log.append(line);
                 }
-                // collect the winner of the game
-                resultLines[r][i + 1] = gameToPlay.getWinner() + " " + (gameToPlay.getTurnCounter()) + " turns";
             }
-            r++;
+        } finally {
+            executor.shutdownNow();
+            log.flush();
         }
+        
         /* Instantiate a result model */
+        this.resultLines = resultLines;
         tournamentResultsModel = new TournamentResultsModel(enteredGames);
         tournamentResultsModel.setRows(resultLines);
     }
     
-
+    /**
+     * Play one game of the tournament from start to end.
+     * The game only uses objects of its own, so it can be played on any thread.
+     *
+     * @param mapIndex  the index of the map in the map set
+     * @param gameIndex the index of the game played on that map
+     * @param random    the random generator of the game
+     *
+     * @return the result of the game
+     *
+     * @throws Exception invalid map exception
+     */
+    private GameResult playGame(int mapIndex, int gameIndex, GameRandom random) throws Exception {
+        GameResult gameResult = new GameResult(mapIndex, gameIndex);
+        
+        /* Play a copy of the game so we can replay from start if needed */
+        GamePlayModel gameToPlay = new GamePlayModel();
+        gameToPlay.setRandom(random);
+        gameToPlay.setBlitzBattles(blitzBattles);
+        gameToPlay.setLog(GameLog.upTo(logLevel, gameResult.logLines::add));
+        gameToPlay.setGameMap(instantiateGameMap(strMapSet.get(mapIndex)));
+        gameToPlay.setGameState(STARTUP);
+        gameToPlay.initPlayers(enteredPlayers);
+        /* the strategies keep no state between decisions, so the games played at the same time share them */
+        for (int j = 0; j < enteredPlayers; j++) {
+            gameToPlay.getPlayers().get(j).setPlayerType(tempGamePlayModel.getPlayers().get(j).getPlayerType());
+        }
+        gameToPlay.initializeNewGameForTournament();
+        gameToPlay.setMaxTurns(enteredMaxTurns);
+        if (journalFolder != null) {
+            gameToPlay.setJournal(GameJournal.toFile(journalFolder.resolve(
+                    "game-" + (mapIndex + 1) + "-" + (gameIndex + 1) + JOURNAL_FILE_EXTENSION)));
+        }
+        try {
+            gameToPlay.startTheGame();
+            while (gameToPlay.getTurnCounter() < enteredMaxTurns && gameToPlay.getGameState() != VICTORY) {
+                gameToPlay.letBotsPlay();
+            }
+        } finally {
+            if (gameToPlay.getJournal() != null) {
+                gameToPlay.getJournal().close();
+            }
+        }
+        
+        // collect the winner of the game
+        gameResult.result = gameToPlay.getWinner() + " " + (gameToPlay.getTurnCounter()) + " turns";
+        return gameResult;
+    }
+    
     /**
      * Gets tournamentSet.
      *
@@ -265,4 +435,106 @@ public class TournamentModel {
     public void setTempGamePlayModel(GamePlayModel tempGamePlayModel) {
         this.tempGamePlayModel = tempGamePlayModel;
     }
+    
+    /**
+     * Gets the number of games played at the same time.
+     *
+     * @return the number of worker threads
+     */
+    public int getParallelism() {
+        return parallelism;
+    }
+    
+    /**
+     * Sets the number of games played at the same time.
+     *
+     * @param parallelism the number of worker threads (at least 1)
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("The parallelism must be at least 1");
+        }
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Gets the master seed the random generators of the games are split from.
+     *
+     * @return the master seed
+     */
+    public long getSeed() {
+        return seed;
+    }
+    
+    /**
+     * Sets the master seed the random generators of the games are split from, e.g. to play a tournament again.
+     * By default, every tournament model has a seed of its own.
+     *
+     * @param seed the master seed
+     */
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+    
+    /**
+     * Sets whether the battles of the bots are blitz battles, resolved at once instead of one dice round at a time.
+     *
+     * @param blitzBattles true for blitz battles
+     *
+     * @see GamePlayModel#setBlitzBattles(boolean)
+     */
+    public void setBlitzBattles(boolean blitzBattles) {
+        this.blitzBattles = blitzBattles;
+    }
+    
+    /**
+     * Sets the folder the journals of the games are written to, as game-[map]-[game].journal files
+     *
+     * @param journalFolder the journal folder, or null to play the games without journal (by default)
+     *
+     * @see GameJournal
+     */
+    public void setJournalFolder(Path journalFolder) {
+        this.journalFolder = journalFolder;
+    }
+    
+    /**
+     * Sets the log the games are written to once they are finished.
+     *
+     * @param log the tournament log, or null to discard the game logs
+     */
+    public void setLog(GameLog log) {
+        this.log = (log == null) ? GameLog.NONE : log;
+    }
+    
+    /**
+     * Sets the most detailed level of the messages written to the log by the games
+     *
+     * @param logLevel the log level (TURN by default)
+     */
+    public void setLogLevel(LOG_LEVEL logLevel) {
+        this.logLevel = logLevel;
+    }
+    
+    /**
+     * The result and the buffered log of one game of the tournament
+     */
+    private static class GameResult {
+        private final int mapIndex;
+        private final int gameIndex;
+        private final Vector<String> logLines;
+        private String result;
+        
+        /**
+         * Instantiate the result of a game
+         *
+         * @param mapIndex  the index of the map in the map set
+         * @param gameIndex the index of the game played on that map
+         */
+        private GameResult(int mapIndex, int gameIndex) {
+            this.mapIndex = mapIndex;
+            this.gameIndex = gameIndex;
+            this.logLines = new Vector<>();
+        }
+    }
 }
@@ -35,14 +35,26 @@ public class GamePlayFrame extends JFrame implements Observer {
     private static final String TITLE = "Game Play";
     private static final int WIDTH = 1366;
     private static final int HEIGHT = 800;
+    private static final String BOTS_PLAYING_CARD = "BotsPlaying";
+    private static final String BOTS_PLAYING_LABEL = "The bots are playing...";
+    private static final String BOTS_PAUSED_LABEL = "The bots are paused";
+    private static final String BOTS_CANCELLED_LABEL = "The bots were cancelled";
+    private static final String BOTS_FAST_FORWARD_LABEL = "Fast-forwarding to your turn...";
+    private JMenu game;
+    private JMenu player;
     private JMenuItem save;
     private JMenuItem load;
     private JMenuItem strategy;
+    private JMenuItem pauseBots;
+    private JMenuItem resumeBots;
+    private JMenuItem cancelBots;
+    private JCheckBoxMenuItem fastForward;
     private JSplitPane topArea;
     private WorldDominationPanel worldDominationPanel;
     private PhaseViewPanel phaseViewPanel;
     private GameMapTable gameMapTable;
     private JPanel controlArea;
+    private JLabel botsPlayingLabel;
     private GameSetupPanel gameSetupPanel;
     private StartupPanel startupPanel;
     private ReinforcementPanel reinforcementPanel;
@@ -68,19 +80,35 @@ public class GamePlayFrame extends JFrame implements Observer {
         /* Setup the menu */
         JMenuBar menu = new JMenuBar();
         
-        JMenu game = new JMenu("Game");
+        game = new JMenu("Game");
         save = new JMenuItem("Save game...", KeyEvent.VK_T);
         load = new JMenuItem("Load game...", KeyEvent.VK_T);
         game.add(save);
         game.add(load);
         menu.add(game);
         
-        JMenu player = new JMenu("Player");
+        player = new JMenu("Player");
         strategy = new JMenuItem("Set Strategy...", KeyEvent.VK_T);
         strategy.setEnabled(false);
         player.add(strategy);
         menu.add(player);
         
+        JMenu bots = new JMenu("Bots");
+        pauseBots = new JMenuItem("Pause", KeyEvent.VK_P);
+        resumeBots = new JMenuItem("Resume", KeyEvent.VK_R);
+        cancelBots = new JMenuItem("Cancel", KeyEvent.VK_C);
+        bots.add(pauseBots);
+        bots.add(resumeBots);
+        bots.add(cancelBots);
+        bots.addSeparator();
+        fastForward = new JCheckBoxMenuItem("Fast-forward to my turn");
+        fastForward.setMnemonic(KeyEvent.VK_F);
+        bots.add(fastForward);
+        pauseBots.setEnabled(false);
+        resumeBots.setEnabled(false);
+        cancelBots.setEnabled(false);
+        menu.add(bots);
+        
         setJMenuBar(menu);
         
         /* Setup main container */
@@ -171,6 +199,9 @@ public class GamePlayFrame extends JFrame implements Observer {
         controlArea.add(fortificationPanel, FortificationPanel.class.getName());
         attackingPanel = new AttackingPanel();
         controlArea.add(attackingPanel, AttackingPanel.class.getName());
+        botsPlayingLabel = new JLabel(BOTS_PLAYING_LABEL, SwingConstants.CENTER);
+        botsPlayingLabel.setFont(new Font("Sans Serif", Font.ITALIC, 20));
+        controlArea.add(botsPlayingLabel, BOTS_PLAYING_CARD);
         
         topArea.setRightComponent(controlArea);
     }
@@ -274,6 +305,42 @@ public class GamePlayFrame extends JFrame implements Observer {
     public void addAttackCounterReachedMaxButtonListener(ActionListener listenerForAttackCounterReachedMaxButton) {
         attackCounterReachedMaxButton.addActionListener(listenerForAttackCounterReachedMaxButton);
     }
+    
+    /**
+     * Adds pause bots menu item listener
+     *
+     * @param listenerForPauseBotsMenu the listener for the pause bots menu item
+     */
+    public void addPauseBotsMenuListener(ActionListener listenerForPauseBotsMenu) {
+        pauseBots.addActionListener(listenerForPauseBotsMenu);
+    }
+    
+    /**
+     * Adds resume bots menu item listener
+     *
+     * @param listenerForResumeBotsMenu the listener for the resume bots menu item
+     */
+    public void addResumeBotsMenuListener(ActionListener listenerForResumeBotsMenu) {
+        resumeBots.addActionListener(listenerForResumeBotsMenu);
+    }
+    
+    /**
+     * Adds cancel bots menu item listener
+     *
+     * @param listenerForCancelBotsMenu the listener for the cancel bots menu item
+     */
+    public void addCancelBotsMenuListener(ActionListener listenerForCancelBotsMenu) {
+        cancelBots.addActionListener(listenerForCancelBotsMenu);
+    }
+    
+    /**
+     * Adds fast-forward menu item listener
+     *
+     * @param listenerForFastForwardMenu the listener for the fast-forward menu item
+     */
+    public void addFastForwardMenuListener(ActionListener listenerForFastForwardMenu) {
+        fastForward.addActionListener(listenerForFastForwardMenu);
+    }
     // endregion
     
     // region Public methods
@@ -358,6 +425,37 @@ public class GamePlayFrame extends JFrame implements Observer {
     public JMenuItem getLoad() {
         return load;
     }
+    
+    /**
+     * Check whether the bot turns are fast-forwarded to the turn of a human
+     *
+     * @return true if the fast-forward menu item is selected
+     */
+    public boolean isFastForward() {
+        return fastForward.isSelected();
+    }
+    
+    /**
+     * Show whether the bots play on the game thread.
+     * While they play, the control area only tells so, the game and player menus are disabled,
+     * and the bots menu lets the user pause, resume or cancel them.
+     *
+     * @param running   true while the bots play, paused or not
+     * @param paused    true if the bots are paused
+     * @param cancelled true if the bots were cancelled and not resumed since
+     */
+    public void showBotsState(boolean running, boolean paused, boolean cancelled) {
+        game.setEnabled(!running);
+        player.setEnabled(!running);
+        pauseBots.setEnabled(running && !paused && !cancelled);
+        resumeBots.setEnabled(paused || cancelled);
+        cancelBots.setEnabled(running && !cancelled);
+        if (running || cancelled) {
+            botsPlayingLabel.setText(cancelled ? BOTS_CANCELLED_LABEL : paused ? BOTS_PAUSED_LABEL :
+                    isFastForward() ? BOTS_FAST_FORWARD_LABEL : BOTS_PLAYING_LABEL);
+            ((CardLayout) controlArea.getLayout()).show(controlArea, BOTS_PLAYING_CARD);
+        }
+    }
     // endregion
     
     // region MVC & Observer pattern methods
@@ -377,12 +475,15 @@ public class GamePlayFrame extends JFrame implements Observer {
      * <code>notifyObservers</code> method to have all the object's
      * observers notified of the change.
      *
+     * The notifications sent while the bots play on the game thread are ignored: the frame is notified again
+     * on the Event Dispatch Thread once they stop.
+     *
      * @param o   the observable object.
      * @param arg an argument passed to the <code>notifyObservers</code>
      */
     @Override
     public void update(Observable o, Object arg) {
-        if (o instanceof GamePlayModel) {
+        if (o instanceof GamePlayModel && SwingUtilities.isEventDispatchThread()) {
             GamePlayModel gamePlayModel = (GamePlayModel) o;
             if (gamePlayModel.getGameState() == Config.GAME_STATES.VICTORY) { // If the game has a winner
                 popupVictoryDialogButton.doClick();
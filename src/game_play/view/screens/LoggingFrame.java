@@ -6,31 +6,33 @@
  */
 package game_play.view.screens;
 
+import shared_resources.utilities.GameLog;
+
 import javax.swing.*;
+import javax.swing.text.BadLocationException;
 import java.awt.*;
-import java.io.BufferedWriter;
-import java.io.File;
-import java.io.IOException;
-import java.nio.charset.Charset;
-import java.nio.file.Files;
-import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import static shared_resources.utilities.Config.LOG_FILE_NAME;
+import static shared_resources.utilities.Config.LOG_MAX_DISPLAYED_LINES;
 
 /**
- * The window used to display the game progression
+ * The window used to display the game progression.
+ * Every line goes to the log file, and the window shows the last lines only.
+ * The lines can be appended from any thread: they are queued, then added to the text area
+ * by one task on the Event Dispatch Thread for all the lines appended in the meantime.
  *
  * @author Team 2
  * @version 2.0
  */
-public class LoggingFrame extends JFrame {
-    private static Charset charset = Charset.forName("UTF-8");
+public class LoggingFrame extends JFrame implements GameLog {
     private static LoggingFrame instance = null;
     private JTextArea logArea;
-    private Path logPath = Paths.get(LOG_FILE_NAME);
-    private BufferedWriter bufferedWriter;
+    private GameLog logFile;
+    private ConcurrentLinkedQueue<String> pendingLines;
+    private AtomicBoolean displayScheduled;
     
     // region Constructors
     
@@ -49,9 +51,10 @@ public class LoggingFrame extends JFrame {
         frame.pack();
         frame.setVisible(true);
         frame.setSize(500, 1000);
-        // delete log file if exists at beginning of game session
-        new File(LOG_FILE_NAME).delete();
-        
+        pendingLines = new ConcurrentLinkedQueue<>();
+        displayScheduled = new AtomicBoolean(false);
+        // start a new log file at the beginning of the game session
+        logFile = GameLog.toFile(Paths.get(LOG_FILE_NAME));
     }
     
     /**
@@ -59,7 +62,7 @@ public class LoggingFrame extends JFrame {
      *
      * @return instance of the singleton LoggingWindow object
      */
-    public static LoggingFrame getInstance() {
+    public static synchronized LoggingFrame getInstance() {
         if (instance == null) {
             instance = new LoggingFrame();
         }
@@ -79,32 +82,67 @@ public class LoggingFrame extends JFrame {
     }
     
     /**
-     * Appends text to logging text area
+     * Appends text to the log file and queues it to be displayed on the logging area
      *
      * @param text the text to be appended on the logging area
      */
+    @Override
     public void append(String text) {
-        dumpLog(text);
-        logArea.append("\n" + text);
-        logArea.repaint();
-        logArea.setCaretPosition(logArea.getDocument().getLength());
+        logFile.append(text);
+        pendingLines.add(text);
+        if (displayScheduled.compareAndSet(false, true)) {
+            SwingUtilities.invokeLater(this::displayPendingLines);
+        }
     }
     
     /**
-     * Dumps the log to file if too large
-     *
-     * @param text the text string to be appended to file
+     * Clears the logging area
+     */
+    public void clear() {
+        pendingLines.clear();
+        if (SwingUtilities.isEventDispatchThread()) {
+            logArea.setText("");
+        } else {
+            SwingUtilities.invokeLater(() -> logArea.setText(""));
+        }
+    }
+    
+    /**
+     * Waits for the lines appended so far to be written to the log file
      */
-    private void dumpLog(String text) {
-        try {
-            bufferedWriter = Files.newBufferedWriter(logPath, charset, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
-            bufferedWriter.append(text);
-            bufferedWriter.newLine();
-            bufferedWriter.flush();
-            bufferedWriter.close();
-        } catch (IOException e) {
-            e.printStackTrace();
+    @Override
+    public void flush() {
+        logFile.flush();
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Appends all the queued lines to the logging area at once (on the Event Dispatch Thread),
+     * then removes the oldest lines to keep at most LOG_MAX_DISPLAYED_LINES lines
+     */
+    private void displayPendingLines() {
+        displayScheduled.set(false);
+        StringBuilder lines = new StringBuilder();
+        String line;
+        while ((line = pendingLines.poll()) != null) {
+            lines.append('\n').append(line);
+        }
+        if (lines.length() == 0) {
+            return;
         }
+        
+        logArea.append(lines.toString());
+        int extraLines = logArea.getLineCount() - LOG_MAX_DISPLAYED_LINES;
+        if (extraLines > 0) {
+            try {
+                logArea.replaceRange("", 0, logArea.getLineEndOffset(extraLines - 1));
+            } catch (BadLocationException e) {
+                e.printStackTrace();
+            }
+        }
+        logArea.setCaretPosition(logArea.getDocument().getLength());
     }
     // endregion
 }
@@ -29,13 +29,15 @@ public class MainMenuFrame extends JFrame {
     private static final String UI_PLAY_GAME_BUTTON = "Play New Game";
     private static final String UI_LOAD_GAME_BUTTON = "Load Saved Game";
     private static final String UI_TOURNAMENT_BUTTON = "Tournament Mode";
+    private static final String UI_REPLAY_BUTTON = "Replay Game";
     private static final String UI_QUIT_BUTTON = "Quit";
-    private static final int WIDTH = 500;
+    private static final int WIDTH = 620;
     private static final int HEIGHT = 250;
     private JButton mapEditorBtn;
     private JButton playGameBtn;
     private JButton loadGameBtn;
     private JButton tournamentBtn;
+    private JButton replayBtn;
     private JButton quitBtn;
     private JPanel playArea;
     // endregion
@@ -72,6 +74,8 @@ public class MainMenuFrame extends JFrame {
         loadGameBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
         tournamentBtn = new JButton(UI_TOURNAMENT_BUTTON);
         tournamentBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
+        replayBtn = new JButton(UI_REPLAY_BUTTON);
+        replayBtn.setAlignmentX(Component.CENTER_ALIGNMENT);
         
         playArea = new JPanel(new FlowLayout());
         playArea.setBorder(BorderFactory.createEmptyBorder(20, 10, 20, 10));
@@ -81,6 +85,8 @@ public class MainMenuFrame extends JFrame {
         playArea.add(loadGameBtn);
         addHorizontalSpacing(playArea);
         playArea.add(tournamentBtn);
+        addHorizontalSpacing(playArea);
+        playArea.add(replayBtn);
         contentPane.add(playArea);
         
         quitBtn = new JButton(UI_QUIT_BUTTON);
@@ -127,6 +133,15 @@ public class MainMenuFrame extends JFrame {
         tournamentBtn.addActionListener(listenerForTournamentButton);
     }
     
+    /**
+     * Adds the replay game button listener.
+     *
+     * @param listenerForReplayButton the listener for replay game button
+     */
+    public void addReplayButtonListener(ActionListener listenerForReplayButton) {
+        replayBtn.addActionListener(listenerForReplayButton);
+    }
+    
     /**
      * Adds the quit button listener.
      *
@@ -0,0 +1,202 @@
+/*
+ * Risk Game Team 2
+ * ReplayFrame.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package game_play.view.screens;
+
+import game_play.view.ui_components.GameMapTable;
+import shared_resources.helper.UIHelper;
+
+import javax.swing.*;
+import javax.swing.event.ChangeListener;
+import java.awt.*;
+import java.awt.event.ActionListener;
+
+import static shared_resources.helper.UIHelper.addHorizontalSpacing;
+
+/**
+ * The replay UI showing the territories of a recorded game at any position of its journal
+ * <ul>
+ * <li> The timeline slider moves through the actions of the game
+ * <li> The buttons jump to the previous or next turn and battle
+ * <li> The table shows the owners and armies of the territories at the selected position
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class ReplayFrame extends JFrame {
+    // region Attributes declaration
+    private static final String TITLE = "Replay";
+    private static final String PREVIOUS_TURN_BUTTON = "<< Turn";
+    private static final String NEXT_TURN_BUTTON = "Turn >>";
+    private static final String PREVIOUS_BATTLE_BUTTON = "< Battle";
+    private static final String NEXT_BATTLE_BUTTON = "Battle >";
+    private static final String BACK_BUTTON = "Return to main menu";
+    private static final String LOADING_LABEL = "Loading the journal...";
+    private static final int WIDTH = 1100;
+    private static final int HEIGHT = 700;
+    private GameMapTable gameMapTable;
+    private JSlider timeline;
+    private JLabel positionLabel;
+    private JLabel actionLabel;
+    private JButton previousTurnBtn;
+    private JButton nextTurnBtn;
+    private JButton previousBattleBtn;
+    private JButton nextBattleBtn;
+    private JButton backBtn;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new ReplayFrame.
+     */
+    public ReplayFrame() {
+        setupContentPane();
+        UIHelper.displayJFrame(this, TITLE, WIDTH, HEIGHT, true);
+        setDefaultCloseOperation(JFrame.DO_NOTHING_ON_CLOSE);
+    }
+    // endregion
+    
+    // region Getters & Setters
+    
+    /**
+     * Setup ui components in the content pane.
+     */
+    private void setupContentPane() {
+        JPanel contentPane = new JPanel(new BorderLayout());
+        contentPane.setBorder(BorderFactory.createEmptyBorder(20, 20, 20, 20));
+        
+        JPanel infoPanel = new JPanel();
+        infoPanel.setLayout(new BoxLayout(infoPanel, BoxLayout.Y_AXIS));
+        positionLabel = new JLabel(LOADING_LABEL);
+        positionLabel.setFont(new Font("Sans Serif", Font.BOLD, 16));
+        actionLabel = new JLabel(" ");
+        infoPanel.add(positionLabel);
+        infoPanel.add(actionLabel);
+        contentPane.add(infoPanel, BorderLayout.NORTH);
+        
+        gameMapTable = new GameMapTable();
+        contentPane.add(new JScrollPane(gameMapTable), BorderLayout.CENTER);
+        
+        JPanel controlPanel = new JPanel();
+        controlPanel.setLayout(new BoxLayout(controlPanel, BoxLayout.Y_AXIS));
+        timeline = new JSlider(0, 0, 0);
+        timeline.setEnabled(false);
+        controlPanel.add(timeline);
+        
+        JPanel buttonsPanel = new JPanel(new FlowLayout());
+        previousTurnBtn = new JButton(PREVIOUS_TURN_BUTTON);
+        previousBattleBtn = new JButton(PREVIOUS_BATTLE_BUTTON);
+        nextBattleBtn = new JButton(NEXT_BATTLE_BUTTON);
+        nextTurnBtn = new JButton(NEXT_TURN_BUTTON);
+        backBtn = new JButton(BACK_BUTTON);
+        buttonsPanel.add(previousTurnBtn);
+        buttonsPanel.add(previousBattleBtn);
+        buttonsPanel.add(nextBattleBtn);
+        buttonsPanel.add(nextTurnBtn);
+        addHorizontalSpacing(buttonsPanel);
+        buttonsPanel.add(backBtn);
+        controlPanel.add(buttonsPanel);
+        contentPane.add(controlPanel, BorderLayout.SOUTH);
+        
+        this.setContentPane(contentPane);
+    }
+    
+    /**
+     * Gets the table of the territories
+     *
+     * @return the game map table
+     */
+    public GameMapTable getGameMapTable() {
+        return gameMapTable;
+    }
+    
+    /**
+     * Gets the timeline slider, whose value is the number of actions replayed
+     *
+     * @return the timeline
+     */
+    public JSlider getTimeline() {
+        return timeline;
+    }
+    
+    /**
+     * Sets the description of the position: turn, current player and number of actions replayed
+     *
+     * @param position the description of the position
+     */
+    public void setPositionText(String position) {
+        positionLabel.setText(position);
+    }
+    
+    /**
+     * Sets the description of the last replayed action
+     *
+     * @param action the description of the action
+     */
+    public void setActionText(String action) {
+        actionLabel.setText(action);
+    }
+    // endregion
+    
+    // region MVC & Observer pattern methods
+    
+    /**
+     * Adds the timeline listener.
+     *
+     * @param listenerForTimeline the listener for the timeline slider
+     */
+    public void addTimelineListener(ChangeListener listenerForTimeline) {
+        timeline.addChangeListener(listenerForTimeline);
+    }
+    
+    /**
+     * Adds the previous turn button listener.
+     *
+     * @param listenerForPreviousTurnButton the listener for previous turn button
+     */
+    public void addPreviousTurnButtonListener(ActionListener listenerForPreviousTurnButton) {
+        previousTurnBtn.addActionListener(listenerForPreviousTurnButton);
+    }
+    
+    /**
+     * Adds the next turn button listener.
+     *
+     * @param listenerForNextTurnButton the listener for next turn button
+     */
+    public void addNextTurnButtonListener(ActionListener listenerForNextTurnButton) {
+        nextTurnBtn.addActionListener(listenerForNextTurnButton);
+    }
+    
+    /**
+     * Adds the previous battle button listener.
+     *
+     * @param listenerForPreviousBattleButton the listener for previous battle button
+     */
+    public void addPreviousBattleButtonListener(ActionListener listenerForPreviousBattleButton) {
+        previousBattleBtn.addActionListener(listenerForPreviousBattleButton);
+    }
+    
+    /**
+     * Adds the next battle button listener.
+     *
+     * @param listenerForNextBattleButton the listener for next battle button
+     */
+    public void addNextBattleButtonListener(ActionListener listenerForNextBattleButton) {
+        nextBattleBtn.addActionListener(listenerForNextBattleButton);
+    }
+    
+    /**
+     * Adds the back button listener.
+     *
+     * @param listenerForBackButton the listener for back button
+     */
+    public void addBackButtonListener(ActionListener listenerForBackButton) {
+        backBtn.addActionListener(listenerForBackButton);
+    }
+    // endregion
+}
@@ -31,12 +31,14 @@ public class AttackPreparePanel extends JPanel implements Observer {
     private static final String ATTACK_FROM_LABEL = "Attack from:";
     private static final String ATTACK_TO_LABEL = "Attack to:";
     private static final String NUMBER_OF_ATTACK_DICE = "Number of Dice for attack:";
+    private static final String ODDS_LABEL = "Odds to conquer: ";
     private static final String ATTACK_BUTTON = "ATTACK";
     private static final String DONE_BUTTON = "Done (to Fortification)";
     
     private JComboBox<String> attackingTerritoriesDropdown;
     private JComboBox<String> defendingTerritoriesDropdown;
     private JComboBox<Integer> attackerNoOfDice;
+    private JLabel oddsLabel;
     private JButton attackButton;
     private JButton doneButton;
     // endregion
@@ -72,6 +74,9 @@ public class AttackPreparePanel extends JPanel implements Observer {
         attackerNoOfDice = new JComboBox<>();
         add(attackerNoOfDice);
         attackerNoOfDice.setAlignmentX(CENTER_ALIGNMENT);
+        oddsLabel = new JLabel();
+        add(oddsLabel);
+        oddsLabel.setAlignmentX(CENTER_ALIGNMENT);
         attackButton = new JButton(ATTACK_BUTTON);
         add(attackButton);
         attackButton.setAlignmentX(CENTER_ALIGNMENT);
@@ -111,6 +116,19 @@ public class AttackPreparePanel extends JPanel implements Observer {
     public JComboBox<Integer> getAttackerNoOfDice() {
         return attackerNoOfDice;
     }
+    
+    /**
+     * Shows the odds of the selected attack
+     *
+     * @param winProbability the probability to conquer the defending territory, or a negative value to hide the odds
+     */
+    public void setOdds(double winProbability) {
+        if (winProbability < 0) {
+            oddsLabel.setText("");
+        } else {
+            oddsLabel.setText(ODDS_LABEL + String.format("%.1f %%", winProbability * 100));
+        }
+    }
     // endregion
     
     // region MVC & Observer pattern methods
@@ -142,6 +160,16 @@ public class AttackPreparePanel extends JPanel implements Observer {
         attackingTerritoriesDropdown.addActionListener(listenerForAttackingTerritoryDropdown);
     }
     
+    /**
+     * Adds the listener of the defending territory and attacking dice dropdowns.
+     *
+     * @param listenerForAttackSelection the listener for the target territory and dice dropdowns
+     */
+    public void addAttackSelectionListener(ActionListener listenerForAttackSelection) {
+        defendingTerritoriesDropdown.addActionListener(listenerForAttackSelection);
+        attackerNoOfDice.addActionListener(listenerForAttackSelection);
+    }
+    
     /**
      * This method is called whenever the observed object is changed. An
      * application calls an <tt>Observable</tt> object's
@@ -174,6 +202,7 @@ public class AttackPreparePanel extends JPanel implements Observer {
                     attackingTerritoriesDropdown.setEnabled(false);
                     defendingTerritoriesDropdown.setEnabled(false);
                     attackerNoOfDice.setEnabled(false);
+                    setOdds(-1);
                 }
             }
         }
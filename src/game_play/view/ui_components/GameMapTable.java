@@ -6,6 +6,8 @@
  */
 package game_play.view.ui_components;
 
+import game_play.model.GamePlayModel;
+import game_play.model.MapTableModel;
 import map_editor.model.MapEditorModel;
 import shared_resources.utilities.Config;
 
@@ -44,6 +46,7 @@ public class GameMapTable extends JTable implements Observer {
      * application calls an <tt>Observable</tt> object's
      * <code>notifyObservers</code> method to have all the object's
      * observers notified of the change.
+     * A game shows the board of the notifying model, which may be a snapshot of a game played on another thread.
      *
      * @param o   the observable object.
      * @param arg an argument passed to the <code>notifyObservers</code>
@@ -52,6 +55,9 @@ public class GameMapTable extends JTable implements Observer {
     public void update(Observable o, Object arg) {
         if (o instanceof MapEditorModel) {
             setModel(((MapEditorModel) o).getMapTableModel().getModel());
+        } else if (o instanceof GamePlayModel && getModel() instanceof MapTableModel) {
+            GamePlayModel gamePlayModel = (GamePlayModel) o;
+            ((MapTableModel) getModel()).updateMapTableModel(gamePlayModel.getGameMap(), gamePlayModel.getGameState());
         }
         resizeColumns();
     }
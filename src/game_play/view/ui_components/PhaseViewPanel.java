@@ -7,12 +7,18 @@
 package game_play.view.ui_components;
 
 import game_play.model.GamePlayModel;
-import shared_resources.game_entities.Card;
 import shared_resources.game_entities.Player;
 import shared_resources.utilities.Config;
+import shared_resources.utilities.GameEvent.ArmiesChanged;
+import shared_resources.utilities.GameEvent.CardDrawn;
+import shared_resources.utilities.GameEvent.PhaseChanged;
+import shared_resources.utilities.GameEvent.PlayerEliminated;
+import shared_resources.utilities.GameEvent.TerritoryOwnerChanged;
+import shared_resources.utilities.GameEventBus;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.BitSet;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.Vector;
@@ -25,17 +31,17 @@ import java.util.Vector;
  */
 public class PhaseViewPanel extends JPanel implements Observer {
     // region Attributes declaration
-    private static final String TERRITORY_INFO_FORMAT = "%d/%d territories";
-    private static final String ARMIES_INFO_FORMAT = "%d armies + %d";
-    private static final String CARDS_INFO_FORMAT = "%d cards in hand";
-    private static final String HAS_CONQUERED_FORMAT = "Has conquered: %s";
-    
     private static final int WIDTH = 1366;
     private static final int HEIGHT = 200;
     private JLabel gameStateLabel;
     private JLabel tradeCardValueLabel;
     private JLabel deckSizeLabel;
     private JPanel playerInfoArea;
+    private Vector<PlayerStatsPanel> playerStatsPanels;
+    private GamePlayModel shownGame;        // the game or the snapshot of the game refreshed last
+    private Vector<Player> shownPlayers;     // the players of the game are only added, or replaced by a new vector
+    private int shownCurrentPlayerID;
+    private final BitSet changedPlayers;    // IDs of the players changed by the game events since the last refresh
     // endregion
     
     // region Constructors
@@ -44,6 +50,8 @@ public class PhaseViewPanel extends JPanel implements Observer {
      * Instantiate a new World domination panel
      */
     public PhaseViewPanel() {
+        playerStatsPanels = new Vector<>();
+        changedPlayers = new BitSet();
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setMaximumSize(new Dimension(WIDTH, HEIGHT));
         
@@ -75,6 +83,22 @@ public class PhaseViewPanel extends JPanel implements Observer {
     
     // region MVC & Observer pattern methods
     
+    /**
+     * Subscribe to the changes of the players in a game, so only their information is refreshed
+     *
+     * @param events the events of the game
+     */
+    public void subscribe(GameEventBus events) {
+        events.subscribe(TerritoryOwnerChanged.class, event -> {
+            playerChanged(event.getPreviousOwner());
+            playerChanged(event.getOwner());
+        });
+        events.subscribe(ArmiesChanged.class, event -> playerChanged(event.getTerritory().getOwner()));
+        events.subscribe(PhaseChanged.class, event -> playerChanged(event.getPlayer()));
+        events.subscribe(PlayerEliminated.class, event -> playerChanged(event.getPlayer()));
+        events.subscribe(CardDrawn.class, event -> playerChanged(event.getPlayer()));
+    }
+    
     /**
      * This method is called whenever the observed object is changed. An
      * application calls an <tt>Observable</tt> object's
@@ -110,72 +134,90 @@ public class PhaseViewPanel extends JPanel implements Observer {
     
     // region Private methods
     
+    /**
+     * Mark a player whose information changed
+     *
+     * @param player the player, or null
+     */
+    private void playerChanged(Player player) {
+        if (player != null) {
+            synchronized (changedPlayers) {
+                changedPlayers.set(player.getPlayerID());
+            }
+        }
+    }
+    
     /**
      * Populates the players statistical information depending of the game or player state.
      *
-     * Prepares a vector of players and displays the information for each one in regards to:
-     * <ul>
-     * <li>If the player was eliminated, display no information
-     * <li>Current player has different background color
-     * <li>Update player's territory info
-     * <li>Update player's armies info
-     * <li>Update player's cards info
-     * </ul>
+     * The panels of the players are made again only for new players. Afterwards, only the players changed by
+     * the game events since the last refresh, the current player and the previous current player are refreshed:
+     * the current player is the only one whose cards and armies to place change without an event.
+     * All the players are refreshed when another model or players vector than the last one is shown, such as
+     * a snapshot of a game played on another thread, since the events do not tell what changed between both.
      *
      * @param gamePlayModel the play model for ongoing game
      */
     private void updatePlayersInfo(GamePlayModel gamePlayModel) {
-        Vector<PlayerStatsPanel> playerStatsPanels = new Vector<>();
-        for (Player player : gamePlayModel.getPlayers()) {
-            playerStatsPanels.add(new PlayerStatsPanel(player));
+        BitSet playersToShow;
+        synchronized (changedPlayers) {
+            playersToShow = (BitSet) changedPlayers.clone();
+            changedPlayers.clear();
         }
-        playerInfoArea.removeAll();
-        for (PlayerStatsPanel playerStatsPanel : playerStatsPanels) {
-            playerInfoArea.add(playerStatsPanel);
+        
+        Vector<Player> players = gamePlayModel.getPlayers();
+        if (gamePlayModel != shownGame || players != shownPlayers) {
+            shownGame = gamePlayModel;
+            shownPlayers = players;
+            for (Player player : players) {
+                playersToShow.set(player.getPlayerID());
+            }
+        }
+        if (!showsPlayers(players)) {
+            playerStatsPanels.clear();
+            playerInfoArea.removeAll();
+            for (Player player : players) {
+                PlayerStatsPanel playerStatsPanel = new PlayerStatsPanel(player);
+                playerStatsPanels.add(playerStatsPanel);
+                playerInfoArea.add(playerStatsPanel);
+                playersToShow.set(player.getPlayerID());
+            }
+            playerInfoArea.revalidate();
+            playerInfoArea.repaint();
         }
-        playerInfoArea.revalidate();
-        playerInfoArea.repaint();
         
-        for (Player player : gamePlayModel.getPlayers()) {
-            if (player.getPlayerStatus() == GamePlayModel.PLAYER_STATUS.ELIMINATED) {
-                /* If the player was eliminated, display no information */
-                setBackground(UIManager.getColor("Panel.background"));
-                playerStatsPanels.get(player.getPlayerID() - 1).getPlayerNameLabel().setText(player.getPlayerName() + " WAS ELIMINATED");
-                playerStatsPanels.get(player.getPlayerID() - 1).getTerritoryInfoLabel().setText("");
-                playerStatsPanels.get(player.getPlayerID() - 1).getArmiesInfoLabel().setText("");
-                playerStatsPanels.get(player.getPlayerID() - 1).getCardsListLabel().setText("");
-                playerStatsPanels.get(player.getPlayerID() - 1).getCardsInfoLabel().setText("");
-            } else if (player.getPlayerStatus() == GamePlayModel.PLAYER_STATUS.IN_GAME) {
-                /* Current player has different background color */
-                if (gamePlayModel.getCurrentPlayer().getPlayerID() == player.getPlayerID()) {
-                    playerStatsPanels.get(player.getPlayerID() - 1).setBackground(Color.WHITE);
-                } else {
-                    playerStatsPanels.get(player.getPlayerID() - 1).setBackground(UIManager.getColor("Panel.background"));
-                }
+        Player currentPlayer = gamePlayModel.getCurrentPlayer();
+        int currentPlayerID = (currentPlayer == null) ? 0 : currentPlayer.getPlayerID();
+        playersToShow.set(currentPlayerID);
+        playersToShow.set(shownCurrentPlayerID);
+        shownCurrentPlayerID = currentPlayerID;
+        
+        int totalTerritoriesCount = gamePlayModel.getGameMap().getTerritoriesCount();
+        for (Player player : players) {
+            if (playersToShow.get(player.getPlayerID())) {
+                playerStatsPanels.get(player.getPlayerID() - 1).showPlayer(player, totalTerritoriesCount,
+                        player.getPlayerID() == currentPlayerID);
+            }
+        }
+    }
     
-                /* Update player's territory info */
-                String territoryInfo = String.format(TERRITORY_INFO_FORMAT, player.getTerritories().size(),
-                        gamePlayModel.getGameMap().getTerritoriesCount());
-                playerStatsPanels.get(player.getPlayerID() - 1).getTerritoryInfoLabel().setText(territoryInfo);
-                
-                /* Update player's armies info */
-                String armiesInfo = String.format(ARMIES_INFO_FORMAT, player.getTotalArmiesCount(), player.getUnallocatedArmies());
-                playerStatsPanels.get(player.getPlayerID() - 1).getArmiesInfoLabel().setText(armiesInfo);
-                
-                /* Update player's cards info */
-                StringBuilder cardsListStr = new StringBuilder();
-                for (Card card : player.getPlayersHand()) {
-                    cardsListStr.append(" ").append(card.getCardType().name());
-                }
-                String cardsInfo = String.format(CARDS_INFO_FORMAT, player.getPlayersHand().size());
-                playerStatsPanels.get(player.getPlayerID() - 1).getCardsInfoLabel().setText(cardsInfo);
-                playerStatsPanels.get(player.getPlayerID() - 1).getCardsListLabel().setText(cardsListStr.toString());
-                
-                /* Update player's has just conquered any territory info */
-                String hasConquered = String.format(HAS_CONQUERED_FORMAT, player.hasConqueredTerritories() ? "YES" : "NO");
-                playerStatsPanels.get(player.getPlayerID() - 1).getHasConquered().setText(hasConquered);
+    /**
+     * Check whether the panels of the players were made for the given players
+     *
+     * @param players the players of the game
+     *
+     * @return true if each player has its panel
+     */
+    private boolean showsPlayers(Vector<Player> players) {
+        if (players.size() != playerStatsPanels.size()) {
+            return false;
+        }
+        for (int i = 0; i < players.size(); i++) {
+            if (!playerStatsPanels.get(i).represents(players.get(i))) {
+                return false;
             }
         }
+        return true;
     }
     // end region
     
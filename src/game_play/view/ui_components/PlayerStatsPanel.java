@@ -6,9 +6,12 @@
  */
 package game_play.view.ui_components;
 
+import game_play.model.GamePlayModel;
+import shared_resources.game_entities.Card;
 import shared_resources.game_entities.Player;
 
 import javax.swing.*;
+import java.awt.*;
 
 /**
  * PlayerStatsPanel is responsible for displaying a player's info in the PhaseViewPanel
@@ -18,7 +21,12 @@ import javax.swing.*;
  */
 public class PlayerStatsPanel extends JPanel {
     // region Attributes declaration
+    private static final String TERRITORY_INFO_FORMAT = "%d/%d territories";
+    private static final String ARMIES_INFO_FORMAT = "%d armies + %d";
+    private static final String CARDS_INFO_FORMAT = "%d cards in hand";
+    private static final String HAS_CONQUERED_FORMAT = "Has conquered: %s";
     private int playerID;
+    private String playerTitle;
     private JLabel playerNameLabel;
     private JLabel territoryInfoLabel;
     private JLabel armiesInfoLabel;
@@ -38,11 +46,12 @@ public class PlayerStatsPanel extends JPanel {
         setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
         
         playerID = player.getPlayerID();
+        playerTitle = titleOf(player);
         
         playerNameLabel = new JLabel();
         playerNameLabel.setAlignmentX(CENTER_ALIGNMENT);
         playerNameLabel.setForeground(player.getColor());
-        playerNameLabel.setText(player.getPlayerName() + " - " + player.getPlayerType().getClass().getSimpleName());
+        playerNameLabel.setText(playerTitle);
         
         territoryInfoLabel = new JLabel();
         territoryInfoLabel.setForeground(player.getColor());
@@ -73,6 +82,81 @@ public class PlayerStatsPanel extends JPanel {
     }
     // endregion
     
+    // region Public methods
+    
+    /**
+     * Show the current information of the player:
+     * <ul>
+     * <li>If the player was eliminated, display no information
+     * <li>Current player has different background color
+     * <li>Update player's territory, armies and cards info
+     * </ul>
+     *
+     * @param player                the player represented by this status panel
+     * @param totalTerritoriesCount the number of territories of the map
+     * @param isCurrentPlayer       true if the player is playing its turn
+     */
+    public void showPlayer(Player player, int totalTerritoriesCount, boolean isCurrentPlayer) {
+        if (player.getPlayerStatus() == GamePlayModel.PLAYER_STATUS.ELIMINATED) {
+            /* If the player was eliminated, display no information */
+            setBackground(UIManager.getColor("Panel.background"));
+            playerNameLabel.setText(player.getPlayerName() + " WAS ELIMINATED");
+            territoryInfoLabel.setText("");
+            armiesInfoLabel.setText("");
+            cardsListLabel.setText("");
+            cardsInfoLabel.setText("");
+            hasConquered.setText("");
+        } else if (player.getPlayerStatus() == GamePlayModel.PLAYER_STATUS.IN_GAME) {
+            /* Current player has different background color */
+            setBackground(isCurrentPlayer ? Color.WHITE : UIManager.getColor("Panel.background"));
+            playerNameLabel.setText(playerTitle);
+            
+            /* Update player's territory info */
+            territoryInfoLabel.setText(String.format(TERRITORY_INFO_FORMAT, player.getTerritoriesCount(), totalTerritoriesCount));
+            
+            /* Update player's armies info */
+            armiesInfoLabel.setText(String.format(ARMIES_INFO_FORMAT, player.getTotalArmiesCount(), player.getUnallocatedArmies()));
+            
+            /* Update player's cards info */
+            StringBuilder cardsListStr = new StringBuilder();
+            for (Card card : player.getPlayersHand()) {
+                cardsListStr.append(" ").append(card.getCardType().name());
+            }
+            cardsInfoLabel.setText(String.format(CARDS_INFO_FORMAT, player.getPlayersHand().size()));
+            cardsListLabel.setText(cardsListStr.toString());
+            
+            /* Update player's has just conquered any territory info */
+            hasConquered.setText(String.format(HAS_CONQUERED_FORMAT, player.hasConqueredTerritories() ? "YES" : "NO"));
+        }
+    }
+    
+    /**
+     * Check whether this panel was made for a player: the same player in another copy of the game,
+     * such as a snapshot, is represented by the same panel
+     *
+     * @param player the player
+     *
+     * @return true if the player has the ID, name and strategy of the player of this panel
+     */
+    public boolean represents(Player player) {
+        return player.getPlayerID() == playerID && titleOf(player).equals(playerTitle);
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Gets the title of a player: its name and strategy
+     *
+     * @param player the player
+     *
+     * @return the title of the player
+     */
+    private static String titleOf(Player player) {
+        return player.getPlayerName() + " - " + player.getPlayerType().getClass().getSimpleName();
+    }
+    // endregion
+    
     // region Getters & Setters
     
     /**
@@ -9,6 +9,7 @@ package game_play.view.ui_components;
 import game_play.model.DropDownModel;
 import game_play.model.GamePlayModel;
 import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
 import shared_resources.strategy.Bot;
 import shared_resources.utilities.Config;
 
@@ -153,8 +154,8 @@ public class StartupPanel extends JPanel implements Observer {
                     
                     // If bots
                     if (Bot.class.isAssignableFrom(gamePlayModel.getCurrentPlayer().getPlayerType().getClass())) {
-                        String randomTerritory = gamePlayModel.getCurrentPlayerTerritories().elementAt((int) (Math.random() * (gamePlayModel.getCurrentPlayerTerritories().size() - 1)));
-                        gamePlayModel.placeArmyStartup(randomTerritory);
+                        Territory randomTerritory = gamePlayModel.getCurrentPlayer().getRandomTerritory(gamePlayModel.getRandom());
+                        gamePlayModel.placeArmyStartup(randomTerritory.getName());
                     }
                     
                 } else {
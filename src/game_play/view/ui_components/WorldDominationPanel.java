@@ -7,17 +7,24 @@
 package game_play.view.ui_components;
 
 import game_play.model.GamePlayModel;
+import shared_resources.game_entities.GameMap;
 import shared_resources.game_entities.Player;
+import shared_resources.utilities.GameEvent.TerritoryOwnerChanged;
+import shared_resources.utilities.GameEventBus;
 
 import javax.swing.*;
 import java.awt.*;
+import java.util.Arrays;
 import java.util.Map;
 import java.util.Observable;
 import java.util.Observer;
 import java.util.TreeMap;
+import java.util.Vector;
 
 /**
  * WorldDominationPanel is responsible for representing the ui components for player's domination ratio.
+ * The territories count of every player is counted again only for a new game; afterwards it is kept up to date
+ * from the territories changing owner, and the panel is repainted only when one did.
  *
  * @author Team 2
  * @version 2.0
@@ -28,6 +35,11 @@ public class WorldDominationPanel extends JPanel implements Observer {
     private static final int HEIGHT = 20;
     private int totalTerritoriesCount;
     private Map<Integer, Player> playersMap;
+    private int[] territoriesCounts;    // indexed by player ID
+    private boolean countsChanged;
+    private GameMap shownGameMap;
+    private Vector<Player> shownPlayers;     // the players of the game are only added, or replaced by a new vector
+    private int shownPlayersCount;
     // endregion
     
     // region Constructors
@@ -37,6 +49,7 @@ public class WorldDominationPanel extends JPanel implements Observer {
      */
     public WorldDominationPanel() {
         playersMap = new TreeMap<>();
+        territoriesCounts = new int[0];
         setPreferredSize(new Dimension(WIDTH, HEIGHT));
         setMaximumSize(new Dimension(WIDTH, HEIGHT));
         setMinimumSize(new Dimension(WIDTH, HEIGHT));
@@ -44,6 +57,16 @@ public class WorldDominationPanel extends JPanel implements Observer {
     // endregion
     
     // region MVC & Observer pattern methods
+    
+    /**
+     * Subscribe to the territories changing owner in a game
+     *
+     * @param events the events of the game
+     */
+    public void subscribe(GameEventBus events) {
+        events.subscribe(TerritoryOwnerChanged.class, this::territoryOwnerChanged);
+    }
+    
     /**
      * This method is called whenever the observed object is changed. An
      * application calls an <tt>Observable</tt> object's
@@ -58,11 +81,28 @@ public class WorldDominationPanel extends JPanel implements Observer {
         if (o instanceof GamePlayModel) {
             GamePlayModel gamePlayModel = (GamePlayModel) o;
             
-            /* Refresh the ratio of players' world domination */
-            playersMap.clear();
-            totalTerritoriesCount = gamePlayModel.getGameMap().getTerritoriesCount();
-            for (Player player : gamePlayModel.getPlayers()) {
-                playersMap.put(player.getPlayerID(), player);
+            /* Count the territories of the players of a new game, or of a snapshot of the game */
+            synchronized (this) {
+                Vector<Player> players = gamePlayModel.getPlayers();
+                if (gamePlayModel.getGameMap() != shownGameMap || players != shownPlayers ||
+                        players.size() != shownPlayersCount) {
+                    shownGameMap = gamePlayModel.getGameMap();
+                    shownPlayers = players;
+                    shownPlayersCount = players.size();
+                    playersMap.clear();
+                    totalTerritoriesCount = shownGameMap.getTerritoriesCount();
+                    territoriesCounts = new int[0];
+                    for (Player player : shownPlayers) {
+                        playersMap.put(player.getPlayerID(), player);
+                        countFor(player.getPlayerID());
+                        territoriesCounts[player.getPlayerID()] = player.getTerritoriesCount();
+                    }
+                    countsChanged = true;
+                }
+                if (!countsChanged) {
+                    return;
+                }
+                countsChanged = false;
             }
             
             /* Draw the view based on current state of world domination */
@@ -73,6 +113,35 @@ public class WorldDominationPanel extends JPanel implements Observer {
     
     // region Private/Protected methods
     
+    /**
+     * Move a territory from the count of its previous owner to the count of its new owner
+     *
+     * @param event the change of owner
+     */
+    private synchronized void territoryOwnerChanged(TerritoryOwnerChanged event) {
+        if (event.getPreviousOwner() != null) {
+            territoriesCounts[countFor(event.getPreviousOwner().getPlayerID())]--;
+        }
+        if (event.getOwner() != null) {
+            territoriesCounts[countFor(event.getOwner().getPlayerID())]++;
+        }
+        countsChanged = true;
+    }
+    
+    /**
+     * Make room for the territories count of a player
+     *
+     * @param playerID the player ID
+     *
+     * @return the player ID
+     */
+    private int countFor(int playerID) {
+        if (playerID >= territoriesCounts.length) {
+            territoriesCounts = Arrays.copyOf(territoriesCounts, playerID + 1);
+        }
+        return playerID;
+    }
+    
     /**
      * @see javax.swing.JComponent#paintComponent(Graphics)
      */
@@ -93,8 +162,14 @@ public class WorldDominationPanel extends JPanel implements Observer {
     
         int startPoint;
         int endPoint = -1;
-        for (Player player : playersMap.values()) {
-            int playerTerritoriesCount = player.getTerritories().size();
+        Player[] players;
+        int[] counts;
+        synchronized (this) {
+            players = playersMap.values().toArray(new Player[0]);
+            counts = territoriesCounts.clone();
+        }
+        for (Player player : players) {
+            int playerTerritoriesCount = (player.getPlayerID() < counts.length) ? counts[player.getPlayerID()] : 0;
             float playerDominationRatio = (float) playerTerritoriesCount / totalTerritoriesCount;
             startPoint = endPoint + 1;
             endPoint = (int) (startPoint + (WIDTH * playerDominationRatio));
@@ -6,6 +6,8 @@
  */
 package shared_resources.game_entities;
 
+import shared_resources.utilities.GameRandom;
+
 import java.io.Serializable;
 
 /**
@@ -24,6 +26,7 @@ public class Battle implements Serializable {
     private Player defender;
     private Territory defendingTerritory;
     private Dice defenderDice;
+    private Dice spareDefenderDice;     // the dice of the defender kept while it has not chosen yet, see reset()
     private int defenderLoseCount;
     // endregion
     
@@ -83,7 +86,15 @@ public class Battle implements Serializable {
      * @param defendingDice the number of defending dice
      */
     public void setDefendingDice(int defendingDice) {
-        defenderDice = new Dice(defendingDice);
+        if (defenderDice == null && spareDefenderDice != null) {
+            defenderDice = spareDefenderDice;
+            spareDefenderDice = null;
+        }
+        if (defenderDice == null) {
+            defenderDice = new Dice(defendingDice);
+        } else {
+            defenderDice.setRollsCount(defendingDice);
+        }
     }
     
     /**
@@ -161,18 +172,48 @@ public class Battle implements Serializable {
     
     // region Public methods
     
+    /**
+     * Reuse the battle for another attack, keeping its dice and their arrays so declaring an attack allocates nothing.
+     * The losses are reset, and the defender has not chosen its dice yet, see setDefendingDice(int).
+     *
+     * @param attacker           the attacking player
+     * @param attackingTerritory the territory originating the attack
+     * @param attackingDice      the dice for attacking player
+     * @param defender           the defender player
+     * @param defendingTerritory the territory being attacked
+     */
+    public void reset(Player attacker, Territory attackingTerritory, int attackingDice,
+                      Player defender, Territory defendingTerritory) {
+        this.attacker = attacker;
+        this.attackingTerritory = attackingTerritory;
+        attackerDice.setRollsCount(attackingDice);
+        attackerLoseCount = 0;
+        
+        this.defender = defender;
+        this.defendingTerritory = defendingTerritory;
+        if (defenderDice != null) {
+            spareDefenderDice = defenderDice;
+            defenderDice = null;
+        }
+        defenderLoseCount = 0;
+    }
+    
     /**
      * Roll the dice for attacker
+     *
+     * @param random the random generator of the game
      */
-    public void attackerRollDice() {
-        attackerDice.roll();
+    public void attackerRollDice(GameRandom random) {
+        attackerDice.roll(random);
     }
     
     /**
      * Set the dice for defending player
+     *
+     * @param random the random generator of the game
      */
-    public void defenderRollDice() {
-        defenderDice.roll();
+    public void defenderRollDice(GameRandom random) {
+        defenderDice.roll(random);
     }
     
     /**
@@ -189,6 +230,17 @@ public class Battle implements Serializable {
         defenderLoseCount++;
     }
     
+    /**
+     * Add the losses of several dice rounds at once, e.g. for a blitz battle
+     *
+     * @param attackerLosses the armies lost by the attacker
+     * @param defenderLosses the armies lost by the defender
+     */
+    public void addLosses(int attackerLosses, int defenderLosses) {
+        attackerLoseCount += attackerLosses;
+        defenderLoseCount += defenderLosses;
+    }
+    
     /**
      * Get the maximum number of defending dice roll that defender can use depending on the defending territory's armies
      *
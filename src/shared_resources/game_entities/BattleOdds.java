@@ -0,0 +1,243 @@
+/*
+ * Risk Game Team 2
+ * BattleOdds.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import shared_resources.utilities.GameRandom;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import static shared_resources.utilities.Config.BATTLE_ODDS_CACHE_SIZE;
+import static shared_resources.utilities.Config.BATTLE_ODDS_MAX_EXACT_ARMIES;
+import static shared_resources.utilities.Config.BATTLE_ODDS_TABLE_SIZE;
+import static shared_resources.utilities.Config.MAX_NUM_ATK_DICE;
+import static shared_resources.utilities.Config.MAX_NUM_DEF_DICE;
+
+/**
+ * The memoized outcomes of the blitz battles, shared by the game engine, the bots and the user interface.
+ * <ul>
+ * <li> The outcomes are keyed by (attacker armies, defender armies, attacker dice, defender dice) and computed
+ * the first time they are asked for
+ * <li> The battles with up to BATTLE_ODDS_TABLE_SIZE armies on both sides are kept in a table for the whole run
+ * <li> The larger battles are kept in a least recently used cache of BATTLE_ODDS_CACHE_SIZE entries,
+ * so the memory used does not grow with the army counts met during the games
+ * <li> The outcomes are only computed for up to BATTLE_ODDS_MAX_EXACT_ARMIES armies on both sides, so asking for
+ * the odds takes a bounded time and memory whatever the armies: the odds of the larger battles are approximated
+ * <li> The larger blitz battles are played round by round until both sides are small enough, see sampleBlitz()
+ * <li> It is thread-safe: the outcomes are immutable, and two threads asking for the same new battle at the same
+ * time both compute it, then one of the results is kept
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see BattleOutcomes
+ */
+public final class BattleOdds {
+    // region Attributes declaration
+    private static final int DICE_CHOICES = MAX_NUM_ATK_DICE * MAX_NUM_DEF_DICE;
+    private static final AtomicReferenceArray<BattleOutcomes> TABLE =
+            new AtomicReferenceArray<>(BATTLE_ODDS_TABLE_SIZE * BATTLE_ODDS_TABLE_SIZE * DICE_CHOICES);
+    private static final Map<Long, BattleOutcomes> CACHE = Collections.synchronizedMap(
+            new LinkedHashMap<Long, BattleOutcomes>(BATTLE_ODDS_CACHE_SIZE, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<Long, BattleOutcomes> eldest) {
+                    return size() > BATTLE_ODDS_CACHE_SIZE;
+                }
+            });
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * The odds are only used through the static methods
+     */
+    private BattleOdds() {
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Gets the outcomes of a blitz battle
+     *
+     * @param attackerArmies the armies on the attacking territory, between 1 and BATTLE_ODDS_MAX_EXACT_ARMIES
+     * @param defenderArmies the armies on the defending territory, between 1 and BATTLE_ODDS_MAX_EXACT_ARMIES
+     * @param attackerDice   the most dice the attacker rolls in a round, between 1 and MAX_NUM_ATK_DICE
+     * @param defenderDice   the most dice the defender rolls in a round, between 1 and MAX_NUM_DEF_DICE
+     *
+     * @return the outcomes of the battle
+     */
+    public static BattleOutcomes getOutcomes(int attackerArmies, int defenderArmies, int attackerDice, int defenderDice) {
+        if (attackerArmies < 1 || defenderArmies < 1 || attackerDice < 1 || attackerDice > MAX_NUM_ATK_DICE ||
+                defenderDice < 1 || defenderDice > MAX_NUM_DEF_DICE ||
+                attackerArmies > BATTLE_ODDS_MAX_EXACT_ARMIES || defenderArmies > BATTLE_ODDS_MAX_EXACT_ARMIES) {
+            return BattleOutcomes.of(attackerArmies, defenderArmies, attackerDice, defenderDice);  // reports the error
+        }
+        
+        int diceChoice = (attackerDice - 1) * MAX_NUM_DEF_DICE + (defenderDice - 1);
+        if (attackerArmies <= BATTLE_ODDS_TABLE_SIZE && defenderArmies <= BATTLE_ODDS_TABLE_SIZE) {
+            int index = ((attackerArmies - 1) * BATTLE_ODDS_TABLE_SIZE + (defenderArmies - 1)) * DICE_CHOICES + diceChoice;
+            BattleOutcomes outcomes = TABLE.get(index);
+            if (outcomes == null) {
+                outcomes = BattleOutcomes.of(attackerArmies, defenderArmies, attackerDice, defenderDice);
+                if (!TABLE.compareAndSet(index, null, outcomes)) {
+                    outcomes = TABLE.get(index);
+                }
+            }
+            return outcomes;
+        }
+        
+        Long key = ((long) attackerArmies << 32) | ((long) defenderArmies << 3) | diceChoice;
+        BattleOutcomes outcomes = CACHE.get(key);
+        if (outcomes == null) {
+            outcomes = BattleOutcomes.of(attackerArmies, defenderArmies, attackerDice, defenderDice);
+            BattleOutcomes previous = CACHE.putIfAbsent(key, outcomes);
+            if (previous != null) {
+                outcomes = previous;
+            }
+        }
+        return outcomes;
+    }
+    
+    /**
+     * Draw the final result of a blitz battle, whatever the armies on both sides.
+     * While one side has more than BATTLE_ODDS_MAX_EXACT_ARMIES armies, the dice rounds are played one by one with
+     * the probabilities of a round; the rest of the battle is drawn at once from its memoized outcomes.
+     * The result follows the distribution of the dice rounds played one by one, in a memory that does not grow
+     * with the armies.
+     *
+     * @param attackerArmies the armies on the attacking territory (at least 1)
+     * @param defenderArmies the armies on the defending territory (at least 1)
+     * @param attackerDice   the most dice the attacker rolls in a round, between 1 and MAX_NUM_ATK_DICE
+     * @param defenderDice   the most dice the defender rolls in a round, between 1 and MAX_NUM_DEF_DICE
+     * @param random         the random generator of the game
+     *
+     * @return the attacking armies left if the territory is conquered, otherwise minus the defending armies left
+     * (the attacking territory is left with 1 army)
+     */
+    public static int sampleBlitz(int attackerArmies, int defenderArmies, int attackerDice, int defenderDice,
+                                  GameRandom random) {
+        if (attackerArmies < 1 || defenderArmies < 1) {
+            throw new IllegalArgumentException("Both territories of a battle must have armies");
+        }
+        if (attackerDice < 1 || attackerDice > MAX_NUM_ATK_DICE || defenderDice < 1 || defenderDice > MAX_NUM_DEF_DICE) {
+            throw new IllegalArgumentException("Invalid number of dice: " + attackerDice + " against " + defenderDice);
+        }
+        
+        int attacker = attackerArmies;
+        int defender = defenderArmies;
+        while ((attacker > BATTLE_ODDS_MAX_EXACT_ARMIES || defender > BATTLE_ODDS_MAX_EXACT_ARMIES) &&
+                attacker > 1 && defender > 0) {
+            int rolledAttackerDice = Math.min(attackerDice, attacker - 1);
+            int rolledDefenderDice = Math.min(defenderDice, defender);
+            int attackerLosses = BattleOutcomes.sampleRoundLosses(rolledAttackerDice, rolledDefenderDice, random);
+            attacker -= attackerLosses;
+            defender -= Math.min(rolledAttackerDice, rolledDefenderDice) - attackerLosses;
+        }
+        if (defender == 0) {
+            return attacker;
+        } else if (attacker == 1) {
+            return -defender;
+        }
+        
+        BattleOutcomes outcomes = getOutcomes(attacker, defender, attackerDice, defenderDice);
+        int outcome = outcomes.sample(random);
+        int defenderLeft = outcomes.getDefenderArmiesLeft(outcome);
+        return (defenderLeft == 0) ? outcomes.getAttackerArmiesLeft(outcome) : -defenderLeft;
+    }
+    
+    /**
+     * Gets the probability that the attacker conquers the defending territory in a blitz battle.
+     * It is exact for up to BATTLE_ODDS_MAX_EXACT_ARMIES armies on both sides, and approximated in constant time
+     * for the larger battles.
+     *
+     * @param attackerArmies the armies on the attacking territory (at least 1)
+     * @param defenderArmies the armies on the defending territory (at least 1)
+     * @param attackerDice   the most dice the attacker rolls in a round, between 1 and MAX_NUM_ATK_DICE
+     * @param defenderDice   the most dice the defender rolls in a round, between 1 and MAX_NUM_DEF_DICE
+     *
+     * @return the probability of victory
+     */
+    public static double getWinProbability(int attackerArmies, int defenderArmies, int attackerDice, int defenderDice) {
+        if (attackerArmies > BATTLE_ODDS_MAX_EXACT_ARMIES || defenderArmies > BATTLE_ODDS_MAX_EXACT_ARMIES) {
+            if (attackerDice < 1 || attackerDice > MAX_NUM_ATK_DICE || defenderDice < 1 || defenderDice > MAX_NUM_DEF_DICE) {
+                throw new IllegalArgumentException("Invalid number of dice: " + attackerDice + " against " + defenderDice);
+            }
+            return approximateWinProbability(attackerArmies, defenderArmies, attackerDice, defenderDice);
+        }
+        return getOutcomes(attackerArmies, defenderArmies, attackerDice, defenderDice).getWinProbability();
+    }
+    
+    /**
+     * Gets the probability that the attacking territory conquers the defending territory in a blitz battle,
+     * with the most dice on both sides
+     *
+     * @param attackingTerritory the attacking territory
+     * @param defendingTerritory the defending territory
+     *
+     * @return the probability of victory, 0 if the attacking territory cannot attack
+     */
+    public static double getWinProbability(Territory attackingTerritory, Territory defendingTerritory) {
+        if (attackingTerritory.getArmies() < 2) {
+            return 0.0;
+        } else if (defendingTerritory.getArmies() < 1) {
+            return 1.0;
+        }
+        return getWinProbability(attackingTerritory.getArmies(), defendingTerritory.getArmies(),
+                MAX_NUM_ATK_DICE, MAX_NUM_DEF_DICE);
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Approximate the probability of victory of a large blitz battle with a normal distribution.
+     * Every round takes the compared dice from the armies, and the attacker wins if it has lost at most
+     * attacker armies - 2 of them once attacker armies + defender armies - 2 have been taken, so the attacker losses
+     * after that many rounds are approximated by the normal distribution of the sum of the losses of the rounds.
+     *
+     * @param attackerArmies the armies on the attacking territory
+     * @param defenderArmies the armies on the defending territory
+     * @param attackerDice   the most dice the attacker rolls in a round
+     * @param defenderDice   the most dice the defender rolls in a round
+     *
+     * @return the approximate probability of victory
+     */
+    private static double approximateWinProbability(int attackerArmies, int defenderArmies, int attackerDice,
+                                                    int defenderDice) {
+        double[] roundLosses = BattleOutcomes.getRoundLosses(attackerDice, defenderDice);
+        double mean = 0.0;
+        double meanOfSquares = 0.0;
+        for (int attackerLosses = 1; attackerLosses < roundLosses.length; attackerLosses++) {
+            mean += attackerLosses * roundLosses[attackerLosses];
+            meanOfSquares += attackerLosses * attackerLosses * roundLosses[attackerLosses];
+        }
+        int comparedDice = roundLosses.length - 1;
+        double rounds = ((double) attackerArmies + defenderArmies - 2) / comparedDice;
+        double deviation = Math.sqrt((meanOfSquares - mean * mean) * rounds);
+        return normalProbability((attackerArmies - 1.5 - mean * rounds) / deviation);
+    }
+    
+    /**
+     * Gets the probability that a standard normal variable is at most a value,
+     * with the approximation 7.1.26 of Abramowitz and Stegun (error below 1e-7)
+     *
+     * @param value the value
+     *
+     * @return the cumulative probability
+     */
+    private static double normalProbability(double value) {
+        double x = Math.abs(value) / Math.sqrt(2.0);
+        double t = 1.0 / (1.0 + 0.3275911 * x);
+        double erf = 1.0 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741 + t * (-1.453152027 +
+                t * 1.061405429)))) * Math.exp(-x * x);
+        return (value >= 0) ? 0.5 * (1.0 + erf) : 0.5 * (1.0 - erf);
+    }
+    // endregion
+}
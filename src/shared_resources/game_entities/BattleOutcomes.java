@@ -0,0 +1,352 @@
+/*
+ * Risk Game Team 2
+ * BattleOutcomes.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import shared_resources.utilities.GameRandom;
+
+import static shared_resources.utilities.Config.BATTLE_ODDS_MAX_EXACT_ARMIES;
+import static shared_resources.utilities.Config.MAX_NUM_ATK_DICE;
+import static shared_resources.utilities.Config.MAX_NUM_DEF_DICE;
+import static shared_resources.utilities.Config.MAX_PIPS;
+
+/**
+ * The probabilities of the final results of a "blitz" battle, where the attacker goes on attacking the same
+ * territory until it is conquered or the attacking territory has only one army left.
+ * <ul>
+ * <li> Every dice round is a step of an absorbing Markov chain whose states are the (attacker armies, defender armies)
+ * pairs. The probabilities of a round are computed once by enumerating every roll of the dice, with the rules of
+ * the round-by-round battles: the best dice are compared pairwise and the defender wins the ties
+ * <li> The distribution of the absorbing states is computed by pushing the probability of the starting state
+ * through the chain, so the final result of a blitz is drawn with one random number instead of one per die
+ * <li> Every round, the attacker rolls min(attacker dice, attacker armies - 1) dice and the defender rolls
+ * min(defender dice, defender armies) dice, like players keeping the same choice of dice for the whole battle
+ * </ul>
+ * The outcomes are numbered from 0 to getOutcomesCount() - 1: the outcome i &lt; attacker armies is a victory of the
+ * attacker with i + 1 armies left, the other outcomes are defeats of the attacker with 1 army left and
+ * i - attacker armies + 1 defending armies left.
+ * The outcomes are memoized by BattleOdds. They are only computed for up to BATTLE_ODDS_MAX_EXACT_ARMIES armies
+ * on both sides, so their memory and time stay bounded; the larger blitz battles are played with sampleRoundLosses().
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public final class BattleOutcomes {
+    // region Attributes declaration
+    private static final double[][][] ROUND_LOSSES = computeRoundLosses();   // [attacker dice][defender dice][attacker losses]
+    private static final double[][][] ROUND_CUMULATIVE = computeRoundCumulative();
+    private final int attackerArmies;
+    private final int defenderArmies;
+    private final double[] probabilities;
+    private final double[] cumulative;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Computes the outcomes of a blitz battle
+     *
+     * @param attackerArmies the armies on the attacking territory
+     * @param defenderArmies the armies on the defending territory
+     * @param attackerDice   the most dice the attacker rolls in a round
+     * @param defenderDice   the most dice the defender rolls in a round
+     */
+    private BattleOutcomes(int attackerArmies, int defenderArmies, int attackerDice, int defenderDice) {
+        this.attackerArmies = attackerArmies;
+        this.defenderArmies = defenderArmies;
+        probabilities = new double[attackerArmies + defenderArmies];
+        
+        double[][] inProgress = new double[attackerArmies + 1][defenderArmies + 1];
+        inProgress[attackerArmies][defenderArmies] = 1.0;
+        if (attackerArmies < 2) {
+            probabilities[outcomeOfDefeat(defenderArmies)] = 1.0;
+        }
+        
+        // Every round takes at least one army, so the states are visited by decreasing number of armies
+        for (int total = attackerArmies + defenderArmies; total >= 3; total--) {
+            for (int attacker = Math.min(attackerArmies, total - 1); attacker >= Math.max(2, total - defenderArmies); attacker--) {
+                int defender = total - attacker;
+                double probability = inProgress[attacker][defender];
+                if (probability == 0.0) {
+                    continue;
+                }
+                int rolledAttackerDice = Math.min(attackerDice, attacker - 1);
+                int rolledDefenderDice = Math.min(defenderDice, defender);
+                int comparedDice = Math.min(rolledAttackerDice, rolledDefenderDice);
+                double[] roundLosses = ROUND_LOSSES[rolledAttackerDice][rolledDefenderDice];
+                for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+                    int attackerLeft = attacker - attackerLosses;
+                    int defenderLeft = defender - (comparedDice - attackerLosses);
+                    double next = probability * roundLosses[attackerLosses];
+                    if (defenderLeft == 0) {
+                        probabilities[attackerLeft - 1] += next;
+                    } else if (attackerLeft == 1) {
+                        probabilities[outcomeOfDefeat(defenderLeft)] += next;
+                    } else {
+                        inProgress[attackerLeft][defenderLeft] += next;
+                    }
+                }
+            }
+        }
+        
+        cumulative = new double[probabilities.length];
+        double sum = 0.0;
+        for (int outcome = 0; outcome < probabilities.length; outcome++) {
+            sum += probabilities[outcome];
+            cumulative[outcome] = sum;
+        }
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Computes the outcomes of a blitz battle
+     *
+     * @param attackerArmies the armies on the attacking territory, between 1 and BATTLE_ODDS_MAX_EXACT_ARMIES
+     * @param defenderArmies the armies on the defending territory, between 1 and BATTLE_ODDS_MAX_EXACT_ARMIES
+     * @param attackerDice   the most dice the attacker rolls in a round, between 1 and MAX_NUM_ATK_DICE
+     * @param defenderDice   the most dice the defender rolls in a round, between 1 and MAX_NUM_DEF_DICE
+     *
+     * @return the outcomes of the battle
+     */
+    public static BattleOutcomes of(int attackerArmies, int defenderArmies, int attackerDice, int defenderDice) {
+        if (attackerArmies < 1 || defenderArmies < 1) {
+            throw new IllegalArgumentException("Both territories of a battle must have armies");
+        }
+        if (attackerArmies > BATTLE_ODDS_MAX_EXACT_ARMIES || defenderArmies > BATTLE_ODDS_MAX_EXACT_ARMIES) {
+            throw new IllegalArgumentException("Too many armies to compute the outcomes: " + attackerArmies +
+                    " against " + defenderArmies);
+        }
+        if (attackerDice < 1 || attackerDice > MAX_NUM_ATK_DICE || defenderDice < 1 || defenderDice > MAX_NUM_DEF_DICE) {
+            throw new IllegalArgumentException("Invalid number of dice: " + attackerDice + " against " + defenderDice);
+        }
+        return new BattleOutcomes(attackerArmies, defenderArmies, attackerDice, defenderDice);
+    }
+    
+    /**
+     * Gets the probabilities of the losses of the attacker in one dice round
+     *
+     * @param attackerDice the number of dice rolled by the attacker
+     * @param defenderDice the number of dice rolled by the defender
+     *
+     * @return a new array of the probability of every number of attacker losses, from 0 to the number of compared dice
+     */
+    public static double[] getRoundLosses(int attackerDice, int defenderDice) {
+        return ROUND_LOSSES[attackerDice][defenderDice].clone();
+    }
+    
+    /**
+     * Draw the losses of the attacker in one dice round, with the probabilities of the dice rolled one by one
+     *
+     * @param attackerDice the number of dice rolled by the attacker
+     * @param defenderDice the number of dice rolled by the defender
+     * @param random       the random generator of the game
+     *
+     * @return the armies lost by the attacker, the defender losing the other compared dice
+     */
+    public static int sampleRoundLosses(int attackerDice, int defenderDice, GameRandom random) {
+        double[] roundCumulative = ROUND_CUMULATIVE[attackerDice][defenderDice];
+        double value = random.nextDouble();
+        int attackerLosses = 0;
+        while (attackerLosses < roundCumulative.length - 1 && roundCumulative[attackerLosses] <= value) {
+            attackerLosses++;
+        }
+        return attackerLosses;
+    }
+    
+    /**
+     * Gets the armies on the attacking territory before the battle
+     *
+     * @return the attacking armies
+     */
+    public int getAttackerArmies() {
+        return attackerArmies;
+    }
+    
+    /**
+     * Gets the armies on the defending territory before the battle
+     *
+     * @return the defending armies
+     */
+    public int getDefenderArmies() {
+        return defenderArmies;
+    }
+    
+    /**
+     * Gets the number of outcomes of the battle
+     *
+     * @return the number of outcomes
+     */
+    public int getOutcomesCount() {
+        return probabilities.length;
+    }
+    
+    /**
+     * Gets the probability of an outcome
+     *
+     * @param outcome the outcome
+     *
+     * @return the probability of the outcome
+     */
+    public double getProbability(int outcome) {
+        return probabilities[outcome];
+    }
+    
+    /**
+     * Gets the probability that the attacker conquers the territory
+     *
+     * @return the probability of victory
+     */
+    public double getWinProbability() {
+        return cumulative[attackerArmies - 1];
+    }
+    
+    /**
+     * Gets the armies left on the attacking territory after an outcome
+     *
+     * @param outcome the outcome
+     *
+     * @return the attacking armies left
+     */
+    public int getAttackerArmiesLeft(int outcome) {
+        return (outcome < attackerArmies) ? outcome + 1 : 1;
+    }
+    
+    /**
+     * Gets the armies left on the defending territory after an outcome
+     *
+     * @param outcome the outcome
+     *
+     * @return the defending armies left, 0 if the territory is conquered
+     */
+    public int getDefenderArmiesLeft(int outcome) {
+        return (outcome < attackerArmies) ? 0 : outcome - attackerArmies + 1;
+    }
+    
+    /**
+     * Draw the outcome of the battle
+     *
+     * @param random the random generator of the game
+     *
+     * @return the outcome
+     */
+    public int sample(GameRandom random) {
+        double value = random.nextDouble() * cumulative[cumulative.length - 1];
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulative[middle] > value) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        while (probabilities[low] == 0.0 && low > 0) {  // only when the value is rounded up to the total
+            low--;
+        }
+        return low;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Gets the outcome of a defeat of the attacker
+     *
+     * @param defenderLeft the defending armies left
+     *
+     * @return the outcome
+     */
+    private int outcomeOfDefeat(int defenderLeft) {
+        return attackerArmies + defenderLeft - 1;
+    }
+    
+    /**
+     * Enumerate every roll of the dice to get the probabilities of the attacker losses in one round
+     *
+     * @return the probabilities, indexed by the attacker dice, the defender dice and the attacker losses
+     */
+    private static double[][][] computeRoundLosses() {
+        double[][][] roundLosses = new double[MAX_NUM_ATK_DICE + 1][MAX_NUM_DEF_DICE + 1][];
+        int[] attackerRolls = new int[MAX_NUM_ATK_DICE];
+        int[] defenderRolls = new int[MAX_NUM_DEF_DICE];
+        for (int attackerDice = 1; attackerDice <= MAX_NUM_ATK_DICE; attackerDice++) {
+            for (int defenderDice = 1; defenderDice <= MAX_NUM_DEF_DICE; defenderDice++) {
+                int comparedDice = Math.min(attackerDice, defenderDice);
+                long[] counts = new long[comparedDice + 1];
+                int rollsCount = 1;
+                for (int i = 0; i < attackerDice + defenderDice; i++) {
+                    rollsCount *= MAX_PIPS;
+                }
+                for (int roll = 0; roll < rollsCount; roll++) {
+                    int pips = roll;
+                    for (int i = 0; i < attackerDice; i++, pips /= MAX_PIPS) {
+                        attackerRolls[i] = pips % MAX_PIPS + 1;
+                    }
+                    for (int i = 0; i < defenderDice; i++, pips /= MAX_PIPS) {
+                        defenderRolls[i] = pips % MAX_PIPS + 1;
+                    }
+                    sortDescending(attackerRolls, attackerDice);
+                    sortDescending(defenderRolls, defenderDice);
+                    int attackerLosses = 0;
+                    for (int i = 0; i < comparedDice; i++) {
+                        if (attackerRolls[i] <= defenderRolls[i]) {   // the defender wins the ties
+                            attackerLosses++;
+                        }
+                    }
+                    counts[attackerLosses]++;
+                }
+                roundLosses[attackerDice][defenderDice] = new double[comparedDice + 1];
+                for (int attackerLosses = 0; attackerLosses <= comparedDice; attackerLosses++) {
+                    roundLosses[attackerDice][defenderDice][attackerLosses] = (double) counts[attackerLosses] / rollsCount;
+                }
+            }
+        }
+        return roundLosses;
+    }
+    
+    /**
+     * Sum up the probabilities of the losses of the attacker in one round, to draw them with one random number
+     *
+     * @return the cumulative probabilities, indexed by the attacker dice, the defender dice and the attacker losses
+     */
+    private static double[][][] computeRoundCumulative() {
+        double[][][] roundCumulative = new double[MAX_NUM_ATK_DICE + 1][MAX_NUM_DEF_DICE + 1][];
+        for (int attackerDice = 1; attackerDice <= MAX_NUM_ATK_DICE; attackerDice++) {
+            for (int defenderDice = 1; defenderDice <= MAX_NUM_DEF_DICE; defenderDice++) {
+                double[] roundLosses = ROUND_LOSSES[attackerDice][defenderDice];
+                roundCumulative[attackerDice][defenderDice] = new double[roundLosses.length];
+                double sum = 0.0;
+                for (int attackerLosses = 0; attackerLosses < roundLosses.length; attackerLosses++) {
+                    sum += roundLosses[attackerLosses];
+                    roundCumulative[attackerDice][defenderDice][attackerLosses] = sum;
+                }
+            }
+        }
+        return roundCumulative;
+    }
+    
+    /**
+     * Sort the first values of an array from the highest to the lowest
+     *
+     * @param values the array
+     * @param count  the number of values to sort
+     */
+    private static void sortDescending(int[] values, int count) {
+        for (int i = 1; i < count; i++) {
+            int value = values[i];
+            int j = i - 1;
+            while (j >= 0 && values[j] < value) {
+                values[j + 1] = values[j];
+                j--;
+            }
+            values[j + 1] = value;
+        }
+    }
+    // endregion
+}
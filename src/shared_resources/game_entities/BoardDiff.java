@@ -0,0 +1,151 @@
+/*
+ * Risk Game Team 2
+ * BoardDiff.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import java.util.Vector;
+
+/**
+ * The changes of the board between two states of the same game, seen by a player:
+ * the territories the player gained and lost, and its armies before and after.
+ * Used to sum up the bot turns played since the last turn of a human.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see BoardState#copy()
+ */
+public final class BoardDiff {
+    // region Attributes declaration
+    private final BoardState before;
+    private final BoardState after;
+    private final Player player;
+    private final Vector<Territory> gainedTerritories;
+    private final Vector<Territory> lostTerritories;
+    private final Vector<Player> conquerors;       // the owner now of each lost territory
+    private long armiesBefore;
+    private long armiesAfter;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Compare two states of the board for a player
+     *
+     * @param before the earlier state, usually a copy of the board
+     * @param after  the later state
+     * @param player the player
+     */
+    public BoardDiff(BoardState before, BoardState after, Player player) {
+        if (before.size() != after.size()) {
+            throw new IllegalArgumentException("The board states are not of the same map");
+        }
+        this.before = before;
+        this.after = after;
+        this.player = player;
+        gainedTerritories = new Vector<>();
+        lostTerritories = new Vector<>();
+        conquerors = new Vector<>();
+        
+        int playerID = player.getPlayerID();
+        for (int id = 0; id < after.size(); id++) {
+            boolean ownedBefore = before.getOwnerID(id) == playerID;
+            boolean ownedAfter = after.getOwnerID(id) == playerID;
+            if (ownedBefore) {
+                armiesBefore += before.getArmies(id);
+            }
+            if (ownedAfter) {
+                armiesAfter += after.getArmies(id);
+            }
+            if (!ownedBefore && ownedAfter) {
+                gainedTerritories.add(after.getTerritory(id));
+            } else if (ownedBefore && !ownedAfter) {
+                lostTerritories.add(after.getTerritory(id));
+                conquerors.add(after.getOwner(id));
+            }
+        }
+    }
+    // endregion
+    
+    // region Getters & Setters
+    
+    /**
+     * Gets the player the changes are seen by
+     *
+     * @return the player
+     */
+    public Player getPlayer() {
+        return player;
+    }
+    
+    /**
+     * Gets the territories the player owns now but did not own before
+     *
+     * @return the gained territories
+     */
+    public Vector<Territory> getGainedTerritories() {
+        return gainedTerritories;
+    }
+    
+    /**
+     * Gets the territories the player owned before but does not own now
+     *
+     * @return the lost territories
+     */
+    public Vector<Territory> getLostTerritories() {
+        return lostTerritories;
+    }
+    
+    /**
+     * Gets the player owning now each lost territory, in the order of getLostTerritories()
+     *
+     * @return the conquerors of the lost territories
+     */
+    public Vector<Player> getConquerors() {
+        return conquerors;
+    }
+    
+    /**
+     * Gets the armies on the territories of the player before
+     *
+     * @return the armies before
+     */
+    public long getArmiesBefore() {
+        return armiesBefore;
+    }
+    
+    /**
+     * Gets the armies on the territories of the player now
+     *
+     * @return the armies after
+     */
+    public long getArmiesAfter() {
+        return armiesAfter;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Gets the change of the number of territories of any player
+     *
+     * @param other the player
+     *
+     * @return the territories the player owns now minus the territories it owned before
+     */
+    public int getTerritoriesCountChange(Player other) {
+        return after.getTerritoriesCount(other.getPlayerID()) - before.getTerritoriesCount(other.getPlayerID());
+    }
+    
+    /**
+     * Check if the board did not change for the player
+     *
+     * @return true if the player gained and lost no territory, and has the same armies
+     */
+    public boolean isEmpty() {
+        return gainedTerritories.isEmpty() && lostTerritories.isEmpty() && armiesBefore == armiesAfter;
+    }
+    // endregion
+}
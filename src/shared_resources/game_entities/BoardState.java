@@ -0,0 +1,502 @@
+/*
+ * Risk Game Team 2
+ * BoardState.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import shared_resources.utilities.GameEventBus;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * The owners and the armies of the territories of a game map, stored in primitive arrays indexed by territory ID.
+ * <ul>
+ * <li> ownerOf[id] is the ID of the player owning the territory, or NO_OWNER
+ * <li> armies[id] is the number of armies on the territory
+ * <li> Every player has a bit set of the IDs of its territories, so changing the owner of a territory is O(1)
+ * <li> Every continent has a running sum of its armies and a count of the territories each player owns in it,
+ * so the owner of a continent is known in O(1)
+ * </ul>
+ * Once attached to this state, the Territory and Player objects are views: their owner, armies and territories
+ * are read from and written to these arrays.
+ * <p>
+ * Copies and forks are copy-on-write: they share the arrays of the original state until one of them changes an owner
+ * or a number of armies, which makes it take its own arrays first. The topology of the map (the continents of the
+ * territories and the sizes of the continents) is always shared.
+ * <p>
+ * The state of a played game publishes the changes of owners and armies to the event bus of the game;
+ * the copies and forks of a state do not inherit its event bus.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameMap#getBoardState()
+ */
+public final class BoardState implements Serializable {
+    // region Attributes declaration
+    /**
+     * The owner ID of a territory that nobody owns
+     */
+    public static final int NO_OWNER = 0;
+    private final Territory[] territories;
+    private int[] ownerOf;
+    private int[] armies;
+    private final Continent[] continents;
+    private final int[] continentOf;            // -1 for a territory without continent
+    private final int[] continentSizes;
+    private int[] continentOwnerOf;
+    private long[] continentArmies;
+    private final boolean hasViews;
+    private transient boolean shared;           // the arrays are shared with a copy and must be copied before a change
+    private Player[] players;
+    private BitSet[] territoriesOf;
+    private int[] territoriesCount;
+    private int[][] continentTerritoriesOf;     // [player ID][continent ID]
+    private transient GameEventBus events;      // the events of the game played on this state, never of a copy
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates the state of a compiled map, taking over the current owner and armies of every territory.
+     * The continents get their IDs in the order of the map.
+     *
+     * @param graph      the graph of the map
+     * @param continents the continents of the map
+     */
+    BoardState(TerritoryGraph graph, Map<String, Continent> continents) {
+        int count = graph.size();
+        territories = new Territory[count];
+        ownerOf = new int[count];
+        armies = new int[count];
+        hasViews = true;
+        players = new Player[1];
+        territoriesOf = new BitSet[] { new BitSet(count) };
+        territoriesOf[NO_OWNER].set(0, count);
+        territoriesCount = new int[] { count };
+        
+        this.continents = continents.values().toArray(new Continent[continents.size()]);
+        for (int continentID = 0; continentID < this.continents.length; continentID++) {
+            this.continents[continentID].setId(continentID);
+        }
+        continentOf = new int[count];
+        continentSizes = new int[this.continents.length];
+        continentOwnerOf = new int[this.continents.length];
+        continentArmies = new long[this.continents.length];
+        continentTerritoriesOf = new int[1][];
+        
+        for (int id = 0; id < count; id++) {
+            Territory territory = graph.getTerritory(id);
+            territories[id] = territory;
+            Continent continent = continents.get(territory.getContinent());
+            continentOf[id] = (continent == null) ? -1 : continent.getId();
+            if (continent != null) {
+                continentSizes[continent.getId()]++;
+            }
+        }
+        continentTerritoriesOf[NO_OWNER] = continentSizes.clone();
+        
+        for (int id = 0; id < count; id++) {
+            Territory territory = territories[id];
+            int territoryArmies = territory.getArmies();
+            Player owner = territory.getOwner();
+            territory.setBoardState(this);
+            setArmies(id, territoryArmies);
+            setOwner(id, owner);
+        }
+    }
+    
+    /**
+     * Instantiates a copy-on-write copy of another state.
+     * If the copy has views, the territory and player objects become views of the copy.
+     *
+     * @param other       the state to be copied
+     * @param territories the territories of the copy, indexed by ID
+     * @param players     the players of the copy, indexed by player ID
+     * @param hasViews    true if the territories and the players are views of the copy
+     */
+    private BoardState(BoardState other, Territory[] territories, Player[] players, boolean hasViews) {
+        this.territories = territories;
+        this.players = players;
+        this.hasViews = hasViews;
+        ownerOf = other.ownerOf;
+        armies = other.armies;
+        territoriesOf = other.territoriesOf;
+        territoriesCount = other.territoriesCount;
+        continents = other.continents;
+        continentOf = other.continentOf;
+        continentSizes = other.continentSizes;
+        continentOwnerOf = other.continentOwnerOf;
+        continentArmies = other.continentArmies;
+        continentTerritoriesOf = other.continentTerritoriesOf;
+        other.shared = true;
+        shared = true;
+        
+        if (hasViews) {
+            for (Territory territory : territories) {
+                territory.setBoardState(this);
+            }
+            for (Player player : players) {
+                if (player != null) {
+                    player.setBoardState(this);
+                }
+            }
+        }
+    }
+    // endregion
+    
+    // region Getters & Setters
+    
+    /**
+     * Gets the number of territories.
+     *
+     * @return the number of territories
+     */
+    public int size() {
+        return territories.length;
+    }
+    
+    /**
+     * Gets a territory from its ID.
+     *
+     * @param id the territory ID
+     *
+     * @return the territory
+     */
+    public Territory getTerritory(int id) {
+        return territories[id];
+    }
+    
+    /**
+     * Gets the ID of the player owning a territory.
+     *
+     * @param id the territory ID
+     *
+     * @return the player ID, or NO_OWNER
+     */
+    public int getOwnerID(int id) {
+        return ownerOf[id];
+    }
+    
+    /**
+     * Gets the player owning a territory.
+     *
+     * @param id the territory ID
+     *
+     * @return the player, or null if nobody owns the territory
+     */
+    public Player getOwner(int id) {
+        return players[ownerOf[id]];
+    }
+    
+    /**
+     * Gives a territory to a player, taking it from its previous owner.
+     *
+     * @param id     the territory ID
+     * @param player the new owner, or null to leave the territory without owner
+     */
+    public void setOwner(int id, Player player) {
+        copyIfShared();
+        int playerID = (player == null) ? NO_OWNER : register(player);
+        int previousID = ownerOf[id];
+        if (previousID == playerID) {
+            return;
+        }
+        territoriesOf[previousID].clear(id);
+        territoriesCount[previousID]--;
+        territoriesOf[playerID].set(id);
+        territoriesCount[playerID]++;
+        ownerOf[id] = playerID;
+        
+        int continentID = continentOf[id];
+        if (continentID >= 0) {
+            continentTerritoriesOf[previousID][continentID]--;
+            if (continentOwnerOf[continentID] == previousID) {
+                continentOwnerOf[continentID] = NO_OWNER;
+            }
+            continentTerritoriesOf[playerID][continentID]++;
+            if (playerID != NO_OWNER && continentTerritoriesOf[playerID][continentID] == continentSizes[continentID]) {
+                continentOwnerOf[continentID] = playerID;
+            }
+        }
+        if (events != null) {
+            events.territoryOwnerChanged(territories[id], players[previousID], player);
+        }
+    }
+    
+    /**
+     * Gets the number of armies on a territory.
+     *
+     * @param id the territory ID
+     *
+     * @return the number of armies
+     */
+    public int getArmies(int id) {
+        return armies[id];
+    }
+    
+    /**
+     * Sets the number of armies on a territory.
+     *
+     * @param id     the territory ID
+     * @param armies the number of armies
+     */
+    public void setArmies(int id, int armies) {
+        copyIfShared();
+        int continentID = continentOf[id];
+        if (continentID >= 0) {
+            continentArmies[continentID] += armies - this.armies[id];
+        }
+        int previousArmies = this.armies[id];
+        this.armies[id] = armies;
+        if (events != null && previousArmies != armies) {
+            events.armiesChanged(territories[id], previousArmies, armies);
+        }
+    }
+    
+    /**
+     * Gets the event bus the changes of owners and armies are published to.
+     *
+     * @return the event bus, or null if the changes are not published
+     */
+    public GameEventBus getEvents() {
+        return events;
+    }
+    
+    /**
+     * Sets the event bus the changes of owners and armies are published to.
+     *
+     * @param events the event bus of the game, or null to stop publishing
+     */
+    public void setEvents(GameEventBus events) {
+        this.events = events;
+    }
+    
+    /**
+     * Gets the number of territories owned by a player.
+     *
+     * @param playerID the player ID
+     *
+     * @return the number of territories
+     */
+    public int getTerritoriesCount(int playerID) {
+        return playerID < territoriesCount.length ? territoriesCount[playerID] : 0;
+    }
+    
+    /**
+     * Gets the next territory owned by a player, in the order of the IDs.
+     * The territories of a player are walked with:
+     * {@code for (int id = state.nextTerritoryOf(playerID, 0); id >= 0; id = state.nextTerritoryOf(playerID, id + 1))}
+     *
+     * @param playerID the player ID
+     * @param fromID   the first territory ID to check
+     *
+     * @return the ID of the next territory owned by the player, or -1 if there is none
+     */
+    public int nextTerritoryOf(int playerID, int fromID) {
+        return playerID < territoriesOf.length ? territoriesOf[playerID].nextSetBit(fromID) : -1;
+    }
+    
+    /**
+     * Gets the territories owned by a player, in the order of the IDs.
+     *
+     * @param playerID the player ID
+     *
+     * @return a new vector of the territories
+     */
+    public Vector<Territory> getTerritoriesOf(int playerID) {
+        Vector<Territory> result = new Vector<>(getTerritoriesCount(playerID));
+        for (int id = nextTerritoryOf(playerID, 0); id >= 0; id = nextTerritoryOf(playerID, id + 1)) {
+            result.add(territories[id]);
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the number of continents.
+     *
+     * @return the number of continents
+     */
+    public int getContinentsCount() {
+        return continents.length;
+    }
+    
+    /**
+     * Gets a continent from its ID.
+     *
+     * @param continentID the continent ID
+     *
+     * @return the continent
+     */
+    public Continent getContinent(int continentID) {
+        return continents[continentID];
+    }
+    
+    /**
+     * Gets the ID of the player owning every territory of a continent.
+     *
+     * @param continentID the continent ID
+     *
+     * @return the player ID, or NO_OWNER if no player owns the whole continent
+     */
+    public int getContinentOwnerID(int continentID) {
+        return continentOwnerOf[continentID];
+    }
+    
+    /**
+     * Gets the player owning every territory of a continent.
+     *
+     * @param continentID the continent ID
+     *
+     * @return the player, or null if no player owns the whole continent
+     */
+    public Player getContinentOwner(int continentID) {
+        return players[continentOwnerOf[continentID]];
+    }
+    
+    /**
+     * Gets the number of armies on the territories of a continent.
+     *
+     * @param continentID the continent ID
+     *
+     * @return the number of armies
+     */
+    public long getContinentArmies(int continentID) {
+        return continentArmies[continentID];
+    }
+    
+    /**
+     * Gets the number of territories of a continent owned by a player.
+     *
+     * @param playerID    the player ID
+     * @param continentID the continent ID
+     *
+     * @return the number of territories
+     */
+    public int getTerritoriesCount(int playerID, int continentID) {
+        return playerID < continentTerritoriesOf.length ? continentTerritoriesOf[playerID][continentID] : 0;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Copy the owners and armies of the territories, e.g. to try moves without changing the game.
+     * The copy shares the territory and player objects, which stay views of this state only.
+     *
+     * @return the copy
+     */
+    public BoardState copy() {
+        return new BoardState(this, territories, players.clone(), false);
+    }
+    
+    /**
+     * Copy the owners and armies of the territories for a fork of the game, whose territory and player objects
+     * become views of the copy.
+     *
+     * @param forkTerritories the territories of the fork, indexed by ID
+     * @param forkPlayers     the player of the fork for each player of this state
+     *
+     * @return the copy
+     */
+    BoardState fork(Territory[] forkTerritories, Map<Player, Player> forkPlayers) {
+        Player[] playersOfFork = new Player[players.length];
+        for (int playerID = 0; playerID < players.length; playerID++) {
+            if (players[playerID] != null) {
+                playersOfFork[playerID] = forkPlayers.get(players[playerID]);
+                if (playersOfFork[playerID] == null) {
+                    throw new IllegalArgumentException("The fork has no copy of " + players[playerID].getPlayerName());
+                }
+            }
+        }
+        return new BoardState(this, forkTerritories, playersOfFork, true);
+    }
+    
+    /**
+     * Detach the territories and the players from this state, giving them back their own owner and armies.
+     * Used when the map is edited and the state is dropped.
+     */
+    void detach() {
+        for (Player player : players) {
+            if (player != null && player.getBoardState() == this) {
+                player.setBoardState(null);
+            }
+        }
+        for (int id = 0; id < territories.length; id++) {
+            Territory territory = territories[id];
+            if (territory.getBoardState() == this) {
+                territory.setBoardState(null);
+                territory.setArmies(armies[id]);
+                Player owner = players[ownerOf[id]];
+                territory.setOwner(owner);
+                if (owner != null) {
+                    owner.addTerritory(territory);
+                }
+            }
+        }
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Take own arrays before a change if they are shared with a copy
+     */
+    private void copyIfShared() {
+        if (!shared) {
+            return;
+        }
+        ownerOf = ownerOf.clone();
+        armies = armies.clone();
+        BitSet[] sharedTerritoriesOf = territoriesOf;
+        territoriesOf = new BitSet[sharedTerritoriesOf.length];
+        for (int playerID = 0; playerID < territoriesOf.length; playerID++) {
+            territoriesOf[playerID] = (BitSet) sharedTerritoriesOf[playerID].clone();
+        }
+        territoriesCount = territoriesCount.clone();
+        continentOwnerOf = continentOwnerOf.clone();
+        continentArmies = continentArmies.clone();
+        int[][] sharedContinentTerritoriesOf = continentTerritoriesOf;
+        continentTerritoriesOf = new int[sharedContinentTerritoriesOf.length][];
+        for (int playerID = 0; playerID < continentTerritoriesOf.length; playerID++) {
+            continentTerritoriesOf[playerID] = sharedContinentTerritoriesOf[playerID].clone();
+        }
+        shared = false;
+    }
+    
+    /**
+     * Add a player to the owners, making room for its ID if needed.
+     * The player becomes a view of this state unless this state is a copy.
+     *
+     * @param player the player
+     *
+     * @return the player ID
+     */
+    private int register(Player player) {
+        int playerID = player.getPlayerID();
+        if (playerID >= players.length) {
+            int oldLength = players.length;
+            players = Arrays.copyOf(players, playerID + 1);
+            territoriesOf = Arrays.copyOf(territoriesOf, playerID + 1);
+            territoriesCount = Arrays.copyOf(territoriesCount, playerID + 1);
+            continentTerritoriesOf = Arrays.copyOf(continentTerritoriesOf, playerID + 1);
+            for (int i = oldLength; i <= playerID; i++) {
+                territoriesOf[i] = new BitSet(territories.length);
+                continentTerritoriesOf[i] = new int[continents.length];
+            }
+        }
+        if (players[playerID] != player) {
+            players[playerID] = player;
+            if (hasViews) {
+                player.setBoardState(this);
+            }
+        }
+        return playerID;
+    }
+    // endregion
+}
@@ -28,6 +28,9 @@ public class Continent implements Serializable {
     
     /** The control value. */
     private int controlValue;
+    
+    /** The ID in the board state of the map. */
+    private int id;
     // endregion
     
     // region Constructor
@@ -91,6 +94,26 @@ public class Continent implements Serializable {
     public void setTerritories(Vector<String> territories) {
         this.territories = territories;
     }
+    
+    /**
+     * Gets the ID of the continent in the board state of its game map.
+     *
+     * @return the continent ID
+     *
+     * @see GameMap#getBoardState()
+     */
+    public int getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the ID of the continent when the board state of its game map is created.
+     *
+     * @param id the continent ID
+     */
+    void setId(int id) {
+        this.id = id;
+    }
     // endregion
     
     // region Public methods
@@ -142,39 +165,25 @@ public class Continent implements Serializable {
     
     /**
      * Calculate the number of armies within the continent.
+     * The sum is kept up to date by the board state of the map.
      *
      * @param gameMap the game map
      * @return the count of all armies within a given continent
-     *
-     * @throws NullPointerException if territories are not yet allocated to players
      */
-    public long getContinentArmies(GameMap gameMap) throws NullPointerException {
-        long count = 0;
-        for (String territoryName : territories) {
-            count += gameMap.getATerritory(territoryName).getArmies();
-        }
-        return count;
+    public long getContinentArmies(GameMap gameMap) {
+        return gameMap.getBoardState().getContinentArmies(id);
     }
     
     /**
-     * Determine if a continent was fully conquered and return the id of the owner if so.
+     * Determine if a continent was fully conquered and return the name of the owner if so.
+     * The owner is kept up to date by the board state of the map.
      *
      * @param gameMap the game map model
-     * @return the int value of the id of the owner having conquered all territories within this continent, 0  if none
-     *
-     * @throws NullPointerException if territories are not yet allocated to players
-     */
-    public String getContinentOwner(GameMap gameMap) throws NullPointerException {
-        String continentOwner;
-        if (gameMap.getATerritory(territories.get(0)).isOwned()) {
-            continentOwner = gameMap.getATerritory(territories.get(0)).getOwner().getPlayerName();
-            for (String territoryName : territories) {
-                if (continentOwner.compareTo(gameMap.getATerritory(territoryName).getOwner().getPlayerName()) != 0) {
-                    return "";
-                }
-            }
-        }
-        return gameMap.getATerritory(territories.get(0)).getOwner().getPlayerName();
+     * @return the name of the player having conquered all territories within this continent, "" if none
+     */
+    public String getContinentOwner(GameMap gameMap) {
+        Player owner = gameMap.getBoardState().getContinentOwner(id);
+        return (owner == null) ? "" : owner.getPlayerName();
     }
     
     /**
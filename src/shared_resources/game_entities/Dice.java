@@ -6,25 +6,32 @@
  */
 package shared_resources.game_entities;
 
+import shared_resources.utilities.GameRandom;
+
 import java.io.Serializable;
-import java.util.Random;
 import java.util.Vector;
 
+import static shared_resources.utilities.Config.MAX_NUM_ATK_DICE;
+import static shared_resources.utilities.Config.MAX_PIPS;
+
 /**
  * Objects of this class are created by specifying the number of dice to roll
  * <ul>
  * <li> A pip is the index within array representing the number of a die face (it represents the 'up-facing' index of a die)
  * <li> Each pip is a index between 1 and MAX_PIPS (default is 1 to 6)
  * <li> The roll() action will return the 2 most largest values from dice array after randomizing.
+ * <li> The results are kept in a primitive array, so rolling and reading the dice allocates nothing
+ * <li> The dice are rolled with the random generator of the game, so a game is reproducible from its seed
  * </ul>
  *
  * @author Team 2
- * @version 1.0
+ * @version 3.0
  */
 public class Dice implements Serializable {
     // region Attributes declaration
     private int rollsCount;
-    private Vector<Integer> rollsResult;
+    private int[] rolls;
+    private int resultsCount;
     // endregion
     
     // region Constructors
@@ -36,7 +43,8 @@ public class Dice implements Serializable {
      */
     public Dice(int rollsCount) {
         this.rollsCount = rollsCount;
-        rollsResult = new Vector<>();
+        rolls = new int[Math.max(rollsCount, MAX_NUM_ATK_DICE)];
+        resultsCount = 0;
     }
     // endregion
     
@@ -51,12 +59,29 @@ public class Dice implements Serializable {
         return rollsCount;
     }
     
+    /**
+     * Sets the number of dice to be rolled, forgetting the previous results
+     *
+     * @param rollsCount the rolls count
+     */
+    public void setRollsCount(int rollsCount) {
+        this.rollsCount = rollsCount;
+        if (rolls.length < rollsCount) {
+            rolls = new int[rollsCount];
+        }
+        resultsCount = 0;
+    }
+    
     /**
      * Gets the rolls result
      *
-     * @return the rolls result
+     * @return a new vector of the rolls result
      */
     public Vector<Integer> getRollsResult() {
+        Vector<Integer> rollsResult = new Vector<>(resultsCount);
+        for (int i = 0; i < resultsCount; i++) {
+            rollsResult.add(rolls[i]);
+        }
         return rollsResult;
     }
     
@@ -66,7 +91,46 @@ public class Dice implements Serializable {
      * @param rollsResult the roll result
      */
     public void setRollsResult(Vector<Integer> rollsResult) {
-        this.rollsResult = rollsResult;
+        if (rolls.length < rollsResult.size()) {
+            rolls = new int[rollsResult.size()];
+        }
+        resultsCount = 0;
+        for (Integer result : rollsResult) {
+            rolls[resultsCount++] = result;
+        }
+    }
+    
+    /**
+     * Sets the results of the last roll to those of other dice, e.g. to copy a battle
+     *
+     * @param dice the dice whose results are copied
+     */
+    public void setRollsResult(Dice dice) {
+        if (rolls.length < dice.resultsCount) {
+            rolls = new int[dice.resultsCount];
+        }
+        System.arraycopy(dice.rolls, 0, rolls, 0, dice.resultsCount);
+        resultsCount = dice.resultsCount;
+    }
+    
+    /**
+     * Gets the number of results of the last roll
+     *
+     * @return the number of results
+     */
+    public int getResultsCount() {
+        return resultsCount;
+    }
+    
+    /**
+     * Gets one result of the last roll
+     *
+     * @param index the index of the die, between 0 and getResultsCount() - 1
+     *
+     * @return the pip of the die
+     */
+    public int getResult(int index) {
+        return rolls[index];
     }
     
     // endregion
@@ -75,11 +139,14 @@ public class Dice implements Serializable {
     
     /**
      * Depending on the number of dice, roll the dice
+     *
+     * @param random the random generator of the game
      */
-    public void roll() {
+    public void roll(GameRandom random) {
         for (int i = 0; i < rollsCount; i++) {
-            rollsResult.add(new Random().nextInt(6) + 1);
+            rolls[i] = random.nextInt(MAX_PIPS) + 1;
         }
+        resultsCount = rollsCount;
     }
     
     /**
@@ -89,9 +156,9 @@ public class Dice implements Serializable {
      */
     public int getTheBestResult() {
         int max = Integer.MIN_VALUE;
-        for (Integer result : rollsResult) {
-            if (max < result) {
-                max = result;
+        for (int i = 0; i < resultsCount; i++) {
+            if (max < rolls[i]) {
+                max = rolls[i];
             }
         }
         return max;
@@ -105,16 +172,11 @@ public class Dice implements Serializable {
     public int getSecondBestResult() {
         int max = 1;
         int second_max = 1;
-        for (Integer result : rollsResult) {
-            int tmp_max = max;
-            boolean isMaxChanged = false;
+        for (int i = 0; i < resultsCount; i++) {
+            int result = rolls[i];
             if (max <= result) {
+                second_max = max;
                 max = result;
-                isMaxChanged = true;
-            }
-            
-            if (isMaxChanged) {
-                second_max = tmp_max;
             } else if (second_max <= result) {
                 second_max = result;
             }
@@ -123,4 +185,4 @@ public class Dice implements Serializable {
     }
     // endregion
     
-}
\ No newline at end of file
+}
@@ -34,6 +34,8 @@ public class GameMap implements Serializable {
     private String mapName;
     private Map<String, Territory> territories;
     private Map<String, Continent> continents;
+    private transient TerritoryGraph graph;
+    private BoardState boardState;
     // endregion
     
     // region Constructors
@@ -125,10 +127,8 @@ public class GameMap implements Serializable {
      */
     public Map<String, Territory> getTerritoriesOfPlayer(Player player) {
         Map<String, Territory> playersTerritories = new TreeMap<>();
-        for (Map.Entry<String, Territory> entry : territories.entrySet()) {
-            if (player.equals(entry.getValue().getOwner())) {
-                playersTerritories.put(entry.getKey(), entry.getValue());
-            }
+        for (Territory territory : getBoardState().getTerritoriesOf(player.getPlayerID())) {
+            playersTerritories.put(territory.getName(), territory);
         }
         return playersTerritories;
     }
@@ -155,6 +155,7 @@ public class GameMap implements Serializable {
         
         /* Add the territory to the territories list */
         territories.put(territory.getName(), territory);
+        dropCompiledMap();
         
         return String.format(MSG_TERRITORY_ADD_SUCCESS, territory.getName());
     }
@@ -173,6 +174,32 @@ public class GameMap implements Serializable {
         return territories.getOrDefault(territoryName, null);
     }
     
+    /**
+     * Get the adjacency graph of the territories, compiling it the first time after the map is loaded or edited.
+     * The game engine and the bots walk the neighbors through this graph instead of looking them up by name.
+     *
+     * @return the territory graph
+     */
+    public TerritoryGraph getGraph() {
+        if (graph == null) {
+            graph = new TerritoryGraph(territories);
+        }
+        return graph;
+    }
+    
+    /**
+     * Get the owners and armies of the territories, creating the board state the first time after the map is
+     * loaded or edited. From then on, the territories and their owners are views of this state.
+     *
+     * @return the board state
+     */
+    public BoardState getBoardState() {
+        if (boardState == null) {
+            boardState = new BoardState(getGraph(), continents);
+        }
+        return boardState;
+    }
+    
     /**
      * Update an existing territory info.
      *
@@ -200,6 +227,7 @@ public class GameMap implements Serializable {
         /* Update the territory in the territories list */
         territories.remove(oldTerritoryName);
         territories.put(newTerritory.getName(), newTerritory);
+        dropCompiledMap();
         
         return String.format(MSG_TERRITORY_EDIT_SUCCESS, newTerritory.getName());
     }
@@ -247,6 +275,7 @@ public class GameMap implements Serializable {
         
         /* Remove the territory from territories list */
         territories.remove(territoryName);
+        dropCompiledMap();
         
         return String.format(MSG_TERRITORY_REMOVE_SUCCESS, territoryName);
     }
@@ -276,6 +305,7 @@ public class GameMap implements Serializable {
         
         /* Add the continent to the continents list */
         continents.put(newContinent.getName(), newContinent);
+        dropCompiledMap();
         
         return String.format(MSG_CONTINENT_ADD_SUCCESS, newContinent.getName());
     }
@@ -313,6 +343,7 @@ public class GameMap implements Serializable {
         
         continents.remove(oldContinent.getName());
         continents.put(newContinent.getName(), newContinent);
+        dropCompiledMap();
         
         return String.format(MSG_CONTINENT_EDIT_SUCCESS, newContinent.getName());
     }
@@ -339,6 +370,7 @@ public class GameMap implements Serializable {
         
         /* Remove the continent from the continents list */
         continents.remove(continentName);
+        dropCompiledMap();
         
         return String.format(MSG_CONTINENT_REMOVE_SUCCESS, continentName);
     }
@@ -424,6 +456,46 @@ public class GameMap implements Serializable {
         return players;
     }
     
+    /**
+     * Fork the map of a game being played, e.g. to explore moves without changing the game.
+     * <ul>
+     * <li> The fork has its own territory objects, views of a copy-on-write copy of the board state
+     * <li> The names, the neighbors, the continents and the graph arrays are shared with this map
+     * <li> The fork is only meant to be played: editing its territories or continents is not supported
+     * </ul>
+     *
+     * @param forkPlayers the player of the fork for each player of this map
+     *
+     * @return the fork of the map
+     */
+    public GameMap fork(Map<Player, Player> forkPlayers) {
+        BoardState state = getBoardState();
+        TerritoryGraph territoryGraph = getGraph();
+        Territory[] forkTerritories = new Territory[territoryGraph.size()];
+        GameMap fork = new GameMap(mapName);
+        for (int id = 0; id < forkTerritories.length; id++) {
+            forkTerritories[id] = new Territory(territoryGraph.getTerritory(id));
+            fork.territories.put(forkTerritories[id].getName(), forkTerritories[id]);
+        }
+        fork.continents = continents;
+        fork.graph = territoryGraph.withTerritories(forkTerritories);
+        fork.boardState = state.fork(forkTerritories, forkPlayers);
+        return fork;
+    }
+    
+    /**
+     * Drop the graph and the board state after the territories or the continents are edited, so they are compiled
+     * again when needed.
+     * The territories and their owners keep their owner and armies.
+     */
+    private void dropCompiledMap() {
+        if (boardState != null) {
+            boardState.detach();
+            boardState = null;
+        }
+        graph = null;
+    }
+    
     /**
      * Get the number of territories in the game map.
      *
@@ -9,27 +9,30 @@ package shared_resources.game_entities;
 import game_play.model.GamePlayModel;
 import shared_resources.strategy.*;
 import shared_resources.utilities.Config;
+import shared_resources.utilities.GameLog;
+import shared_resources.utilities.GameRandom;
 
 import java.awt.*;
 import java.io.Serializable;
 import java.util.Map;
-import java.util.Random;
 import java.util.Vector;
 
 import static shared_resources.utilities.Config.GAME_STATES.REINFORCEMENT;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TRACE;
 import static shared_resources.utilities.Config.PLAYER_COLOR;
-import static shared_resources.utilities.Config.log;
 
 /**
  * Each Player in a new game has a unique ID number (starting from 1) and the isBot status
  * which determines whether or not that player is a bot or a human controlled Player.
+ * <p>
+ * Once the player owns a territory of a game map having a board state, its territories are read from that state.
  *
  * @author Team 2
  * @version 1.0
  */
 public class Player implements Serializable {
     // region Attributes declaration
-    private static int nextID = 0;
     private Color color;
     private int playerID;
     private String playerName;
@@ -40,15 +43,18 @@ public class Player implements Serializable {
     private Config.GAME_STATES gameState;
     private GamePlayModel.PLAYER_STATUS playerStatus;
     private boolean hasConqueredTerritories;
+    private BoardState boardState;
     // endregion
     
     // region Constructors
     
     /**
      * Instantiates a new player.
+     *
+     * @param playerID the unique ID of the player in its game (starting from 1)
      */
-    public Player() {
-        playerID = ++Player.nextID;
+    public Player(int playerID) {
+        this.playerID = playerID;
         playerName = "Player " + playerID;
         playerType = new Human();     // at the beginning of the game all players are Humans
         playersHand = new Vector<>();
@@ -58,16 +64,28 @@ public class Player implements Serializable {
         playerStatus = GamePlayModel.PLAYER_STATUS.IN_GAME;
         hasConqueredTerritories = false;
     }
-    // endregion
-    
-    // region Getters & Setters
     
     /**
-     * Resets the static counter, nextID, in Player class to zero.
+     * Instantiates the player of a fork of the game.
+     * The hand is copied; the strategy is shared; the territories come from the board state of the fork.
+     *
+     * @param other the player of the forked game
      */
-    public static void resetStaticNextID() {
-        nextID = 0;
+    private Player(Player other) {
+        playerID = other.playerID;
+        playerName = other.playerName;
+        playerType = other.playerType;
+        unallocatedArmies = other.unallocatedArmies;
+        playersHand = new Vector<>(other.playersHand);
+        territories = new Vector<>();
+        color = other.color;
+        gameState = other.gameState;
+        playerStatus = other.playerStatus;
+        hasConqueredTerritories = other.hasConqueredTerritories;
     }
+    // endregion
+    
+    // region Getters & Setters
     
     /**
      * Gets the player ID.
@@ -95,10 +113,11 @@ public class Player implements Serializable {
      * @return a vector of continents owned by this player
      */
     public Vector<Continent> getContinents(GameMap gameMap) {
+        BoardState state = gameMap.getBoardState();
         Vector<Continent> continents = new Vector<>();
-        for (Continent c : gameMap.getContinents().values()) {
-            if (c.getContinentOwner(gameMap).equals(getPlayerName())) {
-                continents.add(c);
+        for (int continentID = 0; continentID < state.getContinentsCount(); continentID++) {
+            if (state.getContinentOwnerID(continentID) == playerID) {
+                continents.add(state.getContinent(continentID));
             }
         }
         return continents;
@@ -120,19 +139,54 @@ public class Player implements Serializable {
      */
     public long getTotalArmiesCount() {
         long armies = 0L;
-        for (Territory t : getTerritories()) {
-            armies += t.getArmies();
+        if (boardState == null) {
+            for (Territory t : territories) {
+                armies += t.getArmies();
+            }
+        } else {
+            for (int id = boardState.nextTerritoryOf(playerID, 0); id >= 0; id = boardState.nextTerritoryOf(playerID, id + 1)) {
+                armies += boardState.getArmies(id);
+            }
         }
         return armies;
     }
     
     /**
      * Gets the territories.
+     * When the player is a view of a board state, the territories are a copy taken from the state.
      *
      * @return the territories
      */
     public Vector<Territory> getTerritories() {
-        return territories;
+        return (boardState == null) ? territories : boardState.getTerritoriesOf(playerID);
+    }
+    
+    /**
+     * Gets the number of territories owned by the player.
+     *
+     * @return the number of territories
+     */
+    public int getTerritoriesCount() {
+        return (boardState == null) ? territories.size() : boardState.getTerritoriesCount(playerID);
+    }
+    
+    /**
+     * Gets the board state this player is a view of.
+     *
+     * @return the board state, or null if the player keeps its own territories
+     */
+    BoardState getBoardState() {
+        return boardState;
+    }
+    
+    /**
+     * Makes the player a view of a board state, or gives it back its own territories.
+     *
+     * @param boardState the board state, or null
+     */
+    void setBoardState(BoardState boardState) {
+        this.boardState = boardState;
+        territories.clear();
     }
     
     /**
@@ -204,7 +258,9 @@ public class Player implements Serializable {
      * @param territory the territory
      */
     public void addTerritory(Territory territory) {
-        if (!territories.contains(territory)) {
+        if (boardState != null && territory.getBoardState() == boardState) {
+            boardState.setOwner(territory.getId(), this);
+        } else if (!territories.contains(territory)) {
             territories.add(territory);
         }
     }
@@ -238,12 +294,34 @@ public class Player implements Serializable {
                 && this.unallocatedArmies == tempPlayer.unallocatedArmies;
     }
     
+    /**
+     * Copy the player for a fork of the game.
+     * The fork has its own armies, hand and status, and shares the strategy of this player.
+     * Its territories are the ones of the board state of the forked map.
+     *
+     * @return the player of the fork
+     *
+     * @see GameMap#fork(Map)
+     */
+    public Player fork() {
+        return new Player(this);
+    }
+    
     /**
      * Removes the territory.
      *
      * @param territoryName the territory name
      */
     public void removeTerritory(String territoryName) {
+        if (boardState != null) {
+            for (int id = boardState.nextTerritoryOf(playerID, 0); id >= 0; id = boardState.nextTerritoryOf(playerID, id + 1)) {
+                if (boardState.getTerritory(id).getName().compareTo(territoryName) == 0) {
+                    boardState.setOwner(id, null);
+                    return;
+                }
+            }
+            return;
+        }
         for (Territory territory : territories) {
             if (territory.getName().compareTo(territoryName) == 0) {
                 territories.remove(territory);
@@ -266,6 +344,7 @@ public class Player implements Serializable {
      * @return String for the error message to validate the result of the trade in
      */
     public String tradeInCards(GamePlayModel gamePlayModel, Vector<String> selectedCards) {
+        GameLog log = gamePlayModel.getLog();
         if (selectedCards.size() == 3) {
             /* check if selected cards are three of a kind or one of each */
             int choice = 0;
@@ -290,15 +369,15 @@ public class Player implements Serializable {
                     Card tempCard = new Card(Card.CARD_TYPE.valueOf(selectedCards.firstElement()));
                     for (int i = 0; i < selectedCards.size(); i++) {
                         playersHand.remove(tempCard);
-                        log.append("        " + tempCard.getCardType() + " is removed from player");
+                        log.append(TRACE, () -> "        " + tempCard.getCardType() + " is removed from player");
                         gamePlayModel.getDeck().add(tempCard);  // add the cards back into the deck
-                        log.append("        " + tempCard.getCardType() + " goes back to the deck");
+                        log.append(TRACE, () -> "        " + tempCard.getCardType() + " goes back to the deck");
                     }
                     playersHand.trimToSize();
                     addUnallocatedArmies(gamePlayModel.getArmyValue());
-                    log.append("        " + playerName + " gets " + gamePlayModel.getArmyValue() + " more armies");
+                    log.append(BATTLE, () -> "        " + playerName + " gets " + gamePlayModel.getArmyValue() + " more armies");
                     gamePlayModel.setArmyValue(gamePlayModel.getArmyValue() + 5);
-                    log.append("        New army value is now " + gamePlayModel.getArmyValue());
+                    log.append(TRACE, () -> "        New army value is now " + gamePlayModel.getArmyValue());
                 }
             } else if (choice == 2) {  // for one of each exchange
                 for (int cardIndex = 0; cardIndex < selectedCards.size(); cardIndex++) {
@@ -311,24 +390,24 @@ public class Player implements Serializable {
                     for (int cardIndex = 0; cardIndex < selectedCards.size(); cardIndex++) {
                         Card tempCard = new Card(Card.CARD_TYPE.valueOf(selectedCards.elementAt(cardIndex)));
                         playersHand.remove(tempCard);  // add the cards back into the deck
-                        log.append("        " + tempCard.getCardType() + " is removed from player");
+                        log.append(TRACE, () -> "        " + tempCard.getCardType() + " is removed from player");
                         gamePlayModel.getDeck().add(tempCard);
-                        log.append("        " + tempCard.getCardType() + " goes back to the deck");
+                        log.append(TRACE, () -> "        " + tempCard.getCardType() + " goes back to the deck");
                     }
                     playersHand.trimToSize();
                     addUnallocatedArmies(gamePlayModel.getArmyValue());
-                    log.append("        " + playerName + " gets " + gamePlayModel.getArmyValue() + " more armies");
+                    log.append(BATTLE, () -> "        " + playerName + " gets " + gamePlayModel.getArmyValue() + " more armies");
                     gamePlayModel.setArmyValue(gamePlayModel.getArmyValue() + 5);
-                    log.append("        New army value is now " + gamePlayModel.getArmyValue());
+                    log.append(TRACE, () -> "        New army value is now " + gamePlayModel.getArmyValue());
                 }
                 
                 
             } else {
-                log.append("        No card is traded");
+                log.append(BATTLE, "        No card is traded");
                 return "No cards traded in!\nPlease select 3 cards of the same type or one of each type.";
             }
             setGameState(REINFORCEMENT);
-            log.append("    " + getPlayerName() + " move to " + getGameState() + " phase");
+            log.append(TRACE, () -> "    " + getPlayerName() + " move to " + getGameState() + " phase");
             return "Cards successfully traded in!";
         } else {
             return "No cards traded in!\nPlease select exactly 3 cards.\n(all of same type or one of each type)";
@@ -365,22 +444,22 @@ public class Player implements Serializable {
     /**
      * Gets a random territory owned by the player
      *
+     * @param random the random generator of the game
+     *
      * @return a random territory
      */
-    public Territory getRandomTerritory() {
-        int index = 0;
-        if (territories.size() > 1) {
-            Random rand = new Random();
-            index = rand.nextInt(territories.size() - 1);
-        }
-        
-        return territories.elementAt(index);
+    public Territory getRandomTerritory(GameRandom random) {
+        Vector<Territory> territories = getTerritories();
+        return territories.elementAt(random.nextInt(territories.size()));
     }
     
     /**
      * Set the next player phase depending on the current phase and current state of the player
+     *
+     * @param gamePlayModel the game play model
      */
-    public void nextPhase() {
+    public void nextPhase(GamePlayModel gamePlayModel) {
+        Config.GAME_STATES previousPhase = gameState;
         switch (gameState) {
             case TRADE_CARDS:
                 gameState = Config.GAME_STATES.REINFORCEMENT;
@@ -407,7 +486,8 @@ public class Player implements Serializable {
                 }
                 break;
         }
-        log.append("    " + playerName + " move to " + gameState);
+        gamePlayModel.getLog().append(TRACE, () -> "    " + playerName + " move to " + gameState);
+        gamePlayModel.getEvents().phaseChanged(this, previousPhase, gameState);
     }
     
     /**
@@ -423,14 +503,16 @@ public class Player implements Serializable {
      * Looping through view table, get the quantity of armies for each territory
      * then place them using the placeArmiesReinforcement in the game_entities.
      *
+     * @param gamePlayModel the game play model
      * @param armiesToPlace the amount of armies to place
      */
-    public void distributeArmies(Map<Territory, Integer> armiesToPlace) {
+    public void distributeArmies(GamePlayModel gamePlayModel, Map<Territory, Integer> armiesToPlace) {
+        GameLog log = gamePlayModel.getLog();
         for (Map.Entry<Territory, Integer> entry : armiesToPlace.entrySet()) {
-            log.append("        " + playerName + " wants to place " + entry.getValue() + " armies on " + entry.getKey().getName());
+            log.append(TRACE, () -> "        " + playerName + " wants to place " + entry.getValue() + " armies on " + entry.getKey().getName());
     
             entry.getKey().addArmies(entry.getValue());
-            log.append("        " + playerName + " placed " + entry.getValue() + " armies on " + entry.getKey().getName());
+            log.append(BATTLE, () -> "        " + playerName + " placed " + entry.getValue() + " armies on " + entry.getKey().getName());
             reduceUnallocatedArmies(entry.getValue());
         }
     }
@@ -534,13 +616,14 @@ public class Player implements Serializable {
     public void conquer(GamePlayModel gamePlayModel, int armiesToMove) {
         Territory attackingTerritory = gamePlayModel.getCurrentBattle().getAttackingTerritory();
         Territory defendingTerritory = gamePlayModel.getCurrentBattle().getDefendingTerritory();
+        GameLog log = gamePlayModel.getLog();
         
         /* Change owner of the conquered territory, and move armies */
         if (armiesToMove < attackingTerritory.getArmies()) {
             attackingTerritory.reduceArmies(armiesToMove);
             defendingTerritory.addArmies(armiesToMove);
         }
-        log.append("        " + attackingTerritory.getOwner().getPlayerName() + " moves " + armiesToMove + " armies from " +
+        log.append(BATTLE, () -> "        " + attackingTerritory.getOwner().getPlayerName() + " moves " + armiesToMove + " armies from " +
                 attackingTerritory.getName() + " to " + defendingTerritory.getName());
     }
     
@@ -563,11 +646,12 @@ public class Player implements Serializable {
      * @return true if the player can declare another attack, false otherwise
      */
     public boolean ableToAttack(GameMap gameMap) {
-        for (Territory territory : territories) {
-            if (territory.getArmies() > 1) {
-                for (String neighborName : territory.getNeighbors()) {
-                    Territory neighbor = gameMap.getATerritory(neighborName);
-                    if (neighbor.getOwner() != territory.getOwner()) {
+        TerritoryGraph graph = gameMap.getGraph();
+        BoardState state = gameMap.getBoardState();
+        for (int id = state.nextTerritoryOf(playerID, 0); id >= 0; id = state.nextTerritoryOf(playerID, id + 1)) {
+            if (state.getArmies(id) > 1) {
+                for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                    if (state.getOwnerID(graph.neighborAt(edge)) != playerID) {
                         return true;
                     }
                 }
@@ -584,18 +668,18 @@ public class Player implements Serializable {
      * If the player is defender in a battle, gets the number of dice he wants to use to defend
      *
      * @param maxDefendingDice the maximum defending dice
+     * @param random           the random generator of the game
      *
      * @return the number of dice to defend
      */
-    public int botChooseDefendingDice(int maxDefendingDice) {
+    public int botChooseDefendingDice(int maxDefendingDice, GameRandom random) {
         int defendingDice = 1;
         if (this.isRandomBot()) {
             // Choose number of dice randomly
             if (maxDefendingDice > 1) {
-                Random rand = new Random();
-                defendingDice = 1 + rand.nextInt(maxDefendingDice - 1);
+                defendingDice = 1 + random.nextInt(maxDefendingDice - 1);
             }
-        } else if (this.isAggressiveBot() || this.isBenevolentBot() || this.isCheaterBot()) {
+        } else if (this.isAggressiveBot() || this.isBenevolentBot() || this.isCheaterBot() || this.isMCTSBot()) {
             // Choose maximum number of dice possible
             defendingDice = maxDefendingDice;
         }
@@ -638,6 +722,15 @@ public class Player implements Serializable {
         return (playerType instanceof CheaterBot);
     }
     
+    /**
+     * Check whether a player is a MCTS bot
+     *
+     * @return true if the player is MCTS bot, false otherwise
+     */
+    public boolean isMCTSBot() {
+        return (playerType instanceof MCTSBot);
+    }
+    
     /**
      *
      *
@@ -686,11 +779,12 @@ public class Player implements Serializable {
      * @return true if there is at least 1 valid territory, false if there's none
      */
     public boolean ableToFortify(GameMap gameMap) {
-        for (Territory territory : territories) {
-            if (territory.getArmies() >= 2) {
-                for (String neighborName : territory.getNeighbors()) {
-                    Territory neighbor = gameMap.getATerritory(neighborName);
-                    if (neighbor.getOwner() == territory.getOwner()) {
+        TerritoryGraph graph = gameMap.getGraph();
+        BoardState state = gameMap.getBoardState();
+        for (int id = state.nextTerritoryOf(playerID, 0); id >= 0; id = state.nextTerritoryOf(playerID, id + 1)) {
+            if (state.getArmies(id) >= 2) {
+                for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                    if (state.getOwnerID(graph.neighborAt(edge)) == playerID) {
                         return true;
                     }
                 }
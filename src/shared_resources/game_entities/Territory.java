@@ -12,6 +12,9 @@ import java.util.Vector;
 /**
  * A territory/country in the map
  * Represented by a node in the graph
+ * <p>
+ * Once the board state of its game map is created, the owner and the armies of the territory are stored there
+ * and this object is a view of them.
  * <ul>
  * <li> A territory must belong to one and only one continent
  * <li> A territory must be owned by one and only one player at a time
@@ -30,6 +33,8 @@ public class Territory implements Serializable {
     private Player owner;
     private int armies;
     private Vector<String> neighbors;
+    private int id;
+    private BoardState boardState;
     // endregion
     
     // region Constructors
@@ -56,6 +61,19 @@ public class Territory implements Serializable {
         this.continent = "";
         this.neighbors = new Vector<>();
     }
+    
+    /**
+     * Instantiate a territory of a fork of the game: it shares the name, the continent and the neighbors
+     * of the other territory, and takes its owner and armies from the board state of the fork.
+     *
+     * @param other the territory of the forked game
+     */
+    Territory(Territory other) {
+        this.name = other.name;
+        this.continent = other.continent;
+        this.neighbors = other.neighbors;
+        this.id = other.id;
+    }
     // endregion
     
     // region Getters & Setters
@@ -78,6 +96,48 @@ public class Territory implements Serializable {
         this.name = name;
     }
     
+    /**
+     * Gets the ID of the territory in the graph of its game map.
+     *
+     * @return the territory ID
+     *
+     * @see GameMap#getGraph()
+     */
+    public int getId() {
+        return id;
+    }
+    
+    /**
+     * Sets the ID of the territory when the graph of its game map is compiled.
+     *
+     * @param id the territory ID
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+    
+    /**
+     * Gets the board state this territory is a view of.
+     *
+     * @return the board state, or null if the territory keeps its own owner and armies
+     */
+    BoardState getBoardState() {
+        return boardState;
+    }
+    
+    /**
+     * Makes the territory a view of a board state, or gives it back its own owner and armies.
+     *
+     * @param boardState the board state, or null
+     */
+    void setBoardState(BoardState boardState) {
+        this.boardState = boardState;
+        if (boardState != null) {
+            owner = null;
+            armies = 0;
+        }
+    }
+    
     /**
      * Gets the continent.
      *
@@ -102,7 +162,7 @@ public class Territory implements Serializable {
      * @return the owner
      */
     public Player getOwner() {
-        return owner;
+        return (boardState == null) ? owner : boardState.getOwner(id);
     }
     
     /**
@@ -111,7 +171,11 @@ public class Territory implements Serializable {
      * @param owner the new owner
      */
     public void setOwner(Player owner) {
-        this.owner = owner;
+        if (boardState == null) {
+            this.owner = owner;
+        } else {
+            boardState.setOwner(id, owner);
+        }
     }
     
     /**
@@ -138,7 +202,7 @@ public class Territory implements Serializable {
      * @return the armies
      */
     public int getArmies() {
-        return armies;
+        return (boardState == null) ? armies : boardState.getArmies(id);
     }
     
     /**
@@ -147,7 +211,11 @@ public class Territory implements Serializable {
      * @param armies the new armies
      */
     public void setArmies(int armies) {
-        this.armies = armies;
+        if (boardState == null) {
+            this.armies = armies;
+        } else {
+            boardState.setArmies(id, armies);
+        }
     }
     // endregion
     
@@ -212,7 +280,10 @@ public class Territory implements Serializable {
      * @return true, if is owned by
      */
     public boolean isOwnedBy(int playerID) {
-        return (owner.getPlayerID() == playerID);
+        if (boardState == null) {
+            return (owner.getPlayerID() == playerID);
+        }
+        return (boardState.getOwnerID(id) == playerID);
     }
     
     /**
@@ -223,7 +294,7 @@ public class Territory implements Serializable {
      * @return true, if is owned by
      */
     public boolean isOwnedBy(Player player) {
-        return (owner == player);
+        return (getOwner() == player);
     }
     
     /**
@@ -233,7 +304,7 @@ public class Territory implements Serializable {
      */
     public void addArmies(int addedArmies) {
         if (addedArmies > 0) {
-            armies += addedArmies;
+            setArmies(getArmies() + addedArmies);
         } else {
             throw new IllegalArgumentException();
         }
@@ -245,7 +316,7 @@ public class Territory implements Serializable {
      * @return true, if is owned
      */
     public boolean isOwned() {
-        return (owner != null);
+        return (getOwner() != null);
     }
     
     /**
@@ -254,8 +325,9 @@ public class Territory implements Serializable {
      * @param deductedArmies amount of armies to remove
      */
     public void reduceArmies(int deductedArmies) {
+        int armies = getArmies();
         if (deductedArmies > 0 && deductedArmies <= armies) {
-            armies -= deductedArmies;
+            setArmies(armies - deductedArmies);
         } else {
             throw new IllegalArgumentException();
         }
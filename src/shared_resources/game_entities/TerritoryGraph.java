@@ -0,0 +1,190 @@
+/*
+ * Risk Game Team 2
+ * TerritoryGraph.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.game_entities;
+
+import java.io.Serializable;
+import java.util.Map;
+
+/**
+ * The adjacency of the territories of a game map, compiled for the game engine and the bots.
+ * <ul>
+ * <li> Every territory has a dense ID from 0 to size() - 1, in the order of the territory names
+ * <li> The neighbors are stored in compressed sparse rows: the neighbors of the territory i are the
+ * territory IDs neighborAt(e) for e from firstEdge(i) to endEdge(i) - 1, in the order of the map file
+ * <li> The graph is immutable. It is compiled by the game map and dropped whenever the map is edited
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public final class TerritoryGraph implements Serializable {
+    // region Attributes declaration
+    private final Territory[] territories;
+    private final int[] offsets;
+    private final int[] edges;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Compiles the graph of a game map and gives every territory its ID.
+     * Neighbors missing from the map are left out.
+     *
+     * @param territoriesByName the territories of the map sorted by name
+     */
+    TerritoryGraph(Map<String, Territory> territoriesByName) {
+        int count = territoriesByName.size();
+        territories = territoriesByName.values().toArray(new Territory[count]);
+        offsets = new int[count + 1];
+        
+        int edgesCount = 0;
+        for (int id = 0; id < count; id++) {
+            territories[id].setId(id);
+            edgesCount += territories[id].getNeighborsCount();
+        }
+        
+        int[] allEdges = new int[edgesCount];
+        edgesCount = 0;
+        for (int id = 0; id < count; id++) {
+            offsets[id] = edgesCount;
+            for (String neighborName : territories[id].getNeighbors()) {
+                Territory neighbor = territoriesByName.get(neighborName);
+                if (neighbor != null) {
+                    allEdges[edgesCount++] = neighbor.getId();
+                }
+            }
+        }
+        offsets[count] = edgesCount;
+        
+        if (edgesCount < allEdges.length) {
+            edges = new int[edgesCount];
+            System.arraycopy(allEdges, 0, edges, 0, edgesCount);
+        } else {
+            edges = allEdges;
+        }
+    }
+    
+    /**
+     * Instantiates a graph sharing the adjacency of another graph, for other territory objects with the same IDs.
+     *
+     * @param other       the graph
+     * @param territories the territories, indexed by ID
+     */
+    private TerritoryGraph(TerritoryGraph other, Territory[] territories) {
+        this.territories = territories;
+        this.offsets = other.offsets;
+        this.edges = other.edges;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Gets the number of territories in the graph.
+     *
+     * @return the number of territories
+     */
+    public int size() {
+        return territories.length;
+    }
+    
+    /**
+     * Gets a territory from its ID.
+     *
+     * @param id the territory ID
+     *
+     * @return the territory
+     */
+    public Territory getTerritory(int id) {
+        return territories[id];
+    }
+    
+    /**
+     * Gets the index of the first neighbor of a territory in the edges.
+     *
+     * @param id the territory ID
+     *
+     * @return the index of the first edge of the territory
+     */
+    public int firstEdge(int id) {
+        return offsets[id];
+    }
+    
+    /**
+     * Gets the index following the last neighbor of a territory in the edges.
+     *
+     * @param id the territory ID
+     *
+     * @return the index after the last edge of the territory
+     */
+    public int endEdge(int id) {
+        return offsets[id + 1];
+    }
+    
+    /**
+     * Gets the neighbor at an index of the edges.
+     *
+     * @param edge the index of the edge, between firstEdge(id) and endEdge(id) - 1
+     *
+     * @return the ID of the neighbor
+     */
+    public int neighborAt(int edge) {
+        return edges[edge];
+    }
+    
+    /**
+     * Gets the number of neighbors of a territory.
+     *
+     * @param id the territory ID
+     *
+     * @return the number of neighbors
+     */
+    public int degree(int id) {
+        return offsets[id + 1] - offsets[id];
+    }
+    
+    /**
+     * Check if two territories are neighbors.
+     *
+     * @param id         the territory ID
+     * @param neighborID the ID of the possible neighbor
+     *
+     * @return true if neighborID is a neighbor of id, false otherwise
+     */
+    public boolean areNeighbors(int id, int neighborID) {
+        for (int edge = offsets[id]; edge < offsets[id + 1]; edge++) {
+            if (edges[edge] == neighborID) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Check if another graph is this graph or the graph of one of its forks: both share the same adjacency,
+     * and a territory has the same ID in both.
+     *
+     * @param other the other graph, or null
+     *
+     * @return true if the graphs share their adjacency arrays
+     */
+    public boolean hasSameTopology(TerritoryGraph other) {
+        return other != null && other.offsets == offsets && other.edges == edges;
+    }
+    
+    /**
+     * Make the graph of a fork of the game, sharing the adjacency arrays of this graph.
+     *
+     * @param territories the territories of the fork, indexed by ID
+     *
+     * @return the graph of the fork
+     */
+    TerritoryGraph withTerritories(Territory[] territories) {
+        return new TerritoryGraph(this, territories);
+    }
+    // endregion
+}
@@ -0,0 +1,298 @@
+/*
+ * Risk Game Team 2
+ * GameMapCache.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.helper;
+
+import shared_resources.game_entities.Continent;
+import shared_resources.game_entities.GameMap;
+import shared_resources.game_entities.Territory;
+import shared_resources.utilities.Config;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Vector;
+
+/**
+ * The maps read from the maps folder, shared by the whole application
+ * <ul>
+ * <li> A map file is parsed and validated once, then kept as a template map whose board state is compiled
+ * <li> A map is read again when its file is modified, checked with its size and modification time, or when
+ * the map editor writes it
+ * <li> The invalid maps are kept with their error, so the list of valid maps is made without reading them again
+ * <li> The least recently used maps are dropped when the estimated size of the maps exceeds MAPS_CACHE_BUDGET
+ * </ul>
+ * The templates are never given out: the callers get either an editable copy or a fork to be played.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameMapHelper#loadGameMap(String)
+ * @see GameMapHelper#instantiateGameMap(String)
+ */
+final class GameMapCache {
+    // region Attributes declaration
+    private static final int TERRITORY_FOOTPRINT = 400;     // estimated bytes of a territory with its name and views
+    private static final int NEIGHBOR_FOOTPRINT = 16;       // estimated bytes of a neighbor in the name vectors and graph
+    private static final int CONTINENT_FOOTPRINT = 200;     // estimated bytes of a continent with its name
+    private static final Map<Path, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private static long budget = Config.MAPS_CACHE_BUDGET;
+    private static long footprint;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new game map cache.
+     */
+    private GameMapCache() {    // Intentionally make ctor private
+    }
+    // endregion
+    
+    // region Package methods
+    
+    /**
+     * Get the template of a map of the maps folder, reading the file if it is not in the cache or was modified
+     *
+     * @param mapName the map name
+     *
+     * @return the validated template map, which must not be edited nor played
+     *
+     * @throws Exception the error of an invalid map or the exception of a file which cannot be read
+     */
+    static GameMap getTemplate(String mapName) throws Exception {
+        Path path = pathOf(Config.MAPS_FOLDER + mapName);
+        BasicFileAttributes attributes;
+        try {
+            attributes = Files.readAttributes(path, BasicFileAttributes.class);
+        } catch (IOException e) {
+            invalidate(path);
+            return readTemplate(mapName);   // reports the file error the same way the parser does
+        }
+        
+        Entry entry;
+        synchronized (GameMapCache.class) {
+            entry = entries.get(path);
+            if (entry != null && !entry.isFileUnchanged(attributes)) {
+                remove(path);
+                entry = null;
+            }
+        }
+        if (entry == null) {
+            entry = new Entry(attributes);
+            try {
+                entry.setTemplate(readTemplate(mapName));
+            } catch (IllegalArgumentException e) {
+                entry.setError(e.getMessage());
+            }
+            put(path, entry);
+        }
+        
+        if (entry.error != null) {
+            throw new IllegalArgumentException(entry.error);
+        }
+        return entry.template;
+    }
+    
+    /**
+     * Drop a map from the cache, after its file is written
+     *
+     * @param filePath the path of the map file
+     */
+    static void invalidate(String filePath) {
+        invalidate(pathOf(filePath));
+    }
+    
+    /**
+     * Check if a map of the maps folder is in the cache
+     *
+     * @param mapName the map name
+     *
+     * @return true if the map is in the cache
+     */
+    static synchronized boolean contains(String mapName) {
+        return entries.containsKey(pathOf(Config.MAPS_FOLDER + mapName));
+    }
+    
+    /**
+     * Sets the estimated size in bytes the maps in the cache may take, dropping the least recently used maps beyond it
+     *
+     * @param bytes the budget in bytes
+     */
+    static synchronized void setBudget(long bytes) {
+        budget = bytes;
+        evict();
+    }
+    
+    /**
+     * Make an editable copy of a template: the continents, territories and neighbors of the copy are its own
+     *
+     * @param template the template
+     *
+     * @return the copy
+     */
+    static GameMap copyOf(GameMap template) {
+        GameMap copy = new GameMap(template.getMapName());
+        for (Continent continent : template.getContinents().values()) {
+            copy.addContinent(new Continent(continent.getName(), continent.getControlValue()));
+        }
+        
+        /* Add the territories continent by continent, to keep the order of the territories of the continents */
+        for (Continent continent : template.getContinents().values()) {
+            for (String territoryName : continent.getTerritories()) {
+                Territory territory = template.getATerritory(territoryName);
+                Territory territoryCopy = new Territory(territory.getName(), territory.getContinent());
+                territoryCopy.setNeighbors(new Vector<>(territory.getNeighbors()));
+                copy.addTerritory(territoryCopy, true);
+            }
+        }
+        return copy;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Parse and validate a map file, and compile the board state of the template
+     *
+     * @param mapName the map name
+     *
+     * @return the template
+     *
+     * @throws Exception the error of an invalid map or the exception of a file which cannot be read
+     */
+    private static GameMap readTemplate(String mapName) throws Exception {
+        GameMap template = MapFileParser.parse(mapName);
+        
+        String validateMsg = GameMapHelper.validateMap(template);
+        if (validateMsg.compareTo(Config.MSG_MAPFILE_VALID) != 0) {
+            throw new IllegalArgumentException(validateMsg);
+        }
+        
+        template.getBoardState();   // compiled once, so the forks of the template only read it
+        return template;
+    }
+    
+    /**
+     * Add a map to the cache, dropping the least recently used maps beyond the budget
+     *
+     * @param path  the absolute path of the map file
+     * @param entry the map
+     */
+    private static synchronized void put(Path path, Entry entry) {
+        remove(path);
+        entries.put(path, entry);
+        footprint += entry.footprint;
+        evict();
+    }
+    
+    /**
+     * Drop a map from the cache
+     *
+     * @param path the absolute path of the map file
+     */
+    private static synchronized void invalidate(Path path) {
+        remove(path);
+    }
+    
+    /**
+     * Remove a map from the cache
+     *
+     * @param path the absolute path of the map file
+     */
+    private static void remove(Path path) {
+        Entry entry = entries.remove(path);
+        if (entry != null) {
+            footprint -= entry.footprint;
+        }
+    }
+    
+    /**
+     * Drop the least recently used maps until the maps fit in the budget. The last used map is always kept.
+     */
+    private static void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while (footprint > budget && entries.size() > 1) {
+            footprint -= iterator.next().footprint;
+            iterator.remove();
+        }
+    }
+    
+    /**
+     * Get the absolute path of a file, the key of the cache
+     *
+     * @param filePath the path of the file
+     *
+     * @return the normalized absolute path
+     */
+    private static Path pathOf(String filePath) {
+        return Paths.get(filePath).toAbsolutePath().normalize();
+    }
+    // endregion
+    
+    // region Private classes
+    
+    /**
+     * A map file of the cache, with its template or its error
+     */
+    private static final class Entry {
+        private final long size;
+        private final FileTime lastModifiedTime;
+        private GameMap template;
+        private String error;
+        private long footprint;
+        
+        /**
+         * Instantiates a new entry for the current version of a file.
+         *
+         * @param attributes the attributes of the file
+         */
+        private Entry(BasicFileAttributes attributes) {
+            this.size = attributes.size();
+            this.lastModifiedTime = attributes.lastModifiedTime();
+        }
+        
+        /**
+         * Sets the template, and estimate its size
+         *
+         * @param template the template
+         */
+        private void setTemplate(GameMap template) {
+            this.template = template;
+            footprint = (long) template.getContinentsCount() * CONTINENT_FOOTPRINT;
+            for (Territory territory : template.getTerritories().values()) {
+                footprint += TERRITORY_FOOTPRINT + (long) territory.getNeighborsCount() * NEIGHBOR_FOOTPRINT;
+            }
+        }
+        
+        /**
+         * Sets the error of an invalid map
+         *
+         * @param error the error message
+         */
+        private void setError(String error) {
+            this.error = error;
+            footprint = error.length() * 2L;
+        }
+        
+        /**
+         * Check if the file was not modified since the entry was made
+         *
+         * @param attributes the current attributes of the file
+         *
+         * @return true if the file has the same size and modification time
+         */
+        private boolean isFileUnchanged(BasicFileAttributes attributes) {
+            return size == attributes.size() && lastModifiedTime.equals(attributes.lastModifiedTime());
+        }
+    }
+    // endregion
+}
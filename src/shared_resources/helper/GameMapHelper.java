@@ -41,134 +41,36 @@ public class GameMapHelper {
     /**
      * Input: map text file name path
      * Output: A GameMap object containing map's info including territories, continents, adjacency
-     * Operation: read the map text file content line by line to get map info.
+     * Operation: read the map text file in one buffer and tokenize its bytes in place to get map info, then validate it.
+     * The map is read once and kept in the cache of maps until its file is modified; every call gets its own copy
+     * of the map, which can be edited.
      *
      * @param mapName the map name
      *
      * @return the game map
      *
      * @throws Exception the exception
+     * @see MapFileParser
+     * @see GameMapCache
      */
     public static GameMap loadGameMap(String mapName) throws Exception {
-        GameMap gameMap;
-        BufferedReader bufferedReader;
-        String mapPath = Config.MAPS_FOLDER + mapName;
-        File file = new File(mapPath);
-        bufferedReader = new BufferedReader(new FileReader(file));
-        String line;
-        int lineCounter = 0;
-        
-        gameMap = new GameMap(mapName);
-        Map<String, Continent> continentsMap = new HashMap<>();
-        Set<String> allNeighbors = new HashSet<>(); // Used to check Territories and Neighbors declaration match
-        MAP_PARTS mapParts = null;
-        while ((line = bufferedReader.readLine()) != null) {
-            lineCounter++;
-            switch (line = line.trim()) {
-                case Config.MAPS_FLAG_MAP:
-                    mapParts = MAP_PARTS.MAP;
-                    continue;
-                case Config.MAPS_FLAG_CONTINENTS:
-                    mapParts = MAP_PARTS.CONTINENTS;
-                    continue;
-                case Config.MAPS_FLAG_TERRITORIES:
-                    mapParts = MAP_PARTS.TERRITORIES;
-                    continue;
-            }
-            
-            if (mapParts != null) {
-                if (line.trim().compareTo("") != 0) {
-                    line = line.trim().toLowerCase();
-                    switch (mapParts) {
-                        case MAP:
-                            String[] lineContent = line.split(Config.MAPS_DELIMITER_MAP);
-                            switch (lineContent[0].trim()) {
-                                case Config.MAPS_AUTHOR:
-                                case Config.MAPS_IMAGE:
-                                case Config.MAPS_WRAP:
-                                case Config.MAPS_SCROLL:
-                                case Config.MAPS_WARN:
-                                    // Intentionally do nothing
-                                    break;
-                            }
-                            break;
-                        case CONTINENTS:
-                            try {
-                                String[] continentInfo = line.split(Config.MAPS_DELIMITER_CONTINENTS);
-                            
-                            /* Check if info is missing or redundant */
-                                if (continentInfo.length != 2) {
-                                    throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_INVALID_FORMAT, lineCounter));
-                                }
+        return GameMapCache.copyOf(GameMapCache.getTemplate(mapName));
+    }
     
-                            /* Check for duplicated continents declaration */
-                                if (continentsMap.containsKey(continentInfo[0].trim())) {
-                                    throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_CONTINENT_DUPLICATED, lineCounter));
-                                }
-                                
-                                Continent continent = new Continent(continentInfo[0].trim(), Integer.parseInt(continentInfo[1].trim()));
-                                continentsMap.put(continent.getName(), continent);
-                                gameMap.addContinent(continent);
-                            } catch (NumberFormatException | ArrayIndexOutOfBoundsException e) {
-                                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_INVALID_FORMAT, lineCounter));
-                            }
-                            break;
-                        case TERRITORIES:
-                            String[] territoryInfo = line.split(Config.MAPS_DELIMITER_TERRITORIES);
-                            
-                            /* Check if the territory has no neighbors or is missing some info */
-                            if (territoryInfo.length < 4) {
-                                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_INVALID_FORMAT, lineCounter));
-                            }
-                            
-                            /* Check if coordinate info is missing */
-                            try {
-                                Integer.parseInt(territoryInfo[1].trim());
-                                Integer.parseInt(territoryInfo[2].trim());
-                            } catch (NumberFormatException | ArrayIndexOutOfBoundsException | NullPointerException e) {
-                                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_INVALID_FORMAT, lineCounter));
-                            }
-                            
-                            /* Check if the continent is declared in advanced */
-                            Continent continent = continentsMap.getOrDefault(territoryInfo[3].trim(), null);
-                            if (continent == null) {
-                                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_CONTINENT_NOT_DEFINED, lineCounter));
-                            }
-                            
-                            /* Check if the territory is declared in advanced */
-                            if (gameMap.getATerritory(territoryInfo[0].trim()) != null) {
-                                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_TERRITORY_DUPLICATED, lineCounter));
-                            }
-                            
-                            /* If no problem, continue to process */
-                            Territory territory = new Territory(territoryInfo[0].trim(), continent.getName());
-                            for (int i = 4; i < territoryInfo.length; i++) {
-                                territory.addNeighbor(territoryInfo[i].trim());
-                                allNeighbors.add(territoryInfo[i].trim());
-                            }
-                            gameMap.addTerritory(territory, true);
-                            break;
-                        default:
-                            break;
-                    }
-                }
-            } else {
-                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_INVALID_FORMAT, lineCounter));
-            }
-        }
-        
-        /* Check if territories and neighbors declaration match */
-        if (allNeighbors.size() != gameMap.getTerritoriesCount()) {
-            throw new IllegalArgumentException(Config.MSG_MAPFILE_TERRITORY_NOT_DEFINED);
-        }
-        
-        String validateMsg = validateMap(gameMap);
-        if (validateMsg.compareTo(Config.MSG_MAPFILE_VALID) != 0) {
-            throw new IllegalArgumentException(validateMsg);
-        }
-        
-        bufferedReader.close();
-        return gameMap;
+    /**
+     * Get a new game map to be played, from the cache of maps.
+     * The map shares the continents, territory names and neighbors of the cached map and only has its own board state,
+     * so it is much cheaper to make than a copy. Editing its continents or territories is not supported.
+     *
+     * @param mapName the map name
+     *
+     * @return the game map
+     *
+     * @throws Exception the exception
+     * @see GameMap#fork(Map)
+     */
+    public static GameMap instantiateGameMap(String mapName) throws Exception {
+        return GameMapCache.getTemplate(mapName).fork(Collections.emptyMap());
     }
     // endregion
     
@@ -213,18 +115,58 @@ public class GameMapHelper {
             }
         }
         
+        /* Number the territories in the order of their names, and link them to their neighbors by number */
+        Vector<Territory> territories = new Vector<>(gameMap.getTerritories().values());
+        Map<String, Integer> territoryIDs = new HashMap<>();
+        for (int id = 0; id < territories.size(); id++) {
+            territoryIDs.put(territories.get(id).getName(), id);
+        }
+        int[][] neighbors = new int[territories.size()][];
+        int[] reversedNeighborsCount = new int[territories.size()];
+        boolean hasUndefinedNeighbor = false;
+        for (int id = 0; id < territories.size(); id++) {
+            Vector<String> neighborNames = territories.get(id).getNeighbors();
+            int[] neighborIDs = new int[neighborNames.size()];
+            int neighborsCount = 0;
+            for (String neighborName : neighborNames) {
+                Integer neighborID = territoryIDs.get(neighborName);
+                if (neighborID == null) {
+                    hasUndefinedNeighbor = true;
+                } else {
+                    neighborIDs[neighborsCount++] = neighborID;
+                    reversedNeighborsCount[neighborID]++;
+                }
+            }
+            neighbors[id] = Arrays.copyOf(neighborIDs, neighborsCount);
+        }
+        int[][] reversedNeighbors = reverse(neighbors, reversedNeighborsCount);
+        
         /* 5. Each continent has at least one territory */
         /* 6. Each and every continent is a connected sub-graph */
+        boolean[] members = new boolean[territories.size()];
         for (Continent continent : gameMap.getContinents().values()) {
             if (continent.getTerritoriesCount() == 0) {
                 return String.format(Config.MSG_MAPFILE_CONTINENT_NO_TERRITORY, continent.getName());
-            } else if (!isConnectedGraph(gameMap, continent)) {
+            }
+            Arrays.fill(members, false);
+            for (String territoryName : continent.getTerritories()) {
+                Integer id = territoryIDs.get(territoryName);
+                if (id != null) {
+                    members[id] = true;
+                }
+            }
+            Integer firstID = territoryIDs.get(continent.getTerritories().firstElement());
+            if (firstID == null || !isConnectedGraph(neighbors, reversedNeighbors, members, continent.getTerritoriesCount(), firstID)) {
                 return String.format(Config.MSG_MAPFILE_DISCONNECTED_CONTINENT, continent.getName());
             }
         }
         
         /* 7. The whole map is a connected graph */
-        if (!isConnectedGraph(gameMap)) {
+        if (hasUndefinedNeighbor) {
+            return Config.MSG_MAPFILE_TERRITORY_NOT_DEFINED;
+        }
+        Arrays.fill(members, true);
+        if (!isConnectedGraph(neighbors, reversedNeighbors, members, territories.size(), 0)) {
             return Config.MSG_MAPFILE_DISCONNECTED_GRAPH;
         }
         
@@ -285,6 +227,7 @@ public class GameMapHelper {
             if (writer != null) {
                 writer.close();
             }
+            GameMapCache.invalidate(path);
         }
     }
     
@@ -305,110 +248,78 @@ public class GameMapHelper {
         }
         return mapFiles;
     }
-    
-    /**
-     * The game map is supposed to be a strongly connected graph
-     * Meaning there is a path from any territory to any another territory in the map
-     * A path is a collection of 1-way relationship from one territory to another
-     * Using Depth-First-Search algorithm to check if there is a path from one territory to all others
-     * Run the algorithm with all the territory in the map
-     * If all territories can use DFS to reach all other nodes, the map is strongly connected
-     *
-     * @param gameMap the game map
-     *
-     * @return true if the graph is connected, false if it is not
-     */
-    private static boolean isConnectedGraph(GameMap gameMap) {
-        int totalNodesCount = gameMap.getTerritoriesCount();
-        boolean isConnected = true;
-        
-        /* Run DFS on each & every node (territory) of the graph (map) */
-        for (Territory territory : gameMap.getTerritories().values()) {
-            Set<String> visitedNodesSet = new HashSet<>();
-            DFSVisit(gameMap, visitedNodesSet, territory);
-            if (visitedNodesSet.size() != totalNodesCount) {
-                isConnected = false;
-                break;
-            }
-        }
-        
-        return isConnected;
-    }
     // endregion
     
     // region Private methods
     
     /**
-     * Actual functions to run DFS recursively on nodes of graphs
+     * The game map and its continents are supposed to be strongly connected graphs
+     * Meaning there is a path from any territory to any another territory of the graph
+     * A path is a collection of 1-way relationships from one territory to another
+     * This is the case if and only if one territory reaches all the others, and all the others reach it back
+     * Using Depth-First-Search algorithm from one territory on the neighbors, then on the reversed neighbors
      *
-     * @param gameMap         the game map
-     * @param visitedNodesSet the visited nodes set
-     * @param territory       the territory to be visited
+     * @param neighbors         the IDs of the neighbors of each territory
+     * @param reversedNeighbors the IDs of the territories having each territory as neighbor
+     * @param members           true for the territories of the graph
+     * @param membersCount      the number of territories of the graph
+     * @param startID           the ID of a territory of the graph
+     *
+     * @return true if the graph is connected, false if it is not
      */
-    private static void DFSVisit(GameMap gameMap, Set<String> visitedNodesSet, Territory territory) {
-        visitedNodesSet.add(territory.getName());
-        for (String neighborName : territory.getNeighbors()) {
-            if (!visitedNodesSet.contains(neighborName)) {
-                DFSVisit(gameMap, visitedNodesSet, gameMap.getATerritory(neighborName));
-            }
-        }
+    private static boolean isConnectedGraph(int[][] neighbors, int[][] reversedNeighbors, boolean[] members, int membersCount, int startID) {
+        return DFSVisit(neighbors, members, startID) == membersCount && DFSVisit(reversedNeighbors, members, startID) == membersCount;
     }
     
     /**
-     * Continents are supposed to be strongly connected graphs
-     * Meaning there is a path from any territory to any another territory in the continent
-     * A path is a collection of 1-way relationships from one territory to another
-     * Using Depth-First-Search algorithm to check if there is a path from one territory to all others
-     * Run the algorithm with all the territories in the continent
-     * If all territories can use DFS to reach all other nodes, the continent is strongly connected
+     * Run DFS iteratively from a territory, through the neighbors which belong to the graph
      *
-     * @param gameMap   the game map
-     * @param continent the continent
+     * @param neighbors the IDs of the neighbors of each territory
+     * @param members   true for the territories of the graph
+     * @param startID   the ID of the territory to start from
      *
-     * @return true if the continent is connected, false if it is not
+     * @return the number of visited territories
      */
-    private static boolean isConnectedGraph(GameMap gameMap, Continent continent) {
-        int totalNodesCount = continent.getTerritoriesCount();
-        boolean isConnected = true;
-        
-        /* Run DFS on each & every node (territory) of the graph (map) */
-        for (String territoryName : continent.getTerritories()) {
-            Set<String> visitedNodesSet = new HashSet<>();
-            Territory territory = gameMap.getATerritory(territoryName);
-            DFSVisit(gameMap, continent, visitedNodesSet, territory);
-            if (visitedNodesSet.size() != totalNodesCount) {
-                isConnected = false;
-                break;
+    private static int DFSVisit(int[][] neighbors, boolean[] members, int startID) {
+        boolean[] visited = new boolean[neighbors.length];
+        int[] stack = new int[neighbors.length];
+        int stackSize = 0;
+        int visitedCount = 0;
+        visited[startID] = true;
+        stack[stackSize++] = startID;
+        while (stackSize > 0) {
+            int id = stack[--stackSize];
+            visitedCount++;
+            for (int neighborID : neighbors[id]) {
+                if (members[neighborID] && !visited[neighborID]) {
+                    visited[neighborID] = true;
+                    stack[stackSize++] = neighborID;
+                }
             }
         }
-        
-        return isConnected;
+        return visitedCount;
     }
     
     /**
-     * Actual functions to run DFS recursively on nodes of graphs
+     * Reverse the relationships between the territories
+     *
+     * @param neighbors              the IDs of the neighbors of each territory
+     * @param reversedNeighborsCount the number of territories having each territory as neighbor
      *
-     * @param gameMap         the game map
-     * @param continent       the continent
-     * @param visitedNodesSet the visited nodes set
-     * @param territory       the territory to be visited
+     * @return the IDs of the territories having each territory as neighbor
      */
-    private static void DFSVisit(GameMap gameMap, Continent continent, Set<String> visitedNodesSet, Territory territory) {
-        visitedNodesSet.add(territory.getName());
-        for (String neighborName : territory.getNeighbors()) {
-            if (continent.isContain(neighborName) && !visitedNodesSet.contains(neighborName)) {
-                DFSVisit(gameMap, continent, visitedNodesSet, gameMap.getATerritory(neighborName));
+    private static int[][] reverse(int[][] neighbors, int[] reversedNeighborsCount) {
+        int[][] reversedNeighbors = new int[neighbors.length][];
+        for (int id = 0; id < neighbors.length; id++) {
+            reversedNeighbors[id] = new int[reversedNeighborsCount[id]];
+            reversedNeighborsCount[id] = 0;
+        }
+        for (int id = 0; id < neighbors.length; id++) {
+            for (int neighborID : neighbors[id]) {
+                reversedNeighbors[neighborID][reversedNeighborsCount[neighborID]++] = id;
             }
         }
-    }
-    
-    /**
-     * The map entities
-     */
-    private enum MAP_PARTS {
-        MAP,
-        CONTINENTS,
-        TERRITORIES
+        return reversedNeighbors;
     }
     // endregion
 }
@@ -0,0 +1,556 @@
+/*
+ * Risk Game Team 2
+ * MapFileParser.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.helper;
+
+import shared_resources.game_entities.Continent;
+import shared_resources.game_entities.GameMap;
+import shared_resources.game_entities.Territory;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import static shared_resources.utilities.Config.*;
+
+/**
+ * The parser of the map text files
+ * <ul>
+ * <li> The file is read in one buffer and tokenized in place: the lines, the fields and the coordinates are found
+ * by scanning the bytes, without a string for each line or field
+ * <li> The files of MIN_MAPPED_BYTES or more are memory-mapped instead of read. A mapped file stays mapped until
+ * its buffer is garbage collected, and Windows cannot rewrite it until then, so the usual maps of a few KB are read.
+ * <li> The names of the continents and territories are interned in a symbol table keyed by their position in the
+ * file, so a territory declared once and listed as a neighbor ten times is turned into a string only once
+ * <li> It reads the lines as BufferedReader.readLine does, and reports the same MSG_MAPFILE_* errors with the
+ * same line numbers as reading the file line by line
+ * </ul>
+ * The names are lowercased byte by byte when they are ASCII, and decoded with the default charset of the platform
+ * then lowercased when they are not.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameMapHelper#loadGameMap(String)
+ */
+final class MapFileParser {
+    // region Attributes declaration
+    private static final byte[] FLAG_MAP = MAPS_FLAG_MAP.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FLAG_CONTINENTS = MAPS_FLAG_CONTINENTS.getBytes(StandardCharsets.US_ASCII);
+    private static final byte[] FLAG_TERRITORIES = MAPS_FLAG_TERRITORIES.getBytes(StandardCharsets.US_ASCII);
+    private static final byte DELIMITER_MAP = (byte) MAPS_DELIMITER_MAP.charAt(0);
+    private static final byte DELIMITER_CONTINENTS = (byte) MAPS_DELIMITER_CONTINENTS.charAt(0);
+    private static final byte DELIMITER_TERRITORIES = (byte) MAPS_DELIMITER_TERRITORIES.charAt(0);
+    private static final int INITIAL_FIELDS = 16;
+    private static final int INITIAL_SYMBOLS = 256;
+    private static final long MIN_MAPPED_BYTES = 1 << 20;     // the smaller files are read into the heap
+    private final ByteBuffer bytes;
+    private final Charset charset;
+    private int[] fieldStarts;
+    private int[] fieldEnds;
+    private int fieldsCount;
+    private int[] symbolStarts;
+    private int[] symbolLengths;
+    private int[] symbolHashes;
+    private String[] symbols;
+    private int symbolsCount;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new parser of the bytes of a map file.
+     *
+     * @param bytes the content of the file
+     */
+    private MapFileParser(ByteBuffer bytes) {
+        this.bytes = bytes;
+        this.charset = Charset.defaultCharset();
+        this.fieldStarts = new int[INITIAL_FIELDS];
+        this.fieldEnds = new int[INITIAL_FIELDS];
+        this.symbolStarts = new int[INITIAL_SYMBOLS];
+        this.symbolLengths = new int[INITIAL_SYMBOLS];
+        this.symbolHashes = new int[INITIAL_SYMBOLS];
+        this.symbols = new String[INITIAL_SYMBOLS];
+    }
+    // endregion
+    
+    // region Package methods
+    
+    /**
+     * Read or memory-map a map file of the maps folder and read its continents and territories.
+     * The territories and neighbors are not validated as a graph, see GameMapHelper.validateMap.
+     *
+     * @param mapName the map name
+     *
+     * @return the game map
+     *
+     * @throws IOException if the file cannot be read
+     */
+    static GameMap parse(String mapName) throws IOException {
+        File file = new File(MAPS_FOLDER + mapName);
+        ByteBuffer content;
+        try (FileInputStream stream = new FileInputStream(file); FileChannel channel = stream.getChannel()) {
+            long size = channel.size();
+            if (size >= MIN_MAPPED_BYTES) {
+                content = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            } else {
+                content = ByteBuffer.allocate((int) size);
+                while (content.hasRemaining()) {
+                    if (channel.read(content) < 0) {
+                        break;
+                    }
+                }
+                content.flip();
+            }
+        }
+        return new MapFileParser(content).readGameMap(mapName);
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Read the lines of the file, switching to a part of the map at each flag
+     *
+     * @param mapName the map name
+     *
+     * @return the game map
+     */
+    private GameMap readGameMap(String mapName) {
+        GameMap gameMap = new GameMap(mapName);
+        Map<String, Continent> continentsMap = new HashMap<>();
+        Set<String> allNeighbors = new HashSet<>(); // Used to check Territories and Neighbors declaration match
+        MAP_PARTS mapParts = null;
+        int lineCounter = 0;
+        int limit = bytes.limit();
+        int position = 0;
+        while (position < limit) {
+            int lineEnd = position;
+            byte b;
+            while (lineEnd < limit && (b = bytes.get(lineEnd)) != '\n' && b != '\r') {
+                lineEnd++;
+            }
+            int start = trimStart(position, lineEnd);
+            int end = trimEnd(start, lineEnd);
+            position = lineEnd + 1;
+            if (lineEnd < limit && bytes.get(lineEnd) == '\r' && position < limit && bytes.get(position) == '\n') {
+                position++;
+            }
+            lineCounter++;
+            
+            if (equalsFlag(start, end, FLAG_MAP)) {
+                mapParts = MAP_PARTS.MAP;
+                continue;
+            } else if (equalsFlag(start, end, FLAG_CONTINENTS)) {
+                mapParts = MAP_PARTS.CONTINENTS;
+                continue;
+            } else if (equalsFlag(start, end, FLAG_TERRITORIES)) {
+                mapParts = MAP_PARTS.TERRITORIES;
+                continue;
+            }
+            
+            if (mapParts == null) {
+                throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+            }
+            if (start == end) {
+                continue;
+            }
+            switch (mapParts) {
+                case CONTINENTS:
+                    readContinent(gameMap, continentsMap, start, end, lineCounter);
+                    break;
+                case TERRITORIES:
+                    readTerritory(gameMap, continentsMap, allNeighbors, start, end, lineCounter);
+                    break;
+                default:
+                    /* The author, image, wrap, scroll and warn of the map are intentionally ignored, but a line of
+                     * delimiters only has no key */
+                    splitFields(start, end, DELIMITER_MAP);
+                    if (fieldsCount == 0) {
+                        throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+                    }
+                    break;
+            }
+        }
+        
+        /* Check if territories and neighbors declaration match */
+        if (allNeighbors.size() != gameMap.getTerritoriesCount()) {
+            throw new IllegalArgumentException(MSG_MAPFILE_TERRITORY_NOT_DEFINED);
+        }
+        return gameMap;
+    }
+    
+    /**
+     * Read a continent line: the continent name and its control value
+     *
+     * @param gameMap       the game map
+     * @param continentsMap the continents read so far
+     * @param start         the index of the first byte of the trimmed line
+     * @param end           the index after the last byte of the trimmed line
+     * @param lineCounter   the line number
+     */
+    private void readContinent(GameMap gameMap, Map<String, Continent> continentsMap, int start, int end, int lineCounter) {
+        splitFields(start, end, DELIMITER_CONTINENTS);
+        
+        /* Check if info is missing or redundant */
+        if (fieldsCount != 2) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+        }
+        
+        /* Check for duplicated continents declaration */
+        String continentName = fieldSymbol(0);
+        if (continentsMap.containsKey(continentName)) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_CONTINENT_DUPLICATED, lineCounter));
+        }
+        
+        Continent continent = new Continent(continentName, fieldInteger(1, lineCounter));
+        continentsMap.put(continent.getName(), continent);
+        gameMap.addContinent(continent);
+    }
+    
+    /**
+     * Read a territory line: the territory name, its coordinates, its continent and its neighbors
+     *
+     * @param gameMap       the game map
+     * @param continentsMap the continents read so far
+     * @param allNeighbors  the neighbors read so far
+     * @param start         the index of the first byte of the trimmed line
+     * @param end           the index after the last byte of the trimmed line
+     * @param lineCounter   the line number
+     */
+    private void readTerritory(GameMap gameMap, Map<String, Continent> continentsMap, Set<String> allNeighbors,
+                               int start, int end, int lineCounter) {
+        splitFields(start, end, DELIMITER_TERRITORIES);
+        
+        /* Check if the territory has no neighbors or is missing some info */
+        if (fieldsCount < 4) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+        }
+        
+        /* Check if coordinate info is missing */
+        fieldInteger(1, lineCounter);
+        fieldInteger(2, lineCounter);
+        
+        /* Check if the continent is declared in advanced */
+        Continent continent = continentsMap.getOrDefault(fieldSymbol(3), null);
+        if (continent == null) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_CONTINENT_NOT_DEFINED, lineCounter));
+        }
+        
+        /* Check if the territory is declared in advanced */
+        String territoryName = fieldSymbol(0);
+        if (gameMap.getATerritory(territoryName) != null) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_TERRITORY_DUPLICATED, lineCounter));
+        }
+        
+        /* If no problem, continue to process */
+        Territory territory = new Territory(territoryName, continent.getName());
+        for (int i = 4; i < fieldsCount; i++) {
+            String neighborName = fieldSymbol(i);
+            territory.addNeighbor(neighborName);
+            allNeighbors.add(neighborName);
+        }
+        gameMap.addTerritory(territory, true);
+    }
+    
+    /**
+     * Find the fields of a line between the delimiters. As String.split does, the trailing empty fields are
+     * dropped, and the fields are not trimmed.
+     *
+     * @param start     the index of the first byte of the line
+     * @param end       the index after the last byte of the line
+     * @param delimiter the delimiter of the fields
+     */
+    private void splitFields(int start, int end, byte delimiter) {
+        fieldsCount = 0;
+        int fieldStart = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || bytes.get(i) == delimiter) {
+                if (fieldsCount == fieldStarts.length) {
+                    fieldStarts = Arrays.copyOf(fieldStarts, fieldsCount * 2);
+                    fieldEnds = Arrays.copyOf(fieldEnds, fieldsCount * 2);
+                }
+                fieldStarts[fieldsCount] = fieldStart;
+                fieldEnds[fieldsCount] = i;
+                fieldsCount++;
+                fieldStart = i + 1;
+            }
+        }
+        while (fieldsCount > 0 && fieldStarts[fieldsCount - 1] == fieldEnds[fieldsCount - 1]) {
+            fieldsCount--;
+        }
+    }
+    
+    /**
+     * Get the trimmed and lowercased text of a field, from the symbol table
+     *
+     * @param field the index of the field in the line
+     *
+     * @return the interned name
+     */
+    private String fieldSymbol(int field) {
+        int start = trimStart(fieldStarts[field], fieldEnds[field]);
+        return intern(start, trimEnd(start, fieldEnds[field]));
+    }
+    
+    /**
+     * Parse the trimmed text of a field as Integer.parseInt does, without making a string when it is ASCII
+     *
+     * @param field       the index of the field in the line
+     * @param lineCounter the line number, for the error
+     *
+     * @return the integer
+     */
+    private int fieldInteger(int field, int lineCounter) {
+        int start = trimStart(fieldStarts[field], fieldEnds[field]);
+        int end = trimEnd(start, fieldEnds[field]);
+        if (!isAscii(start, end)) {
+            try {
+                return Integer.parseInt(decode(start, end).toLowerCase());
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+            }
+        }
+        
+        int i = start;
+        boolean negative = false;
+        if (i < end && (bytes.get(i) == '-' || bytes.get(i) == '+')) {
+            negative = bytes.get(i) == '-';
+            i++;
+        }
+        if (i == end) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+        }
+        
+        /* Accumulate negatively, so Integer.MIN_VALUE does not overflow */
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = bytes.get(i) - '0';
+            if (digit < 0 || digit > 9) {
+                throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+            }
+            value = value * 10 - digit;
+            if (value < Integer.MIN_VALUE) {
+                throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+            }
+        }
+        if (!negative && value == Integer.MIN_VALUE) {
+            throw new IllegalArgumentException(String.format(MSG_MAPFILE_INVALID_FORMAT, lineCounter));
+        }
+        return (int) (negative ? value : -value);
+    }
+    
+    /**
+     * Get the lowercased name between two indexes of the file, making it only the first time it is met.
+     * The symbol table is an open addressing hash table of positions in the file, compared ignoring the ASCII case.
+     *
+     * @param start the index of the first byte of the name
+     * @param end   the index after the last byte of the name
+     *
+     * @return the interned name
+     */
+    private String intern(int start, int end) {
+        int hash = 0;
+        for (int i = start; i < end; i++) {
+            hash = 31 * hash + toLowerCase(bytes.get(i));
+        }
+        
+        int mask = symbols.length - 1;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+        while (symbols[slot] != null) {
+            if (symbolHashes[slot] == hash && symbolLengths[slot] == end - start && sameSymbol(symbolStarts[slot], start, end - start)) {
+                return symbols[slot];
+            }
+            slot = (slot + 1) & mask;
+        }
+        
+        String symbol = isAscii(start, end) ? asciiLowerCase(start, end) : decode(start, end).toLowerCase();
+        symbolStarts[slot] = start;
+        symbolLengths[slot] = end - start;
+        symbolHashes[slot] = hash;
+        symbols[slot] = symbol;
+        if (++symbolsCount * 2 > symbols.length) {
+            growSymbols();
+        }
+        return symbol;
+    }
+    
+    /**
+     * Double the capacity of the symbol table
+     */
+    private void growSymbols() {
+        int[] oldStarts = symbolStarts;
+        int[] oldLengths = symbolLengths;
+        int[] oldHashes = symbolHashes;
+        String[] oldSymbols = symbols;
+        symbolStarts = new int[oldSymbols.length * 2];
+        symbolLengths = new int[oldSymbols.length * 2];
+        symbolHashes = new int[oldSymbols.length * 2];
+        symbols = new String[oldSymbols.length * 2];
+        int mask = symbols.length - 1;
+        for (int oldSlot = 0; oldSlot < oldSymbols.length; oldSlot++) {
+            if (oldSymbols[oldSlot] != null) {
+                int hash = oldHashes[oldSlot];
+                int slot = (hash ^ (hash >>> 16)) & mask;
+                while (symbols[slot] != null) {
+                    slot = (slot + 1) & mask;
+                }
+                symbolStarts[slot] = oldStarts[oldSlot];
+                symbolLengths[slot] = oldLengths[oldSlot];
+                symbolHashes[slot] = hash;
+                symbols[slot] = oldSymbols[oldSlot];
+            }
+        }
+    }
+    
+    /**
+     * Check if two names of the file are the same, ignoring the ASCII case
+     *
+     * @param first  the index of the first name
+     * @param second the index of the second name
+     * @param length the length of the names
+     *
+     * @return true if they are the same name
+     */
+    private boolean sameSymbol(int first, int second, int length) {
+        for (int i = 0; i < length; i++) {
+            if (toLowerCase(bytes.get(first + i)) != toLowerCase(bytes.get(second + i))) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Check if a trimmed line is a flag of the map parts. The flags are case sensitive.
+     *
+     * @param start the index of the first byte of the line
+     * @param end   the index after the last byte of the line
+     * @param flag  the flag
+     *
+     * @return true if the line is the flag
+     */
+    private boolean equalsFlag(int start, int end, byte[] flag) {
+        if (end - start != flag.length) {
+            return false;
+        }
+        for (int i = 0; i < flag.length; i++) {
+            if (bytes.get(start + i) != flag[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Skip the leading white spaces and control characters, as String.trim does
+     *
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     *
+     * @return the index of the first byte which is not a white space
+     */
+    private int trimStart(int start, int end) {
+        while (start < end && (bytes.get(start) & 0xFF) <= ' ') {
+            start++;
+        }
+        return start;
+    }
+    
+    /**
+     * Skip the trailing white spaces and control characters, as String.trim does
+     *
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     *
+     * @return the index after the last byte which is not a white space
+     */
+    private int trimEnd(int start, int end) {
+        while (end > start && (bytes.get(end - 1) & 0xFF) <= ' ') {
+            end--;
+        }
+        return end;
+    }
+    
+    /**
+     * Check if the bytes between two indexes are ASCII characters
+     *
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     *
+     * @return true if they are all ASCII
+     */
+    private boolean isAscii(int start, int end) {
+        for (int i = start; i < end; i++) {
+            if (bytes.get(i) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+    
+    /**
+     * Make the lowercased string of ASCII bytes
+     *
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     *
+     * @return the string
+     */
+    private String asciiLowerCase(int start, int end) {
+        char[] chars = new char[end - start];
+        for (int i = start; i < end; i++) {
+            chars[i - start] = (char) toLowerCase(bytes.get(i));
+        }
+        return new String(chars);
+    }
+    
+    /**
+     * Decode the bytes between two indexes with the default charset, as FileReader does
+     *
+     * @param start the index of the first byte
+     * @param end   the index after the last byte
+     *
+     * @return the string
+     */
+    private String decode(int start, int end) {
+        byte[] text = new byte[end - start];
+        for (int i = start; i < end; i++) {
+            text[i - start] = bytes.get(i);
+        }
+        return new String(text, charset);
+    }
+    
+    /**
+     * Lowercase an ASCII letter
+     *
+     * @param b the byte
+     *
+     * @return the lowercased byte, or the byte itself if it is not an uppercase ASCII letter
+     */
+    private static int toLowerCase(byte b) {
+        return (b >= 'A' && b <= 'Z') ? b + ('a' - 'A') : b;
+    }
+    
+    /**
+     * The map entities
+     */
+    private enum MAP_PARTS {
+        MAP,
+        CONTINENTS,
+        TERRITORIES
+    }
+    // endregion
+}
@@ -7,16 +7,16 @@
 package shared_resources.strategy;
 
 import game_play.model.GamePlayModel;
-import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.BattleOdds;
 import shared_resources.game_entities.Player;
 import shared_resources.game_entities.Territory;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Random;
 import java.util.Vector;
 
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TRACE;
 
 /**
  * The aggressive AI strategy. Reinforces its strongest country, then always attacks with it until it
@@ -36,7 +36,7 @@ public class AggressiveBot extends Bot {
         /* find the strongest territory and reinforce that territory */
         Player player = gamePlayModel.getCurrentPlayer();
         Territory strongestTerritory = findStrongestTerritory(player.getTerritories());
-        log.append("    " + player.getPlayerName() + "'s strongest territory is " +
+        gamePlayModel.getLog().append(TRACE, () -> "    " + player.getPlayerName() + "'s strongest territory is " +
                 strongestTerritory.getName() + " having " + strongestTerritory.getArmies() + " armies");
         if (armiesToPlace != null) {
             armiesToPlace.clear();
@@ -44,13 +44,15 @@ public class AggressiveBot extends Bot {
             armiesToPlace = new HashMap<>();
         }
         armiesToPlace.put(strongestTerritory, player.getUnallocatedArmies());
-        player.distributeArmies(armiesToPlace);
+        player.distributeArmies(gamePlayModel, armiesToPlace);
         
         return null;
     }
 
     /**
      * The attack of Aggressive bot attacks as long as it is allowed to with its strongest territory.
+     * It attacks the neighbor it has the best odds to conquer: as the odds go down with the defending armies,
+     * it is the neighbor with the fewest armies, found without computing the odds of every neighbor.
      *
      * @see shared_resources.strategy.PlayerType#attack(GamePlayModel)
      */
@@ -60,29 +62,36 @@ public class AggressiveBot extends Bot {
         Territory strongestTerritory = findStrongestTerritory(player.getTerritories());
         
         if (strongestTerritory.getArmies() < 2) {
-            log.append("        " + player.getPlayerName() + " cannot attack anymore (no more armies)");
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " cannot attack anymore (no more armies)");
             gamePlayModel.setCurrentBattle(null);
         } else {
-            // Find one of its neighbor owned by another player
+            // Find its neighbor owned by another player that it has the best odds to conquer
+            Territory target = null;
             for (String neighborName : strongestTerritory.getNeighbors()) {
                 Territory neighbor = gamePlayModel.getGameMap().getATerritory(neighborName);
                 
-                if (!neighbor.isOwnedBy(player)) {
-                    // Declare an attack using as many dice as possible
-                    int attackerDice;
-                    if (strongestTerritory.getArmies() > 3) {
-                        attackerDice = 3;
-                    } else if (strongestTerritory.getArmies() > 2){
-                        attackerDice = 2;
-                    } else {
-                        attackerDice = 1;
-                    }
-                    gamePlayModel.setCurrentBattle(new Battle(player, strongestTerritory, attackerDice,
-                            neighbor.getOwner(), neighbor));
-                    return;
+                if (!neighbor.isOwnedBy(player) && (target == null || neighbor.getArmies() < target.getArmies())) {
+                    target = neighbor;
+                }
+            }
+            if (target != null) {
+                // Declare an attack using as many dice as possible
+                int attackerDice;
+                if (strongestTerritory.getArmies() > 3) {
+                    attackerDice = 3;
+                } else if (strongestTerritory.getArmies() > 2){
+                    attackerDice = 2;
+                } else {
+                    attackerDice = 1;
                 }
+                Territory defendingTerritory = target;
+                gamePlayModel.getLog().append(TRACE, () -> "    " + player.getPlayerName() + " has " +
+                        Math.round(BattleOdds.getWinProbability(strongestTerritory, defendingTerritory) * 100) +
+                        "% odds to conquer " + defendingTerritory.getName());
+                gamePlayModel.declareBattle(strongestTerritory, attackerDice, target);
+                return;
             }
-            log.append("        " + player.getPlayerName() + " cannot attack anymore (no more neighboring enemy territories)");
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " cannot attack anymore (no more neighboring enemy territories)");
             gamePlayModel.setCurrentBattle(null);
         }
     }
@@ -114,13 +123,13 @@ public class AggressiveBot extends Bot {
     
         /* move armies */
         if (fromTerritory != null && fromTerritory.getArmies() >= 2) {
-            noOfArmies = fromTerritory.getArmies() - 1;
-            toTerritory.addArmies(noOfArmies);
-            fromTerritory.reduceArmies(noOfArmies);
-            log.append("        " + player.getPlayerName() + " moves " + noOfArmies + " armies from " +
+            int movedArmies = fromTerritory.getArmies() - 1;
+            toTerritory.addArmies(movedArmies);
+            fromTerritory.reduceArmies(movedArmies);
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " moves " + movedArmies + " armies from " +
                     fromTerritory.getName() + " to " + toTerritory.getName());
         } else {
-            log.append("        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
             return null;
         }
         
@@ -161,8 +170,7 @@ public class AggressiveBot extends Bot {
      * @return random neighbor territory
      */
     private Territory findRandomNeighbor(GamePlayModel gamePlayModel, Vector<String> neighbors) {
-        Random rand = new Random();
-        int randIndex = rand.nextInt(neighbors.size());
+        int randIndex = gamePlayModel.getRandom().nextInt(neighbors.size());
         return gamePlayModel.getGameMap().getATerritory(neighbors.get(randIndex));
     }
     
@@ -225,7 +233,7 @@ public class AggressiveBot extends Bot {
             int noOfArmies = gamePlayModel.getCurrentBattle().getAttackerDice().getRollsCount();
             fromTerritory.reduceArmies(noOfArmies);
             toTerritory.addArmies(noOfArmies);
-            log.append("            " + fromTerritory.getOwner().getPlayerName() + " moves " + noOfArmies + " armies from " +
+            gamePlayModel.getLog().append(BATTLE, () -> "            " + fromTerritory.getOwner().getPlayerName() + " moves " + noOfArmies + " armies from " +
                     fromTerritory.getName() + " to " + toTerritory.getName());
             
             gamePlayModel.eliminatePlayerIfPossible();
@@ -14,7 +14,8 @@ import java.util.HashMap;
 import java.util.Map;
 import java.util.Vector;
 
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TRACE;
 
 /**
  * The benevolent AI strategy. Reinforces its weakest countries, never attacks, then fortifies in order
@@ -34,7 +35,7 @@ public class BenevolentBot extends Bot {
         /* find the weakest territory and reinforce that territory */
         Player player = gamePlayModel.getCurrentPlayer();
         Territory weakestTerritory = findWeakestNeighbor(player);
-        log.append("    " + player.getPlayerName() + "'s weakest territory is " +
+        gamePlayModel.getLog().append(TRACE, () -> "    " + player.getPlayerName() + "'s weakest territory is " +
                 weakestTerritory.getName() + " having " + weakestTerritory.getArmies() + " armies");
         if (armiesToPlace != null) {
             armiesToPlace.clear();
@@ -43,7 +44,7 @@ public class BenevolentBot extends Bot {
         }
         
         armiesToPlace.put(weakestTerritory, player.getUnallocatedArmies());
-        player.distributeArmies(armiesToPlace);
+        player.distributeArmies(gamePlayModel, armiesToPlace);
         
         return "";
     }
@@ -56,7 +57,7 @@ public class BenevolentBot extends Bot {
     @Override
     public void attack(GamePlayModel gamePlayModel) {
         Player currentPlayer = gamePlayModel.getCurrentPlayer();
-        log.append("        " + currentPlayer.getPlayerName() + " quits attacking phase");
+        gamePlayModel.getLog().append(BATTLE, () -> "        " + currentPlayer.getPlayerName() + " quits attacking phase");
         gamePlayModel.setCurrentBattle(null);
     }
 
@@ -77,10 +78,10 @@ public class BenevolentBot extends Bot {
             Territory strongestTerritory = findStrongestTerritory(playersTerritories);
             Territory weakestNeighbor = findWeakestNeighbor(gamePlayModel, strongestTerritory.getNeighbors());
             if (weakestNeighbor != null && strongestTerritory.getArmies() - weakestNeighbor.getArmies() >= 2) {
-                noOfArmies = (strongestTerritory.getArmies() - weakestNeighbor.getArmies()) / 2;
-                strongestTerritory.reduceArmies(noOfArmies);
-                weakestNeighbor.addArmies(noOfArmies);
-                log.append("        " + player.getPlayerName() + " moves " + noOfArmies + " armies from " +
+                int movedArmies = (strongestTerritory.getArmies() - weakestNeighbor.getArmies()) / 2;
+                strongestTerritory.reduceArmies(movedArmies);
+                weakestNeighbor.addArmies(movedArmies);
+                gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " moves " + movedArmies + " armies from " +
                         strongestTerritory.getName() + " to " + weakestNeighbor.getName());
                 return "";
             } else {
@@ -88,7 +89,7 @@ public class BenevolentBot extends Bot {
             }
         }
         
-        log.append("        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
+        gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
         return "";
     }
     
@@ -14,7 +14,8 @@ import shared_resources.utilities.Config;
 
 import java.util.Vector;
 
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TRACE;
 
 /**
  * This class is parent class of all AI bot's classes
@@ -34,10 +35,10 @@ public abstract class Bot implements PlayerType {
         Vector<Card> cavalryCards = new Vector<>();
         Vector<Card> artilleryCards = new Vector<>();
         if (player.getPlayersHand().size() >= Config.MIN_CARDS_TO_TRADE) {
-            log.append("    " + player.getPlayerName() + "'s hand has");
+            gamePlayModel.getLog().append(TRACE, () -> "    " + player.getPlayerName() + "'s hand has");
             for (int i = 0; i < player.getPlayersHand().size(); i++) {
                 Card card = player.getPlayersHand().get(i);
-                log.append("        " + card.getCardType());
+                gamePlayModel.getLog().append(TRACE, () -> "        " + card.getCardType());
                 switch (card.getCardType()) {
                     case INFANTRY:
                         infantryCards.addElement(card);
@@ -95,7 +96,7 @@ public abstract class Bot implements PlayerType {
             }
             /* if cannot trade anymore */
             else {
-                log.append("    " + player.getPlayerName() + " cannot trade anymore");
+                gamePlayModel.getLog().append(TRACE, () -> "    " + player.getPlayerName() + " cannot trade anymore");
                 break;
             }
             
@@ -111,15 +112,11 @@ public abstract class Bot implements PlayerType {
     void conquerTerritoryForBots(GamePlayModel gamePlayModel) {
         Player winner = gamePlayModel.getCurrentPlayer();
         Territory defendingTerritory = gamePlayModel.getCurrentBattle().getDefendingTerritory();
-        Player loser = defendingTerritory.getOwner();
         
         defendingTerritory.setOwner(winner);
     
         /* declare the winner as a conqueror for this turn (to give cards) */
-        log.append("        " + defendingTerritory.getName() + " has been conquered by " + winner.getPlayerName());
+        gamePlayModel.getLog().append(BATTLE, () -> "        " + defendingTerritory.getName() + " has been conquered by " + winner.getPlayerName());
         winner.setHasConqueredTerritories(true);
-        
-        loser.removeTerritory(defendingTerritory.getName());
-        winner.addTerritory(defendingTerritory);
     }
 }
@@ -7,15 +7,17 @@
 package shared_resources.strategy;
 
 import game_play.model.GamePlayModel;
-import shared_resources.game_entities.Battle;
 import shared_resources.game_entities.Player;
 import shared_resources.game_entities.Territory;
+import shared_resources.game_entities.TerritoryGraph;
 import shared_resources.utilities.Config;
+import shared_resources.utilities.GameLog;
 
 import java.util.Map;
 import java.util.Vector;
 
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TRACE;
 
 /**
  * The cheater AI strategy. Reinforcement doubles the number of armies on all its countries, attacks automatically
@@ -38,7 +40,7 @@ public class CheaterBot extends Bot {
             } else {
                 territory.setArmies(Integer.MAX_VALUE);
             }
-            log.append("        " + player.getPlayerName() +
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() +
                     " doubles armies in " + territory.getName() + " to " + territory.getArmies());
         }
         return "";
@@ -54,18 +56,18 @@ public class CheaterBot extends Bot {
     public void attack(GamePlayModel gamePlayModel) {
         // Conquer all neighbors of all its territories without losing an army - awesome :))
         Player player = gamePlayModel.getCurrentPlayer();
-        Vector<Territory> conqueredTerritories = new Vector<>();
-        for (Territory territory : player.getTerritories()) {
-            for (String neighborName : territory.getNeighbors()) {
-                Territory neighbor = gamePlayModel.getGameMap().getATerritory(neighborName);
-                if (neighbor.getOwner() != player && !conqueredTerritories.contains(neighbor)) {
-                    gamePlayModel.setCurrentBattle(new Battle(player, territory, 1,
-                            neighbor.getOwner(), neighbor, 1));
-                    conqueredTerritories.add(neighbor);
-                    log.append("        " + neighbor.getName() + " of " +
-                            neighbor.getOwner().getPlayerName() + " has been conquered by " + player.getPlayerName() +
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+        for (Territory territory : player.getTerritories()) {     // the territories owned before this attack
+            int id = territory.getId();
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                Territory neighbor = graph.getTerritory(graph.neighborAt(edge));
+                Player defender = neighbor.getOwner();
+                if (defender != player) {
+                    gamePlayModel.declareBattle(territory, 1, neighbor).setDefendingDice(1);
+                    gamePlayModel.getLog().append(BATTLE, () -> "        " + neighbor.getName() + " of " +
+                            defender.getPlayerName() + " has been conquered by " + player.getPlayerName() +
                             " from " + territory.getName());
-                    neighbor.getOwner().removeTerritory(neighborName);
+                    neighbor.setOwner(player);
                     gamePlayModel.eliminatePlayerIfPossible();
                     if (gamePlayModel.getGameState() == Config.GAME_STATES.VICTORY) {
                         return;
@@ -73,10 +75,6 @@ public class CheaterBot extends Bot {
                 }
             }
         }
-        player.getTerritories().addAll(conqueredTerritories);
-        for (Territory justConqueredTerritory : conqueredTerritories) {
-            justConqueredTerritory.setOwner(player);
-        }
     }
 
     /**
@@ -90,9 +88,14 @@ public class CheaterBot extends Bot {
         // Double armies in all territories that have neighbors owned by other players
         boolean hasArmiesMoved = false;
         Player player = gamePlayModel.getCurrentPlayer();
+        GameLog log = gamePlayModel.getLog();
+        boolean logNeighbors = log.isEnabled(TRACE);
+        boolean logMoves = log.isEnabled(BATTLE);
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
         for (Territory territory : player.getTerritories()) {
-            for (String neighborName : territory.getNeighbors()) {
-                Territory neighbor = gamePlayModel.getGameMap().getATerritory(neighborName);
+            int id = territory.getId();
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                Territory neighbor = graph.getTerritory(graph.neighborAt(edge));
                 if (neighbor.getOwner() != player) {
                     hasArmiesMoved = true;
                     if (territory.getArmies() <= Integer.MAX_VALUE / 2) {
@@ -100,16 +103,20 @@ public class CheaterBot extends Bot {
                     } else {
                         territory.setArmies(Integer.MAX_VALUE);
                     }
-                    log.append("        " + territory.getName() + " has neighbor " +
-                            neighborName + " owned by " + neighbor.getOwner().getPlayerName());
-                    log.append("            " + player.getPlayerName() +
-                            " doubles armies in " + territory.getName() + " to " + territory.getArmies());
+                    if (logNeighbors) {
+                        log.append(TRACE, "        " + territory.getName() + " has neighbor " +
+                                neighbor.getName() + " owned by " + neighbor.getOwner().getPlayerName());
+                    }
+                    if (logMoves) {
+                        log.append(BATTLE, "            " + player.getPlayerName() +
+                                " doubles armies in " + territory.getName() + " to " + territory.getArmies());
+                    }
                     break;
                 }
             }
         }
         if (!hasArmiesMoved) {
-            log.append("        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
+            log.append(BATTLE, () -> "        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
         }
         return "";
     }
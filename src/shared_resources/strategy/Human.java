@@ -13,7 +13,7 @@ import shared_resources.game_entities.Territory;
 import java.util.Map;
 import java.util.Vector;
 
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
 
 /**
  * The human strategy
@@ -31,7 +31,7 @@ public class Human implements PlayerType {
             case TRADE_CARDS:
                 return player.tradeInCards(gamePlayModel, selectedCards);
             case REINFORCEMENT:
-                player.distributeArmies(armiesToPlace);
+                player.distributeArmies(gamePlayModel, armiesToPlace);
                 break;
         }
 
@@ -74,7 +74,7 @@ public class Human implements PlayerType {
         fromTerritory.reduceArmies(noOfArmies);
         toTerritory.addArmies(noOfArmies);
     
-        log.append("    " + currentPlayer.getPlayerName() + " moved " + noOfArmies + " armies from " + sourceTerritory + " to " + targetTerritory);
+        gamePlayModel.getLog().append(BATTLE, () -> "    " + currentPlayer.getPlayerName() + " moved " + noOfArmies + " armies from " + sourceTerritory + " to " + targetTerritory);
         return "Successfully moved " + noOfArmies + " armies from " + sourceTerritory + " to " + targetTerritory + ".";
     }
 
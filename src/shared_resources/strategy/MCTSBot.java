@@ -0,0 +1,637 @@
+/*
+ * Risk Game Team 2
+ * MCTSBot.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.strategy;
+
+import game_play.model.GamePlayModel;
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
+import shared_resources.game_entities.TerritoryGraph;
+import shared_resources.utilities.GameRandom;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Vector;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static shared_resources.utilities.Config.GAME_STATES.VICTORY;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
+import static shared_resources.utilities.Config.LOG_LEVEL.TRACE;
+import static shared_resources.utilities.Config.MAX_NUM_ATK_DICE;
+import static shared_resources.utilities.Config.MCTS_BATCH_SIZE;
+import static shared_resources.utilities.Config.MCTS_EXPLORATION;
+import static shared_resources.utilities.Config.MCTS_ROLLOUTS;
+import static shared_resources.utilities.Config.MCTS_ROLLOUT_ROUNDS;
+import static shared_resources.utilities.Config.MCTS_TIME_BUDGET_MS;
+
+/**
+ * The Monte Carlo Tree Search AI strategy. Every reinforcement, attack and fortification is chosen by playing
+ * the game on from each possible move many times, and keeping the move that does best.
+ * <ul>
+ * <li> The possible moves of a decision are the children of the root of the search. The next move to explore is
+ * chosen with the UCB1 formula, so the promising moves get most of the rollouts
+ * <li> A rollout plays the move on a fork of the game, then plays MCTS_ROLLOUT_ROUNDS rounds of turns with the
+ * rollout policy for every player, with blitz battles. It is worth 1 if the bot wins, 0 if it loses, and its share
+ * of the territories and armies of the board otherwise
+ * <li> The rollouts are played in batches of MCTS_BATCH_SIZE on a pool of threads shared by all the MCTS bots.
+ * Every rollout has its own random generator split from the game's one, and the batches are chosen before they
+ * are played, so with a rollout budget the bot makes the same choices whatever the number of threads
+ * <li> The budget of a decision is a number of rollouts, and optionally a time limit (the choices then depend on
+ * the speed of the machine)
+ * </ul>
+ * The bot keeps no state between decisions, so the same bot can play in games running at the same time.
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class MCTSBot extends Bot {
+    // region Attributes declaration
+    private static final Bot RANDOM_BOT = new RandomBot();
+    private static final Bot AGGRESSIVE_BOT = new AggressiveBot();
+    private static int threadsCount = Runtime.getRuntime().availableProcessors();
+    private static RolloutPool rolloutPool;
+    private int rollouts;
+    private long timeBudgetMillis;
+    private int rolloutRounds;
+    private ROLLOUT_POLICY rolloutPolicy;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a MCTS bot with the default budget and the aggressive rollout policy
+     */
+    public MCTSBot() {
+        this(MCTS_ROLLOUTS, MCTS_TIME_BUDGET_MS, MCTS_ROLLOUT_ROUNDS, ROLLOUT_POLICY.AGGRESSIVE);
+    }
+    
+    /**
+     * Instantiates a MCTS bot
+     *
+     * @param rollouts         the number of rollouts of a decision (at least 1)
+     * @param timeBudgetMillis the longest time of a decision in milliseconds, 0 for no limit
+     * @param rolloutRounds    the number of rounds of turns played by a rollout (at least 1)
+     * @param rolloutPolicy    the strategy of the players during the rollouts
+     */
+    public MCTSBot(int rollouts, long timeBudgetMillis, int rolloutRounds, ROLLOUT_POLICY rolloutPolicy) {
+        if (rollouts < 1 || timeBudgetMillis < 0 || rolloutRounds < 1 || rolloutPolicy == null) {
+            throw new IllegalArgumentException("Invalid MCTS budget: " + rollouts + " rollouts of " + rolloutRounds +
+                    " rounds in " + timeBudgetMillis + " ms with the " + rolloutPolicy + " policy");
+        }
+        this.rollouts = rollouts;
+        this.timeBudgetMillis = timeBudgetMillis;
+        this.rolloutRounds = rolloutRounds;
+        this.rolloutPolicy = rolloutPolicy;
+    }
+    // endregion
+    
+    // region Getters & Setters
+    
+    /**
+     * Gets the number of threads playing the rollouts of all the MCTS bots
+     *
+     * @return the number of threads
+     */
+    public static synchronized int getThreadsCount() {
+        return threadsCount;
+    }
+    
+    /**
+     * Set the number of threads playing the rollouts of all the MCTS bots (by default, one per available processor).
+     * The decisions being made keep the threads they have.
+     *
+     * @param threadsCount the number of threads, at least 1
+     */
+    public static synchronized void setThreadsCount(int threadsCount) {
+        if (threadsCount < 1) {
+            throw new IllegalArgumentException("The rollouts need at least one thread");
+        }
+        MCTSBot.threadsCount = threadsCount;
+        if (rolloutPool != null) {
+            rolloutPool.retired = true;
+            if (rolloutPool.searches == 0) {
+                rolloutPool.executor.shutdown();
+            }
+            rolloutPool = null;
+        }
+    }
+    
+    /**
+     * Gets the number of rollouts of a decision
+     *
+     * @return the number of rollouts
+     */
+    public int getRollouts() {
+        return rollouts;
+    }
+    
+    /**
+     * Gets the longest time of a decision
+     *
+     * @return the time in milliseconds, 0 for no limit
+     */
+    public long getTimeBudgetMillis() {
+        return timeBudgetMillis;
+    }
+    
+    /**
+     * Gets the number of rounds of turns played by a rollout
+     *
+     * @return the number of rounds
+     */
+    public int getRolloutRounds() {
+        return rolloutRounds;
+    }
+    
+    /**
+     * Gets the strategy of the players during the rollouts
+     *
+     * @return the rollout policy
+     */
+    public ROLLOUT_POLICY getRolloutPolicy() {
+        return rolloutPolicy;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * The reinforcement of the MCTS bot places all its armies on the territory, bordering an enemy if possible,
+     * that does best in the rollouts.
+     *
+     * @see shared_resources.strategy.PlayerType#reinforcement(GamePlayModel, Vector, Map)
+     */
+    @Override
+    public String reinforcement(GamePlayModel gamePlayModel, Vector<String> selectedCards, Map<Territory, Integer> armiesToPlace) {
+        /* trade cards as long as the bot can */
+        tradeCardsForBots(gamePlayModel);
+        
+        Player player = gamePlayModel.getCurrentPlayer();
+        if (player.getUnallocatedArmies() <= 0) {
+            return null;
+        }
+        
+        /* the candidates are the territories bordering an enemy, or all the territories if none does */
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+        List<Move> moves = new ArrayList<>();
+        for (Territory territory : player.getTerritories()) {
+            if (hasEnemyNeighbor(graph, territory.getId(), player)) {
+                moves.add(new Move(territory.getId(), territory.getId()));
+            }
+        }
+        if (moves.isEmpty()) {
+            for (Territory territory : player.getTerritories()) {
+                moves.add(new Move(territory.getId(), territory.getId()));
+            }
+        }
+        
+        Move move = search(gamePlayModel, DECISION.REINFORCE, moves);
+        playReinforcement(gamePlayModel, move);
+        return null;
+    }
+    
+    /**
+     * The attack of the MCTS bot declares the attack, or the end of the attacks, that does best in the rollouts.
+     * It attacks with as many dice as possible.
+     *
+     * @see shared_resources.strategy.PlayerType#attack(GamePlayModel)
+     */
+    @Override
+    public void attack(GamePlayModel gamePlayModel) {
+        Player player = gamePlayModel.getCurrentPlayer();
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+        List<Move> moves = new ArrayList<>();
+        for (Territory territory : player.getTerritories()) {
+            if (territory.getArmies() >= 2) {
+                int id = territory.getId();
+                for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                    if (!graph.getTerritory(graph.neighborAt(edge)).isOwnedBy(player)) {
+                        moves.add(new Move(id, graph.neighborAt(edge)));
+                    }
+                }
+            }
+        }
+        if (moves.isEmpty()) {
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " cannot attack anymore");
+            gamePlayModel.setCurrentBattle(null);
+            return;
+        }
+        moves.add(Move.PASS);
+        
+        Move move = search(gamePlayModel, DECISION.ATTACK, moves);
+        if (move == Move.PASS) {
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " quits attacking phase");
+        }
+        playAttack(gamePlayModel, move);
+    }
+    
+    /**
+     * The fortification of the MCTS bot moves all but one army of a territory to a neighbor bordering an enemy,
+     * or does not fortify, whichever does best in the rollouts.
+     *
+     * @see shared_resources.strategy.PlayerType#fortification(GamePlayModel, String, String, int)
+     */
+    @Override
+    public String fortification(GamePlayModel gamePlayModel, String sourceTerritory, String targetTerritory, int noOfArmies) {
+        Player player = gamePlayModel.getCurrentPlayer();
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+        List<Move> moves = new ArrayList<>();
+        for (Territory territory : player.getTerritories()) {
+            if (territory.getArmies() >= 2) {
+                int id = territory.getId();
+                for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                    int neighborID = graph.neighborAt(edge);
+                    if (graph.getTerritory(neighborID).isOwnedBy(player) && hasEnemyNeighbor(graph, neighborID, player)) {
+                        moves.add(new Move(id, neighborID));
+                    }
+                }
+            }
+        }
+        if (moves.isEmpty()) {
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
+            return null;
+        }
+        moves.add(Move.PASS);
+        
+        Move move = search(gamePlayModel, DECISION.FORTIFY, moves);
+        if (move == Move.PASS) {
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
+        }
+        playFortification(gamePlayModel, move);
+        return null;
+    }
+    
+    /**
+     * The MCTS bot moves all but one army to the conquered territory if the attacking territory has no other
+     * enemy neighbor, and as few armies as possible otherwise.
+     *
+     * @see shared_resources.strategy.PlayerType#moveArmiesToConqueredTerritory(GamePlayModel)
+     */
+    @Override
+    public void moveArmiesToConqueredTerritory(GamePlayModel gamePlayModel) {
+        Battle battle = gamePlayModel.getCurrentBattle();
+        if (battle.getDefendingTerritory().getArmies() == 0) {
+            // Set player to be new owner of the conquered territory
+            conquerTerritoryForBots(gamePlayModel);
+            
+            Territory fromTerritory = battle.getAttackingTerritory();
+            Territory toTerritory = battle.getDefendingTerritory();
+            int noOfArmies = battle.getAttackerDice().getRollsCount();
+            if (!hasEnemyNeighbor(gamePlayModel.getGameMap().getGraph(), fromTerritory.getId(), fromTerritory.getOwner())) {
+                noOfArmies = Math.max(noOfArmies, fromTerritory.getArmies() - 1);
+            }
+            int armiesToMove = noOfArmies;
+            fromTerritory.reduceArmies(armiesToMove);
+            toTerritory.addArmies(armiesToMove);
+            gamePlayModel.getLog().append(BATTLE, () -> "            " + fromTerritory.getOwner().getPlayerName() + " moves " + armiesToMove + " armies from " +
+                    fromTerritory.getName() + " to " + toTerritory.getName());
+            
+            gamePlayModel.eliminatePlayerIfPossible();
+        }
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Search the best move of a decision
+     *
+     * @param gamePlayModel the game play model
+     * @param decision      the decision
+     * @param moves         the possible moves
+     *
+     * @return the move with the most rollouts
+     */
+    private Move search(GamePlayModel gamePlayModel, DECISION decision, List<Move> moves) {
+        if (moves.size() == 1) {
+            return moves.get(0);
+        }
+        
+        int[] visits = new int[moves.size()];
+        double[] values = new double[moves.size()];
+        GameRandom random = gamePlayModel.getRandom();
+        long deadline = System.nanoTime() + timeBudgetMillis * 1_000_000L;
+        int played = 0;
+        RolloutPool pool = acquireRolloutPool();
+        try {
+            while (played < rollouts && (timeBudgetMillis == 0 || System.nanoTime() < deadline)) {
+                /* choose the whole batch first, counting the rollouts not played yet as visits */
+                int batchSize = Math.min(MCTS_BATCH_SIZE, rollouts - played);
+                int[] chosen = new int[batchSize];
+                int[] pending = new int[moves.size()];
+                List<Callable<Double>> batch = new ArrayList<>(batchSize);
+                for (int i = 0; i < batchSize; i++) {
+                    int index = selectMove(visits, values, pending, played + i);
+                    chosen[i] = index;
+                    pending[index]++;
+                    Move move = moves.get(index);
+                    GamePlayModel fork = gamePlayModel.fork();  // the forks are made on this thread, the game does not change
+                    fork.setRandom(random.split());
+                    batch.add(() -> rollout(fork, decision, move));
+                }
+                
+                try {
+                    List<Future<Double>> results = pool.executor.invokeAll(batch);
+                    for (int i = 0; i < batchSize; i++) {
+                        visits[chosen[i]]++;
+                        values[chosen[i]] += results.get(i).get();
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    break;
+                } catch (ExecutionException e) {
+                    throw new IllegalStateException("A rollout of " + decision + " failed", e.getCause());
+                }
+                played += batchSize;
+            }
+        } finally {
+            releaseRolloutPool(pool);
+        }
+        
+        /* keep the most explored move */
+        int best = 0;
+        for (int i = 1; i < moves.size(); i++) {
+            if (visits[i] > visits[best] || (visits[i] == visits[best] && values[i] > values[best])) {
+                best = i;
+            }
+        }
+        Move move = moves.get(best);
+        int rollouts = visits[best];
+        double score = (rollouts == 0) ? 0.0 : values[best] / rollouts;
+        gamePlayModel.getLog().append(TRACE, () -> {
+            TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+            String description = (move == Move.PASS) ? "pass" : (move.from == move.to) ? graph.getTerritory(move.from).getName() :
+                    graph.getTerritory(move.from).getName() + " -> " + graph.getTerritory(move.to).getName();
+            return "    " + gamePlayModel.getCurrentPlayer().getPlayerName() + " chooses to " + decision + " " +
+                    description + " among " + moves.size() + " moves (" + rollouts + " rollouts, score " +
+                    Math.round(score * 100) + "%)";
+        });
+        return move;
+    }
+    
+    /**
+     * Choose the move of the next rollout with the UCB1 formula. The moves never explored come first.
+     *
+     * @param visits  the rollouts played for every move
+     * @param values  the sum of the rollout values of every move
+     * @param pending the rollouts chosen for every move and not played yet
+     * @param total   the rollouts played and chosen for all the moves
+     *
+     * @return the index of the move
+     */
+    private int selectMove(int[] visits, double[] values, int[] pending, int total) {
+        int best = 0;
+        double bestScore = Double.NEGATIVE_INFINITY;
+        double logTotal = Math.log(Math.max(1, total));
+        for (int i = 0; i < visits.length; i++) {
+            int count = visits[i] + pending[i];
+            if (count == 0) {
+                return i;
+            }
+            double mean = (visits[i] == 0) ? 0.5 : values[i] / visits[i];
+            double score = mean + MCTS_EXPLORATION * Math.sqrt(logTotal / count);
+            if (score > bestScore) {
+                best = i;
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Play a move on a fork of the game, then play on with the rollout policy
+     *
+     * @param fork     the fork of the game, with the random generator of the rollout
+     * @param decision the decision
+     * @param move     the move
+     *
+     * @return the value of the rollout for the bot, between 0 and 1
+     */
+    private double rollout(GamePlayModel fork, DECISION decision, Move move) {
+        fork.setBlitzBattles(true);
+        Bot policy = (rolloutPolicy == ROLLOUT_POLICY.RANDOM) ? RANDOM_BOT : AGGRESSIVE_BOT;
+        for (Player player : fork.getPlayers()) {
+            player.setPlayerType(policy);
+        }
+        Player player = fork.getCurrentPlayer();
+        
+        /* finish the turn of the bot after the move */
+        switch (decision) {
+            case REINFORCE:
+                playReinforcement(fork, move);
+                player.nextPhase(fork);
+                fork.botsAttack();
+                break;
+            case ATTACK:
+                playAttack(fork, move);
+                if (move == Move.PASS) {
+                    if (player.hasConqueredTerritories()) {
+                        fork.drawCardForWinner(player);
+                        player.setHasConqueredTerritories(false);
+                    }
+                    fork.botsFortification(false);
+                } else {
+                    Battle battle = fork.getCurrentBattle();
+                    battle.setDefendingDice(battle.getDefender().botChooseDefendingDice(battle.getMaxDefendingRoll(), fork.getRandom()));
+                    fork.botsFortification(true);
+                }
+                break;
+            case FORTIFY:
+                playFortification(fork, move);
+                fork.nextPlayerTurn();
+                break;
+        }
+        
+        /* play the next rounds */
+        int lastTurn = fork.getTurnCounter() + rolloutRounds * fork.getPlayers().size();
+        while (fork.getGameState() != VICTORY && fork.getTurnCounter() < lastTurn && fork.getTurnCounter() <= fork.getMaxTurns()) {
+            fork.letBotsPlay();
+        }
+        return evaluate(fork, player);
+    }
+    
+    /**
+     * Evaluate the end of a rollout for the bot
+     *
+     * @param fork   the fork of the game
+     * @param player the bot in the fork
+     *
+     * @return 1 if the bot won, 0 if it lost, its share of the territories and armies otherwise
+     */
+    private double evaluate(GamePlayModel fork, Player player) {
+        int territoriesCount = fork.getGameMap().getTerritoriesCount();
+        if (fork.getGameState() == VICTORY || player.getTerritoriesCount() == 0) {
+            return (player.getTerritoriesCount() == territoriesCount) ? 1.0 : 0.0;
+        }
+        long armiesCount = 0;
+        for (Player anyPlayer : fork.getPlayers()) {
+            armiesCount += anyPlayer.getTotalArmiesCount();
+        }
+        return 0.5 * player.getTerritoriesCount() / territoriesCount + 0.5 * player.getTotalArmiesCount() / armiesCount;
+    }
+    
+    /**
+     * Place all the unallocated armies of the current player on a territory
+     *
+     * @param gamePlayModel the game play model
+     * @param move          the move, whose territories are the reinforced territory
+     */
+    private void playReinforcement(GamePlayModel gamePlayModel, Move move) {
+        Player player = gamePlayModel.getCurrentPlayer();
+        Map<Territory, Integer> armiesToPlace = new HashMap<>();
+        armiesToPlace.put(gamePlayModel.getGameMap().getGraph().getTerritory(move.to), player.getUnallocatedArmies());
+        player.distributeArmies(gamePlayModel, armiesToPlace);
+    }
+    
+    /**
+     * Declare the attack of the current player, with as many dice as possible, or stop attacking
+     *
+     * @param gamePlayModel the game play model
+     * @param move          the move, PASS to stop attacking
+     */
+    private void playAttack(GamePlayModel gamePlayModel, Move move) {
+        if (move == Move.PASS) {
+            gamePlayModel.setCurrentBattle(null);
+            return;
+        }
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+        Territory attackingTerritory = graph.getTerritory(move.from);
+        Territory defendingTerritory = graph.getTerritory(move.to);
+        int attackerDice = Math.min(MAX_NUM_ATK_DICE, attackingTerritory.getArmies() - 1);
+        gamePlayModel.declareBattle(attackingTerritory, attackerDice, defendingTerritory);
+    }
+    
+    /**
+     * Move all but one army of a territory of the current player to a neighbor, or do nothing
+     *
+     * @param gamePlayModel the game play model
+     * @param move          the move, PASS to not fortify
+     */
+    private void playFortification(GamePlayModel gamePlayModel, Move move) {
+        if (move == Move.PASS) {
+            return;
+        }
+        TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
+        Territory fromTerritory = graph.getTerritory(move.from);
+        Territory toTerritory = graph.getTerritory(move.to);
+        int noOfArmies = fromTerritory.getArmies() - 1;
+        fromTerritory.reduceArmies(noOfArmies);
+        toTerritory.addArmies(noOfArmies);
+        gamePlayModel.getLog().append(BATTLE, () -> "        " + fromTerritory.getOwner().getPlayerName() + " moves " + noOfArmies + " armies from " +
+                fromTerritory.getName() + " to " + toTerritory.getName());
+    }
+    
+    /**
+     * Check if a territory has a neighbor owned by another player
+     *
+     * @param graph  the graph of the map
+     * @param id     the territory ID
+     * @param player the owner of the territory
+     *
+     * @return true if a neighbor is owned by another player, false otherwise
+     */
+    private static boolean hasEnemyNeighbor(TerritoryGraph graph, int id, Player player) {
+        for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+            if (!graph.getTerritory(graph.neighborAt(edge)).isOwnedBy(player)) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Gets the pool of threads playing the rollouts for a search, started the first time it is needed.
+     * Its threads are daemon threads, so they do not keep the application running.
+     * The search keeps the pool until it releases it, even if the number of threads is changed in the meantime.
+     *
+     * @return the pool of threads
+     */
+    private static synchronized RolloutPool acquireRolloutPool() {
+        if (rolloutPool == null) {
+            rolloutPool = new RolloutPool(Executors.newFixedThreadPool(threadsCount, runnable -> {
+                Thread thread = new Thread(runnable, "MCTS rollout");
+                thread.setDaemon(true);
+                return thread;
+            }));
+        }
+        rolloutPool.searches++;
+        return rolloutPool;
+    }
+    
+    /**
+     * Give back the pool of threads at the end of a search. A pool replaced by setThreadsCount() is shut down
+     * once the last search using it is over.
+     *
+     * @param pool the pool of threads
+     */
+    private static synchronized void releaseRolloutPool(RolloutPool pool) {
+        pool.searches--;
+        if (pool.retired && pool.searches == 0) {
+            pool.executor.shutdown();
+        }
+    }
+    // endregion
+    
+    /**
+     * A pool of threads playing the rollouts, with the number of searches using it
+     */
+    private static final class RolloutPool {
+        private final ExecutorService executor;
+        private int searches;       // guarded by MCTSBot.class
+        private boolean retired;    // replaced by another pool, shut down once no search uses it
+        
+        /**
+         * Instantiates the pool
+         *
+         * @param executor the threads
+         */
+        private RolloutPool(ExecutorService executor) {
+            this.executor = executor;
+        }
+    }
+    
+    /**
+     * The strategies of the players during the rollouts
+     */
+    public enum ROLLOUT_POLICY {
+        RANDOM, AGGRESSIVE
+    }
+    
+    /**
+     * The decisions of a turn
+     */
+    private enum DECISION {
+        REINFORCE, ATTACK, FORTIFY
+    }
+    
+    /**
+     * A move of a decision, between two territory IDs: the reinforced territory (twice), the attacking and
+     * defending territories, or the source and target of a fortification
+     */
+    private static final class Move {
+        private static final Move PASS = new Move(-1, -1);
+        private final int from;
+        private final int to;
+        
+        /**
+         * Instantiates a move
+         *
+         * @param from the first territory ID
+         * @param to   the second territory ID
+         */
+        private Move(int from, int to) {
+            this.from = from;
+            this.to = to;
+        }
+    }
+}
@@ -7,15 +7,15 @@
 package shared_resources.strategy;
 
 import game_play.model.GamePlayModel;
-import shared_resources.game_entities.Battle;
 import shared_resources.game_entities.Player;
 import shared_resources.game_entities.Territory;
+import shared_resources.game_entities.TerritoryGraph;
+import shared_resources.utilities.GameRandom;
 
 import java.util.Map;
-import java.util.Random;
 import java.util.Vector;
 
-import static shared_resources.utilities.Config.log;
+import static shared_resources.utilities.Config.LOG_LEVEL.BATTLE;
 
 /**
  * The random AI strategy. Reinforces a random country, attacks random countries a random number of times,and
@@ -34,10 +34,10 @@ public class RandomBot extends Bot {
 
         /* find a random territory and reinforce that territory */
         Player player = gamePlayModel.getCurrentPlayer();
-        Territory randomTerritory = player.getRandomTerritory();
+        Territory randomTerritory = player.getRandomTerritory(gamePlayModel.getRandom());
         
         randomTerritory.addArmies(player.getUnallocatedArmies());
-        log.append("        " + player.getPlayerName() + " placed " + player.getUnallocatedArmies() +
+        gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " placed " + player.getUnallocatedArmies() +
                 " armies on " + randomTerritory.getName());
         player.setUnallocatedArmies(0);
         
@@ -54,10 +54,11 @@ public class RandomBot extends Bot {
         Player player = gamePlayModel.getCurrentPlayer();
         
         // Make the choice whether to attack or not randomly
-        Random rand = new Random();
+        GameRandom rand = gamePlayModel.getRandom();
         boolean doAttack = rand.nextBoolean();
         
         if (doAttack) {
+            TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
             boolean hasAttacked = false;
             Vector<Territory> territories = new Vector<>(player.getTerritories());
             while (territories.size() > 0) {
@@ -70,18 +71,18 @@ public class RandomBot extends Bot {
                 
                 if (randomTerritory.getArmies() >= 2) {
                     // Find one of its neighbor owned by another player
-                    for (String neighborName : randomTerritory.getNeighbors()) {
+                    int id = randomTerritory.getId();
+                    for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
                         if (hasAttacked) {
                             break;
                         }
                         
-                        Territory neighbor = gamePlayModel.getGameMap().getATerritory(neighborName);
+                        Territory neighbor = graph.getTerritory(graph.neighborAt(edge));
                         if (!neighbor.isOwnedBy(player)) {
                             // Declare an attack using a random choice of number of dice
                             int maxAttackerDice = Math.min(3, randomTerritory.getArmies() - 1);
                             int attackerDice = 1 + rand.nextInt(maxAttackerDice);
-                            gamePlayModel.setCurrentBattle(new Battle(player, randomTerritory, attackerDice,
-                                    neighbor.getOwner(), neighbor));
+                            gamePlayModel.declareBattle(randomTerritory, attackerDice, neighbor);
                             
                             hasAttacked = true;
                         }
@@ -98,11 +99,11 @@ public class RandomBot extends Bot {
             }
             
             if (!hasAttacked) {
-                log.append("        " + player.getPlayerName() + " cannot attack anymore");
+                gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " cannot attack anymore");
                 gamePlayModel.setCurrentBattle(null);
             }
         } else {
-            log.append("        " + player.getPlayerName() + " quits attacking phase");
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " quits attacking phase");
             gamePlayModel.setCurrentBattle(null);
         }
     }
@@ -117,10 +118,11 @@ public class RandomBot extends Bot {
         Player player = gamePlayModel.getCurrentPlayer();
         
         // Randomly decide whether or not to fortify
-        Random rand = new Random();
+        GameRandom rand = gamePlayModel.getRandom();
         boolean doFortification = rand.nextBoolean();
         
         if (doFortification) {
+            TerritoryGraph graph = gamePlayModel.getGameMap().getGraph();
             Vector<Territory> territories = new Vector<>(player.getTerritories());
             while (territories.size() > 0) {
                 // Randomly choose a territory that is valid to move armies to another territory
@@ -132,15 +134,16 @@ public class RandomBot extends Bot {
                 
                 if (fromTerritory != null && fromTerritory.getArmies() >= 2) {
                     // Randomly choose a neighbor to move armies to
-                    for (String neighborName : fromTerritory.getNeighbors()) {
-                        Territory toTerritory = gamePlayModel.getGameMap().getATerritory(neighborName);
+                    int id = fromTerritory.getId();
+                    for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                        Territory toTerritory = graph.getTerritory(graph.neighborAt(edge));
                         
                         if (toTerritory.isOwnedBy(player)) {
                             // Randomly choose a valid number of armies to move
-                            noOfArmies = 1 + rand.nextInt(fromTerritory.getArmies() - 1);
-                            fromTerritory.reduceArmies(noOfArmies);
-                            toTerritory.addArmies(noOfArmies);
-                            log.append("        " + fromTerritory.getOwner().getPlayerName() + " moves " + noOfArmies + " armies from " +
+                            int movedArmies = 1 + rand.nextInt(fromTerritory.getArmies() - 1);
+                            fromTerritory.reduceArmies(movedArmies);
+                            toTerritory.addArmies(movedArmies);
+                            gamePlayModel.getLog().append(BATTLE, () -> "        " + fromTerritory.getOwner().getPlayerName() + " moves " + movedArmies + " armies from " +
                                     fromTerritory.getName() + " to " + toTerritory.getName());
                             
                             return "";
@@ -154,10 +157,10 @@ public class RandomBot extends Bot {
             }
             
             if (territories.size() == 0) {
-                log.append("        " + player.getPlayerName() + " cannot fortify");
+                gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " cannot fortify");
             }
         } else {
-            log.append("        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
+            gamePlayModel.getLog().append(BATTLE, () -> "        " + player.getPlayerName() + " doesn't want to fortify any of his territory");
         }
         
         return "";
@@ -177,14 +180,14 @@ public class RandomBot extends Bot {
             conquerTerritoryForBots(gamePlayModel);
             
             // Randomly choose a (valid) number of armies to move to conquered territory
-            Random rand = new Random();
+            GameRandom rand = gamePlayModel.getRandom();
             Territory fromTerritory = gamePlayModel.getCurrentBattle().getAttackingTerritory();
             Territory toTerritory = gamePlayModel.getCurrentBattle().getDefendingTerritory();
             int noOfArmies = gamePlayModel.getCurrentBattle().getAttackerDice().getRollsCount()
                     + rand.nextInt(fromTerritory.getArmies() - gamePlayModel.getCurrentBattle().getAttackerDice().getRollsCount());
             fromTerritory.reduceArmies(noOfArmies);
             toTerritory.addArmies(noOfArmies);
-            log.append("            " + fromTerritory.getOwner().getPlayerName() + " moves " + noOfArmies + " armies from " +
+            gamePlayModel.getLog().append(BATTLE, () -> "            " + fromTerritory.getOwner().getPlayerName() + " moves " + noOfArmies + " armies from " +
                     fromTerritory.getName() + " to " + toTerritory.getName());
             
             gamePlayModel.eliminatePlayerIfPossible();
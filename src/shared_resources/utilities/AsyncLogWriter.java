@@ -0,0 +1,274 @@
+/*
+ * Risk Game Team 2
+ * AsyncLogWriter.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import static shared_resources.utilities.Config.LOG_BATCH_SIZE;
+import static shared_resources.utilities.Config.LOG_FLUSH_INTERVAL_MS;
+import static shared_resources.utilities.Config.LOG_QUEUE_CAPACITY;
+
+/**
+ * A log sink writing the lines to a file from one background thread.
+ * <ul>
+ * <li> The file channel is opened once and kept open until the writer is closed
+ * <li> The lines are handed to the writer thread through a lock-free ring buffer, so any number of
+ * game threads can append at the same time
+ * <li> The lines are written in batches, either when the batch is full or when the flush interval elapsed
+ * <li> The writer is closed on demand, or by a shutdown hook when the JVM exits
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class AsyncLogWriter implements GameLog {
+    // region Attributes declaration
+    private static final byte[] LINE_SEPARATOR = System.lineSeparator().getBytes(StandardCharsets.UTF_8);
+    private final FileChannel channel;
+    private final ByteBuffer batch;
+    private final AtomicReferenceArray<String> slots;
+    private final int mask;
+    private final AtomicLong tail;          // next slot to be claimed by a producer
+    private final AtomicLong head;          // next slot to be read by the writer thread
+    private final AtomicLong written;       // every line before this sequence is in the file
+    private final long flushIntervalNanos;
+    private final Thread writerThread;
+    private final Thread shutdownHook;
+    private volatile boolean flushRequested;
+    private volatile boolean closed;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Opens the log file (truncating it) and starts the writer thread with the default settings
+     *
+     * @param path the path of the log file
+     *
+     * @throws IOException the log file cannot be opened
+     */
+    public AsyncLogWriter(Path path) throws IOException {
+        this(path, LOG_QUEUE_CAPACITY, LOG_BATCH_SIZE, LOG_FLUSH_INTERVAL_MS);
+    }
+    
+    /**
+     * Opens the log file (truncating it) and starts the writer thread
+     *
+     * @param path            the path of the log file
+     * @param queueCapacity   the number of lines that can wait for the writer, rounded up to a power of 2
+     * @param batchSize       the number of bytes buffered before writing to the file
+     * @param flushIntervalMs the longest time in milliseconds a line waits before being written
+     *
+     * @throws IOException the log file cannot be opened
+     */
+    public AsyncLogWriter(Path path, int queueCapacity, int batchSize, long flushIntervalMs) throws IOException {
+        if (queueCapacity < 1 || batchSize < 1 || flushIntervalMs < 1) {
+            throw new IllegalArgumentException("The log writer settings must be positive");
+        }
+        int capacity = Integer.highestOneBit(queueCapacity);
+        if (capacity < queueCapacity) {
+            capacity <<= 1;
+        }
+        channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        batch = ByteBuffer.allocateDirect(batchSize);
+        slots = new AtomicReferenceArray<>(capacity);
+        mask = capacity - 1;
+        tail = new AtomicLong();
+        head = new AtomicLong();
+        written = new AtomicLong();
+        flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+        
+        writerThread = new Thread(this::runWriter, "log-writer");
+        writerThread.setDaemon(true);
+        shutdownHook = new Thread(this::close, "log-writer-shutdown");
+        Runtime.getRuntime().addShutdownHook(shutdownHook);
+        writerThread.start();
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Queues a line to be written to the file.
+     * If the ring buffer is full, the caller waits for the writer thread to free a slot.
+     * Lines appended after the writer is closed are dropped.
+     *
+     * @param text the line to be written
+     */
+    @Override
+    public void append(String text) {
+        if (closed) {
+            return;
+        }
+        long sequence;
+        while (true) {
+            sequence = tail.get();
+            if (sequence - head.get() > mask) {    // the ring buffer is full
+                LockSupport.unpark(writerThread);
+                Thread.yield();
+                if (closed) {
+                    return;
+                }
+            } else if (tail.compareAndSet(sequence, sequence + 1)) {
+                break;
+            }
+        }
+        slots.lazySet((int) sequence & mask, text == null ? "null" : text);
+    }
+    
+    /**
+     * Blocks until every line appended before this call is written to the file
+     */
+    @Override
+    public void flush() {
+        long target = tail.get();
+        while (written.get() < target && writerThread.isAlive()) {
+            flushRequested = true;
+            LockSupport.unpark(writerThread);
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+        }
+    }
+    
+    /**
+     * Writes the pending lines, stops the writer thread and closes the file.
+     * Calling this method more than once has no effect.
+     */
+    public void close() {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (Thread.currentThread() != shutdownHook) {
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // the JVM is already shutting down, the hook is running or about to run
+            }
+        }
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * The loop of the writer thread: drain the ring buffer into the batch and write the batch
+     * when it is full, when the flush interval elapsed, or when a flush is requested
+     */
+    private void runWriter() {
+        long lastWrite = System.nanoTime();
+        try {
+            while (true) {
+                boolean stopping = closed;
+                int drained = drain();
+                
+                long now = System.nanoTime();
+                if (batch.position() > 0 && (flushRequested || stopping || now - lastWrite >= flushIntervalNanos)) {
+                    writeBatch();
+                    lastWrite = now;
+                }
+                if (batch.position() == 0) {
+                    written.set(head.get());
+                    flushRequested = false;
+                }
+                
+                if (stopping && tail.get() == head.get()) {
+                    break;
+                }
+                if (drained == 0) {
+                    LockSupport.parkNanos(this, Math.min(flushIntervalNanos, TimeUnit.MILLISECONDS.toNanos(5)));
+                }
+            }
+        } catch (IOException e) {
+            e.printStackTrace();
+        } finally {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        }
+    }
+    
+    /**
+     * Moves the lines published by the producers into the batch buffer
+     *
+     * @return the number of lines moved
+     *
+     * @throws IOException the batch cannot be written to the file
+     */
+    private int drain() throws IOException {
+        int drained = 0;
+        long sequence = head.get();
+        while (sequence < tail.get()) {
+            int index = (int) sequence & mask;
+            String text = slots.get(index);
+            if (text == null) {     // the slot is claimed but the line is not published yet
+                break;
+            }
+            slots.lazySet(index, null);
+            sequence++;
+            head.lazySet(sequence);
+            put(text.getBytes(StandardCharsets.UTF_8));
+            put(LINE_SEPARATOR);
+            drained++;
+        }
+        return drained;
+    }
+    
+    /**
+     * Adds bytes to the batch, writing the batch to the file first if they do not fit
+     *
+     * @param bytes the bytes to be added
+     *
+     * @throws IOException the batch cannot be written to the file
+     */
+    private void put(byte[] bytes) throws IOException {
+        if (bytes.length > batch.remaining()) {
+            writeBatch();
+            if (bytes.length > batch.capacity()) {
+                ByteBuffer large = ByteBuffer.wrap(bytes);
+                while (large.hasRemaining()) {
+                    channel.write(large);
+                }
+                return;
+            }
+        }
+        batch.put(bytes);
+    }
+    
+    /**
+     * Writes the content of the batch to the file
+     *
+     * @throws IOException the file cannot be written
+     */
+    private void writeBatch() throws IOException {
+        batch.flip();
+        while (batch.hasRemaining()) {
+            channel.write(batch);
+        }
+        batch.clear();
+    }
+    // endregion
+}
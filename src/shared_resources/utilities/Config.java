@@ -6,8 +6,6 @@
  */
 package shared_resources.utilities;
 
-import game_play.view.screens.LoggingFrame;
-
 import java.awt.*;
 
 /**
@@ -61,6 +59,7 @@ public class Config {
     public static final String MAPS_DELIMITER_TERRITORIES = ",";
     public static final String MAPS_DEFAULT_COORDINATION = "0,0";
     public static final String MAPS_FOLDER = "Maps/";
+    public static final long MAPS_CACHE_BUDGET = 16L * 1024 * 1024;    // estimated bytes of the parsed maps kept in memory
     public static final String MSG_MAPFILE_VALID = "The file map is valid";
     public static final String MSG_MAPFILE_INVALID_FORMAT = "Invalid format text file: line %s";
     public static final String MSG_MAPFILE_INVALID_TERRITORIES_COUNT = "Invalid number of territories. Minimum number is " + MAPS_MIN_TERRITORIES + ", maximum number is " + MAPS_MAX_TERRITORIES;
@@ -84,12 +83,38 @@ public class Config {
     public static final int MAX_NUM_ATK_DICE = 3;
     public static final int MAX_NUM_DEF_DICE = 2;
     public static final int MIN_CARDS_TO_TRADE = 3;
+    public static final int BATTLE_ODDS_TABLE_SIZE = 32;    // the armies up to which every battle odds are kept
+    public static final int BATTLE_ODDS_CACHE_SIZE = 256;   // the number of larger battle odds kept
+    public static final int BATTLE_ODDS_MAX_EXACT_ARMIES = 200;   // the armies up to which battle outcomes are computed
+    // endregion
+    
+    // region Constants used for logging
     public static final String LOG_FILE_NAME = "Log.txt";
+    public static final int LOG_QUEUE_CAPACITY = 1 << 14;   // lines waiting for the log writer (power of 2)
+    public static final int LOG_BATCH_SIZE = 64 * 1024;     // bytes buffered before writing to the log file
+    public static final long LOG_FLUSH_INTERVAL_MS = 200;   // longest time a line waits before being written
+    public static final int LOG_MAX_DISPLAYED_LINES = 2000; // lines kept in the logging window
+    public static final LOG_LEVEL TOURNAMENT_LOG_LEVEL = LOG_LEVEL.TURN;
+    public static final LOG_LEVEL FAST_FORWARD_LOG_LEVEL = LOG_LEVEL.TURN;  // most detailed level of the fast-forwarded bot turns
+    // endregion
+    
+    // region Constants used for the game journal
+    public static final String JOURNAL_FILE_EXTENSION = ".journal";
+    public static final int JOURNAL_BUFFER_SIZE = 64 * 1024;    // bytes of actions buffered before writing to the journal file
+    public static final int JOURNAL_CHECKPOINT_INTERVAL = 256;  // actions between the positions kept by a replay to go back
     // endregion
     
     // region Constants used for AI strategies
     public static final String STRATEGY_PATH = "shared_resources.strategy";
-    public static LoggingFrame log = LoggingFrame.getInstance();    // the logging window used in game play
+    public static final int MCTS_ROLLOUTS = 96;             // rollouts played for every decision of the MCTS bot
+    public static final long MCTS_TIME_BUDGET_MS = 0;       // longest time of a decision of the MCTS bot, 0 for no limit
+    public static final int MCTS_ROLLOUT_ROUNDS = 2;        // rounds of turns played by every rollout
+    public static final int MCTS_BATCH_SIZE = 16;           // rollouts played at the same time
+    public static final double MCTS_EXPLORATION = 1.4;      // weight of the exploration in the choice of the next rollout
+    // endregion
+    
+    // region Constants used for the game play views
+    public static final int VIEWS_REFRESH_INTERVAL_MS = 1000 / 60;  // shortest time between two refreshes of the views
     // endregion
     
     // region Enumeration for game states
@@ -134,4 +159,24 @@ public class Config {
         }
     }
     // endregion
+    
+    // region Enumeration for log levels
+    
+    /**
+     * The levels of detail of the game log, from the least to the most detailed.
+     * A log set to a level also shows the messages of the levels before it.
+     * <ul>
+     * <li> TURN: the start and the end of the game, the turns and the eliminated players
+     * <li> BATTLE: the moves of the players (cards, reinforcement, attacks, conquests, fortification)
+     * <li> DICE: the dice rolled in every battle and the result of each comparison
+     * <li> TRACE: the setup of the game, the phases and the content of the players' hand and territories
+     * </ul>
+     */
+    public enum LOG_LEVEL {
+        TURN,
+        BATTLE,
+        DICE,
+        TRACE
+    }
+    // endregion
 }
@@ -0,0 +1,319 @@
+/*
+ * Risk Game Team 2
+ * GameEvent.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
+
+/**
+ * A change of a game, published by the GameEventBus of the game to the listeners of its type.
+ * <p>
+ * The bus reuses one event object per type, so an event is only valid while its listeners are called:
+ * a listener must copy what it keeps.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameEventBus
+ */
+public abstract class GameEvent {
+    // region Attributes declaration
+    private boolean dispatching;    // the event is being given to the listeners, and cannot be reused
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new game event.
+     */
+    private GameEvent() {    // Intentionally make ctor private, the events are the nested classes
+    }
+    // endregion
+    
+    // region Package methods
+    
+    /**
+     * Check whether the event is being given to the listeners
+     *
+     * @return true if the event is being given to the listeners
+     */
+    boolean isDispatching() {
+        return dispatching;
+    }
+    
+    /**
+     * Sets whether the event is being given to the listeners
+     *
+     * @param dispatching true while the event is being given to the listeners
+     */
+    void setDispatching(boolean dispatching) {
+        this.dispatching = dispatching;
+    }
+    // endregion
+    
+    // region Events
+    
+    /**
+     * A territory was given to another player
+     */
+    public static final class TerritoryOwnerChanged extends GameEvent {
+        private Territory territory;
+        private Player previousOwner;
+        private Player owner;
+        
+        /**
+         * Sets the change
+         *
+         * @param territory     the territory
+         * @param previousOwner the previous owner, or null
+         * @param owner         the new owner, or null
+         */
+        void set(Territory territory, Player previousOwner, Player owner) {
+            this.territory = territory;
+            this.previousOwner = previousOwner;
+            this.owner = owner;
+        }
+        
+        /**
+         * Gets the territory
+         *
+         * @return the territory
+         */
+        public Territory getTerritory() {
+            return territory;
+        }
+        
+        /**
+         * Gets the previous owner
+         *
+         * @return the previous owner, or null if nobody owned the territory
+         */
+        public Player getPreviousOwner() {
+            return previousOwner;
+        }
+        
+        /**
+         * Gets the new owner
+         *
+         * @return the new owner, or null if nobody owns the territory anymore
+         */
+        public Player getOwner() {
+            return owner;
+        }
+    }
+    
+    /**
+     * The number of armies on a territory changed
+     */
+    public static final class ArmiesChanged extends GameEvent {
+        private Territory territory;
+        private int previousArmies;
+        private int armies;
+        
+        /**
+         * Sets the change
+         *
+         * @param territory      the territory
+         * @param previousArmies the previous number of armies
+         * @param armies         the new number of armies
+         */
+        void set(Territory territory, int previousArmies, int armies) {
+            this.territory = territory;
+            this.previousArmies = previousArmies;
+            this.armies = armies;
+        }
+        
+        /**
+         * Gets the territory
+         *
+         * @return the territory
+         */
+        public Territory getTerritory() {
+            return territory;
+        }
+        
+        /**
+         * Gets the previous number of armies
+         *
+         * @return the previous number of armies
+         */
+        public int getPreviousArmies() {
+            return previousArmies;
+        }
+        
+        /**
+         * Gets the new number of armies
+         *
+         * @return the new number of armies
+         */
+        public int getArmies() {
+            return armies;
+        }
+    }
+    
+    /**
+     * A player moved to another phase of its turn
+     */
+    public static final class PhaseChanged extends GameEvent {
+        private Player player;
+        private Config.GAME_STATES previousPhase;
+        private Config.GAME_STATES phase;
+        
+        /**
+         * Sets the change
+         *
+         * @param player        the player
+         * @param previousPhase the previous phase, or null in the first turn of the player
+         * @param phase         the new phase
+         */
+        void set(Player player, Config.GAME_STATES previousPhase, Config.GAME_STATES phase) {
+            this.player = player;
+            this.previousPhase = previousPhase;
+            this.phase = phase;
+        }
+        
+        /**
+         * Gets the player
+         *
+         * @return the player
+         */
+        public Player getPlayer() {
+            return player;
+        }
+        
+        /**
+         * Gets the previous phase
+         *
+         * @return the previous phase, or null in the first turn of the player
+         */
+        public Config.GAME_STATES getPreviousPhase() {
+            return previousPhase;
+        }
+        
+        /**
+         * Gets the new phase
+         *
+         * @return the new phase
+         */
+        public Config.GAME_STATES getPhase() {
+            return phase;
+        }
+    }
+    
+    /**
+     * A player lost its last territory
+     */
+    public static final class PlayerEliminated extends GameEvent {
+        private Player player;
+        private Player eliminatedBy;
+        
+        /**
+         * Sets the elimination
+         *
+         * @param player       the eliminated player
+         * @param eliminatedBy the player who conquered the last territory
+         */
+        void set(Player player, Player eliminatedBy) {
+            this.player = player;
+            this.eliminatedBy = eliminatedBy;
+        }
+        
+        /**
+         * Gets the eliminated player
+         *
+         * @return the eliminated player
+         */
+        public Player getPlayer() {
+            return player;
+        }
+        
+        /**
+         * Gets the player who conquered the last territory of the eliminated player
+         *
+         * @return the player who eliminated the player
+         */
+        public Player getEliminatedBy() {
+            return eliminatedBy;
+        }
+    }
+    
+    /**
+     * A player drew a card from the deck
+     */
+    public static final class CardDrawn extends GameEvent {
+        private Player player;
+        private Card card;
+        
+        /**
+         * Sets the card drawn
+         *
+         * @param player the player
+         * @param card   the card
+         */
+        void set(Player player, Card card) {
+            this.player = player;
+            this.card = card;
+        }
+        
+        /**
+         * Gets the player
+         *
+         * @return the player
+         */
+        public Player getPlayer() {
+            return player;
+        }
+        
+        /**
+         * Gets the card
+         *
+         * @return the card
+         */
+        public Card getCard() {
+            return card;
+        }
+    }
+    
+    /**
+     * The dice of a battle were rolled and its losses applied, the defending territory being conquered or not
+     */
+    public static final class BattleResolved extends GameEvent {
+        private Battle battle;
+        private boolean conquered;
+        
+        /**
+         * Sets the battle
+         *
+         * @param battle    the battle
+         * @param conquered true if the attacker now owns the defending territory
+         */
+        void set(Battle battle, boolean conquered) {
+            this.battle = battle;
+            this.conquered = conquered;
+        }
+        
+        /**
+         * Gets the battle, with its players, territories, dice and losses
+         *
+         * @return the battle
+         */
+        public Battle getBattle() {
+            return battle;
+        }
+        
+        /**
+         * Check whether the attacker conquered the defending territory
+         *
+         * @return true if the attacker now owns the defending territory
+         */
+        public boolean isConquered() {
+            return conquered;
+        }
+    }
+    // endregion
+}
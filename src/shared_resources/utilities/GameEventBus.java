@@ -0,0 +1,268 @@
+/*
+ * Risk Game Team 2
+ * GameEventBus.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static shared_resources.utilities.GameEvent.*;
+
+/**
+ * The typed events of a game, given to the listeners subscribed to their type.
+ * <ul>
+ * <li> The listeners subscribe per event type, so a listener is only called for the changes it shows or counts
+ * <li> Publishing an event without listeners only reads an array length, so a game without listeners,
+ * such as a tournament game or a fork, pays nearly nothing
+ * <li> Each type has one event object reused for every publication; a new one is only made when an event
+ * is published by a listener of the same type
+ * <li> The listeners are called on the thread changing the game, and may subscribe or unsubscribe at any time
+ * </ul>
+ * The bus has no dependency on Swing: views move to the event dispatch thread themselves, while headless consumers
+ * such as statistics attach directly.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameEvent
+ */
+public final class GameEventBus {
+    // region Attributes declaration
+    private static final List<Class<? extends GameEvent>> TYPES = Arrays.asList(TerritoryOwnerChanged.class,
+            ArmiesChanged.class, PhaseChanged.class, PlayerEliminated.class, CardDrawn.class, BattleResolved.class);
+    private static final int OWNER_CHANGED = 0;
+    private static final int ARMIES_CHANGED = 1;
+    private static final int PHASE_CHANGED = 2;
+    private static final int PLAYER_ELIMINATED = 3;
+    private static final int CARD_DRAWN = 4;
+    private static final int BATTLE_RESOLVED = 5;
+    private volatile Listener<?>[][] listeners;     // copied when a listener subscribes or unsubscribes
+    private final TerritoryOwnerChanged ownerChanged = new TerritoryOwnerChanged();
+    private final ArmiesChanged armiesChanged = new ArmiesChanged();
+    private final PhaseChanged phaseChanged = new PhaseChanged();
+    private final PlayerEliminated playerEliminated = new PlayerEliminated();
+    private final CardDrawn cardDrawn = new CardDrawn();
+    private final BattleResolved battleResolved = new BattleResolved();
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new event bus without listeners.
+     */
+    public GameEventBus() {
+        listeners = new Listener<?>[TYPES.size()][0];
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Subscribe a listener to the events of a type
+     *
+     * @param type     the event type, one of the classes nested in GameEvent
+     * @param listener the listener
+     * @param <E>      the event type
+     */
+    public synchronized <E extends GameEvent> void subscribe(Class<E> type, Listener<? super E> listener) {
+        int index = indexOf(type);
+        Listener<?>[][] newListeners = listeners.clone();
+        newListeners[index] = Arrays.copyOf(listeners[index], listeners[index].length + 1);
+        newListeners[index][listeners[index].length] = listener;
+        listeners = newListeners;
+    }
+    
+    /**
+     * Unsubscribe a listener from the events of a type
+     *
+     * @param type     the event type
+     * @param listener the listener
+     */
+    public synchronized void unsubscribe(Class<? extends GameEvent> type, Listener<?> listener) {
+        int index = indexOf(type);
+        Listener<?>[] typeListeners = listeners[index];
+        for (int i = 0; i < typeListeners.length; i++) {
+            if (typeListeners[i] == listener) {
+                Listener<?>[] newTypeListeners = new Listener<?>[typeListeners.length - 1];
+                System.arraycopy(typeListeners, 0, newTypeListeners, 0, i);
+                System.arraycopy(typeListeners, i + 1, newTypeListeners, i, typeListeners.length - i - 1);
+                Listener<?>[][] newListeners = listeners.clone();
+                newListeners[index] = newTypeListeners;
+                listeners = newListeners;
+                return;
+            }
+        }
+    }
+    
+    /**
+     * Check whether the events of a type have listeners
+     *
+     * @param type the event type
+     *
+     * @return true if at least one listener subscribed to the type
+     */
+    public boolean hasListeners(Class<? extends GameEvent> type) {
+        return listeners[indexOf(type)].length > 0;
+    }
+    
+    /**
+     * Publish that a territory was given to another player
+     *
+     * @param territory     the territory
+     * @param previousOwner the previous owner, or null
+     * @param owner         the new owner, or null
+     */
+    public void territoryOwnerChanged(Territory territory, Player previousOwner, Player owner) {
+        Listener<?>[] typeListeners = listeners[OWNER_CHANGED];
+        if (typeListeners.length == 0) {
+            return;
+        }
+        TerritoryOwnerChanged event = ownerChanged.isDispatching() ? new TerritoryOwnerChanged() : ownerChanged;
+        event.set(territory, previousOwner, owner);
+        dispatch(typeListeners, event);
+    }
+    
+    /**
+     * Publish that the number of armies on a territory changed
+     *
+     * @param territory      the territory
+     * @param previousArmies the previous number of armies
+     * @param armies         the new number of armies
+     */
+    public void armiesChanged(Territory territory, int previousArmies, int armies) {
+        Listener<?>[] typeListeners = listeners[ARMIES_CHANGED];
+        if (typeListeners.length == 0) {
+            return;
+        }
+        ArmiesChanged event = armiesChanged.isDispatching() ? new ArmiesChanged() : armiesChanged;
+        event.set(territory, previousArmies, armies);
+        dispatch(typeListeners, event);
+    }
+    
+    /**
+     * Publish that a player moved to another phase, if the phase is not the previous one
+     *
+     * @param player        the player
+     * @param previousPhase the previous phase, or null
+     * @param phase         the new phase
+     */
+    public void phaseChanged(Player player, Config.GAME_STATES previousPhase, Config.GAME_STATES phase) {
+        Listener<?>[] typeListeners = listeners[PHASE_CHANGED];
+        if (typeListeners.length == 0 || previousPhase == phase) {
+            return;
+        }
+        PhaseChanged event = phaseChanged.isDispatching() ? new PhaseChanged() : phaseChanged;
+        event.set(player, previousPhase, phase);
+        dispatch(typeListeners, event);
+    }
+    
+    /**
+     * Publish that a player lost its last territory
+     *
+     * @param player       the eliminated player
+     * @param eliminatedBy the player who conquered the last territory
+     */
+    public void playerEliminated(Player player, Player eliminatedBy) {
+        Listener<?>[] typeListeners = listeners[PLAYER_ELIMINATED];
+        if (typeListeners.length == 0) {
+            return;
+        }
+        PlayerEliminated event = playerEliminated.isDispatching() ? new PlayerEliminated() : playerEliminated;
+        event.set(player, eliminatedBy);
+        dispatch(typeListeners, event);
+    }
+    
+    /**
+     * Publish that a player drew a card from the deck
+     *
+     * @param player the player
+     * @param card   the card
+     */
+    public void cardDrawn(Player player, Card card) {
+        Listener<?>[] typeListeners = listeners[CARD_DRAWN];
+        if (typeListeners.length == 0) {
+            return;
+        }
+        CardDrawn event = cardDrawn.isDispatching() ? new CardDrawn() : cardDrawn;
+        event.set(player, card);
+        dispatch(typeListeners, event);
+    }
+    
+    /**
+     * Publish that a battle was fought, once the conquered territory, if any, has been given to the attacker
+     *
+     * @param battle the battle
+     */
+    public void battleResolved(Battle battle) {
+        Listener<?>[] typeListeners = listeners[BATTLE_RESOLVED];
+        if (typeListeners.length == 0) {
+            return;
+        }
+        BattleResolved event = battleResolved.isDispatching() ? new BattleResolved() : battleResolved;
+        event.set(battle, battle.getDefendingTerritory().getOwner() == battle.getAttacker());
+        dispatch(typeListeners, event);
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Gets the index of an event type
+     *
+     * @param type the event type
+     *
+     * @return the index of the type
+     */
+    private static int indexOf(Class<? extends GameEvent> type) {
+        int index = TYPES.indexOf(type);
+        if (index < 0) {
+            throw new IllegalArgumentException("Unknown game event type: " + type.getName());
+        }
+        return index;
+    }
+    
+    /**
+     * Give an event to the listeners of its type
+     *
+     * @param typeListeners the listeners
+     * @param event         the event
+     * @param <E>           the event type
+     */
+    @SuppressWarnings("unchecked")
+    private static <E extends GameEvent> void dispatch(Listener<?>[] typeListeners, E event) {
+        event.setDispatching(true);
+        try {
+            for (Listener<?> listener : typeListeners) {
+                ((Listener<? super E>) listener).onEvent(event);
+            }
+        } finally {
+            event.setDispatching(false);
+        }
+    }
+    // endregion
+    
+    // region Public interfaces
+    
+    /**
+     * A listener of the events of a type
+     *
+     * @param <E> the event type
+     */
+    @FunctionalInterface
+    public interface Listener<E extends GameEvent> {
+        /**
+         * Called when an event of the type is published. The event must not be kept after the call.
+         *
+         * @param event the event
+         */
+        void onEvent(E event);
+    }
+    // endregion
+}
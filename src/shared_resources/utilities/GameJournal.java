@@ -0,0 +1,578 @@
+/*
+ * Risk Game Team 2
+ * GameJournal.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import game_play.model.GamePlayModel;
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.BoardState;
+import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Player;
+import shared_resources.strategy.PlayerType;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Vector;
+
+import static shared_resources.utilities.Config.GAME_STATES;
+import static shared_resources.utilities.Config.JOURNAL_BUFFER_SIZE;
+
+/**
+ * The append-only journal of a game, recording every action that changes the game in a compact binary format.
+ * <ul>
+ * <li> The journal starts with a snapshot of the game in the saved game format, written when it is attached
+ * to the game with GamePlayModel#setJournal(GameJournal)
+ * <li> Every action is then appended as a record: its type and arguments (the territories, dice and armies of the
+ * action), followed by what the action changed since the previous record: the owners and armies of the changed
+ * territories, the changed fields of the players and the changed fields of the game, the random generator included
+ * <li> Every record is preceded by its length, so a record cut by a crash is ignored when the journal is read
+ * <li> The records are buffered and written at the end of every turn, and when the journal is flushed or closed
+ * </ul>
+ * Since the records hold the results of the actions, GameReplay rebuilds any position of the game by applying
+ * them to the snapshot, without playing the strategies of the players again.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameReplay
+ */
+public final class GameJournal implements Closeable {
+    // region Attributes declaration
+    static final int MAGIC = 0x524A4E4C;                  // "RJNL"
+    static final short FORMAT_VERSION = 1;
+    static final int NO_PLAYER = 0;
+    
+    static final int PLAYER_UNALLOCATED_ARMIES = 1;
+    static final int PLAYER_HAND = 1 << 1;
+    static final int PLAYER_GAME_STATE = 1 << 2;
+    static final int PLAYER_STATUS = 1 << 3;
+    static final int PLAYER_CONQUERED = 1 << 4;
+    static final int PLAYER_STRATEGY = 1 << 5;
+    
+    static final int GAME_CURRENT_PLAYER = 1;
+    static final int GAME_WINNER = 1 << 1;
+    static final int GAME_STATE = 1 << 2;
+    static final int GAME_TURN_COUNTER = 1 << 3;
+    static final int GAME_ATTACK_COUNTER = 1 << 4;
+    static final int GAME_ARMY_VALUE = 1 << 5;
+    static final int GAME_DECK = 1 << 6;
+    static final int GAME_DEFENDER_REACTION = 1 << 7;
+    static final int GAME_RANDOM = 1 << 8;
+    static final int GAME_BATTLE = 1 << 9;
+    static final int GAME_SETTINGS = 1 << 10;
+    
+    private final OutputStream target;
+    private final ByteArrayOutputStream memory;
+    private final ByteArrayOutputStream pending = new ByteArrayOutputStream();
+    private final DataOutputStream pendingOutput = new DataOutputStream(pending);
+    private final ByteArrayOutputStream record = new ByteArrayOutputStream();
+    private final DataOutputStream output = new DataOutputStream(record);
+    private GamePlayModel game;
+    private int actionsCount;
+    private boolean failed;
+    
+    /* what the records written so far tell about the game */
+    private int[] ownerOf;
+    private int[] armies;
+    private int[] unallocatedArmies;
+    private byte[][] hands;
+    private GAME_STATES[] playerStates;
+    private GamePlayModel.PLAYER_STATUS[] playerStatus;
+    private boolean[] conquered;
+    private PlayerType[] strategies;
+    private int currentPlayerID;
+    private int winnerID;
+    private GAME_STATES gameState;
+    private int turnCounter;
+    private int attackCounter;
+    private int armyValue;
+    private byte[] deck;
+    private boolean needDefenderReaction;
+    private GameRandom random;
+    private int[] battle;
+    private int maxTurns;
+    private int maxAttackTurn;
+    private boolean blitzBattles;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a journal writing to a stream
+     *
+     * @param target the stream
+     * @param memory the stream if the journal is kept in memory, null otherwise
+     */
+    private GameJournal(OutputStream target, ByteArrayOutputStream memory) {
+        this.target = target;
+        this.memory = memory;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Makes a journal written to a file, which replaces any existing file
+     *
+     * @param path the path of the journal file
+     *
+     * @return the journal
+     *
+     * @throws IOException the journal file cannot be opened
+     */
+    public static GameJournal toFile(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new GameJournal(Channels.newOutputStream(channel), null);
+    }
+    
+    /**
+     * Makes a journal kept in memory
+     *
+     * @return the journal
+     *
+     * @see #toByteArray()
+     */
+    public static GameJournal inMemory() {
+        ByteArrayOutputStream memory = new ByteArrayOutputStream();
+        return new GameJournal(memory, memory);
+    }
+    
+    /**
+     * Start the journal of a game with a snapshot of the game.
+     * This is called by GamePlayModel#setJournal(GameJournal).
+     *
+     * @param game the game
+     */
+    public void start(GamePlayModel game) {
+        if (this.game != null) {
+            throw new IllegalArgumentException("The journal already records a game");
+        }
+        this.game = game;
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        try {
+            SavedState.write(game, snapshot, true);
+            pendingOutput.writeInt(MAGIC);
+            pendingOutput.writeShort(FORMAT_VERSION);
+            pendingOutput.writeInt(snapshot.size());
+            snapshot.writeTo(pendingOutput);
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        
+        int territoriesCount = game.getGameMap().getBoardState().size();
+        ownerOf = new int[territoriesCount];
+        armies = new int[territoriesCount];
+        int playersCount = game.getPlayers().size();
+        unallocatedArmies = new int[playersCount];
+        hands = new byte[playersCount][];
+        playerStates = new GAME_STATES[playersCount];
+        playerStatus = new GamePlayModel.PLAYER_STATUS[playersCount];
+        conquered = new boolean[playersCount];
+        strategies = new PlayerType[playersCount];
+        try {
+            writeChanges(new DataOutputStream(new ByteArrayOutputStream()));  // the snapshot has the same state
+        } catch (IOException e) {
+            fail(e);
+        }
+        flush();
+    }
+    
+    /**
+     * Append an action to the journal, with what it changed in the game
+     *
+     * @param game      the game, which must be the game of the journal
+     * @param action    the action
+     * @param arguments the arguments of the action
+     */
+    public void record(GamePlayModel game, ACTION action, int... arguments) {
+        if (game != this.game) {
+            throw new IllegalArgumentException("The journal records another game");
+        }
+        if (failed) {
+            return;
+        }
+        try {
+            record.reset();
+            output.writeByte(action.ordinal());
+            output.writeByte(arguments.length);
+            for (int argument : arguments) {
+                output.writeInt(argument);
+            }
+            writeChanges(output);
+            pendingOutput.writeInt(record.size());
+            record.writeTo(pendingOutput);
+            actionsCount++;
+        } catch (IOException e) {
+            fail(e);
+            return;
+        }
+        if (action == ACTION.TURN || pending.size() >= JOURNAL_BUFFER_SIZE) {
+            flush();
+        }
+    }
+    
+    /**
+     * Write the buffered actions to the journal
+     */
+    public void flush() {
+        if (failed || pending.size() == 0) {
+            return;
+        }
+        try {
+            pending.writeTo(target);
+            target.flush();
+            pending.reset();
+        } catch (IOException e) {
+            fail(e);
+        }
+    }
+    
+    /**
+     * Write the buffered actions and close the journal
+     */
+    @Override
+    public void close() {
+        flush();
+        try {
+            target.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+    
+    /**
+     * Gets the number of actions recorded
+     *
+     * @return the number of actions
+     */
+    public int getActionsCount() {
+        return actionsCount;
+    }
+    
+    /**
+     * Gets the bytes of a journal kept in memory, with the actions recorded so far
+     *
+     * @return the journal
+     */
+    public byte[] toByteArray() {
+        if (memory == null) {
+            throw new IllegalArgumentException("The journal is written to a file");
+        }
+        flush();
+        return memory.toByteArray();
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Write what changed in the game since the last record
+     *
+     * @param output the record
+     *
+     * @throws IOException if the record cannot be written
+     */
+    private void writeChanges(DataOutputStream output) throws IOException {
+        writeBoardChanges(output);
+        writePlayersChanges(output);
+        writeGameChanges(output);
+    }
+    
+    /**
+     * Write the owners and armies of the territories that changed
+     *
+     * @param output the record
+     *
+     * @throws IOException if the record cannot be written
+     */
+    private void writeBoardChanges(DataOutputStream output) throws IOException {
+        BoardState boardState = game.getGameMap().getBoardState();
+        int changesCount = 0;
+        for (int id = 0; id < ownerOf.length; id++) {
+            if (boardState.getOwnerID(id) != ownerOf[id] || boardState.getArmies(id) != armies[id]) {
+                changesCount++;
+            }
+        }
+        output.writeShort(changesCount);
+        for (int id = 0; id < ownerOf.length && changesCount > 0; id++) {
+            if (boardState.getOwnerID(id) != ownerOf[id] || boardState.getArmies(id) != armies[id]) {
+                ownerOf[id] = boardState.getOwnerID(id);
+                armies[id] = boardState.getArmies(id);
+                output.writeShort(id);
+                output.writeByte(ownerOf[id]);
+                output.writeInt(armies[id]);
+                changesCount--;
+            }
+        }
+    }
+    
+    /**
+     * Write the fields of the players that changed
+     *
+     * @param output the record
+     *
+     * @throws IOException if the record cannot be written
+     */
+    private void writePlayersChanges(DataOutputStream output) throws IOException {
+        Vector<Player> players = game.getPlayers();
+        int[] changes = new int[players.size()];
+        int changedPlayers = 0;
+        for (int i = 0; i < changes.length; i++) {
+            Player player = players.get(i);
+            if (player.getUnallocatedArmies() != unallocatedArmies[i]) {
+                unallocatedArmies[i] = player.getUnallocatedArmies();
+                changes[i] |= PLAYER_UNALLOCATED_ARMIES;
+            }
+            byte[] hand = cardTypes(player.getPlayersHand());
+            if (!Arrays.equals(hand, hands[i])) {
+                hands[i] = hand;
+                changes[i] |= PLAYER_HAND;
+            }
+            if (player.getGameState() != playerStates[i]) {
+                playerStates[i] = player.getGameState();
+                changes[i] |= PLAYER_GAME_STATE;
+            }
+            if (player.getPlayerStatus() != playerStatus[i]) {
+                playerStatus[i] = player.getPlayerStatus();
+                changes[i] |= PLAYER_STATUS;
+            }
+            if (player.hasConqueredTerritories() != conquered[i]) {
+                conquered[i] = player.hasConqueredTerritories();
+                changes[i] |= PLAYER_CONQUERED;
+            }
+            if (player.getPlayerType() != strategies[i]) {
+                strategies[i] = player.getPlayerType();
+                changes[i] |= PLAYER_STRATEGY;
+            }
+            if (changes[i] != 0) {
+                changedPlayers++;
+            }
+        }
+        
+        output.writeByte(changedPlayers);
+        for (int i = 0; i < changes.length; i++) {
+            if (changes[i] == 0) {
+                continue;
+            }
+            output.writeByte(i);
+            output.writeByte(changes[i]);
+            if ((changes[i] & PLAYER_UNALLOCATED_ARMIES) != 0) {
+                output.writeInt(unallocatedArmies[i]);
+            }
+            if ((changes[i] & PLAYER_HAND) != 0) {
+                output.writeShort(hands[i].length);
+                output.write(hands[i]);
+            }
+            if ((changes[i] & PLAYER_GAME_STATE) != 0) {
+                output.writeByte(playerStates[i].ordinal());
+            }
+            if ((changes[i] & PLAYER_STATUS) != 0) {
+                output.writeByte(playerStatus[i].ordinal());
+            }
+            if ((changes[i] & PLAYER_CONQUERED) != 0) {
+                output.writeBoolean(conquered[i]);
+            }
+            if ((changes[i] & PLAYER_STRATEGY) != 0) {
+                SavedState.writePlayerType(strategies[i], output);
+            }
+        }
+    }
+    
+    /**
+     * Write the fields of the game that changed
+     *
+     * @param output the record
+     *
+     * @throws IOException if the record cannot be written
+     */
+    private void writeGameChanges(DataOutputStream output) throws IOException {
+        int changes = 0;
+        if (playerID(game.getCurrentPlayer()) != currentPlayerID) {
+            currentPlayerID = playerID(game.getCurrentPlayer());
+            changes |= GAME_CURRENT_PLAYER;
+        }
+        if (playerID(game.getWinningPlayer()) != winnerID) {
+            winnerID = playerID(game.getWinningPlayer());
+            changes |= GAME_WINNER;
+        }
+        if (game.getGameState() != gameState) {
+            gameState = game.getGameState();
+            changes |= GAME_STATE;
+        }
+        if (game.getTurnCounter() != turnCounter) {
+            turnCounter = game.getTurnCounter();
+            changes |= GAME_TURN_COUNTER;
+        }
+        if (game.getAttackCounter() != attackCounter) {
+            attackCounter = game.getAttackCounter();
+            changes |= GAME_ATTACK_COUNTER;
+        }
+        if (game.getArmyValue() != armyValue) {
+            armyValue = game.getArmyValue();
+            changes |= GAME_ARMY_VALUE;
+        }
+        byte[] deckTypes = cardTypes(game.getDeck());
+        if (!Arrays.equals(deckTypes, deck)) {
+            deck = deckTypes;
+            changes |= GAME_DECK;
+        }
+        if (game.isNeedDefenderReaction() != needDefenderReaction) {
+            needDefenderReaction = game.isNeedDefenderReaction();
+            changes |= GAME_DEFENDER_REACTION;
+        }
+        if (!game.getRandom().hasSameState(random)) {
+            random = game.getRandom().copy();
+            changes |= GAME_RANDOM;
+        }
+        int[] battleValues = battleValues(game.getCurrentBattle());
+        if (!Arrays.equals(battleValues, battle)) {
+            battle = battleValues;
+            changes |= GAME_BATTLE;
+        }
+        if (game.getMaxTurns() != maxTurns || game.getMaxAttackTurn() != maxAttackTurn || game.isBlitzBattles() != blitzBattles) {
+            maxTurns = game.getMaxTurns();
+            maxAttackTurn = game.getMaxAttackTurn();
+            blitzBattles = game.isBlitzBattles();
+            changes |= GAME_SETTINGS;
+        }
+        
+        output.writeShort(changes);
+        if ((changes & GAME_CURRENT_PLAYER) != 0) {
+            output.writeByte(currentPlayerID);
+        }
+        if ((changes & GAME_WINNER) != 0) {
+            output.writeByte(winnerID);
+        }
+        if ((changes & GAME_STATE) != 0) {
+            output.writeByte(gameState.ordinal());
+        }
+        if ((changes & GAME_TURN_COUNTER) != 0) {
+            output.writeInt(turnCounter);
+        }
+        if ((changes & GAME_ATTACK_COUNTER) != 0) {
+            output.writeInt(attackCounter);
+        }
+        if ((changes & GAME_ARMY_VALUE) != 0) {
+            output.writeInt(armyValue);
+        }
+        if ((changes & GAME_DECK) != 0) {
+            output.writeShort(deck.length);
+            output.write(deck);
+        }
+        if ((changes & GAME_DEFENDER_REACTION) != 0) {
+            output.writeBoolean(needDefenderReaction);
+        }
+        if ((changes & GAME_RANDOM) != 0) {
+            random.writeState(output);
+        }
+        if ((changes & GAME_BATTLE) != 0) {
+            output.writeBoolean(battle != null);
+            if (battle != null) {
+                output.writeByte(battle[0]);
+                output.writeShort(battle[1]);
+                output.writeByte(battle[2]);
+                output.writeShort(battle[3]);
+                output.writeByte(battle[4]);
+                output.writeByte(battle[5]);
+                output.writeInt(battle[6]);
+                output.writeInt(battle[7]);
+            }
+        }
+        if ((changes & GAME_SETTINGS) != 0) {
+            output.writeInt(maxTurns);
+            output.writeInt(maxAttackTurn);
+            output.writeBoolean(blitzBattles);
+        }
+    }
+    
+    /**
+     * Stop recording after an error, the game goes on without journal
+     *
+     * @param e the error
+     */
+    private void fail(IOException e) {
+        e.printStackTrace();
+        failed = true;
+    }
+    
+    /**
+     * Gets the types of a set of cards
+     *
+     * @param cards the cards
+     *
+     * @return the ordinals of the card types
+     */
+    private static byte[] cardTypes(Vector<Card> cards) {
+        byte[] types = new byte[cards.size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = (byte) cards.get(i).getCardType().ordinal();
+        }
+        return types;
+    }
+    
+    /**
+     * Gets the values of a battle, in the order of the record
+     *
+     * @param battle the battle, or null
+     *
+     * @return the attacker ID, the attacking territory ID, the defender ID, the defending territory ID, the dice
+     * of both players and their losses, or null if there is no battle
+     */
+    private static int[] battleValues(Battle battle) {
+        if (battle == null) {
+            return null;
+        }
+        return new int[]{playerID(battle.getAttacker()), battle.getAttackingTerritory().getId(),
+                playerID(battle.getDefender()), battle.getDefendingTerritory().getId(),
+                battle.getAttackerDice().getRollsCount(),
+                (battle.getDefenderDice() == null) ? 0 : battle.getDefenderDice().getRollsCount(),
+                battle.getAttackerLossCount(), battle.getDefenderLossCount()};
+    }
+    
+    /**
+     * Gets the ID of a player
+     *
+     * @param player the player, or null
+     *
+     * @return the player ID, NO_PLAYER for null
+     */
+    private static int playerID(Player player) {
+        return (player == null) ? NO_PLAYER : player.getPlayerID();
+    }
+    // endregion
+    
+    /**
+     * The actions recorded in the journal, with their arguments
+     * <ul>
+     * <li> STARTUP_PLACE: the territory that got one army during the startup phase
+     * <li> START: the game starts, without arguments
+     * <li> STRATEGY: the strategies of the players changed, without arguments
+     * <li> TRADE: the armies received for the traded cards
+     * <li> REINFORCE: the territory and armies of every placement of a human player, no arguments for a bot
+     * <li> ATTACK: the attacking territory, the defending territory and the dice of the attacker and the defender
+     * (0 when the defender has not chosen yet), no arguments when the bot stops attacking
+     * <li> BATTLE: the attacking territory, the defending territory, the losses of the attacker and the defender,
+     * then the number and values of the dice of the attacker and the defender (no dice for a blitz battle)
+     * <li> CONQUER: the armies moved to the conquered territory
+     * <li> FORTIFY: the source territory, the target territory and the armies moved, no arguments for a bot
+     * <li> PHASE: the new phase of the current player
+     * <li> TURN: the player whose turn begins and the turn counter
+     * </ul>
+     * The territories are given by their IDs and the players by their player IDs.
+     */
+    public enum ACTION {
+        STARTUP_PLACE, START, STRATEGY, TRADE, REINFORCE, ATTACK, BATTLE, CONQUER, FORTIFY, PHASE, TURN
+    }
+}
@@ -0,0 +1,134 @@
+/*
+ * Risk Game Team 2
+ * GameLog.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.function.Supplier;
+
+import static shared_resources.utilities.Config.LOG_LEVEL;
+
+/**
+ * The sink that a game writes its progression messages to.
+ * Every GamePlayModel owns its own sink so that several games can be played at the same time
+ * without sharing any logging state.
+ * The game engine only depends on this interface, so it can run headless with a file-only or a no-op sink,
+ * or with the logging window when there is a user interface.
+ * <p>
+ * Messages are logged at a level of detail. The message of a disabled level is never built when it is
+ * given as a supplier, or when the call is guarded by isEnabled(LOG_LEVEL).
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public interface GameLog {
+    /**
+     * A sink that discards every message
+     */
+    GameLog NONE = new GameLog() {
+        @Override
+        public void append(String text) {
+        }
+
+        @Override
+        public boolean isEnabled(LOG_LEVEL level) {
+            return false;
+        }
+    };
+
+    /**
+     * Makes a headless sink writing to a file only
+     *
+     * @param path the path of the log file
+     *
+     * @return the file sink, or the no-op sink if the file cannot be opened
+     */
+    static GameLog toFile(Path path) {
+        try {
+            return new AsyncLogWriter(path);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return NONE;
+        }
+    }
+
+    /**
+     * Makes a sink that only lets the messages up to a level of detail through to another sink
+     *
+     * @param maxLevel the most detailed level written
+     * @param sink     the sink receiving the messages
+     *
+     * @return the filtered sink
+     */
+    static GameLog upTo(LOG_LEVEL maxLevel, GameLog sink) {
+        return new GameLog() {
+            @Override
+            public void append(String text) {
+                sink.append(text);
+            }
+
+            @Override
+            public boolean isEnabled(LOG_LEVEL level) {
+                return level.compareTo(maxLevel) <= 0 && sink.isEnabled(level);
+            }
+
+            @Override
+            public void flush() {
+                sink.flush();
+            }
+        };
+    }
+
+    /**
+     * Appends a line of text to the log, whatever the level of detail of the log
+     *
+     * @param text the text to be appended
+     */
+    void append(String text);
+
+    /**
+     * Tells whether the messages of a level of detail are written
+     *
+     * @param level the level of detail
+     *
+     * @return true if the messages of this level are written
+     */
+    default boolean isEnabled(LOG_LEVEL level) {
+        return true;
+    }
+
+    /**
+     * Appends a line of text to the log if its level of detail is enabled
+     *
+     * @param level the level of detail of the message
+     * @param text  the text to be appended
+     */
+    default void append(LOG_LEVEL level, String text) {
+        if (isEnabled(level)) {
+            append(text);
+        }
+    }
+
+    /**
+     * Builds and appends a line of text to the log only if its level of detail is enabled
+     *
+     * @param level   the level of detail of the message
+     * @param message the supplier building the text to be appended
+     */
+    default void append(LOG_LEVEL level, Supplier<String> message) {
+        if (isEnabled(level)) {
+            append(message.get());
+        }
+    }
+
+    /**
+     * Makes sure every line appended so far has reached its destination.
+     * Sinks that do not buffer have nothing to do.
+     */
+    default void flush() {
+    }
+}
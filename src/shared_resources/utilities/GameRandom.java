@@ -0,0 +1,241 @@
+/*
+ * Risk Game Team 2
+ * GameRandom.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The random number generator of a game, drawing the dice rolls and every other random decision of the game.
+ * <ul>
+ * <li> It is the SplitMix64 generator: the same algorithm as java.util.SplittableRandom, but serializable
+ * so a saved game keeps its stream of numbers
+ * <li> Two generators created with the same seed give the same numbers
+ * <li> split() derives a new generator whose numbers are independent from this one
+ * <li> It is not thread-safe: every game owns its generator
+ * </ul>
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public final class GameRandom implements Serializable {
+    // region Attributes declaration
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final AtomicLong SEED_GENERATOR = new AtomicLong(mix64(System.currentTimeMillis()) ^ mix64(System.nanoTime()));
+    private long seed;
+    private final long gamma;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a generator with a seed that is different for every instance
+     */
+    public GameRandom() {
+        this(mix64(SEED_GENERATOR.getAndAdd(GOLDEN_GAMMA)));
+    }
+    
+    /**
+     * Instantiates a generator with a given seed
+     *
+     * @param seed the seed
+     */
+    public GameRandom(long seed) {
+        this(seed, GOLDEN_GAMMA);
+    }
+    
+    /**
+     * Instantiates a generator with a given seed and step
+     *
+     * @param seed  the seed
+     * @param gamma the step added to the seed for every number, which must be odd
+     */
+    private GameRandom(long seed, long gamma) {
+        this.seed = seed;
+        this.gamma = gamma;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Derive a new generator, which shares no state with this one.
+     * This generator moves forward by two numbers.
+     *
+     * @return the new generator
+     */
+    public GameRandom split() {
+        return new GameRandom(nextLong(), mixGamma(nextSeed()));
+    }
+    
+    /**
+     * Copy the generator: the copy gives the same numbers as this generator from now on
+     *
+     * @return the copy
+     */
+    public GameRandom copy() {
+        return new GameRandom(seed, gamma);
+    }
+    
+    /**
+     * Check if another generator is in the same state as this one, so it would give the same numbers
+     *
+     * @param other the other generator, or null
+     *
+     * @return true if both generators give the same numbers from now on
+     */
+    boolean hasSameState(GameRandom other) {
+        return other != null && seed == other.seed && gamma == other.gamma;
+    }
+    
+    /**
+     * Gets the next random long
+     *
+     * @return a random long
+     */
+    public long nextLong() {
+        return mix64(nextSeed());
+    }
+    
+    /**
+     * Gets the next random integer
+     *
+     * @return a random integer
+     */
+    public int nextInt() {
+        return mix32(nextSeed());
+    }
+    
+    /**
+     * Gets the next random integer between 0 (included) and bound (excluded), without bias
+     *
+     * @param bound the upper bound
+     *
+     * @return a random integer between 0 and bound - 1
+     */
+    public int nextInt(int bound) {
+        if (bound <= 0) {
+            throw new IllegalArgumentException("The bound must be positive: " + bound);
+        }
+        int result = mix32(nextSeed());
+        int mask = bound - 1;
+        if ((bound & mask) == 0) {
+            return result & mask;
+        }
+        for (int bits = result >>> 1; bits + mask - (result = bits % bound) < 0; bits = mix32(nextSeed()) >>> 1) {
+            // reject the values of the incomplete last interval
+        }
+        return result;
+    }
+    
+    /**
+     * Gets the next random boolean
+     *
+     * @return a random boolean
+     */
+    public boolean nextBoolean() {
+        return mix32(nextSeed()) < 0;
+    }
+    
+    /**
+     * Gets the next random double between 0.0 (included) and 1.0 (excluded)
+     *
+     * @return a random double
+     */
+    public double nextDouble() {
+        return (nextLong() >>> 11) * 0x1.0p-53;
+    }
+    // endregion
+    
+    // region Package methods
+    
+    /**
+     * Write the state of the generator to a saved game
+     *
+     * @param output the saved game
+     *
+     * @throws IOException if the state cannot be written
+     */
+    void writeState(DataOutput output) throws IOException {
+        output.writeLong(seed);
+        output.writeLong(gamma);
+    }
+    
+    /**
+     * Read a generator from a saved game: it gives the numbers the saved generator would have given
+     *
+     * @param input the saved game
+     *
+     * @return the generator
+     *
+     * @throws IOException if the state cannot be read
+     */
+    static GameRandom readState(DataInput input) throws IOException {
+        long seed = input.readLong();
+        long gamma = input.readLong();
+        if ((gamma & 1L) == 0) {
+            throw new IllegalArgumentException("Invalid state of the random generator");
+        }
+        return new GameRandom(seed, gamma);
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Move the seed forward by one step
+     *
+     * @return the new seed
+     */
+    private long nextSeed() {
+        return seed += gamma;
+    }
+    
+    /**
+     * Mix the bits of a seed into a 64 bits random number
+     *
+     * @param z the seed
+     *
+     * @return the random number
+     */
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+    
+    /**
+     * Mix the bits of a seed into a 32 bits random number
+     *
+     * @param z the seed
+     *
+     * @return the random number
+     */
+    private static int mix32(long z) {
+        z = (z ^ (z >>> 33)) * 0x62a9d9ed799705f5L;
+        return (int) (((z ^ (z >>> 28)) * 0xcb24d0a5c88c35b3L) >>> 32);
+    }
+    
+    /**
+     * Mix the bits of a seed into an odd step having enough bit transitions
+     *
+     * @param z the seed
+     *
+     * @return the step
+     */
+    private static long mixGamma(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        z = (z ^ (z >>> 33)) | 1L;
+        int transitions = Long.bitCount(z ^ (z >>> 1));
+        return (transitions < 24) ? z ^ 0xaaaaaaaaaaaaaaaaL : z;
+    }
+    // endregion
+}
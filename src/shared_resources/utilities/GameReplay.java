@@ -0,0 +1,467 @@
+/*
+ * Risk Game Team 2
+ * GameReplay.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import game_play.model.GamePlayModel;
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
+import shared_resources.game_entities.TerritoryGraph;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Vector;
+
+import static shared_resources.utilities.Config.GAME_STATES;
+import static shared_resources.utilities.Config.JOURNAL_CHECKPOINT_INTERVAL;
+import static shared_resources.utilities.GameJournal.*;
+
+/**
+ * The replay of a game journal, which rebuilds the positions of the game after any number of its actions.
+ * <ul>
+ * <li> The positions are rebuilt by applying the changes recorded with every action to the snapshot that starts
+ * the journal: the strategies of the players are not played again and no dice are rolled
+ * <li> Every JOURNAL_CHECKPOINT_INTERVAL actions, the replay keeps a fork of the position, so going back in the
+ * game only applies the actions from the closest kept position
+ * <li> The positions where the turns begin are indexed when the journal is read, so a turn is found by a binary
+ * search, and the actions of a type (e.g. the battles) are found by their first byte only
+ * <li> A record cut at the end of the journal, e.g. by a crash, is ignored: the last position is the position after
+ * the last complete action, from which the game can be resumed
+ * </ul>
+ * The positions are forks of the game, so they have no user interface models and no log.
+ *
+ * @author Team 2
+ * @version 3.0
+ * @see GameJournal
+ */
+public final class GameReplay {
+    // region Attributes declaration
+    private final byte[] journal;
+    private final int[] recordOffsets;
+    private final int[] recordLengths;
+    private final int[] turnPositions;
+    private final int[] turnNumbers;
+    private final GamePlayModel[] checkpoints;
+    private GamePlayModel game;
+    private int position;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates the replay of a journal, at the position before its first action
+     *
+     * @param journal the bytes of the journal
+     *
+     * @throws IOException if the snapshot of the journal cannot be read
+     */
+    public GameReplay(byte[] journal) throws IOException {
+        this.journal = journal;
+        ByteBuffer buffer = ByteBuffer.wrap(journal);
+        if (journal.length < 10 || buffer.getInt() != MAGIC) {
+            throw new IllegalArgumentException("The file is not a game journal");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("The journal was written in the version " + version +
+                    " of the format, this version reads the version " + FORMAT_VERSION);
+        }
+        int snapshotLength = buffer.getInt();
+        if (snapshotLength < 0 || snapshotLength > buffer.remaining()) {
+            throw new IllegalArgumentException("The snapshot of the journal is incomplete");
+        }
+        GamePlayModel snapshot = SavedState.read(new ByteArrayInputStream(journal, buffer.position(), snapshotLength));
+        buffer.position(buffer.position() + snapshotLength);
+        
+        int count = 0;
+        int[] offsets = new int[64];
+        int[] lengths = new int[64];
+        while (buffer.remaining() >= Integer.BYTES) {
+            int length = buffer.getInt();
+            if (length < 2 || length > buffer.remaining()) {
+                break;  // the last record was not completely written
+            }
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+                lengths = Arrays.copyOf(lengths, count * 2);
+            }
+            offsets[count] = buffer.position();
+            lengths[count] = length;
+            count++;
+            buffer.position(buffer.position() + length);
+        }
+        recordOffsets = Arrays.copyOf(offsets, count);
+        recordLengths = Arrays.copyOf(lengths, count);
+        
+        int turnsCount = 0;
+        int[] positions = new int[count];
+        int[] turns = new int[count];
+        for (int i = 0; i < count; i++) {
+            if (journal[offsets[i]] == ACTION.TURN.ordinal()) {
+                positions[turnsCount] = i + 1;
+                turns[turnsCount] = buffer.getInt(offsets[i] + 2 + Integer.BYTES);    // the second argument
+                turnsCount++;
+            }
+        }
+        turnPositions = Arrays.copyOf(positions, turnsCount);
+        turnNumbers = Arrays.copyOf(turns, turnsCount);
+        
+        checkpoints = new GamePlayModel[count / JOURNAL_CHECKPOINT_INTERVAL + 1];
+        checkpoints[0] = snapshot.fork();
+        game = checkpoints[0].fork();
+        position = 0;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Open the replay of a journal file
+     *
+     * @param path the path of the journal file
+     *
+     * @return the replay, at the position before the first action
+     *
+     * @throws IOException if the journal cannot be read
+     */
+    public static GameReplay open(Path path) throws IOException {
+        return new GameReplay(Files.readAllBytes(path));
+    }
+    
+    /**
+     * Gets the number of actions in the journal
+     *
+     * @return the number of actions
+     */
+    public int getActionsCount() {
+        return recordOffsets.length;
+    }
+    
+    /**
+     * Gets the number of actions applied to the current position
+     *
+     * @return the position, between 0 and getActionsCount()
+     */
+    public int getPosition() {
+        return position;
+    }
+    
+    /**
+     * Gets the game at the current position.
+     * Going back with seek(int) replaces the game object, so it must be got again after every seek.
+     *
+     * @return the game
+     */
+    public GamePlayModel getGame() {
+        return game;
+    }
+    
+    /**
+     * Gets an action of the journal
+     *
+     * @param index the index of the action, between 0 and getActionsCount() - 1
+     *
+     * @return the action
+     */
+    public ACTION getAction(int index) {
+        int action = journal[recordOffsets[index]] & 0xff;
+        if (action >= ACTION.values().length) {
+            throw new IllegalArgumentException("Unknown action in the journal: " + action);
+        }
+        return ACTION.values()[action];
+    }
+    
+    /**
+     * Gets the arguments of an action of the journal
+     *
+     * @param index the index of the action, between 0 and getActionsCount() - 1
+     *
+     * @return the arguments
+     *
+     * @see GameJournal.ACTION
+     */
+    public int[] getArguments(int index) {
+        ByteBuffer buffer = ByteBuffer.wrap(journal, recordOffsets[index] + 1, recordLengths[index] - 1);
+        int[] arguments = new int[buffer.get() & 0xff];
+        for (int i = 0; i < arguments.length; i++) {
+            arguments[i] = buffer.getInt();
+        }
+        return arguments;
+    }
+    
+    /**
+     * Gets the turn counter of the game at a position
+     *
+     * @param position the position, between 0 and getActionsCount()
+     *
+     * @return the turn counter
+     */
+    public int getTurn(int position) {
+        int turn = Arrays.binarySearch(turnPositions, position);
+        if (turn < 0) {
+            turn = -turn - 2;   // the last turn beginning before the position
+        }
+        return (turn < 0) ? checkpoints[0].getTurnCounter() : turnNumbers[turn];
+    }
+    
+    /**
+     * Gets the last turn counter of the journal
+     *
+     * @return the turn counter at the end of the journal
+     */
+    public int getLastTurn() {
+        return getTurn(recordOffsets.length);
+    }
+    
+    /**
+     * Gets the position where a turn begins: after the action giving the turn to its player
+     *
+     * @param turn the turn counter
+     *
+     * @return the position of the first turn with this counter or a later one, 0 for the turns before the first
+     * recorded turn, getActionsCount() for the turns after the last one
+     */
+    public int getTurnPosition(int turn) {
+        if (turnNumbers.length == 0 || turn <= checkpoints[0].getTurnCounter()) {
+            return 0;
+        }
+        int index = Arrays.binarySearch(turnNumbers, turn);
+        if (index < 0) {
+            index = -index - 1;
+        } else {
+            while (index > 0 && turnNumbers[index - 1] == turn) {
+                index--;
+            }
+        }
+        return (index < turnPositions.length) ? turnPositions[index] : recordOffsets.length;
+    }
+    
+    /**
+     * Find the next action of a type
+     *
+     * @param action   the type of action
+     * @param position the position to search from
+     *
+     * @return the position after the first action of this type applied after the given position, -1 if there is none
+     */
+    public int findNext(ACTION action, int position) {
+        for (int index = Math.max(position, 0); index < recordOffsets.length; index++) {
+            if (journal[recordOffsets[index]] == action.ordinal()) {
+                return index + 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Find the previous action of a type
+     *
+     * @param action   the type of action
+     * @param position the position to search from
+     *
+     * @return the position after the last action of this type applied before the last action of the given position,
+     * -1 if there is none
+     */
+    public int findPrevious(ACTION action, int position) {
+        for (int index = Math.min(position, recordOffsets.length) - 2; index >= 0; index--) {
+            if (journal[recordOffsets[index]] == action.ordinal()) {
+                return index + 1;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Apply the next action
+     *
+     * @return true if an action was applied, false at the end of the journal
+     */
+    public boolean next() {
+        if (position == recordOffsets.length) {
+            return false;
+        }
+        apply(position);
+        position++;
+        if (position % JOURNAL_CHECKPOINT_INTERVAL == 0 && checkpoints[position / JOURNAL_CHECKPOINT_INTERVAL] == null) {
+            checkpoints[position / JOURNAL_CHECKPOINT_INTERVAL] = game.fork();
+        }
+        return true;
+    }
+    
+    /**
+     * Move to the position after a number of actions
+     *
+     * @param position the number of actions applied, between 0 and getActionsCount()
+     *
+     * @return the game at this position
+     */
+    public GamePlayModel seek(int position) {
+        if (position < 0 || position > recordOffsets.length) {
+            throw new IllegalArgumentException("Invalid position " + position + " in a journal of " +
+                    recordOffsets.length + " actions");
+        }
+        int checkpoint = position / JOURNAL_CHECKPOINT_INTERVAL;
+        while (checkpoints[checkpoint] == null) {
+            checkpoint--;
+        }
+        if (position < this.position || checkpoint * JOURNAL_CHECKPOINT_INTERVAL > this.position) {
+            game = checkpoints[checkpoint].fork();
+            this.position = checkpoint * JOURNAL_CHECKPOINT_INTERVAL;
+        }
+        while (this.position < position) {
+            next();
+        }
+        return game;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Apply the changes of an action to the game
+     *
+     * @param index the index of the action
+     */
+    private void apply(int index) {
+        try {
+            DataInputStream input = new DataInputStream(new ByteArrayInputStream(journal, recordOffsets[index], recordLengths[index]));
+            input.readUnsignedByte();
+            input.skipBytes(input.readUnsignedByte() * Integer.BYTES);
+            Vector<Player> players = game.getPlayers();
+            Player[] playersByID = new Player[Config.PLAYER_COLOR.length + 1];
+            for (Player player : players) {
+                playersByID[player.getPlayerID()] = player;
+            }
+            
+            TerritoryGraph graph = game.getGameMap().getGraph();
+            int changesCount = input.readUnsignedShort();
+            for (int i = 0; i < changesCount; i++) {
+                Territory territory = graph.getTerritory(input.readUnsignedShort());
+                territory.setOwner(getPlayer(playersByID, input.readUnsignedByte()));
+                territory.setArmies(input.readInt());
+            }
+            
+            int changedPlayers = input.readUnsignedByte();
+            for (int i = 0; i < changedPlayers; i++) {
+                Player player = players.get(input.readUnsignedByte());
+                int changes = input.readUnsignedByte();
+                if ((changes & PLAYER_UNALLOCATED_ARMIES) != 0) {
+                    player.setUnallocatedArmies(input.readInt());
+                }
+                if ((changes & PLAYER_HAND) != 0) {
+                    player.getPlayersHand().clear();
+                    for (Card card : SavedState.readCards(input)) {
+                        player.addCardToPlayersHand(card);
+                    }
+                }
+                if ((changes & PLAYER_GAME_STATE) != 0) {
+                    player.setGameState(GAME_STATES.values()[input.readUnsignedByte()]);
+                }
+                if ((changes & PLAYER_STATUS) != 0) {
+                    player.setPlayerStatus(GamePlayModel.PLAYER_STATUS.values()[input.readUnsignedByte()]);
+                }
+                if ((changes & PLAYER_CONQUERED) != 0) {
+                    player.setHasConqueredTerritories(input.readBoolean());
+                }
+                if ((changes & PLAYER_STRATEGY) != 0) {
+                    player.setPlayerType(SavedState.readPlayerType(input));
+                }
+            }
+            
+            int changes = input.readUnsignedShort();
+            if ((changes & GAME_CURRENT_PLAYER) != 0) {
+                game.setCurrentPlayer(getPlayer(playersByID, input.readUnsignedByte()));
+            }
+            if ((changes & GAME_WINNER) != 0) {
+                game.setWinningPlayer(getPlayer(playersByID, input.readUnsignedByte()));
+            }
+            if ((changes & GAME_STATE) != 0) {
+                game.setGameState(GAME_STATES.values()[input.readUnsignedByte()]);
+            }
+            if ((changes & GAME_TURN_COUNTER) != 0) {
+                game.setTurnCounter(input.readInt());
+            }
+            if ((changes & GAME_ATTACK_COUNTER) != 0) {
+                game.setAttackCounter(input.readInt());
+            }
+            if ((changes & GAME_ARMY_VALUE) != 0) {
+                game.setArmyValue(input.readInt());
+            }
+            if ((changes & GAME_DECK) != 0) {
+                Vector<Card> deck = SavedState.readCards(input);
+                game.getDeck().clear();
+                game.getDeck().addAll(deck);
+            }
+            if ((changes & GAME_DEFENDER_REACTION) != 0) {
+                game.setNeedDefenderReaction(input.readBoolean());
+            }
+            if ((changes & GAME_RANDOM) != 0) {
+                game.setRandom(GameRandom.readState(input));
+            }
+            if ((changes & GAME_BATTLE) != 0) {
+                game.setCurrentBattle(input.readBoolean() ? readBattle(input, playersByID, graph) : null);
+            }
+            if ((changes & GAME_SETTINGS) != 0) {
+                game.setMaxTurns(input.readInt());
+                game.setMaxAttackTurn(input.readInt());
+                game.setBlitzBattles(input.readBoolean());
+            }
+        } catch (IOException | IndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("The action " + index + " of the journal is corrupted", e);
+        }
+    }
+    
+    /**
+     * Read the battle in progress
+     *
+     * @param input       the record
+     * @param playersByID the players, indexed by player ID
+     * @param graph       the territories
+     *
+     * @return the battle
+     *
+     * @throws IOException if the battle cannot be read
+     */
+    private static Battle readBattle(DataInputStream input, Player[] playersByID, TerritoryGraph graph) throws IOException {
+        Player attacker = getPlayer(playersByID, input.readUnsignedByte());
+        Territory attackingTerritory = graph.getTerritory(input.readUnsignedShort());
+        Player defender = getPlayer(playersByID, input.readUnsignedByte());
+        Territory defendingTerritory = graph.getTerritory(input.readUnsignedShort());
+        Battle battle = new Battle(attacker, attackingTerritory, input.readUnsignedByte(), defender, defendingTerritory);
+        int defendingDice = input.readUnsignedByte();
+        if (defendingDice > 0) {
+            battle.setDefendingDice(defendingDice);
+        }
+        battle.addLosses(input.readInt(), input.readInt());
+        return battle;
+    }
+    
+    /**
+     * Gets a player of the game from its ID
+     *
+     * @param playersByID the players, indexed by player ID
+     * @param playerID    the player ID, NO_PLAYER for none
+     *
+     * @return the player, null for NO_PLAYER
+     */
+    private static Player getPlayer(Player[] playersByID, int playerID) {
+        if (playerID == NO_PLAYER) {
+            return null;
+        }
+        if (playerID >= playersByID.length || playersByID[playerID] == null) {
+            throw new IllegalArgumentException("Unknown player in the journal: " + playerID);
+        }
+        return playersByID[playerID];
+    }
+    // endregion
+}
@@ -0,0 +1,128 @@
+/*
+ * Risk Game Team 2
+ * NotificationDispatcher.java
+ * Version 3.0
+ * Nov 29, 2017
+ */
+package shared_resources.utilities;
+
+import javax.swing.*;
+import java.util.Observable;
+import java.util.Observer;
+import java.util.Vector;
+import java.util.function.Predicate;
+
+import static shared_resources.utilities.Config.VIEWS_REFRESH_INTERVAL_MS;
+
+/**
+ * An observer of a model forwarding its notifications to views, coalesced into one refresh per frame.
+ * <ul>
+ * <li> A burst of notifications, such as the battles of a bot turn, refreshes the views once with the last state
+ * <li> The views are refreshed on the event dispatch thread, at most once per refresh interval
+ * <li> When the model is urgent, for example when it waits for a user, the views are refreshed at once
+ * <li> The views only read a model on the event dispatch thread: the notifications sent from another thread are
+ * ignored, and a model changed on another thread is shown by giving snapshots of it to update on the
+ * event dispatch thread
+ * </ul>
+ * The views are notified in the order an Observable would notify them: the last added first.
+ *
+ * @author Team 2
+ * @version 3.0
+ */
+public class NotificationDispatcher implements Observer {
+    // region Attributes declaration
+    private final Vector<Observer> views;
+    private final Predicate<Observable> urgent;
+    private final long intervalNanos;
+    private final Timer timer;
+    private Observable pendingObservable;
+    private Object pendingArg;
+    private long lastRefreshNanos;
+    // endregion
+    
+    // region Constructors
+    
+    /**
+     * Instantiates a new dispatcher refreshing the views at most once every VIEWS_REFRESH_INTERVAL_MS
+     *
+     * @param urgent tells whether the views must be refreshed at once with a notifying model
+     */
+    public NotificationDispatcher(Predicate<Observable> urgent) {
+        this(urgent, VIEWS_REFRESH_INTERVAL_MS);
+    }
+    
+    /**
+     * Instantiates a new dispatcher
+     *
+     * @param urgent            tells whether the views must be refreshed at once with a notifying model
+     * @param refreshIntervalMs the shortest time in milliseconds between two refreshes
+     */
+    public NotificationDispatcher(Predicate<Observable> urgent, int refreshIntervalMs) {
+        if (refreshIntervalMs < 0) {
+            throw new IllegalArgumentException("The refresh interval must not be negative");
+        }
+        this.views = new Vector<>();
+        this.urgent = urgent;
+        this.intervalNanos = refreshIntervalMs * 1_000_000L;
+        this.timer = new Timer(refreshIntervalMs, e -> flush());
+        this.timer.setRepeats(false);
+        this.lastRefreshNanos = System.nanoTime() - intervalNanos;
+    }
+    // endregion
+    
+    // region Public methods
+    
+    /**
+     * Adds a view to be refreshed
+     *
+     * @param view the view
+     */
+    public void addObserver(Observer view) {
+        views.add(view);
+    }
+    
+    /**
+     * Refresh the views now with the pending notification, if any. Must be called on the event dispatch thread.
+     */
+    public void flush() {
+        timer.stop();
+        Observable observable = pendingObservable;
+        Object arg = pendingArg;
+        pendingObservable = null;
+        pendingArg = null;
+        if (observable == null) {
+            return;
+        }
+        lastRefreshNanos = System.nanoTime();
+        
+        for (int i = views.size() - 1; i >= 0; i--) {
+            views.get(i).update(observable, arg);
+        }
+    }
+    
+    /**
+     * Keep the notification of the model, and refresh the views at once if the model is urgent,
+     * or at the end of the current refresh interval otherwise.
+     * A notification sent from another thread than the event dispatch thread is ignored.
+     *
+     * @param o   the observable object.
+     * @param arg an argument passed to the <code>notifyObservers</code>
+     */
+    @Override
+    public void update(Observable o, Object arg) {
+        if (!SwingUtilities.isEventDispatchThread()) {
+            return;
+        }
+        boolean scheduled = pendingObservable != null;
+        pendingObservable = o;
+        pendingArg = arg;
+        if (urgent.test(o)) {
+            flush();
+        } else if (!scheduled) {
+            long delayNanos = Math.max(0, lastRefreshNanos + intervalNanos - System.nanoTime());
+            timer.setInitialDelay((int) (delayNanos / 1_000_000L));
+            timer.start();
+        }
+    }
+    // endregion
+}
@@ -7,36 +7,93 @@
 package shared_resources.utilities;
 
 import game_play.model.GamePlayModel;
+import shared_resources.game_entities.Battle;
+import shared_resources.game_entities.BoardState;
+import shared_resources.game_entities.Card;
+import shared_resources.game_entities.Continent;
+import shared_resources.game_entities.GameMap;
+import shared_resources.game_entities.Player;
+import shared_resources.game_entities.Territory;
+import shared_resources.game_entities.TerritoryGraph;
+import shared_resources.strategy.AggressiveBot;
+import shared_resources.strategy.BenevolentBot;
+import shared_resources.strategy.CheaterBot;
+import shared_resources.strategy.Human;
+import shared_resources.strategy.MCTSBot;
+import shared_resources.strategy.PlayerType;
+import shared_resources.strategy.RandomBot;
 
 import java.io.*;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Vector;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
 
 /**
- * Class providing serialization capability for specific game objects
- * The main model of the game is used to save the state of the game and later restore it
+ * Class providing the saving and loading of the games, in a binary format of its own.
+ * <ul>
+ * <li> The header holds the format magic number and version, the flags and a hash of the map, which is checked
+ * when the game is loaded
+ * <li> The map is saved with the game: its continents, then its territories in the order of their IDs, with
+ * their continent and neighbors as indexes
+ * <li> The owners and armies of the territories are saved as arrays, followed by the players, the deck and
+ * the progress of the game
+ * <li> Everything after the header can be compressed
+ * </ul>
+ * The files are streamed through file channels, and loading a game only creates its objects through their
+ * constructors and setters: no class is looked up from the file, so a file cannot make the game run other code.
  */
 public class SavedState implements Serializable {
+    // region Attributes declaration
+    private static final int MAGIC = 0x5249534B;           // "RISK"
+    private static final short FORMAT_VERSION = 1;
+    private static final int FLAG_COMPRESSED = 1;
+    private static final int NO_PLAYER = 0;
+    private static final int MAX_UTF_BYTES = 2 + 65535;    // a string written by writeUTF
+    /* the largest map the format holds, within the limits of the map files */
+    private static final int MAX_MAP_BYTES = MAX_UTF_BYTES + 2
+            + Config.MAPS_MAX_CONTINENTS * (MAX_UTF_BYTES + 4 + 2 + 2 * Config.MAPS_MAX_TERRITORIES)
+            + 2 + Config.MAPS_MAX_TERRITORIES * (MAX_UTF_BYTES + 2 + 1 + 2 * Config.MAPS_MAX_NEIGHBORS);
+    // endregion
     
     // region Public Methods
     
     /**
-     * Saving the game to file from the central game model
+     * Saving the game to a compressed file from the central game model
      *
-     * @param gamePlayModel the main game model to be serialized
-     * @param path          the destination to write the serialized object to file
+     * @param gamePlayModel the main game model to be saved
+     * @param path          the destination file
      */
     public static void saveGame(GamePlayModel gamePlayModel, String path) {
-        
+        saveGame(gamePlayModel, path, true);
+    }
+    
+    /**
+     * Saving the game to file from the central game model.
+     * A map beyond the limits of the map files is not saved, and the file is left as it was.
+     *
+     * @param gamePlayModel the main game model to be saved
+     * @param path          the destination file
+     * @param compressed    true to compress the game after the header
+     */
+    public static void saveGame(GamePlayModel gamePlayModel, String path, boolean compressed) {
         try {
-            OutputStream file = new FileOutputStream(path);
-            OutputStream buffer = new BufferedOutputStream(file);
-            ObjectOutput output = new ObjectOutputStream(buffer);
-            output.writeObject(gamePlayModel);
+            checkMapLimits(gamePlayModel.getGameMap());
+        } catch (IllegalArgumentException e) {
+            e.printStackTrace();
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            OutputStream output = new BufferedOutputStream(Channels.newOutputStream(channel));
+            write(gamePlayModel, output, compressed);
             output.flush();
-            output.close();
         } catch (IOException e) {
             e.printStackTrace();
         }
-        
     }
     
     /**
@@ -44,22 +101,475 @@ public class SavedState implements Serializable {
      *
      * @param path the absolute location of the file
      *
-     * @return the loaded GamePlayModel restored from the serialized file
+     * @return the loaded GamePlayModel restored from the file, null if it cannot be read
      */
     public static GamePlayModel loadGame(String path) {
         GamePlayModel state = null;
-        InputStream file;
-        try {
-            file = new FileInputStream(path);
-            InputStream buffer = new BufferedInputStream(file);
-            ObjectInput input = new ObjectInputStream(buffer);
-            state = (GamePlayModel) input.readObject();
-            input.close();
-        } catch (IOException | ClassNotFoundException e) {
+        try (FileChannel channel = FileChannel.open(Paths.get(path), StandardOpenOption.READ)) {
+            state = read(new BufferedInputStream(Channels.newInputStream(channel)));
+        } catch (IOException | RuntimeException e) {
             System.out.println(e.getMessage());
         }
         return state;
     }
+    
+    /**
+     * Write a game in the saved game format to a stream, e.g. the snapshot starting a game journal
+     *
+     * @param gamePlayModel the game
+     * @param stream        the stream, which is not flushed nor closed
+     * @param compressed    true to compress the game after the header
+     *
+     * @throws IOException if the game cannot be written
+     */
+    public static void write(GamePlayModel gamePlayModel, OutputStream stream, boolean compressed) throws IOException {
+        byte[] map = writeMap(gamePlayModel.getGameMap());
+        
+        DataOutputStream header = new DataOutputStream(stream);
+        header.writeInt(MAGIC);
+        header.writeShort(FORMAT_VERSION);
+        header.writeByte(compressed ? FLAG_COMPRESSED : 0);
+        header.writeLong(hash(map));
+        
+        DeflaterOutputStream deflater = compressed ? new DeflaterOutputStream(header, true) : null;
+        DataOutputStream output = compressed ? new DataOutputStream(deflater) : header;
+        output.writeInt(map.length);
+        output.write(map);
+        writeGame(gamePlayModel, output);
+        if (deflater != null) {
+            deflater.finish();
+        }
+        output.flush();
+    }
+    
+    /**
+     * Read a game in the saved game format from a stream
+     *
+     * @param stream the stream, which is not closed
+     *
+     * @return the game
+     *
+     * @throws IOException if the game cannot be read
+     */
+    public static GamePlayModel read(InputStream stream) throws IOException {
+        DataInputStream header = new DataInputStream(stream);
+        if (header.readInt() != MAGIC) {
+            throw new IllegalArgumentException("The file is not a saved game");
+        }
+        short version = header.readShort();
+        if (version != FORMAT_VERSION) {
+            throw new IllegalArgumentException("The game was saved in the version " + version +
+                    " of the format, this version reads the version " + FORMAT_VERSION);
+        }
+        int flags = header.readByte();
+        long mapHash = header.readLong();
+        DataInputStream input = ((flags & FLAG_COMPRESSED) != 0) ?
+                new DataInputStream(new BufferedInputStream(new InflaterInputStream(header))) : header;
+        
+        int mapLength = input.readInt();
+        if (mapLength < 0 || mapLength > MAX_MAP_BYTES) {
+            throw new IllegalArgumentException("The map of the saved game is corrupted");
+        }
+        byte[] map = new byte[mapLength];
+        input.readFully(map);
+        if (hash(map) != mapHash) {
+            throw new IllegalArgumentException("The map of the saved game is corrupted");
+        }
+        GameMap gameMap = readMap(new DataInputStream(new ByteArrayInputStream(map)));
+        return readGame(gameMap, input);
+    }
+    // endregion
+    
+    // region Package methods
+    
+    /**
+     * Write the strategy of a player: its name, and the settings of the MCTS bot
+     *
+     * @param playerType the strategy
+     * @param output     the saved game
+     *
+     * @throws IOException if the strategy cannot be written
+     */
+    static void writePlayerType(PlayerType playerType, DataOutput output) throws IOException {
+        output.writeUTF(playerType.getClass().getSimpleName());
+        if (playerType instanceof MCTSBot) {
+            MCTSBot mctsBot = (MCTSBot) playerType;
+            output.writeInt(mctsBot.getRollouts());
+            output.writeLong(mctsBot.getTimeBudgetMillis());
+            output.writeInt(mctsBot.getRolloutRounds());
+            output.writeUTF(mctsBot.getRolloutPolicy().name());
+        }
+    }
+    
+    /**
+     * Read the strategy of a player. Only the strategies of the game can be read.
+     *
+     * @param input the saved game
+     *
+     * @return the strategy
+     *
+     * @throws IOException if the strategy cannot be read
+     */
+    static PlayerType readPlayerType(DataInput input) throws IOException {
+        String strategy = input.readUTF();
+        switch (strategy) {
+            case "Human":
+                return new Human();
+            case "AggressiveBot":
+                return new AggressiveBot();
+            case "BenevolentBot":
+                return new BenevolentBot();
+            case "RandomBot":
+                return new RandomBot();
+            case "CheaterBot":
+                return new CheaterBot();
+            case "MCTSBot":
+                return new MCTSBot(input.readInt(), input.readLong(), input.readInt(),
+                        MCTSBot.ROLLOUT_POLICY.valueOf(input.readUTF()));
+            default:
+                throw new IllegalArgumentException("Unknown strategy in the saved game: " + strategy);
+        }
+    }
+    
+    /**
+     * Write a set of cards
+     *
+     * @param cards  the cards
+     * @param output the saved game
+     *
+     * @throws IOException if the cards cannot be written
+     */
+    static void writeCards(Vector<Card> cards, DataOutput output) throws IOException {
+        output.writeShort(cards.size());
+        for (Card card : cards) {
+            output.writeByte(card.getCardType().ordinal());
+        }
+    }
+    
+    /**
+     * Read a set of cards
+     *
+     * @param input the saved game
+     *
+     * @return the cards
+     *
+     * @throws IOException if the cards cannot be read
+     */
+    static Vector<Card> readCards(DataInput input) throws IOException {
+        Card.CARD_TYPE[] cardTypes = Card.CARD_TYPE.values();
+        int count = input.readUnsignedShort();
+        Vector<Card> cards = new Vector<>(count);
+        for (int i = 0; i < count; i++) {
+            int cardType = input.readUnsignedByte();
+            if (cardType >= cardTypes.length) {
+                throw new IllegalArgumentException("Unknown card in the saved game: " + cardType);
+            }
+            cards.add(new Card(cardTypes[cardType]));
+        }
+        return cards;
+    }
+    // endregion
+    
+    // region Private methods
+    
+    /**
+     * Write the map of a game: its name, continents, territories and neighbors
+     *
+     * @param gameMap the map
+     *
+     * @return the map in bytes
+     *
+     * @throws IOException if the map cannot be written
+     */
+    private static byte[] writeMap(GameMap gameMap) throws IOException {
+        checkMapLimits(gameMap);
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        TerritoryGraph graph = gameMap.getGraph();
+        BoardState boardState = gameMap.getBoardState();
+        
+        output.writeUTF(gameMap.getMapName());
+        output.writeShort(boardState.getContinentsCount());
+        for (int continentID = 0; continentID < boardState.getContinentsCount(); continentID++) {
+            Continent continent = boardState.getContinent(continentID);
+            output.writeUTF(continent.getName());
+            output.writeInt(continent.getControlValue());
+        }
+        
+        output.writeShort(graph.size());
+        for (int id = 0; id < graph.size(); id++) {
+            output.writeUTF(graph.getTerritory(id).getName());
+        }
+        for (int id = 0; id < graph.size(); id++) {
+            Continent continent = gameMap.getAContinent(graph.getTerritory(id).getContinent());
+            output.writeShort((continent == null) ? -1 : continent.getId());
+            output.writeByte(graph.degree(id));
+            for (int edge = graph.firstEdge(id); edge < graph.endEdge(id); edge++) {
+                output.writeShort(graph.neighborAt(edge));
+            }
+        }
+        
+        /* the territories of every continent, in the order of the continent */
+        for (int continentID = 0; continentID < boardState.getContinentsCount(); continentID++) {
+            Vector<String> territoryNames = boardState.getContinent(continentID).getTerritories();
+            output.writeShort(territoryNames.size());
+            for (String territoryName : territoryNames) {
+                output.writeShort(gameMap.getATerritory(territoryName).getId());
+            }
+        }
+        output.flush();
+        return bytes.toByteArray();
+    }
+    
+    /**
+     * Check that a map fits the format, whose counts are written in bytes and shorts: it must be within the
+     * limits of the map files
+     *
+     * @param gameMap the map
+     *
+     * @throws IllegalArgumentException if the map has too many continents, territories or neighbors
+     */
+    private static void checkMapLimits(GameMap gameMap) {
+        TerritoryGraph graph = gameMap.getGraph();
+        if (gameMap.getBoardState().getContinentsCount() > Config.MAPS_MAX_CONTINENTS) {
+            throw new IllegalArgumentException(Config.MSG_MAPFILE_INVALID_CONTINENTS_COUNT);
+        }
+        if (graph.size() > Config.MAPS_MAX_TERRITORIES) {
+            throw new IllegalArgumentException(Config.MSG_MAPFILE_INVALID_TERRITORIES_COUNT);
+        }
+        for (int id = 0; id < graph.size(); id++) {
+            if (graph.degree(id) > Config.MAPS_MAX_NEIGHBORS) {
+                throw new IllegalArgumentException(String.format(Config.MSG_MAPFILE_INVALID_NEIGHBORS_COUNT,
+                        graph.getTerritory(id).getName(), graph.degree(id)));
+            }
+        }
+    }
+    
+    /**
+     * Read the map of a game
+     *
+     * @param input the map in bytes
+     *
+     * @return the map, whose territories have the IDs they had in the saved game
+     *
+     * @throws IOException if the map cannot be read
+     */
+    private static GameMap readMap(DataInput input) throws IOException {
+        GameMap gameMap = new GameMap(input.readUTF());
+        Continent[] continents = new Continent[input.readUnsignedShort()];
+        for (int continentID = 0; continentID < continents.length; continentID++) {
+            continents[continentID] = new Continent(input.readUTF(), input.readInt());
+            gameMap.addContinent(continents[continentID]);
+        }
+        
+        String[] territoryNames = new String[input.readUnsignedShort()];
+        for (int id = 0; id < territoryNames.length; id++) {
+            territoryNames[id] = input.readUTF();
+        }
+        for (String territoryName : territoryNames) {
+            int continentID = input.readShort();
+            Territory territory = (continentID < 0) ? new Territory(territoryName) :
+                    new Territory(territoryName, continents[continentID].getName());
+            int degree = input.readUnsignedByte();
+            for (int edge = 0; edge < degree; edge++) {
+                territory.addNeighbor(territoryNames[input.readUnsignedShort()]);
+            }
+            gameMap.addTerritory(territory, true);
+        }
+        
+        for (Continent continent : continents) {
+            Vector<String> continentTerritories = new Vector<>();
+            int count = input.readUnsignedShort();
+            for (int i = 0; i < count; i++) {
+                continentTerritories.add(territoryNames[input.readUnsignedShort()]);
+            }
+            continent.setTerritories(continentTerritories);
+        }
+        return gameMap;
+    }
+    
+    /**
+     * Write the board, the players, the deck and the progress of a game
+     *
+     * @param gamePlayModel the game
+     * @param output        the saved game
+     *
+     * @throws IOException if the game cannot be written
+     */
+    private static void writeGame(GamePlayModel gamePlayModel, DataOutput output) throws IOException {
+        BoardState boardState = gamePlayModel.getGameMap().getBoardState();
+        for (int id = 0; id < boardState.size(); id++) {
+            output.writeByte(boardState.getOwnerID(id));
+        }
+        for (int id = 0; id < boardState.size(); id++) {
+            output.writeInt(boardState.getArmies(id));
+        }
+        
+        output.writeByte(gamePlayModel.getPlayers().size());
+        for (Player player : gamePlayModel.getPlayers()) {
+            output.writeByte(player.getPlayerID());
+            writePlayerType(player.getPlayerType(), output);
+            output.writeInt(player.getUnallocatedArmies());
+            writeCards(player.getPlayersHand(), output);
+            output.writeUTF(player.getGameState().name());
+            output.writeUTF(player.getPlayerStatus().name());
+            output.writeBoolean(player.hasConqueredTerritories());
+        }
+        writeCards(gamePlayModel.getDeck(), output);
+        
+        output.writeUTF(gamePlayModel.getGameState().name());
+        output.writeByte(playerID(gamePlayModel.getCurrentPlayer()));
+        output.writeByte(playerID(gamePlayModel.getWinningPlayer()));
+        output.writeInt(gamePlayModel.getArmyValue());
+        output.writeInt(gamePlayModel.getMaxTurns());
+        output.writeInt(gamePlayModel.getTurnCounter());
+        output.writeInt(gamePlayModel.getMaxAttackTurn());
+        output.writeInt(gamePlayModel.getAttackCounter());
+        output.writeBoolean(gamePlayModel.isNeedDefenderReaction());
+        output.writeBoolean(gamePlayModel.isBlitzBattles());
+        gamePlayModel.getRandom().writeState(output);
+        
+        Battle battle = gamePlayModel.getCurrentBattle();
+        output.writeBoolean(battle != null);
+        if (battle != null) {
+            output.writeByte(playerID(battle.getAttacker()));
+            output.writeShort(battle.getAttackingTerritory().getId());
+            output.writeByte(playerID(battle.getDefender()));
+            output.writeShort(battle.getDefendingTerritory().getId());
+            output.writeByte(battle.getAttackerDice().getRollsCount());
+            output.writeByte((battle.getDefenderDice() == null) ? 0 : battle.getDefenderDice().getRollsCount());
+            output.writeInt(battle.getAttackerLossCount());
+            output.writeInt(battle.getDefenderLossCount());
+        }
+    }
+    
+    /**
+     * Read the board, the players, the deck and the progress of a game
+     *
+     * @param gameMap the map of the game
+     * @param input   the saved game
+     *
+     * @return the game
+     *
+     * @throws IOException if the game cannot be read
+     */
+    private static GamePlayModel readGame(GameMap gameMap, DataInput input) throws IOException {
+        TerritoryGraph graph = gameMap.getGraph();
+        int[] ownerOf = new int[graph.size()];
+        for (int id = 0; id < ownerOf.length; id++) {
+            ownerOf[id] = input.readUnsignedByte();
+        }
+        int[] armies = new int[graph.size()];
+        for (int id = 0; id < armies.length; id++) {
+            armies[id] = input.readInt();
+        }
+        
+        int playersCount = input.readUnsignedByte();
+        Vector<Player> players = new Vector<>(playersCount);
+        Player[] playersByID = new Player[Config.PLAYER_COLOR.length + 1];
+        for (int i = 0; i < playersCount; i++) {
+            int playerID = input.readUnsignedByte();
+            if (playerID < 1 || playerID >= playersByID.length || playersByID[playerID] != null) {
+                throw new IllegalArgumentException("Invalid player in the saved game: " + playerID);
+            }
+            Player player = new Player(playerID);
+            player.setPlayerType(readPlayerType(input));
+            player.setUnallocatedArmies(input.readInt());
+            for (Card card : readCards(input)) {
+                player.addCardToPlayersHand(card);
+            }
+            player.setGameState(Config.GAME_STATES.valueOf(input.readUTF()));
+            player.setPlayerStatus(GamePlayModel.PLAYER_STATUS.valueOf(input.readUTF()));
+            player.setHasConqueredTerritories(input.readBoolean());
+            playersByID[playerID] = player;
+            players.add(player);
+        }
+        
+        /* the territories become views of the board state, then get their owners and armies */
+        gameMap.getBoardState();
+        for (int id = 0; id < ownerOf.length; id++) {
+            Territory territory = graph.getTerritory(id);
+            territory.setArmies(armies[id]);
+            if (ownerOf[id] != NO_PLAYER) {
+                territory.setOwner(getPlayer(playersByID, ownerOf[id]));
+            }
+        }
+        
+        GamePlayModel gamePlayModel = new GamePlayModel();
+        gamePlayModel.getPlayers().addAll(players);
+        gamePlayModel.getDeck().addAll(readCards(input));
+        gamePlayModel.setGameMap(gameMap);
+        gamePlayModel.setGameState(Config.GAME_STATES.valueOf(input.readUTF()));
+        int currentPlayerID = input.readUnsignedByte();
+        gamePlayModel.setCurrentPlayer((currentPlayerID == NO_PLAYER) ? null : getPlayer(playersByID, currentPlayerID));
+        int winnerID = input.readUnsignedByte();
+        gamePlayModel.setWinningPlayer((winnerID == NO_PLAYER) ? null : getPlayer(playersByID, winnerID));
+        gamePlayModel.setArmyValue(input.readInt());
+        gamePlayModel.setMaxTurns(input.readInt());
+        gamePlayModel.setTurnCounter(input.readInt());
+        gamePlayModel.setMaxAttackTurn(input.readInt());
+        gamePlayModel.setAttackCounter(input.readInt());
+        gamePlayModel.setNeedDefenderReaction(input.readBoolean());
+        gamePlayModel.setBlitzBattles(input.readBoolean());
+        gamePlayModel.setRandom(GameRandom.readState(input));
+        
+        if (input.readBoolean()) {
+            Player attacker = getPlayer(playersByID, input.readUnsignedByte());
+            Territory attackingTerritory = graph.getTerritory(input.readUnsignedShort());
+            Player defender = getPlayer(playersByID, input.readUnsignedByte());
+            Territory defendingTerritory = graph.getTerritory(input.readUnsignedShort());
+            Battle battle = new Battle(attacker, attackingTerritory, input.readUnsignedByte(), defender, defendingTerritory);
+            int defendingDice = input.readUnsignedByte();
+            if (defendingDice > 0) {
+                battle.setDefendingDice(defendingDice);
+            }
+            battle.addLosses(input.readInt(), input.readInt());
+            gamePlayModel.setCurrentBattle(battle);
+        }
+        return gamePlayModel;
+    }
+    
+    /**
+     * Gets the ID of a player
+     *
+     * @param player the player, or null
+     *
+     * @return the player ID, NO_PLAYER for null
+     */
+    private static int playerID(Player player) {
+        return (player == null) ? NO_PLAYER : player.getPlayerID();
+    }
+    
+    /**
+     * Gets a player of the saved game from its ID
+     *
+     * @param playersByID the players of the saved game, indexed by player ID
+     * @param playerID    the player ID
+     *
+     * @return the player
+     */
+    private static Player getPlayer(Player[] playersByID, int playerID) {
+        if (playerID >= playersByID.length || playersByID[playerID] == null) {
+            throw new IllegalArgumentException("Unknown player in the saved game: " + playerID);
+        }
+        return playersByID[playerID];
+    }
+    
+    /**
+     * Hash bytes with the 64 bits FNV-1a function
+     *
+     * @param bytes the bytes
+     *
+     * @return the hash
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= (b & 0xff);
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
     // endregion
     
 }